@@ -1,46 +1,64 @@
 import pandas as pd
 import sqlite3
 import os
+import re
+
+MIGRATION_DIR = os.path.join('src', 'main', 'resources', 'db', 'migration')
+
+
+def apply_migrations(conn, database):
+    """Apply db/migration/<database>/V<n>__*.sql scripts newer than PRAGMA user_version.
+
+    Mirrors SchemaMigrator on the Java side. Java-only steps (such as the student_info
+    past_courses copy) are not run here; this script only builds courses.db.
+    """
+    current = conn.execute('PRAGMA user_version').fetchone()[0]
+    scripts = []
+    for name in os.listdir(os.path.join(MIGRATION_DIR, database)):
+        match = re.match(r'V(\d+)__.*\.sql$', name)
+        if match:
+            scripts.append((int(match.group(1)), name))
+    scripts.sort()
+    latest = scripts[-1][0] if scripts else 0
+    if current > latest:
+        raise RuntimeError('%s is at schema version %d but the scripts only go up to %d' % (database, current, latest))
+    for version, name in scripts:
+        if version <= current:
+            continue
+        with open(os.path.join(MIGRATION_DIR, database, name)) as f:
+            conn.executescript('BEGIN;' + f.read() + ';PRAGMA user_version = %d;COMMIT;' % version)
+
+
+def find_or_add_program(cur, program_name, program_type):
+    """program_id of the program with this name, inserting it if there is none yet.
+
+    programs has no UNIQUE(program_name), so the lookup is what keeps a rerun of this
+    script from duplicating every program (and, through the new id, its program_courses).
+    """
+    row = cur.execute('SELECT program_id FROM programs WHERE program_name = ? ORDER BY program_id LIMIT 1',
+                      (program_name,)).fetchone()
+    if row:
+        return row[0]
+    cur.execute('INSERT INTO programs (program_name, program_type) VALUES (?, ?)',
+                (program_name, program_type))
+    return cur.lastrowid
+
 
 def generate_programs_from_excel(excel_path, db_path):
     # Connect to SQLite DB
     conn = sqlite3.connect(db_path)
     cur = conn.cursor()
 
-    # Create all required tables if not exist
-    cur.execute('''CREATE TABLE IF NOT EXISTS courses (
-        course_id TEXT PRIMARY KEY,
-        course_code TEXT,
-        course_name TEXT,
-        credit_hours INTEGER,
-        professor TEXT,
-        days TEXT,
-        time TEXT,
-        building TEXT,
-        room TEXT
-    )''')
-    cur.execute('''CREATE TABLE IF NOT EXISTS programs (
-        program_name TEXT PRIMARY KEY,
-        program_type TEXT
-    )''')
-    cur.execute('''CREATE TABLE IF NOT EXISTS program_courses (
-        program_name TEXT,
-        course_id TEXT,
-        FOREIGN KEY (program_name) REFERENCES programs(program_name)
-    )''')
-    cur.execute('''CREATE TABLE IF NOT EXISTS ntc_requirements (
-        requirement_id INTEGER PRIMARY KEY AUTOINCREMENT,
-        requirement_name TEXT,
-        course_id TEXT
-    )''')
-    conn.commit()
+    # Create/upgrade the schema with the same migration scripts the application runs
+    apply_migrations(conn, 'courses')
 
     # Read all sheets
     xls = pd.ExcelFile(excel_path)
     for sheet_name in xls.sheet_names:
-        program_type = 'minor' if 'minor' in sheet_name.lower() else 'major'
-        cur.execute('INSERT OR IGNORE INTO programs (program_name, program_type) VALUES (?, ?)',
-                    (sheet_name, program_type))
+        if sheet_name == 'NTC Requirements':
+            continue
+        program_type = 'Minor' if 'Minor' in sheet_name else 'Major'
+        program_id = find_or_add_program(cur, sheet_name, program_type)
         df = pd.read_excel(excel_path, sheet_name=sheet_name)
         for _, row in df.iterrows():
             # Try to get course_id and other fields
@@ -60,18 +78,26 @@ def generate_programs_from_excel(excel_path, db_path):
                                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)''',
                             (course_id, course_code, course_name, credit_hours, professor, days, time, building, room))
                 # Insert into program_courses
-                cur.execute('INSERT INTO program_courses (program_name, course_id) VALUES (?, ?)',
-                            (sheet_name, course_id))
+                cur.execute('INSERT OR IGNORE INTO program_courses (program_id, course_id) VALUES (?, ?)',
+                            (program_id, course_id))
 
     # Optionally: populate ntc_requirements if you have a sheet named 'NTC Requirements'
     if 'NTC Requirements' in xls.sheet_names:
         df_ntc = pd.read_excel(excel_path, sheet_name='NTC Requirements')
         for _, row in df_ntc.iterrows():
             req_name = str(row.get('requirement_name') or row.get('Requirement Name') or row.get('name'))
-            course_id = str(row.get('course_id') or row.get('course_code') or row.get('CourseID') or row.get('Course Code'))
-            if req_name and course_id and course_id != 'nan':
-                cur.execute('INSERT INTO ntc_requirements (requirement_name, course_id) VALUES (?, ?)',
-                            (req_name, course_id))
+            description = str(row.get('description') or row.get('# of Classes') or 'Required courses')
+            if req_name and req_name != 'nan':
+                cur.execute('''INSERT INTO ntc_requirements (requirement_name, description)
+                               SELECT ?, ? WHERE NOT EXISTS
+                                   (SELECT 1 FROM ntc_requirements WHERE requirement_name = ?)''',
+                            (req_name, description, req_name))
+
+    # Record the write so running instances reload their catalog snapshot (see CourseCatalog)
+    cur.execute("""INSERT INTO catalog_revision (id, revision, changed_at)
+                   VALUES (1, 1, CAST(strftime('%s', 'now') AS INTEGER) * 1000)
+                   ON CONFLICT(id) DO UPDATE SET revision = revision + 1,
+                       changed_at = MAX(excluded.changed_at, changed_at)""")
 
     conn.commit()
     conn.close()
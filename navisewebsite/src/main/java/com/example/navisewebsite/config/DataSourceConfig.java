@@ -0,0 +1,35 @@
+package com.example.navisewebsite.config;
+
+import com.example.navisewebsite.repository.DatabaseUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Exposes the pooled SQLite DataSources owned by DatabaseUtil as Spring beans.
+ * Registering them lets Actuator publish per-pool metrics
+ * (hikaricp.connections.active / idle / pending and the acquire-time timer)
+ * and adds each database to the health endpoint.
+ *
+ * The pools themselves live in DatabaseUtil so repositories created outside
+ * Spring (tests, command-line importers) share the same connections.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public DataSource usersDataSource() {
+        return DatabaseUtil.usersDataSource();
+    }
+
+    @Bean
+    public DataSource studentInfoDataSource() {
+        return DatabaseUtil.studentInfoDataSource();
+    }
+
+    @Bean
+    public DataSource coursesDataSource() {
+        return DatabaseUtil.coursesDataSource();
+    }
+}
@@ -4,17 +4,21 @@ import com.example.navisewebsite.repository.DatabaseUtil;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 
 @Configuration
 public class DatabaseInitializationConfig {
 
+    // Runs before every other runner so the schema is migrated before anything reads it
     @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     public CommandLineRunner initializeDatabases() {
         return args -> {
             System.out.println("========================================");
             System.out.println("Starting Database Initialization...");
             System.out.println("========================================");
-            // Initialize databases and create tables on application startup
+            // Apply pending schema migrations; throws (and stops startup) if a database is ahead of this build
             DatabaseUtil.initializeDatabases();
             System.out.println("========================================");
             System.out.println("✓ Databases initialized successfully.");
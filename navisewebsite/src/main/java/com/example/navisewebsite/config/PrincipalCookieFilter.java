@@ -0,0 +1,333 @@
+package com.example.navisewebsite.config;
+
+import com.example.navisewebsite.config.PrincipalToken.Principal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Backs request.getSession() with the signed principal cookie instead of the servlet
+ * container's session store.
+ *
+ * Controllers keep using HttpSession as before (userId, email, userType, names, major,
+ * minor, schoolYear), but the attributes come from the verified {@link PrincipalToken}
+ * on each request, and any change is sent back as a re-signed cookie before the response
+ * is committed. invalidate() clears the cookie. Nothing is stored per user on the server,
+ * so any instance can serve any request.
+ *
+ * Like the container session it replaces, a sign-in times out when idle: a request more
+ * than {@link #RENEW_AFTER} after the token was issued gets a re-issued token with a fresh
+ * idle expiry (navise.auth.idle-timeout), so an active user stays signed in and an idle
+ * one is signed out. Renewal keeps the absolute expiry set at sign-in (navise.auth.max-age);
+ * setting userId, as login and registration do, starts a new sign-in. Logout only clears
+ * this browser's cookie; see {@link PrincipalToken} for what that means for copied tokens.
+ */
+@Component
+public class PrincipalCookieFilter extends OncePerRequestFilter {
+
+    /** Least time between renewals, so not every request answers with a Set-Cookie. */
+    static final Duration RENEW_AFTER = Duration.ofMinutes(1);
+
+    @Autowired
+    private PrincipalToken tokens;
+
+    @Value("${navise.auth.cookie.secure:false}")
+    private boolean secureCookie;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = cookieValue(request);
+        Optional<Principal> principal = tokens.verify(token);
+        if (token != null && principal.isEmpty()) {
+            System.out.println("DEBUG PrincipalCookieFilter: Rejected principal cookie on " + request.getRequestURI());
+        }
+
+        CookieState state = new CookieState(request.getServletContext(), (int) tokens.idleTimeout().toSeconds(),
+                token != null, principal.orElse(null));
+        if (principal.isPresent()) {
+            Instant renewed = tokens.expiresAt(principal.get().absoluteExpiresAt, Instant.now());
+            if (Duration.between(principal.get().expiresAt, renewed).compareTo(RENEW_AFTER) >= 0) {
+                state.session.changed = true;
+            }
+        }
+
+        PrincipalResponse wrappedResponse = new PrincipalResponse(response, state);
+        try {
+            chain.doFilter(new PrincipalRequest(request, state), wrappedResponse);
+        } finally {
+            if (!response.isCommitted()) {
+                wrappedResponse.writeCookie();
+            }
+        }
+    }
+
+    private static String cookieValue(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (PrincipalToken.COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    // The session seen by this request and whether the browser has to be told about it
+    private static final class CookieState {
+        final ServletContext servletContext;
+        final int idleSeconds;
+        final boolean cookieArrived;
+        CookieSession session;
+        boolean written;
+
+        CookieState(ServletContext servletContext, int idleSeconds, boolean cookieArrived, Principal principal) {
+            this.servletContext = servletContext;
+            this.idleSeconds = idleSeconds;
+            this.cookieArrived = cookieArrived;
+            // An unverifiable cookie is replaced (or cleared) on the way out
+            this.session = principal == null
+                    ? new CookieSession(servletContext, idleSeconds, new LinkedHashMap<>(), true, cookieArrived)
+                    : new CookieSession(servletContext, idleSeconds, new LinkedHashMap<>(principal.attributes),
+                            false, false);
+            this.session.absoluteExpiresAt = principal == null ? null : principal.absoluteExpiresAt;
+        }
+    }
+
+    private static final class PrincipalRequest extends HttpServletRequestWrapper {
+        private final CookieState state;
+
+        PrincipalRequest(HttpServletRequest request, CookieState state) {
+            super(request);
+            this.state = state;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            CookieSession session = state.session;
+            if (session.invalidated) {
+                if (!create) {
+                    return null;
+                }
+                state.session = session = new CookieSession(state.servletContext, state.idleSeconds, new LinkedHashMap<>(), true, true);
+            }
+            if (session.fresh && !create && session.attributes.isEmpty()) {
+                return null;
+            }
+            return session;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return !state.session.fresh;
+        }
+    }
+
+    // Writes the cookie at the first point the response could be committed
+    private final class PrincipalResponse extends HttpServletResponseWrapper {
+        private final CookieState state;
+
+        PrincipalResponse(HttpServletResponse response, CookieState state) {
+            super(response);
+            this.state = state;
+        }
+
+        void writeCookie() {
+            if (state.written || !state.session.changed) {
+                return;
+            }
+            state.written = true;
+            CookieSession session = state.session;
+            ResponseCookie.ResponseCookieBuilder cookie;
+            if (session.invalidated || session.attributes.isEmpty()) {
+                if (!state.cookieArrived) {
+                    return;
+                }
+                cookie = ResponseCookie.from(PrincipalToken.COOKIE_NAME, "").maxAge(0);
+            } else {
+                // The browser drops the cookie when the token's idle expiry passes
+                Instant now = Instant.now();
+                String token;
+                Instant expiresAt;
+                if (session.absoluteExpiresAt == null) {
+                    token = tokens.issue(session.attributes, now);
+                    expiresAt = tokens.expiresAt(now.plus(tokens.maxAge()), now);
+                } else {
+                    token = tokens.renew(session.attributes, session.absoluteExpiresAt, now);
+                    expiresAt = tokens.expiresAt(session.absoluteExpiresAt, now);
+                }
+                cookie = ResponseCookie.from(PrincipalToken.COOKIE_NAME, token)
+                        .maxAge(Duration.between(now, expiresAt));
+            }
+            addHeader(HttpHeaders.SET_COOKIE,
+                    cookie.path("/").httpOnly(true).secure(secureCookie).sameSite("Lax").build().toString());
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeCookie();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeCookie();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeCookie();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeCookie();
+            return super.getWriter();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeCookie();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeCookie();
+            super.flushBuffer();
+        }
+    }
+
+    /**
+     * HttpSession over the principal attributes. Only {@link PrincipalToken#ATTRIBUTES} can be
+     * stored, since everything in the session travels in the cookie.
+     */
+    private static final class CookieSession implements HttpSession {
+        private final ServletContext servletContext;
+        private final int idleSeconds;
+        private final long creationTime = System.currentTimeMillis();
+        final Map<String, Object> attributes;
+        final boolean fresh;
+        boolean changed;
+        boolean invalidated;
+        // Absolute expiry of the sign-in this session continues; null for a new sign-in
+        Instant absoluteExpiresAt;
+
+        CookieSession(ServletContext servletContext, int idleSeconds, Map<String, Object> attributes, boolean fresh,
+                      boolean changed) {
+            this.servletContext = servletContext;
+            this.idleSeconds = idleSeconds;
+            this.attributes = attributes;
+            this.fresh = fresh;
+            this.changed = changed;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                removeAttribute(name);
+                return;
+            }
+            if (!PrincipalToken.ATTRIBUTES.contains(name)) {
+                throw new IllegalArgumentException("Only principal attributes can be kept in the session: " + name);
+            }
+            attributes.put(name, value);
+            changed = true;
+            if ("userId".equals(name)) {
+                absoluteExpiresAt = null;
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            if (attributes.remove(name) != null) {
+                changed = true;
+            }
+        }
+
+        @Override
+        public void invalidate() {
+            attributes.clear();
+            invalidated = true;
+            changed = true;
+        }
+
+        @Override
+        public boolean isNew() {
+            return fresh;
+        }
+
+        // There is no server-side session to identify
+        @Override
+        public String getId() {
+            return "stateless";
+        }
+
+        @Override
+        public long getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public long getLastAccessedTime() {
+            return creationTime;
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return servletContext;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(int interval) {
+            // Fixed by navise.auth.idle-timeout, the same for every sign-in
+        }
+
+        @Override
+        public int getMaxInactiveInterval() {
+            return idleSeconds;
+        }
+    }
+}
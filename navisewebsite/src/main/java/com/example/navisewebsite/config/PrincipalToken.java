@@ -0,0 +1,246 @@
+package com.example.navisewebsite.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Signs and verifies the principal token kept in the {@link #COOKIE_NAME} cookie.
+ *
+ * The token carries the attributes the controllers used to keep in the HttpSession
+ * (see {@link #ATTRIBUTES}) and two expiries, as base64url(payload) "." base64url(HMAC-SHA256):
+ *
+ * - an idle expiry, idleTimeout after the token was issued (navise.auth.idle-timeout,
+ *   30 minutes like the container session it replaces); PrincipalCookieFilter re-issues
+ *   the token as the user keeps making requests, so only inactivity reaches it;
+ * - an absolute expiry, maxAge after sign-in (navise.auth.max-age, 24 hours), which
+ *   renewal never moves: after it the user signs in again however active they were.
+ *
+ * Any instance configured with the same AUTH_SECRET can verify it, so no session state
+ * lives on the server and requests need not return to the instance that signed them in.
+ * The flip side is that nothing can be revoked: logout clears the browser's cookie, but a
+ * copy of the token taken earlier stays valid until its idle expiry, and can be kept
+ * alive by use up to the absolute one.
+ *
+ * Without AUTH_SECRET a random key is generated at startup: fine for a single instance,
+ * but every sign-in is lost on restart.
+ */
+@Component
+public class PrincipalToken {
+
+    public static final String COOKIE_NAME = "NAVISE_AUTH";
+
+    /** Attributes carried in the token, in encoding order. userId is an Integer, the rest Strings. */
+    public static final List<String> ATTRIBUTES = List.of(
+            "userId", "email", "userType", "firstName", "lastName", "major", "minor", "schoolYear");
+
+    // 1 had a single expiry; those tokens are rejected and the user signs in again
+    private static final byte FORMAT = 2;
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * A verified token: its attributes, when it stops being accepted unless renewed, and
+     * the sign-in's absolute expiry that renewal cannot pass.
+     */
+    public static final class Principal {
+        public final Map<String, Object> attributes;
+        public final Instant expiresAt;
+        public final Instant absoluteExpiresAt;
+
+        Principal(Map<String, Object> attributes, Instant expiresAt, Instant absoluteExpiresAt) {
+            this.attributes = Collections.unmodifiableMap(attributes);
+            this.expiresAt = expiresAt;
+            this.absoluteExpiresAt = absoluteExpiresAt;
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final Duration idleTimeout;
+    private final Duration maxAge;
+
+    @Autowired
+    public PrincipalToken(@Value("${navise.auth.secret:}") String secret,
+                          @Value("${navise.auth.idle-timeout:1800}") long idleTimeoutSeconds,
+                          @Value("${navise.auth.max-age:86400}") long maxAgeSeconds) {
+        this(secretBytes(secret), Duration.ofSeconds(idleTimeoutSeconds), Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    public PrincipalToken(byte[] secret, Duration idleTimeout, Duration maxAge) {
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("Auth secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        if (maxAge.compareTo(idleTimeout) < 0) {
+            throw new IllegalArgumentException("maxAge must be at least idleTimeout");
+        }
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+        this.idleTimeout = idleTimeout;
+        this.maxAge = maxAge;
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            System.out.println("DEBUG PrincipalToken: AUTH_SECRET is not set; signing with a random key, "
+                    + "so sign-ins do not survive a restart or carry across instances");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public Duration idleTimeout() {
+        return idleTimeout;
+    }
+
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Idle expiry of a token issued now: idleTimeout away, but never past the absolute expiry.
+     */
+    public Instant expiresAt(Instant absoluteExpiresAt, Instant now) {
+        Instant idle = now.plus(idleTimeout);
+        return idle.isBefore(absoluteExpiresAt) ? idle : absoluteExpiresAt;
+    }
+
+    public String issue(Map<String, Object> attributes) {
+        return issue(attributes, Instant.now());
+    }
+
+    /**
+     * Token for a new sign-in: idle for idleTimeout from now, and at most maxAge in all.
+     *
+     * @throws IllegalArgumentException for an attribute not in {@link #ATTRIBUTES} or of the wrong type
+     */
+    public String issue(Map<String, Object> attributes, Instant now) {
+        return renew(attributes, now.plus(maxAge), now);
+    }
+
+    /**
+     * Token continuing a sign-in: the idle expiry restarts from now, the absolute expiry
+     * stays where the sign-in put it.
+     *
+     * @throws IllegalArgumentException for an attribute not in {@link #ATTRIBUTES} or of the wrong type
+     */
+    public String renew(Map<String, Object> attributes, Instant absoluteExpiresAt, Instant now) {
+        for (String name : attributes.keySet()) {
+            if (!ATTRIBUTES.contains(name)) {
+                throw new IllegalArgumentException("Not a principal attribute: " + name);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(expiresAt(absoluteExpiresAt, now).getEpochSecond());
+            out.writeLong(absoluteExpiresAt.getEpochSecond());
+            for (String name : ATTRIBUTES) {
+                Object value = attributes.get(name);
+                out.writeBoolean(value != null);
+                if (value == null) {
+                    continue;
+                }
+                if ("userId".equals(name)) {
+                    if (!(value instanceof Integer)) {
+                        throw new IllegalArgumentException("userId must be an Integer");
+                    }
+                    out.writeInt((Integer) value);
+                } else {
+                    if (!(value instanceof String)) {
+                        throw new IllegalArgumentException(name + " must be a String");
+                    }
+                    out.writeUTF((String) value);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode principal", e);
+        }
+        byte[] payload = bytes.toByteArray();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public Optional<Principal> verify(String token) {
+        return verify(token, Instant.now());
+    }
+
+    /**
+     * The token's principal, or empty if the token is malformed, was not signed with this
+     * key, or has passed either expiry.
+     */
+    public Optional<Principal> verify(String token, Instant now) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(signature, sign(payload))) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != FORMAT) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(in.readLong());
+            Instant absoluteExpiresAt = Instant.ofEpochSecond(in.readLong());
+            if (!now.isBefore(expiresAt) || !now.isBefore(absoluteExpiresAt)) {
+                return Optional.empty();
+            }
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            for (String name : ATTRIBUTES) {
+                if (in.readBoolean()) {
+                    attributes.put(name, "userId".equals(name) ? (Object) in.readInt() : in.readUTF());
+                }
+            }
+            return Optional.of(new Principal(attributes, expiresAt, absoluteExpiresAt));
+        } catch (IOException e) {
+            // Signed by us, so only a format change can get here
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
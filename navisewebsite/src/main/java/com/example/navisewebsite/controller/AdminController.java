@@ -1,10 +1,20 @@
 package com.example.navisewebsite.controller;
 
 import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.domain.ScheduleDomain.SemesterPlan;
+import com.example.navisewebsite.domain.Term;
+import com.example.navisewebsite.domain.TermCalendar;
 import com.example.navisewebsite.repository.ProgramRepository;
-import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.CrossDatabaseRepository;
 import com.example.navisewebsite.repository.DatabaseUtil;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.WriteExecutor;
 import com.example.navisewebsite.service.AdminCourseService;
+import com.example.navisewebsite.service.CohortProjectionService;
+import com.example.navisewebsite.service.CourseCatalog;
+import com.example.navisewebsite.service.StudentPageCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -13,12 +23,17 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controller for handling admin actions like adding courses
@@ -146,7 +161,16 @@ public class AdminController {
     private AdminCourseService courseService;
 
     @Autowired
-    private StudentInfoRepository studentInfoRepository;
+    private CrossDatabaseRepository crossDatabaseRepository;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private CohortProjectionService cohortProjectionService;
+
+    @Autowired
+    private StudentPageCache pageCache;
 // ...existing code...
     public String adminPage(Model model) {
         model.addAttribute("course", new Course());
@@ -175,15 +199,17 @@ public class AdminController {
     // Pass admin email to the template
     model.addAttribute("email", email);
 
-    // Load all students from student_info table
-    List<StudentInfoRepository.StudentInfo> students = studentInfoRepository.findAllStudents();
+    // Load all students with their login emails (student_info joined with users)
+    List<CrossDatabaseRepository.StudentListing> students = crossDatabaseRepository.findAllStudents();
     model.addAttribute("students", students);
 
-    // Load all programs from programs table
-    ProgramRepository programRepo = new ProgramRepository();
-    java.util.List<ProgramRepository.ProgramInfo> programs = programRepo.getAllPrograms();
+    // Load all programs from the course catalog
+    List<ProgramRepository.ProgramInfo> programs = courseCatalog.programs();
     model.addAttribute("programs", programs);
 
+    // Prerequisite cycles make courses impossible to schedule; show them so they get fixed
+    model.addAttribute("prerequisiteCycles", courseCatalog.prerequisiteGraph().cycles());
+
     return "admin-home";
     }
 
@@ -256,8 +282,7 @@ public class AdminController {
 
         System.out.println("DEBUG: Adding program '" + programName + "' of type '" + programType + "'");
         
-        ProgramRepository programRepo = new ProgramRepository();
-        int programId = programRepo.addProgram(programName, programType);
+        int programId = courseService.add_program(programName, programType);
 
         System.out.println("DEBUG: Program saved with ID: " + programId);
         
@@ -279,8 +304,7 @@ public class AdminController {
             return adminHome(session, model);
         }
 
-        ProgramRepository programRepo = new ProgramRepository();
-        programRepo.removeProgram(programName);
+        courseService.remove_program(programName);
 
         model.addAttribute("message", "Program removed successfully!");
 
@@ -301,25 +325,32 @@ public class AdminController {
             return "redirect:/";
         }
 
-        try (Connection conn = DatabaseUtil.connectStudentInfo(); 
-             PreparedStatement ps = conn.prepareStatement(
-                "UPDATE student_info SET major = ?, minor = ? WHERE user_id = ?")) {
-            ps.setString(1, major);
-            ps.setString(2, minor);
-            ps.setInt(3, userId);
-            int rows = ps.executeUpdate();
+        String sql = "UPDATE student_info SET major = ?, minor = ?, " + StudentInfoRepository.TOUCH_PROFILE
+                + " WHERE user_id = ?";
+        try {
+            // Through the student_info.db writer like every other write to that file
+            int rows = WriteExecutor.await(WriteExecutor.studentInfo().submit(conn -> {
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setString(1, major);
+                    ps.setString(2, minor);
+                    ps.setInt(3, userId);
+                    return ps.executeUpdate();
+                }
+            }));
             
             if (rows > 0) {
+                // The stored profile version moved on; drop the pages cached here for the old one
+                pageCache.profileChanged(userId);
                 model.addAttribute("message", "Student info updated successfully!");
             } else {
                 model.addAttribute("error", "Student not found or could not be updated.");
             }
-        } catch (SQLException e) {
-            model.addAttribute("error", "Database error: " + e.getMessage());
+        } catch (CompletionException e) {
+            model.addAttribute("error", "Database error: " + e.getCause().getMessage());
         }
 
         // Reload student list
-        List<StudentInfoRepository.StudentInfo> students = studentInfoRepository.findAllStudents();
+        List<CrossDatabaseRepository.StudentListing> students = crossDatabaseRepository.findAllStudents();
         model.addAttribute("students", students);
         model.addAttribute("email", session.getAttribute("email"));
         return "admin-home";
@@ -388,6 +419,87 @@ public class AdminController {
         model.addAttribute("email", session.getAttribute("email"));
         return "admin-database-stats";
     }
+
+    /**
+     * Download projected schedules for every student in a cohort as CSV.
+     * Rows are written as projections finish; the last line reports throughput.
+     */
+    @GetMapping("/admin/cohort-projection")
+    public void cohortProjection(@RequestParam(required = false) String major,
+                                 @RequestParam(required = false) String schoolYear,
+                                 @RequestParam(defaultValue = "18") int creditsPerSemester,
+                                 @RequestParam(required = false) String startTerm,
+                                 @RequestParam(defaultValue = "false") boolean summer,
+                                 HttpSession session,
+                                 HttpServletResponse response) throws IOException {
+        Object userType = session.getAttribute("userType");
+        if (userType == null || !"admin".equals(userType)) {
+            response.sendRedirect("/");
+            return;
+        }
+        if (creditsPerSemester <= 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "creditsPerSemester must be positive");
+            return;
+        }
+        // Without a starting term semesters are just numbered, as before
+        TermCalendar calendar = null;
+        if (startTerm != null && !startTerm.isBlank()) {
+            Term first = Term.parse(startTerm);
+            if (first == null) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown term: " + startTerm);
+                return;
+            }
+            calendar = new TermCalendar(first, summer || first == Term.SUMMER);
+        }
+
+        response.setContentType("text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"cohort-projection.csv\"");
+        PrintWriter out = response.getWriter();
+        out.println("user_id,last_name,first_name,major,minor,school_year,remaining_courses,remaining_credits,semesters,schedule");
+
+        CohortProjectionService.CohortReport report = cohortProjectionService.projectCohort(
+                major, schoolYear, creditsPerSemester, calendar, projection -> out.println(csvRow(projection)));
+
+        out.println("# " + report.students + " students projected in " + report.elapsedMillis() + " ms ("
+                + Math.round(report.studentsPerSecond()) + " students/s), catalog version " + report.catalogVersion);
+    }
+
+    // One CSV line; semesters in the schedule column are separated by " | "
+    private static String csvRow(CohortProjectionService.StudentProjection projection) {
+        StudentInfoRepository.StudentInfo student = projection.student;
+        SchedulePlan plan = projection.plan;
+        List<String> semesters = new ArrayList<>();
+        for (SemesterPlan semester : plan.semesters) {
+            List<String> codes = new ArrayList<>();
+            for (ScheduleCourse course : semester.courses) {
+                codes.add(course.code);
+            }
+            semesters.add(semester.semesterLabel + ": " + String.join(" ", codes));
+        }
+        return String.join(",",
+                String.valueOf(student.userId),
+                csv(student.lastName),
+                csv(student.firstName),
+                csv(student.major),
+                csv(student.minor),
+                csv(student.schoolYear),
+                String.valueOf(plan.totalCourses()),
+                String.valueOf(plan.totalCredits()),
+                String.valueOf(plan.semesterCount()),
+                csv(String.join(" | ", semesters)));
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
     /**
      * Debug endpoint to view all programs in the database
      */
@@ -3,7 +3,8 @@ package com.example.navisewebsite.controller;
 import com.example.navisewebsite.domain.Account;
 import com.example.navisewebsite.domain.AccountFactory;
 import com.example.navisewebsite.domain.User;
-import com.example.navisewebsite.repository.UserRepository;
+import com.example.navisewebsite.repository.CrossDatabaseRepository;
+import com.example.navisewebsite.repository.CrossDatabaseRepository.LoginRecord;
 import com.example.navisewebsite.repository.StudentInfoRepository;
 import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +20,7 @@ import java.util.Optional;
 public class LoginController {
 
     @Autowired
-    private UserRepository userRepository;
+    private CrossDatabaseRepository crossDatabaseRepository;
     
     @Autowired
     private StudentInfoRepository studentInfoRepository;
@@ -49,11 +50,11 @@ public class LoginController {
                 return "redirect:/admin-home";
             }
             
-            // Check database for student users
-            Optional<User> userOpt = userRepository.findByEmail(email);
+            // Check database for student users; the student_info row comes back in the same join
+            Optional<LoginRecord> loginOpt = crossDatabaseRepository.findLogin(email);
             
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
+            if (loginOpt.isPresent()) {
+                User user = loginOpt.get().user;
                 
                 // Verify password (for now plain text, TODO: implement BCrypt hashing)
                 if (user.getPassword().equals(password) && user.isStudent()) {
@@ -66,10 +67,9 @@ public class LoginController {
                     System.out.println("DEBUG: Session ID = " + session.getId());
                     System.out.println("DEBUG: userType set to = " + session.getAttribute("userType"));
                     
-                    // Load student profile info from student_info.db
-                    Optional<StudentInfo> studentInfoOpt = studentInfoRepository.findByUserId(user.getUserId());
-                    if (studentInfoOpt.isPresent()) {
-                        StudentInfo info = studentInfoOpt.get();
+                    // Student profile info from student_info.db
+                    StudentInfo info = loginOpt.get().studentInfo;
+                    if (info != null) {
                         session.setAttribute("firstName", info.firstName);
                         session.setAttribute("lastName", info.lastName);
                         session.setAttribute("major", info.major);
@@ -2,6 +2,7 @@ package com.example.navisewebsite.controller;
 
 import com.example.navisewebsite.repository.StudentInfoRepository;
 import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
+import com.example.navisewebsite.service.StudentPageCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -21,6 +22,9 @@ public class ProfileController {
     @Autowired
     private StudentInfoRepository studentInfoRepository;
 
+    @Autowired
+    private StudentPageCache pageCache;
+
     /**
      * Display the student profile page
      */
@@ -153,6 +157,9 @@ public class ProfileController {
         }
 
         if (result > 0) {
+            // My Courses and Degree Progress are rebuilt from the new profile
+            pageCache.profileChanged(userId);
+            
             // Update session attributes
             session.setAttribute("firstName", firstName);
             session.setAttribute("lastName", lastName);
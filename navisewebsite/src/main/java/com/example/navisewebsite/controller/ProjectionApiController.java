@@ -0,0 +1,206 @@
+package com.example.navisewebsite.controller;
+
+import com.example.navisewebsite.domain.PrerequisiteGraph;
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.domain.ScheduleDomain.SemesterPlan;
+import com.example.navisewebsite.domain.TermCalendar;
+import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
+import com.example.navisewebsite.service.CohortProjectionService;
+import com.example.navisewebsite.service.CourseCatalog;
+import com.example.navisewebsite.service.StudentRecordService;
+import com.example.navisewebsite.service.StudentRecordService.StudentRecord;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * JSON projection API: a student's remaining courses laid out in semesters.
+ *
+ * Responses carry a strong ETag made of the catalog version and a digest of everything
+ * else the plan depends on (the student's transcript, the programs and the term calendar).
+ * A poll whose If-None-Match still matches is answered 304 after reading the student's
+ * record (info row and transcript, fetched concurrently), without projecting anything.
+ */
+@Controller
+public class ProjectionApiController {
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private StudentRecordService studentRecords;
+
+    @Autowired
+    private CohortProjectionService projections;
+
+    /**
+     * A projected schedule as returned by the API.
+     */
+    public static final class ProjectionView {
+        public final int studentId;
+        public final String major;
+        public final String minor;
+        /** catalog_revision the plan was computed from. */
+        public final long catalogVersion;
+        public final int totalCredits;
+        public final List<SemesterView> semesters;
+
+        public ProjectionView(int studentId, String major, String minor, long catalogVersion,
+                              int totalCredits, List<SemesterView> semesters) {
+            this.studentId = studentId;
+            this.major = major;
+            this.minor = minor;
+            this.catalogVersion = catalogVersion;
+            this.totalCredits = totalCredits;
+            this.semesters = semesters;
+        }
+    }
+
+    public static final class SemesterView {
+        public final String label;
+        public final int credits;
+        public final List<CourseView> courses;
+
+        public SemesterView(String label, int credits, List<CourseView> courses) {
+            this.label = label;
+            this.credits = credits;
+            this.courses = courses;
+        }
+    }
+
+    public static final class CourseView {
+        public final String code;
+        public final String title;
+        public final int credits;
+
+        public CourseView(String code, String title, int credits) {
+            this.code = code;
+            this.title = title;
+            this.credits = credits;
+        }
+    }
+
+    /**
+     * Projection for one student. Students may only read their own; admins may read any.
+     * Major and minor default to the ones on the student's record.
+     */
+    @GetMapping("/api/students/{id}/projection")
+    @ResponseBody
+    public ResponseEntity<ProjectionView> projection(@PathVariable("id") int studentId,
+                                                     @RequestParam(required = false) String major,
+                                                     @RequestParam(required = false) String minor,
+                                                     HttpSession session,
+                                                     WebRequest request) {
+        Object userType = session.getAttribute("userType");
+        if (!"student".equals(userType) && !"admin".equals(userType)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if ("student".equals(userType) && !Integer.valueOf(studentId).equals(session.getAttribute("userId"))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        StudentRecord record;
+        try {
+            record = studentRecords.load(studentId);
+        } catch (TimeoutException | IllegalStateException e) {
+            // No plan rather than one projected from a record that could not be read
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Optional<StudentInfo> info = record.info;
+        if (info.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String majorName = major != null ? major : blankToEmpty(info.get().major);
+        String minorName = minor != null ? minor : blankToEmpty(info.get().minor);
+
+        // Pin one snapshot so the ETag and the body describe the same catalog
+        CourseCatalog.Snapshot snapshot = courseCatalog.snapshot();
+        List<String> completed = record.completedCourseIds;
+        TermCalendar calendar = TermCalendar.upcoming(LocalDate.now(), false);
+        String etag = etag(snapshot.revision, majorName, minorName, calendar, completed);
+
+        if (request.checkNotModified(etag)) {
+            Metrics.counter("projection.api.requests", "status", "304").increment();
+            return null;
+        }
+
+        SchedulePlan plan = majorName.isEmpty() && minorName.isEmpty()
+                ? new SchedulePlan()
+                : projections.projectStudent(snapshot, majorName, minorName, completed,
+                        PrerequisiteGraph.TARGET_CREDITS, calendar);
+        Metrics.counter("projection.api.requests", "status", "200").increment();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(view(studentId, majorName, minorName, snapshot.revision, plan));
+    }
+
+    /**
+     * Strong ETag: the catalog revision, then a digest of the transcript and every other input.
+     * Nothing in it is local to the process, so every instance (and every restart) gives a
+     * plan the same tag.
+     * Course ids are compared as the catalog does (trimmed, upper case) and in sorted order,
+     * so reordering a transcript does not change the tag.
+     */
+    static String etag(long catalogRevision, String major, String minor, TermCalendar calendar,
+                       List<String> completedCourseIds) {
+        StringBuilder inputs = new StringBuilder();
+        inputs.append(major).append('\n')
+              .append(minor).append('\n')
+              .append(calendar.first.name()).append(calendar.includeSummer ? "+S" : "").append('\n');
+        TreeSet<String> transcript = new TreeSet<>();
+        for (String id : completedCourseIds) {
+            transcript.add(id.trim().toUpperCase(Locale.ROOT));
+        }
+        for (String id : transcript) {
+            inputs.append(id).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(inputs.toString().getBytes(StandardCharsets.UTF_8));
+            String hash = Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+            return "\"" + catalogRevision + "-" + hash + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static ProjectionView view(int studentId, String major, String minor, long catalogVersion,
+                                       SchedulePlan plan) {
+        List<SemesterView> semesters = new ArrayList<>(plan.semesters.size());
+        for (SemesterPlan semester : plan.semesters) {
+            List<CourseView> courses = new ArrayList<>(semester.courses.size());
+            for (ScheduleCourse course : semester.courses) {
+                courses.add(new CourseView(course.code, course.title, course.credits));
+            }
+            semesters.add(new SemesterView(semester.semesterLabel, semester.totalCredits(), courses));
+        }
+        return new ProjectionView(studentId, major, minor, catalogVersion, plan.totalCredits(), semesters);
+    }
+
+    private static String blankToEmpty(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
@@ -1,18 +1,40 @@
 package com.example.navisewebsite.controller;
 
+import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.PrerequisiteGraph;
+import com.example.navisewebsite.domain.ProgramRequirements;
+import com.example.navisewebsite.domain.ProgramRequirements.ProgramScore;
+import com.example.navisewebsite.domain.Term;
+import com.example.navisewebsite.domain.TermCalendar;
 import com.example.navisewebsite.repository.DatabaseUtil;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
+import com.example.navisewebsite.service.CourseCatalog;
+import com.example.navisewebsite.service.ProjectionCache;
+import com.example.navisewebsite.service.StudentPageCache;
+import com.example.navisewebsite.service.StudentRecordService;
+import com.example.navisewebsite.service.StudentRecordService.StudentRecord;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-// import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 // import jakarta.annotation.PostConstruct;
 
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Controller for student data pages: My Courses, Degree Progress, Projected Schedule.
@@ -20,6 +42,26 @@ import java.util.*;
 
 @Controller
 public class StudentDataController {
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+    
+    @Autowired
+    private StudentRecordService studentRecordService;
+    
+    @Autowired
+    private StudentPageCache pageCache;
+    
+    private static final String MY_COURSES_PAGE = "my-courses";
+    private static final String DEGREE_PROGRESS_PAGE = "degree-progress";
+    
+    // The projection only depends on the chosen programs, the catalog and the starting term, so
+    // students picking the same major/minor share one read-only result until the catalog changes
+    private final ProjectionCache<List<Map<String, Object>>> projectedSemesters = new ProjectionCache<>(
+            "projected-schedule", ProjectionCache.DEFAULT_MAX_ENTRIES, () -> courseCatalog.version());
     
     // Helper to check authentication
     private boolean isAuthenticated(HttpSession session) {
@@ -31,7 +73,7 @@ public class StudentDataController {
      * My Courses page - displays major, minor, and course history.
      */
     @GetMapping("/student/my-courses")
-    public String myCourses(HttpSession session, Model model) {
+    public String myCourses(HttpSession session, Model model, WebRequest request, HttpServletResponse response) {
         if (!isAuthenticated(session)) {
             System.out.println("DEBUG: myCourses - Authentication failed");
             System.out.println("DEBUG: Session userType = " + session.getAttribute("userType"));
@@ -51,6 +93,29 @@ public class StudentDataController {
             return "student-my-courses";
         }
         
+        // Built models are kept per profile and catalog version, and browsers revalidate
+        // (If-None-Match / If-Modified-Since) against the same versions
+        StudentPageCache.Stamp stamp = pageCache.stamp(userId);
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (stamp != null && request.checkNotModified(stamp.etag, stamp.lastModified)) {
+            return null;
+        }
+        Map<String, Object> cached = stamp == null ? null : pageCache.get(MY_COURSES_PAGE, stamp);
+        if (cached != null) {
+            model.addAllAttributes(cached);
+            return "student-my-courses";
+        }
+        
+        // Only a page built from reads that all succeeded is cached
+        if (buildMyCourses(userId, model) && stamp != null) {
+            pageCache.put(MY_COURSES_PAGE, stamp, model.asMap());
+        } else {
+            response.setHeader("Cache-Control", "no-store");
+        }
+        return "student-my-courses";
+    }
+    
+    private boolean buildMyCourses(int userId, Model model) {
     try (Connection conn = DatabaseUtil.connectStudentInfo()) {
             String sql = "SELECT major, minor, past_courses FROM student_info WHERE user_id = ?";
             PreparedStatement ps = conn.prepareStatement(sql);
@@ -75,16 +140,17 @@ public class StudentDataController {
             }
         } catch (SQLException e) {
             model.addAttribute("error", "Unable to load student data: " + e.getMessage());
+            return false;
         }
-        
-        return "student-my-courses";
+        return true;
     }
     
     /**
      * Degree Progress page - compares requirements vs completed courses.
      */
     @GetMapping("/student/degree-progress")
-    public String degreeProgress(HttpSession session, Model model) {
+    public String degreeProgress(HttpSession session, Model model, WebRequest request,
+                                 HttpServletResponse response) {
         if (!isAuthenticated(session)) {
             return "redirect:/";
         }
@@ -97,50 +163,77 @@ public class StudentDataController {
             return "student-degree-progress";
         }
         
-    try (Connection conn = DatabaseUtil.connectStudentInfo()) {
-            // Get student's major, minor, and past courses
-            String sql = "SELECT major, minor, past_courses FROM student_info WHERE user_id = ?";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setInt(1, userId);
-            ResultSet rs = ps.executeQuery();
-            
-            if (rs.next()) {
-                String major = rs.getString("major");
-                String minor = rs.getString("minor");
-                String pastCoursesStr = rs.getString("past_courses");
-                
-                List<String> completedCourses = parseCourseList(pastCoursesStr);
-                
-                // Add the raw past courses list to the model for display
-                model.addAttribute("pastCourses", pastCoursesStr != null && !pastCoursesStr.isEmpty() ? pastCoursesStr : "No courses recorded");
-                
-                // Get major requirements and progress
-                if (major != null && !major.isEmpty()) {
-                    Map<String, Object> majorData = getRequirementsAndProgress(major, completedCourses);
-                    model.addAttribute("major", major);
-                    model.addAttribute("majorCompleted", majorData.get("completed"));
-                    model.addAttribute("majorRemaining", majorData.get("remaining"));
-                } else {
-                    model.addAttribute("major", null);
-                }
-                
-                // Get minor requirements and progress
-                if (minor != null && !minor.isEmpty()) {
-                    Map<String, Object> minorData = getRequirementsAndProgress(minor, completedCourses);
-                    model.addAttribute("minor", minor);
-                    model.addAttribute("minorCompleted", minorData.get("completed"));
-                    model.addAttribute("minorRemaining", minorData.get("remaining"));
-                } else {
-                    model.addAttribute("minor", null);
-                }
-            }
-        } catch (SQLException e) {
-            model.addAttribute("error", "Unable to load degree progress: " + e.getMessage());
+        StudentPageCache.Stamp stamp = pageCache.stamp(userId);
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (stamp != null && request.checkNotModified(stamp.etag, stamp.lastModified)) {
+            return null;
+        }
+        Map<String, Object> cached = stamp == null ? null : pageCache.get(DEGREE_PROGRESS_PAGE, stamp);
+        if (cached != null) {
+            model.addAllAttributes(cached);
+            return "student-degree-progress";
         }
         
+        // Only a page built from reads that all succeeded is cached
+        if (buildDegreeProgress(userId, model) && stamp != null) {
+            pageCache.put(DEGREE_PROGRESS_PAGE, stamp, model.asMap());
+        } else {
+            response.setHeader("Cache-Control", "no-store");
+        }
         return "student-degree-progress";
     }
     
+    private boolean buildDegreeProgress(int userId, Model model) {
+        // The info row and the transcript are read concurrently, within the page's deadline
+        StudentRecord record;
+        try {
+            record = studentRecordService.load(userId);
+        } catch (TimeoutException e) {
+            model.addAttribute("error", "Unable to load degree progress right now. Please try again.");
+            return false;
+        } catch (IllegalStateException e) {
+            model.addAttribute("error", "Unable to load degree progress: "
+                    + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            return false;
+        }
+        
+        if (record.info.isPresent()) {
+            StudentInfo info = record.info.get();
+            String major = info.major;
+            String minor = info.minor;
+            String pastCoursesStr = info.pastCourses;
+            
+            // Add the raw past courses list to the model for display
+            model.addAttribute("pastCourses", pastCoursesStr != null && !pastCoursesStr.isEmpty() ? pastCoursesStr : "No courses recorded");
+            
+            // Transcript as a bitset over the catalog's dense course ids; each program is then
+            // split into completed and remaining with bitset operations (see ProgramRequirements)
+            ProgramRequirements requirements = courseCatalog.programRequirements();
+            BitSet transcript = requirements.transcript(record.completedCourseIds);
+            
+            // Get major requirements and progress
+            if (major != null && !major.isEmpty()) {
+                Map<String, Object> majorData = getRequirementsAndProgress(requirements.audit(major, transcript));
+                model.addAttribute("major", major);
+                model.addAttribute("majorCompleted", majorData.get("completed"));
+                model.addAttribute("majorRemaining", majorData.get("remaining"));
+            } else {
+                model.addAttribute("major", null);
+            }
+            
+            // Get minor requirements and progress
+            if (minor != null && !minor.isEmpty()) {
+                Map<String, Object> minorData = getRequirementsAndProgress(requirements.audit(minor, transcript));
+                model.addAttribute("minor", minor);
+                model.addAttribute("minorCompleted", minorData.get("completed"));
+                model.addAttribute("minorRemaining", minorData.get("remaining"));
+            } else {
+                model.addAttribute("minor", null);
+            }
+        }
+        return true;
+    }
+    
     /**
      * Projected Schedule page - form to select major/minor and view projection.
      */
@@ -167,6 +260,35 @@ public class StudentDataController {
         return "student-projected-schedule";
     }
     
+    /**
+     * Programs the student is closest to finishing, as JSON: every major and minor (or only
+     * the given type) scored against the student's completed courses in one in-memory pass,
+     * fewest remaining credits first.
+     */
+    @GetMapping("/student/program-ranking")
+    @ResponseBody
+    public ResponseEntity<List<ProgramScore>> programRanking(@RequestParam(required = false) String type,
+                                                             @RequestParam(defaultValue = "5") int k,
+                                                             HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        List<String> completed = studentInfoRepository.findCompletedCourseIds(userId);
+        long start = System.nanoTime();
+        ProgramRequirements requirements = courseCatalog.programRequirements();
+        List<ProgramScore> ranking = requirements.rank(requirements.transcript(completed), type, k);
+        long elapsed = System.nanoTime() - start;
+        Metrics.timer("program.ranking").record(elapsed, TimeUnit.NANOSECONDS);
+        System.out.println("DEBUG: Ranked " + requirements.programCount() + " programs for user " + userId
+                + " in " + elapsed / 1000 + " us");
+        return ResponseEntity.ok(ranking);
+    }
+    
     /**
      * Handle projected schedule form submission.
      */
@@ -206,35 +328,20 @@ public class StudentDataController {
         }
         
         try {
-            // Get ALL required courses for the selected programs (not filtering by completed)
-            List<Map<String, Object>> allRequiredCourses = new ArrayList<>();
-            
-            if (major != null && !major.isEmpty()) {
-                List<Map<String, Object>> majorCourses = getAllCoursesForProgram(major);
-                allRequiredCourses.addAll(majorCourses);
-            }
+            // The page lists every required course, so the completed set is always empty here.
+            // Semesters alternate Fall/Spring from the next term that has not started yet
+            TermCalendar calendar = TermCalendar.upcoming(LocalDate.now(), false);
+            List<Map<String, Object>> semesters = projectedSemesters.get(courseCatalog.version(), major, minor,
+                    PrerequisiteGraph.TARGET_CREDITS, calendar, Collections.emptyList(),
+                    () -> projectSemesters(major, minor, calendar));
             
-            if (minor != null && !minor.isEmpty()) {
-                List<Map<String, Object>> minorCourses = getAllCoursesForProgram(minor);
-                allRequiredCourses.addAll(minorCourses);
-            }
-            
-            // Remove duplicates by course_id
-            Map<String, Map<String, Object>> uniqueCourses = new LinkedHashMap<>();
-            for (Map<String, Object> course : allRequiredCourses) {
-                String courseId = (String) course.get("course_id");
-                if (!uniqueCourses.containsKey(courseId)) {
-                    uniqueCourses.put(courseId, course);
-                }
+            int totalCourseCount = 0;
+            int totalCredits = 0;
+            for (Map<String, Object> semester : semesters) {
+                totalCourseCount += ((List<?>) semester.get("courses")).size();
+                totalCredits += (Integer) semester.get("totalCredits");
             }
             
-            // Organize into exactly 8 semesters
-            List<Map<String, Object>> semesters = organizeCoursesBySemester(
-                new ArrayList<>(uniqueCourses.values()), 15);
-            
-            int totalCourseCount = uniqueCourses.size();
-            int totalCredits = calculateTotalCredits(uniqueCourses.values());
-            
             model.addAttribute("semesters", semesters);
             model.addAttribute("selectedMajor", major);
             model.addAttribute("selectedMinor", minor);
@@ -251,88 +358,64 @@ public class StudentDataController {
     
     // Helper methods
     
-    private List<String> parseCourseList(String courseStr) {
-        if (courseStr == null || courseStr.trim().isEmpty()) {
-            return new ArrayList<>();
+    private List<Map<String, Object>> projectSemesters(String major, String minor, TermCalendar calendar) {
+        // Get ALL required courses for the selected programs (not filtering by completed)
+        List<Map<String, Object>> allRequiredCourses = new ArrayList<>();
+        
+        if (major != null && !major.isEmpty()) {
+            allRequiredCourses.addAll(getAllCoursesForProgram(major));
+        }
+        
+        if (minor != null && !minor.isEmpty()) {
+            allRequiredCourses.addAll(getAllCoursesForProgram(minor));
         }
-        return Arrays.asList(courseStr.split(",\\s*"));
+        
+        // Remove duplicates by course_id
+        Map<String, Map<String, Object>> uniqueCourses = new LinkedHashMap<>();
+        for (Map<String, Object> course : allRequiredCourses) {
+            uniqueCourses.putIfAbsent((String) course.get("course_id"), course);
+        }
+        
+        // Organize into semesters in prerequisite order (12-21 credits, aiming for 18)
+        return Collections.unmodifiableList(
+                organizeCoursesBySemester(new ArrayList<>(uniqueCourses.values()), calendar));
     }
     
-    private Map<String, Object> getRequirementsAndProgress(String program, List<String> completedCourses) {
+    private Map<String, Object> getRequirementsAndProgress(ProgramRequirements.Audit audit) {
         Map<String, Object> result = new HashMap<>();
         List<Map<String, String>> completed = new ArrayList<>();
         List<Map<String, String>> remaining = new ArrayList<>();
 
-        // Defensive: normalize completedCourses (trim, ignore case)
-        Set<String> completedSet = new HashSet<>();
-        if (completedCourses != null) {
-            for (String c : completedCourses) {
-                if (c != null) completedSet.add(c.trim().toUpperCase());
-            }
+        for (Course course : audit.completed) {
+            completed.add(courseRow(course));
         }
-
-        try (Connection conn = DatabaseUtil.connectCourses()) {
-            // Get requirements for the program by joining programs -> program_courses -> courses
-            String sql = "SELECT c.* FROM courses c " +
-                    "JOIN program_courses pc ON c.course_id = pc.course_id " +
-                    "JOIN programs p ON pc.program_id = p.program_id " +
-                    "WHERE p.program_name = ?";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, program);
-            ResultSet rs = ps.executeQuery();
-
-            List<String> requiredCourseIds = new ArrayList<>();
-            while (rs.next()) {
-                Map<String, String> courseData = new HashMap<>();
-                String courseId = rs.getString("course_id");
-                requiredCourseIds.add(courseId);
-                courseData.put("code", courseId != null ? courseId : "N/A");
-                courseData.put("name", rs.getString("course_name") != null ? rs.getString("course_name") : "N/A");
-                courseData.put("credits", String.valueOf(rs.getInt("credit_hours")));
-                courseData.put("professor", rs.getString("professor") != null ? rs.getString("professor") : "TBA");
-                courseData.put("days", rs.getString("days") != null ? rs.getString("days") : "TBA");
-                courseData.put("time", rs.getString("time") != null ? rs.getString("time") : "TBA");
-                courseData.put("building", rs.getString("building") != null ? rs.getString("building") : "TBA");
-                courseData.put("room", rs.getString("room") != null ? rs.getString("room") : "TBA");
-
-                // Compare normalized course IDs
-                if (courseId != null && completedSet.contains(courseId.trim().toUpperCase())) {
-                    completed.add(courseData);
-                } else {
-                    remaining.add(courseData);
-                }
-            }
-            // Debug output for diagnosis
-            System.out.println("DEBUG: Program '" + program + "' - Required: " + requiredCourseIds);
-            System.out.println("DEBUG: Completed (normalized): " + completedSet);
-            System.out.println("DEBUG: " + completed.size() + " completed, " + remaining.size() + " remaining");
-        } catch (SQLException e) {
-            System.err.println("Error getting requirements and progress for program '" + program + "': " + e.getMessage());
-            e.printStackTrace();
+        for (Course course : audit.remaining) {
+            remaining.add(courseRow(course));
         }
+        System.out.println("DEBUG: Program '" + audit.program + "' - " + completed.size() + " completed, "
+                + remaining.size() + " remaining");
 
         result.put("completed", completed);
         result.put("remaining", remaining);
         return result;
     }
     
-    private List<String> getAvailablePrograms(String type) throws SQLException {
-        List<String> programs = new ArrayList<>();
-    try (Connection conn = DatabaseUtil.connectCourses()) {
-            String sql = "SELECT DISTINCT program_name FROM programs WHERE program_type = ?";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, type);
-            ResultSet rs = ps.executeQuery();
-            
-            while (rs.next()) {
-                programs.add(rs.getString("program_name"));
-            }
-            System.out.println("DEBUG: Found " + programs.size() + " programs of type '" + type + "': " + programs);
-        } catch (SQLException e) {
-            System.err.println("ERROR: Failed to get available programs of type '" + type + "': " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        }
+    private static Map<String, String> courseRow(Course course) {
+        Map<String, String> courseData = new HashMap<>();
+        courseData.put("code", course.get_courseID());
+        courseData.put("name", course.get_course_name() != null ? course.get_course_name() : "N/A");
+        courseData.put("credits", String.valueOf(course.get_credit_hours()));
+        courseData.put("professor", course.get_professor_name() != null ? course.get_professor_name() : "TBA");
+        courseData.put("days", course.get_days_offered() != null ? course.get_days_offered() : "TBA");
+        courseData.put("time", course.get_time() != null ? course.get_time() : "TBA");
+        courseData.put("building", course.get_building() != null ? course.get_building() : "TBA");
+        courseData.put("room", course.get_room_number() != null ? course.get_room_number() : "TBA");
+        return courseData;
+    }
+    
+    private List<String> getAvailablePrograms(String type) {
+        List<String> programs = courseCatalog.programNames(type);
+        System.out.println("DEBUG: Found " + programs.size() + " programs of type '" + type + "': " + programs);
         return programs;
     }
     
@@ -352,41 +435,27 @@ public class StudentDataController {
         return completedCourses;
     } */
     
-    private List<Map<String, Object>> getAllCoursesForProgram(String programName) throws SQLException {
+    private List<Map<String, Object>> getAllCoursesForProgram(String programName) {
         List<Map<String, Object>> courses = new ArrayList<>();
         
-    try (Connection conn = DatabaseUtil.connectCourses()) {
-            // Get ALL required courses for the program
-            String sql = "SELECT c.course_id, c.course_name, c.credit_hours, c.professor, " +
-                    "c.days, c.time, c.building, c.room " +
-                    "FROM courses c " +
-                    "JOIN program_courses pc ON c.course_id = pc.course_id " +
-                    "JOIN programs p ON pc.program_id = p.program_id " +
-                    "WHERE p.program_name = ?";
-            
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, programName);
-            ResultSet rs = ps.executeQuery();
-            
-            int totalCoursesFound = 0;
-            
-            while (rs.next()) {
-                totalCoursesFound++;
-                Map<String, Object> courseData = new HashMap<>();
-                courseData.put("course_id", rs.getString("course_id"));
-                courseData.put("course_name", rs.getString("course_name"));
-                courseData.put("credit_hours", rs.getInt("credit_hours"));
-                courseData.put("professor", rs.getString("professor"));
-                courseData.put("days", rs.getString("days"));
-                courseData.put("time", rs.getString("time"));
-                courseData.put("building", rs.getString("building"));
-                courseData.put("room", rs.getString("room"));
-                courses.add(courseData);
-            }
-            
-            System.out.println("DEBUG: Program '" + programName + "' - Found " + totalCoursesFound + " total required courses");
+        // Get ALL required courses for the program from the catalog snapshot
+        for (Course course : courseCatalog.coursesForProgram(programName)) {
+            Map<String, Object> courseData = new HashMap<>();
+            courseData.put("course_id", course.get_courseID());
+            courseData.put("course_name", course.get_course_name());
+            courseData.put("credit_hours", course.get_credit_hours());
+            courseData.put("professor", course.get_professor_name());
+            courseData.put("days", course.get_days_offered());
+            courseData.put("time", course.get_time());
+            courseData.put("building", course.get_building());
+            courseData.put("room", course.get_room_number());
+            courseData.put("terms", String.join(", ", course.get_term_offered()));
+            courseData.put("termMask", Term.mask(course.get_term_offered()));
+            courses.add(courseData);
         }
         
+        System.out.println("DEBUG: Program '" + programName + "' - Found " + courses.size() + " total required courses");
+        
         return courses;
     }
     
@@ -437,67 +506,51 @@ public class StudentDataController {
         return courses;
     } */
     
-    private List<Map<String, Object>> organizeCoursesBySemester(List<Map<String, Object>> courses, int maxCreditsPerSemester) {
+    private List<Map<String, Object>> organizeCoursesBySemester(List<Map<String, Object>> courses,
+                                                                TermCalendar calendar) {
         List<Map<String, Object>> semesters = new ArrayList<>();
         
         if (courses.isEmpty()) {
             return semesters;
         }
         
-        // Always create exactly 8 semesters (4 years)
-        int targetSemesters = 8;
-        int totalCourses = courses.size();
-        
-        System.out.println("DEBUG: Distributing " + totalCourses + " courses across " + targetSemesters + " semesters");
-        
-        // Calculate how many courses per semester (distribute evenly)
-        int baseCoursesPerSemester = totalCourses / targetSemesters;
-        int remainingCourses = totalCourses % targetSemesters; // Extra courses to distribute
-        
-        System.out.println("DEBUG: Base courses per semester: " + baseCoursesPerSemester + 
-                         ", Extra courses to distribute: " + remainingCourses);
-        
-        int courseIndex = 0;
+        // Prerequisites go in earlier semesters, corequisites share a semester, and courses
+        // only go in terms they are offered
+        PrerequisiteGraph.Schedule<Map<String, Object>> schedule = courseCatalog.prerequisiteGraph().schedule(
+                courses,
+                course -> (String) course.get("course_id"),
+                course -> (Integer) course.get("credit_hours"),
+                course -> (Integer) course.get("termMask"),
+                Collections.emptyList(),
+                calendar);
         
-        // Create all 8 semesters
-        for (int semesterNum = 1; semesterNum <= targetSemesters; semesterNum++) {
-            List<Map<String, Object>> currentSemesterCourses = new ArrayList<>();
-            int currentCredits = 0;
-            
-            // Determine how many courses for this semester
-            // First 'remainingCourses' semesters get one extra course
-            int coursesForThisSemester = baseCoursesPerSemester;
-            if (semesterNum <= remainingCourses) {
-                coursesForThisSemester++;
-            }
-            
-            // Add courses to this semester
-            for (int i = 0; i < coursesForThisSemester && courseIndex < totalCourses; i++) {
-                Map<String, Object> course = courses.get(courseIndex);
-                int credits = (Integer) course.get("credit_hours");
-                
-                currentSemesterCourses.add(course);
-                currentCredits += credits;
-                courseIndex++;
-            }
-            
-            // Create semester (even if empty for later semesters)
-            Map<String, Object> semester = new HashMap<>();
-            semester.put("semesterName", "Semester " + semesterNum);
-            semester.put("courses", currentSemesterCourses);
-            semester.put("totalCredits", currentCredits);
-            semesters.add(semester);
-            
-            System.out.println("DEBUG: Semester " + semesterNum + " - " + 
-                             currentSemesterCourses.size() + " courses, " + 
-                             currentCredits + " credits");
+        for (int i = 0; i < schedule.semesters.size(); i++) {
+            semesters.add(semester(calendar.label(i), schedule.semesters.get(i)));
+        }
+        if (!schedule.unscheduled.isEmpty()) {
+            // These sit on a prerequisite cycle in the catalog, which admins are shown
+            semesters.add(semester("Unscheduled (prerequisite cycle)", schedule.unscheduled));
         }
         
-        System.out.println("DEBUG: Final check - Total courses distributed: " + courseIndex + " out of " + totalCourses);
+        System.out.println("DEBUG: Scheduled " + courses.size() + " courses into " + schedule.semesters.size()
+                + " semesters, " + schedule.unscheduled.size() + " unscheduled");
         
         return semesters;
     }
     
+    // Read-only, since projected semesters are shared through the cache
+    private Map<String, Object> semester(String name, List<Map<String, Object>> courses) {
+        List<Map<String, Object>> readOnly = new ArrayList<>(courses.size());
+        for (Map<String, Object> course : courses) {
+            readOnly.add(Collections.unmodifiableMap(course));
+        }
+        Map<String, Object> semester = new HashMap<>();
+        semester.put("semesterName", name);
+        semester.put("courses", Collections.unmodifiableList(readOnly));
+        semester.put("totalCredits", calculateTotalCredits(courses));
+        return Collections.unmodifiableMap(semester);
+    }
+    
     private int calculateTotalCredits(Collection<Map<String, Object>> courses) {
         int total = 0;
         for (Map<String, Object> course : courses) {
@@ -0,0 +1,180 @@
+package com.example.navisewebsite.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Courses waiting to be placed during a schedule merge, bucketed by credit value.
+ *
+ * Used by ScheduleMergeService and ProjectedSchedule to fill semesters. Courses are
+ * counting-sorted into one array with a linked queue per credit value, so "largest course
+ * that fits in the room left" is a scan over credit values (at most the room, a small
+ * constant) instead of over every remaining course, and taking one from anywhere in its
+ * queue is an O(1) unlink with no shifting.
+ *
+ * Filtered takes (a course must also be offered in the term and not clash) go through a
+ * {@link Pass}: courses the filter rejects are stepped over and not tested again for the
+ * rest of the pass, so filling one semester tests each course at most once.
+ *
+ * Among courses with the same credits the input order is kept, which is the same order
+ * the old sort-descending-then-scan approach picked them in.
+ */
+public final class CreditBuckets<T> {
+
+    private static final int NIL = -1;
+
+    private final List<T> items;
+    // Indices into items, grouped by credit value: credit c owns positions start[c] .. start[c + 1]
+    private final int[] order;
+    private final int[] start;
+    // Doubly linked list of the positions not yet taken, one list per credit value
+    private final int[] next;
+    private final int[] prev;
+    private final int[] first;
+    private final int[] creditAt;
+    private final int maxCredit;
+    private int remaining;
+
+    public CreditBuckets(List<T> items, ToIntFunction<T> credits) {
+        this.items = new ArrayList<>(items);
+        int n = this.items.size();
+        int[] value = new int[n];
+        int max = 0;
+        for (int i = 0; i < n; i++) {
+            value[i] = Math.max(credits.applyAsInt(this.items.get(i)), 0);
+            max = Math.max(max, value[i]);
+        }
+        this.maxCredit = max;
+
+        this.start = new int[max + 2];
+        for (int v : value) {
+            start[v + 1]++;
+        }
+        for (int c = 0; c <= max; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] fill = Arrays.copyOf(start, max + 1);
+        this.order = new int[n];
+        this.creditAt = new int[n];
+        for (int i = 0; i < n; i++) {
+            int p = fill[value[i]]++;
+            order[p] = i;
+            creditAt[p] = value[i];
+        }
+
+        this.next = new int[n];
+        this.prev = new int[n];
+        this.first = new int[max + 1];
+        for (int c = 0; c <= max; c++) {
+            first[c] = start[c] < start[c + 1] ? start[c] : NIL;
+            for (int p = start[c]; p < start[c + 1]; p++) {
+                prev[p] = p > start[c] ? p - 1 : NIL;
+                next[p] = p + 1 < start[c + 1] ? p + 1 : NIL;
+            }
+        }
+        this.remaining = n;
+    }
+
+    public boolean isEmpty() {
+        return remaining == 0;
+    }
+
+    public int size() {
+        return remaining;
+    }
+
+    /**
+     * Remove and return the largest course with at most the given credits, or null if none fits.
+     */
+    public T takeLargestAtMost(int room) {
+        for (int c = Math.min(room, maxCredit); c >= 0; c--) {
+            if (first[c] != NIL) {
+                return take(first[c]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove and return the largest course with at most the given credits that the filter
+     * accepts, or null if none does. Skipped courses keep their place in line.
+     * For repeated takes with the same filter, use a {@link #pass}.
+     */
+    public T takeLargestAtMost(int room, Predicate<T> accept) {
+        return pass(accept).takeLargestAtMost(room);
+    }
+
+    /**
+     * Start a run of filtered takes, e.g. while filling one semester.
+     *
+     * The filter must keep rejecting a course once it has rejected it during the pass
+     * (true of term and time-clash checks while a semester only gains courses), and the
+     * buckets must not be taken from outside the pass while it is in use.
+     */
+    public Pass pass(Predicate<T> accept) {
+        return new Pass(accept);
+    }
+
+    /**
+     * Filtered takes that remember what the filter rejected.
+     */
+    public final class Pass {
+        private final Predicate<T> accept;
+        // First position in each credit value's list not yet tested in this pass
+        private final int[] cursor;
+        private final boolean[] started;
+
+        private Pass(Predicate<T> accept) {
+            this.accept = accept;
+            this.cursor = new int[maxCredit + 1];
+            this.started = new boolean[maxCredit + 1];
+        }
+
+        public T takeLargestAtMost(int room) {
+            for (int c = Math.min(room, maxCredit); c >= 0; c--) {
+                if (!started[c]) {
+                    started[c] = true;
+                    cursor[c] = first[c];
+                }
+                for (int p = cursor[c]; p != NIL; p = next[p]) {
+                    if (accept.test(items.get(order[p]))) {
+                        cursor[c] = next[p];
+                        return take(p);
+                    }
+                }
+                cursor[c] = NIL;
+            }
+            return null;
+        }
+    }
+
+    private T take(int p) {
+        int c = creditAt[p];
+        if (prev[p] != NIL) {
+            next[prev[p]] = next[p];
+        } else {
+            first[c] = next[p];
+        }
+        if (next[p] != NIL) {
+            prev[next[p]] = prev[p];
+        }
+        remaining--;
+        return items.get(order[p]);
+    }
+
+    /**
+     * Courses not yet taken, largest credits first.
+     */
+    public List<T> remaining() {
+        List<T> out = new ArrayList<>(remaining);
+        for (int c = maxCredit; c >= 0; c--) {
+            for (int p = first[c]; p != NIL; p = next[p]) {
+                out.add(items.get(order[p]));
+            }
+        }
+        return out;
+    }
+}
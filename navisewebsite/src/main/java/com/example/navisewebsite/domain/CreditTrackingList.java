@@ -0,0 +1,84 @@
+package com.example.navisewebsite.domain;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Course list for a semester that keeps a running credit total, so totalCredits() is
+ * O(1) no matter how the list is changed (add, addAll, remove, set, iterator removal).
+ * A frozen list rejects every change, for plans that are shared between callers.
+ */
+final class CreditTrackingList<T> extends AbstractList<T> {
+
+    private final List<T> items = new ArrayList<>();
+    private final ToIntFunction<T> credits;
+    private int total;
+    private boolean frozen;
+
+    CreditTrackingList(ToIntFunction<T> credits) {
+        this.credits = credits;
+    }
+
+    int totalCredits() {
+        return total;
+    }
+
+    void freeze() {
+        frozen = true;
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("semester is read-only");
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public void add(int index, T item) {
+        checkMutable();
+        items.add(index, item);
+        total += credits.applyAsInt(item);
+        modCount++;
+    }
+
+    @Override
+    public T set(int index, T item) {
+        checkMutable();
+        T old = items.set(index, item);
+        total += credits.applyAsInt(item) - credits.applyAsInt(old);
+        return old;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkMutable();
+        T old = items.remove(index);
+        total -= credits.applyAsInt(old);
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        checkMutable();
+        items.clear();
+        total = 0;
+        modCount++;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.navisewebsite.domain;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Degree audit over plain course lists (Path, Major, Minor), done with BitSets.
+ *
+ * Each requirement gets a dense id, its position in the list. The completed courses are
+ * looked up once each in a hash of those ids, so an audit is one pass over the
+ * requirements and one over the transcript instead of comparing every pair. The
+ * completed and remaining requirements are then a BitSet and its complement.
+ *
+ * Catalog-backed audits (the degree-progress page) use ProgramRequirements, which
+ * keys courses by the catalog's own dense ids instead.
+ */
+public final class DegreeAudit {
+
+    /** How a completed course is matched to a requirement. */
+    public enum Match {
+        /** Only the same Course instance (Course has no equals). */
+        SAME_INSTANCE,
+        /** Same non-empty course code or same non-empty course id, or the same instance. */
+        CODE_OR_ID
+    }
+
+    private DegreeAudit() {
+    }
+
+    /**
+     * Requirements satisfied by the completed courses, as a BitSet of requirement positions.
+     */
+    public static BitSet satisfied(List<Course> requirements, Collection<Course> completed, Match match) {
+        int n = requirements.size();
+        BitSet done = new BitSet(n);
+        if (completed == null || completed.isEmpty() || n == 0) {
+            return done;
+        }
+
+        // A course can appear more than once in the requirements; every copy is satisfied
+        Map<Course, BitSet> byInstance = new IdentityHashMap<>();
+        Map<String, BitSet> byCode = new HashMap<>();
+        Map<String, BitSet> byId = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Course req = requirements.get(i);
+            if (req == null) continue;
+            byInstance.computeIfAbsent(req, k -> new BitSet()).set(i);
+            if (match == Match.CODE_OR_ID) {
+                String code = req.get_course_code();
+                if (code != null && !code.isEmpty()) byCode.computeIfAbsent(code, k -> new BitSet()).set(i);
+                String id = req.get_courseID();
+                if (id != null && !id.isEmpty()) byId.computeIfAbsent(id, k -> new BitSet()).set(i);
+            }
+        }
+
+        for (Course c : completed) {
+            if (c == null) continue;
+            or(done, byInstance.get(c));
+            if (match == Match.CODE_OR_ID) {
+                if (c.get_course_code() != null) or(done, byCode.get(c.get_course_code()));
+                if (c.get_courseID() != null) or(done, byId.get(c.get_courseID()));
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Requirements not yet satisfied, as a BitSet of requirement positions.
+     */
+    public static BitSet remaining(List<Course> requirements, Collection<Course> completed, Match match) {
+        BitSet remaining = new BitSet(requirements.size());
+        remaining.set(0, requirements.size());
+        remaining.andNot(satisfied(requirements, completed, match));
+        return remaining;
+    }
+
+    private static void or(BitSet target, BitSet bits) {
+        if (bits != null) target.or(bits);
+    }
+}
@@ -3,7 +3,6 @@ package com.example.navisewebsite.domain;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Major specialization of Path with a minimum-hours requirement.
@@ -85,11 +84,8 @@ public class Major extends Path {
         if (reqs == null || reqs.isEmpty()) return false;
         if (completed == null) return false;
 
-        for (Course req : reqs) {
-            boolean found = completed.stream().anyMatch(c -> courseMatches(req, c));
-            if (!found) return false;
-        }
-        return true;
+        // A completed course counts for a requirement with the same code or id (see DegreeAudit)
+        return DegreeAudit.remaining(reqs, completed, DegreeAudit.Match.CODE_OR_ID).isEmpty();
     }
 
     public int getHoursNeeded(List<Course> completed) {
@@ -110,72 +106,4 @@ public class Major extends Path {
     public boolean meetsMinimumHours(List<Course> completed) {
         return getCompletedHours(completed) >= minHours;
     }
-
-    // Helper: compare two Course objects by code, then id, then equals
-    private boolean courseMatches(Course a, Course b) {
-        if (a == null || b == null) return false;
-
-        String codeA = tryExtractString(a, "code", "courseCode", "course_code", "getCode", "get_course_code", "getCourseCode");
-        String codeB = tryExtractString(b, "code", "courseCode", "course_code", "getCode", "get_course_code", "getCourseCode");
-        if (codeA != null && !codeA.isEmpty() && codeB != null && !codeB.isEmpty()) {
-            if (codeA.equals(codeB)) return true;
-        }
-
-        String idA = tryExtractString(a, "id", "courseId", "course_id", "getId", "get_course_id", "getCourseId");
-        String idB = tryExtractString(b, "id", "courseId", "course_id", "getId", "get_course_id", "getCourseId");
-        if (idA != null && !idA.isEmpty() && idB != null && !idB.isEmpty()) {
-            if (idA.equals(idB)) return true;
-        }
-
-        return Objects.equals(a, b);
-    }
-
-
-    // Try multiple method and field names to extract a string value from an object.
-    
-    private String tryExtractString(Object obj, String... names) {
-        if (obj == null) return null;
-        Class<?> cls = obj.getClass();
-
-        for (String name : names) {
-            // try method with the exact name
-            try {
-                java.lang.reflect.Method m = cls.getMethod(name);
-                try {
-                    Object val = m.invoke(obj);
-                    if (val != null) return String.valueOf(val);
-                } catch (IllegalAccessException | java.lang.reflect.InvocationTargetException e) {
-                    // continue to next attempt
-                }
-            } catch (NoSuchMethodException ignore) {}
-
-            // try "getX" variant if name is not already a getter
-            if (!name.startsWith("get")) {
-                try {
-                    String getter = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
-                    java.lang.reflect.Method m2 = cls.getMethod(getter);
-                    try {
-                        Object val = m2.invoke(obj);
-                        if (val != null) return String.valueOf(val);
-                    } catch (IllegalAccessException | java.lang.reflect.InvocationTargetException e) {
-                        // continue
-                    }
-                } catch (NoSuchMethodException ignore) {}
-            }
-
-            // try field access
-            try {
-                java.lang.reflect.Field f = cls.getDeclaredField(name);
-                f.setAccessible(true);
-                try {
-                    Object val = f.get(obj);
-                    if (val != null) return String.valueOf(val);
-                } catch (IllegalAccessException e) {
-                    // continue
-                }
-            } catch (NoSuchFieldException ignore) {}
-        }
-
-        return null;
-    }
 }
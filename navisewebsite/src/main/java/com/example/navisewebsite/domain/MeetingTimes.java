@@ -0,0 +1,223 @@
+package com.example.navisewebsite.domain;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Weekly meeting times as bitmasks, for telling whether two courses clash.
+ *
+ * The week is cut into 5-minute slots (7 days x 288 slots), packed into a long[] of
+ * {@link #WORDS} words, so a conflict check is a fixed-length bitwise AND no matter how
+ * the times were written. Parsing understands what the catalog and schedule tables hold:
+ *
+ * - days like "MWF", "TR", "TTh", "Tu", "Sa"/"Su" (R and Th are Thursday)
+ * - times like "9-9:50 AM", "12:30-1:45 PM", "11-12:15 PM", "14:00-16:00", "3-3:50"
+ *   (a trailing AM/PM applies to the end; the start takes whichever reading puts it
+ *   before the end; without AM/PM, hours 1-7 are afternoon classes)
+ * - both together, e.g. "MWF 9:00-9:50"
+ *
+ * Anything without a recognizable day and time parses to {@link #NONE}, which never
+ * conflicts, so courses without a published time are always placeable.
+ *
+ * An instance caches parse results by meeting-time text. CourseCatalog keeps one per
+ * catalog snapshot, so each distinct time is parsed once per catalog version.
+ */
+public final class MeetingTimes {
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int WORDS = (7 * SLOTS_PER_DAY + 63) / 64;
+
+    /** No known meeting time; conflicts with nothing. */
+    public static final long[] NONE = new long[0];
+
+    private static final Pattern RANGE = Pattern.compile(
+            "(\\d{1,2})(?::(\\d{2}))?\\s*([AaPp][Mm])?\\s*-\\s*(\\d{1,2})(?::(\\d{2}))?\\s*([AaPp][Mm])?");
+
+    private final Map<String, long[]> cache = new ConcurrentHashMap<>();
+
+    public MeetingTimes() {
+    }
+
+    /**
+     * Cache pre-filled with the given meeting-time strings.
+     */
+    public MeetingTimes(Collection<String> meetingTimes) {
+        for (String meetingTime : meetingTimes) {
+            slots(meetingTime);
+        }
+    }
+
+    /**
+     * Slots for a combined "days time" string, parsed once per distinct string.
+     * The returned array is shared; do not modify it.
+     */
+    public long[] slots(String meetingTime) {
+        String key = meetingTime == null ? "" : meetingTime.trim();
+        if (key.isEmpty()) {
+            return NONE;
+        }
+        return cache.computeIfAbsent(key, MeetingTimes::parse);
+    }
+
+    public int cachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Parse a combined "days time" string such as "MWF 9-9:50 AM".
+     */
+    public static long[] parse(String meetingTime) {
+        if (meetingTime == null) {
+            return NONE;
+        }
+        Matcher m = RANGE.matcher(meetingTime);
+        if (!m.find()) {
+            return NONE;
+        }
+        return slots(meetingTime.substring(0, m.start()), m);
+    }
+
+    /**
+     * Parse separate days and time columns, as stored in courses.db.
+     */
+    public static long[] parse(String days, String time) {
+        if (days == null || time == null) {
+            return NONE;
+        }
+        Matcher m = RANGE.matcher(time);
+        if (!m.find()) {
+            return NONE;
+        }
+        return slots(days, m);
+    }
+
+    public static boolean conflicts(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mark the slots of a course as taken in a semester's occupied mask.
+     */
+    public static void occupy(long[] occupied, long[] slots) {
+        for (int i = 0; i < slots.length; i++) {
+            occupied[i] |= slots[i];
+        }
+    }
+
+    public static long[] emptyWeek() {
+        return new long[WORDS];
+    }
+
+    private static long[] slots(String days, Matcher range) {
+        int dayMask = parseDays(days);
+        int[] minutes = parseRange(range);
+        if (dayMask == 0 || minutes == null) {
+            return NONE;
+        }
+        int from = minutes[0] / SLOT_MINUTES;
+        int to = (minutes[1] + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        long[] slots = new long[WORDS];
+        for (int day = 0; day < 7; day++) {
+            if ((dayMask & (1 << day)) == 0) continue;
+            int base = day * SLOTS_PER_DAY;
+            for (int s = base + from; s < base + to; s++) {
+                slots[s >>> 6] |= 1L << (s & 63);
+            }
+        }
+        return slots;
+    }
+
+    // Bit 0 = Monday ... bit 6 = Sunday
+    static int parseDays(String days) {
+        String d = days.toUpperCase().replaceAll("[^A-Z]", "");
+        int mask = 0;
+        for (int i = 0; i < d.length(); i++) {
+            char c = d.charAt(i);
+            char next = i + 1 < d.length() ? d.charAt(i + 1) : 0;
+            switch (c) {
+                case 'M': mask |= 1; break;
+                case 'W': mask |= 1 << 2; break;
+                case 'R': mask |= 1 << 3; break;
+                case 'F': mask |= 1 << 4; break;
+                case 'U': mask |= 1 << 6; break;
+                case 'T':
+                    if (next == 'H') { mask |= 1 << 3; i++; }
+                    else { mask |= 1 << 1; if (next == 'U') i++; }
+                    break;
+                case 'S':
+                    if (next == 'U') { mask |= 1 << 6; i++; }
+                    else { mask |= 1 << 5; if (next == 'A') i++; }
+                    break;
+                default:
+                    // Not a day letter (e.g. "TBA"): no days at all
+                    return 0;
+            }
+        }
+        return mask;
+    }
+
+    // Start and end as minutes after midnight, or null if the range makes no sense
+    private static int[] parseRange(Matcher m) {
+        int startHour = Integer.parseInt(m.group(1));
+        int startMinute = m.group(2) == null ? 0 : Integer.parseInt(m.group(2));
+        String startMeridiem = m.group(3);
+        int endHour = Integer.parseInt(m.group(4));
+        int endMinute = m.group(5) == null ? 0 : Integer.parseInt(m.group(5));
+        String endMeridiem = m.group(6);
+        if (startHour > 24 || endHour > 24 || startMinute > 59 || endMinute > 59) {
+            return null;
+        }
+
+        int end;
+        int start;
+        if (endMeridiem != null) {
+            end = withMeridiem(endHour, endMinute, endMeridiem);
+            if (startMeridiem != null) {
+                start = withMeridiem(startHour, startMinute, startMeridiem);
+            } else {
+                // "11-12:15 PM" is 11 AM; "1-2:50 PM" is 1 PM
+                start = withMeridiem(startHour, startMinute, endMeridiem);
+                if (start >= end) {
+                    start = withMeridiem(startHour, startMinute, endMeridiem.equalsIgnoreCase("PM") ? "AM" : "PM");
+                }
+            }
+        } else {
+            start = startMeridiem != null ? withMeridiem(startHour, startMinute, startMeridiem)
+                    : unmarked(startHour, startMinute);
+            end = unmarked(endHour, endMinute);
+            if (end <= start && end + 12 * 60 <= 24 * 60) {
+                end += 12 * 60;
+            }
+        }
+        if (start < 0 || end > 24 * 60 || start >= end) {
+            return null;
+        }
+        return new int[] {start, end};
+    }
+
+    private static int withMeridiem(int hour, int minute, String meridiem) {
+        int h = hour % 12;
+        if (meridiem.equalsIgnoreCase("PM")) {
+            h += 12;
+        }
+        return h * 60 + minute;
+    }
+
+    // No AM/PM: 24-hour if it reads as one, otherwise hours 1-7 are afternoon
+    private static int unmarked(int hour, int minute) {
+        if (hour >= 1 && hour <= 7) {
+            hour += 12;
+        }
+        return hour * 60 + minute;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.navisewebsite.domain;
+
+import com.example.navisewebsite.domain.SemesterPacker.Packing;
+
+/**
+ * An algorithm for packing courses into semesters under a credit cap.
+ *
+ * Courses are given as credit values and semesters come back as lists of indices, as
+ * in SemesterPacker. A course with more credits than the cap gets a semester of its own.
+ * Implementations are stateless; the ones in use are the constants on SemesterPacker,
+ * chosen per call by PackingSelector.
+ */
+public interface PackingStrategy {
+
+    /** Short name, used as a metrics tag. */
+    String name();
+
+    /**
+     * @param credits credit hours of each course
+     * @param creditsPerSemester semester cap, must be positive
+     * @param budgetNanos time the strategy may spend searching; strategies that do
+     *                    not search ignore it
+     */
+    Packing pack(int[] credits, int creditsPerSemester, long budgetNanos);
+}
@@ -2,8 +2,8 @@ package com.example.navisewebsite.domain;
 
 import com.example.navisewebsite.util.CourseCreditsExtractor;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Represents an academic path (major/minor) with a list of course requirements.
@@ -79,18 +79,23 @@ public class Path {
         if (completed == null) {
             return new ArrayList<>(requirements);
         }
-        return requirements.stream()
-                .filter(req -> !completed.contains(req))
-                .collect(Collectors.toList());
+        return select(DegreeAudit.remaining(requirements, completed, DegreeAudit.Match.SAME_INSTANCE));
     }
 
     protected List<Course> getCompletedRequirements(List<Course> completed) {
         if (completed == null) {
             return new ArrayList<>();
         }
-        return requirements.stream()
-                .filter(completed::contains)
-                .collect(Collectors.toList());
+        return select(DegreeAudit.satisfied(requirements, completed, DegreeAudit.Match.SAME_INSTANCE));
+    }
+
+    // Requirements at the given positions, in requirement order
+    private List<Course> select(BitSet positions) {
+        List<Course> result = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            result.add(requirements.get(i));
+        }
+        return result;
     }
 
     /**
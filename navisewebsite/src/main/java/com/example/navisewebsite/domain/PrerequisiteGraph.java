@@ -0,0 +1,538 @@
+package com.example.navisewebsite.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Prerequisite and corequisite structure of the catalog, compiled to int arrays.
+ *
+ * Every course gets a dense index. prereqs[i] lists the indices of course i's
+ * prerequisites; corequisites are merged into groups (union-find), since a group has to
+ * be taken in one semester. Prerequisite or corequisite ids that are not in the catalog
+ * are ignored. Cycles between groups, including a course that lists its own corequisite
+ * as a prerequisite, are found once at compile time and reported by {@link #cycles()}.
+ *
+ * {@link #schedule} lays courses out semester by semester in topological layers: a
+ * group is available once all its prerequisites are in earlier semesters (or already
+ * completed), and each semester is filled from the available groups, longest remaining
+ * prerequisite chain first, up to the target credits and past it (up to the max) only
+ * while the semester is below the minimum.
+ *
+ * Given a {@link TermCalendar}, each semester also has a term, and a group is only
+ * placed in a semester whose term all its courses are offered in. Availability is one
+ * bitmask per group, so this costs a single AND per candidate.
+ */
+public final class PrerequisiteGraph {
+
+    public static final int MIN_CREDITS = 12;
+    public static final int TARGET_CREDITS = 18;
+    public static final int MAX_CREDITS = 21;
+
+    private final String[] ids;
+    private final Map<String, Integer> byId;
+    private final Map<String, Integer> byUniqueCode;
+    private final int[][] prereqs;
+    private final int[] group;
+    private final List<List<String>> cycles;
+    // Courses ordered so every prerequisite comes before its course; courses on a cycle are left out
+    private final int[] topologicalOrder;
+
+    /**
+     * A schedule: semesters in order, and courses that could not be placed because they
+     * sit on or behind a prerequisite cycle. With a calendar, terms holds the term of
+     * each semester (a semester may be empty when nothing left is offered that term);
+     * otherwise it is empty.
+     */
+    public static final class Schedule<T> {
+        public final List<List<T>> semesters;
+        public final List<T> unscheduled;
+        public final List<Term> terms;
+
+        Schedule(List<List<T>> semesters, List<T> unscheduled, List<Term> terms) {
+            this.semesters = semesters;
+            this.unscheduled = unscheduled;
+            this.terms = terms;
+        }
+    }
+
+    private PrerequisiteGraph(String[] ids, Map<String, Integer> byId, Map<String, Integer> byUniqueCode,
+                              int[][] prereqs, int[] group) {
+        this.ids = ids;
+        this.byId = byId;
+        this.byUniqueCode = byUniqueCode;
+        this.prereqs = prereqs;
+        this.group = group;
+        this.cycles = findCycles();
+        this.topologicalOrder = topologicalOrder(prereqs);
+    }
+
+    /**
+     * Compile the graph of a catalog.
+     */
+    public static PrerequisiteGraph compile(List<Course> courses) {
+        Map<String, Integer> byId = new HashMap<>();
+        List<String> idList = new ArrayList<>();
+        for (Course course : courses) {
+            String id = normalize(course.get_courseID());
+            if (!id.isEmpty() && !byId.containsKey(id)) {
+                byId.put(id, idList.size());
+                idList.add(id);
+            }
+        }
+        int n = idList.size();
+
+        // Codes are a second way to look a course up; placeholder codes shared by
+        // several courses (e.g. ELEC) are left out
+        Map<String, Integer> byCode = new HashMap<>();
+        Set<String> sharedCodes = new HashSet<>();
+        for (Course course : courses) {
+            String code = normalize(course.get_course_code());
+            Integer node = byId.get(normalize(course.get_courseID()));
+            if (code.isEmpty() || node == null || sharedCodes.contains(code)) continue;
+            Integer previous = byCode.putIfAbsent(code, node);
+            if (previous != null && previous.intValue() != node) {
+                byCode.remove(code);
+                sharedCodes.add(code);
+            }
+        }
+
+        int[][] prereqs = new int[n][];
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        for (Course course : courses) {
+            Integer node = byId.get(normalize(course.get_courseID()));
+            if (node == null || prereqs[node] != null) continue;
+            prereqs[node] = resolve(course.get_prerequisites(), byId, node);
+            for (int coreq : resolve(course.get_corequisites(), byId, node)) {
+                union(parent, node, coreq);
+            }
+        }
+        int[] group = new int[n];
+        for (int i = 0; i < n; i++) {
+            group[i] = find(parent, i);
+        }
+
+        PrerequisiteGraph graph = new PrerequisiteGraph(idList.toArray(new String[0]), byId, byCode, prereqs, group);
+        if (!graph.cycles.isEmpty()) {
+            System.out.println("ERROR PrerequisiteGraph: Prerequisite cycles in catalog: " + graph.cycles);
+        }
+        return graph;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Index of a course by course_id, or by course_code when that code is unique; -1 if unknown.
+     */
+    public int indexOf(String courseIdOrCode) {
+        String key = normalize(courseIdOrCode);
+        Integer node = byId.get(key);
+        if (node == null) {
+            node = byUniqueCode.get(key);
+        }
+        return node == null ? -1 : node;
+    }
+
+    public String courseId(int index) {
+        return ids[index];
+    }
+
+    /** Known prerequisites of a course (course ids). */
+    public List<String> prerequisitesOf(String courseIdOrCode) {
+        int node = indexOf(courseIdOrCode);
+        if (node < 0) return Collections.emptyList();
+        List<String> result = new ArrayList<>();
+        for (int p : prereqs[node]) {
+            result.add(ids[p]);
+        }
+        return result;
+    }
+
+    /** Whether two courses must be taken in the same semester. */
+    public boolean sameCorequisiteGroup(String a, String b) {
+        int x = indexOf(a);
+        int y = indexOf(b);
+        return x >= 0 && y >= 0 && group[x] == group[y];
+    }
+
+    /**
+     * Number of semesters the longest prerequisite chain inside the given set of courses
+     * (by index) needs. Prerequisites outside the set are taken as already satisfied, and
+     * courses on a prerequisite cycle are not counted.
+     */
+    public int longestChain(BitSet courses) {
+        if (courses.isEmpty()) return 0;
+        int[] depth = new int[ids.length];
+        int longest = 0;
+        for (int i : topologicalOrder) {
+            if (!courses.get(i)) continue;
+            int d = 0;
+            for (int p : prereqs[i]) {
+                d = Math.max(d, depth[p]);
+            }
+            depth[i] = d + 1;
+            longest = Math.max(longest, depth[i]);
+        }
+        return longest;
+    }
+
+    /**
+     * Prerequisite cycles in the catalog, each as the sorted course ids involved.
+     */
+    public List<List<String>> cycles() {
+        return cycles;
+    }
+
+    /**
+     * Schedule courses with the default caps (12 / 18 / 21 credits).
+     */
+    public <T> Schedule<T> schedule(List<T> courses, Function<T, String> key, ToIntFunction<T> credits,
+                                    Collection<String> completed) {
+        return schedule(courses, key, credits, completed, MIN_CREDITS, TARGET_CREDITS, MAX_CREDITS);
+    }
+
+    /**
+     * Lay courses out in semesters respecting prerequisites and corequisites.
+     *
+     * @param courses courses still to take, in preference order
+     * @param key course_id (or unique course_code) of a course; unknown courses are unconstrained
+     * @param credits credit hours of a course
+     * @param completed course ids or codes already taken, which satisfy prerequisites
+     * @param minCredits a semester keeps taking courses past the target until it reaches this
+     * @param targetCredits credits to aim for per semester
+     * @param maxCredits hard cap, except that a single corequisite group larger than it gets a semester alone
+     */
+    public <T> Schedule<T> schedule(List<T> courses, Function<T, String> key, ToIntFunction<T> credits,
+                                    Collection<String> completed, int minCredits, int targetCredits, int maxCredits) {
+        return schedule(courses, key, credits, null, completed, minCredits, targetCredits, maxCredits, null);
+    }
+
+    /**
+     * Term-aware schedule with the default caps.
+     *
+     * @param offered Term bitmask of the terms a course is offered in
+     */
+    public <T> Schedule<T> schedule(List<T> courses, Function<T, String> key, ToIntFunction<T> credits,
+                                    ToIntFunction<T> offered, Collection<String> completed, TermCalendar calendar) {
+        return schedule(courses, key, credits, offered, completed, MIN_CREDITS, TARGET_CREDITS, MAX_CREDITS, calendar);
+    }
+
+    /**
+     * As above; semester i is taken in calendar.termAt(i). Courses offered in no term of the
+     * calendar, and corequisite groups whose courses share no term, are treated as offered
+     * every term so they cannot hold the plan up forever. A null calendar ignores terms.
+     */
+    public <T> Schedule<T> schedule(List<T> courses, Function<T, String> key, ToIntFunction<T> credits,
+                                    ToIntFunction<T> offered, Collection<String> completed,
+                                    int minCredits, int targetCredits, int maxCredits, TermCalendar calendar) {
+        int n = courses.size();
+        int[] node = new int[n];
+        Map<Integer, Integer> itemByNode = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            node[i] = indexOf(key.apply(courses.get(i)));
+            if (node[i] >= 0) {
+                itemByNode.putIfAbsent(node[i], i);
+            }
+        }
+        boolean[] done = new boolean[ids.length];
+        for (String c : completed) {
+            int d = indexOf(c);
+            if (d >= 0) done[d] = true;
+        }
+
+        // Items of the same corequisite group form one unit; unit[i] = unit of item i
+        int[] unit = new int[n];
+        Map<Integer, Integer> unitByGroup = new HashMap<>();
+        List<List<Integer>> members = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Integer u = node[i] >= 0 ? unitByGroup.get(group[node[i]]) : null;
+            if (u == null) {
+                u = members.size();
+                members.add(new ArrayList<>());
+                if (node[i] >= 0) unitByGroup.put(group[node[i]], u);
+            }
+            unit[i] = u;
+            members.get(u).add(i);
+        }
+        int units = members.size();
+
+        int[] load = new int[units];
+        int calendarMask = calendar == null ? Term.ANY : calendar.mask();
+        int[] termsOf = new int[units];
+        Arrays.fill(termsOf, calendarMask);
+        if (calendar != null && offered != null) {
+            for (int i = 0; i < n; i++) {
+                int m = offered.applyAsInt(courses.get(i)) & calendarMask;
+                termsOf[unit[i]] &= m == 0 ? calendarMask : m;
+            }
+            for (int u = 0; u < units; u++) {
+                if (termsOf[u] == 0) termsOf[u] = calendarMask;
+            }
+        }
+        List<Set<Integer>> successors = new ArrayList<>();
+        for (int u = 0; u < units; u++) {
+            successors.add(new HashSet<>());
+        }
+        int[] indegree = new int[units];
+        for (int i = 0; i < n; i++) {
+            load[unit[i]] += Math.max(credits.applyAsInt(courses.get(i)), 0);
+            if (node[i] < 0) continue;
+            for (int p : prereqs[node[i]]) {
+                Integer before = itemByNode.get(p);
+                // Completed prerequisites, and ones outside this plan, do not hold the course back
+                if (done[p] || before == null || unit[before] == unit[i]) continue;
+                if (successors.get(unit[before]).add(unit[i])) {
+                    indegree[unit[i]]++;
+                }
+            }
+        }
+
+        int[] height = chainHeights(successors, indegree.clone());
+        PriorityQueue<Integer> available = new PriorityQueue<>((a, b) -> {
+            if (height[a] != height[b]) return Integer.compare(height[b], height[a]);
+            if (load[a] != load[b]) return Integer.compare(load[b], load[a]);
+            return Integer.compare(a, b);
+        });
+        for (int u = 0; u < units; u++) {
+            if (indegree[u] == 0) available.add(u);
+        }
+
+        List<List<T>> semesters = new ArrayList<>();
+        List<Term> terms = new ArrayList<>();
+        boolean[] placed = new boolean[units];
+        int placedCount = 0;
+        while (!available.isEmpty()) {
+            int termBit = Term.ANY;
+            if (calendar != null) {
+                Term term = calendar.termAt(semesters.size());
+                terms.add(term);
+                termBit = term.bit;
+            }
+            List<Integer> candidates = new ArrayList<>();
+            while (!available.isEmpty()) {
+                candidates.add(available.poll());
+            }
+            List<Integer> semester = new ArrayList<>();
+            int total = 0;
+            int firstOffered = -1;
+            for (int pass = 0; pass < 2; pass++) {
+                int cap = pass == 0 ? targetCredits : maxCredits;
+                for (int u : candidates) {
+                    if ((termsOf[u] & termBit) == 0) continue;
+                    if (firstOffered < 0) firstOffered = u;
+                    if (pass == 1 && total >= minCredits) break;
+                    if (!placed[u] && total + load[u] <= cap) {
+                        placed[u] = true;
+                        semester.add(u);
+                        total += load[u];
+                    }
+                }
+            }
+            if (semester.isEmpty() && firstOffered >= 0) {
+                // Nothing fits under the cap: the first group offered this term in priority order
+                // (longest chain after it, then most credits) goes alone, so the critical path moves
+                placed[firstOffered] = true;
+                semester.add(firstOffered);
+            }
+            for (int u : candidates) {
+                if (!placed[u]) available.add(u);
+            }
+
+            List<Integer> items = new ArrayList<>();
+            for (int u : semester) {
+                items.addAll(members.get(u));
+                placedCount++;
+            }
+            Collections.sort(items);
+            List<T> semesterCourses = new ArrayList<>(items.size());
+            for (int i : items) {
+                semesterCourses.add(courses.get(i));
+            }
+            semesters.add(semesterCourses);
+
+            // Courses unlocked by this semester become available from the next one
+            for (int u : semester) {
+                for (int next : successors.get(u)) {
+                    if (--indegree[next] == 0) available.add(next);
+                }
+            }
+        }
+
+        List<T> unscheduled = new ArrayList<>();
+        if (placedCount < units) {
+            for (int i = 0; i < n; i++) {
+                if (!placed[unit[i]]) unscheduled.add(courses.get(i));
+            }
+        }
+        return new Schedule<>(semesters, unscheduled, Collections.unmodifiableList(terms));
+    }
+
+    // Kahn's algorithm over course -> prerequisite edges
+    private static int[] topologicalOrder(int[][] prereqs) {
+        int n = prereqs.length;
+        int[] waiting = new int[n];
+        List<List<Integer>> dependents = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            waiting[i] = prereqs[i].length;
+            for (int p : prereqs[i]) {
+                dependents.get(p).add(i);
+            }
+        }
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (waiting[i] == 0) order[tail++] = i;
+        }
+        while (head < tail) {
+            for (int next : dependents.get(order[head++])) {
+                if (--waiting[next] == 0) order[tail++] = next;
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+
+    // Length of the longest prerequisite chain starting at each unit (1 for a unit nothing depends on)
+    private static int[] chainHeights(List<Set<Integer>> successors, int[] indegree) {
+        int units = successors.size();
+        int[] order = new int[units];
+        int head = 0;
+        int tail = 0;
+        for (int u = 0; u < units; u++) {
+            if (indegree[u] == 0) order[tail++] = u;
+        }
+        while (head < tail) {
+            int u = order[head++];
+            for (int next : successors.get(u)) {
+                if (--indegree[next] == 0) order[tail++] = next;
+            }
+        }
+        int[] height = new int[units];
+        Arrays.fill(height, 1);
+        for (int k = tail - 1; k >= 0; k--) {
+            int u = order[k];
+            for (int next : successors.get(u)) {
+                height[u] = Math.max(height[u], height[next] + 1);
+            }
+        }
+        return height;
+    }
+
+    // Strongly connected components of the group graph (Tarjan) with more than one group or a self edge
+    private List<List<String>> findCycles() {
+        int n = ids.length;
+        List<Set<Integer>> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            edges.add(new HashSet<>());
+        }
+        for (int i = 0; i < n; i++) {
+            for (int p : prereqs[i]) {
+                edges.get(group[p]).add(group[i]);
+            }
+        }
+
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] counter = new int[2];     // next index, stack size
+        List<List<Integer>> components = new ArrayList<>();
+        for (int g = 0; g < n; g++) {
+            if (group[g] == g && index[g] < 0) {
+                strongConnect(g, edges, index, low, onStack, stack, counter, components);
+            }
+        }
+
+        List<List<String>> result = new ArrayList<>();
+        for (List<Integer> component : components) {
+            int g = component.get(0);
+            if (component.size() == 1 && !edges.get(g).contains(g)) continue;
+            Set<Integer> groups = new HashSet<>(component);
+            List<String> courseIds = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (groups.contains(group[i])) courseIds.add(ids[i]);
+            }
+            Collections.sort(courseIds);
+            result.add(Collections.unmodifiableList(courseIds));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static void strongConnect(int v, List<Set<Integer>> edges, int[] index, int[] low, boolean[] onStack,
+                                      int[] stack, int[] counter, List<List<Integer>> components) {
+        index[v] = low[v] = counter[0]++;
+        stack[counter[1]++] = v;
+        onStack[v] = true;
+        for (int w : edges.get(v)) {
+            if (index[w] < 0) {
+                strongConnect(w, edges, index, low, onStack, stack, counter, components);
+                low[v] = Math.min(low[v], low[w]);
+            } else if (onStack[w]) {
+                low[v] = Math.min(low[v], index[w]);
+            }
+        }
+        if (low[v] == index[v]) {
+            List<Integer> component = new ArrayList<>();
+            int w;
+            do {
+                w = stack[--counter[1]];
+                onStack[w] = false;
+                component.add(w);
+            } while (w != v);
+            components.add(component);
+        }
+    }
+
+    private static int[] resolve(List<String> courseIds, Map<String, Integer> byId, int self) {
+        Set<Integer> nodes = new HashSet<>();
+        for (String id : courseIds) {
+            Integer node = byId.get(normalize(id));
+            if (node != null && node != self) nodes.add(node);
+        }
+        int[] result = new int[nodes.size()];
+        int k = 0;
+        for (int node : nodes) {
+            result[k++] = node;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra != rb) parent[Math.max(ra, rb)] = Math.min(ra, rb);
+    }
+
+    private static String normalize(String courseId) {
+        return courseId == null ? "" : courseId.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.navisewebsite.domain;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every program's required courses as a BitSet over the dense course indices of a
+ * PrerequisiteGraph, for scoring a student against all programs at once.
+ *
+ * A transcript is turned into a BitSet once; after that each program costs an
+ * andNot, a popcount and a walk over its remaining courses, with no per-course
+ * lookups or string comparisons. The same bitsets back the degree audit
+ * ({@link #audit}). Built once per catalog snapshot.
+ */
+public final class ProgramRequirements {
+
+    /**
+     * How far a student is from finishing one program.
+     */
+    public static final class ProgramScore {
+        public final String name;
+        public final String type;
+        public final int requiredCourses;
+        public final int completedCourses;
+        public final int remainingCourses;
+        public final int remainingCredits;
+        /** Semesters at the target load, or the longest remaining prerequisite chain if that is longer. */
+        public final int remainingSemesters;
+
+        public ProgramScore(String name, String type, int requiredCourses, int completedCourses,
+                            int remainingCourses, int remainingCredits, int remainingSemesters) {
+            this.name = name;
+            this.type = type;
+            this.requiredCourses = requiredCourses;
+            this.completedCourses = completedCourses;
+            this.remainingCourses = remainingCourses;
+            this.remainingCredits = remainingCredits;
+            this.remainingSemesters = remainingSemesters;
+        }
+
+        public int percentComplete() {
+            return requiredCourses == 0 ? 100 : completedCourses * 100 / requiredCourses;
+        }
+    }
+
+    /**
+     * One program's required courses split into completed and remaining, in program order.
+     */
+    public static final class Audit {
+        public final String program;
+        public final List<Course> completed;
+        public final List<Course> remaining;
+
+        public Audit(String program, List<Course> completed, List<Course> remaining) {
+            this.program = program;
+            this.completed = completed;
+            this.remaining = remaining;
+        }
+
+        public boolean isComplete() {
+            return remaining.isEmpty();
+        }
+    }
+
+    /** Fewest remaining credits first, then fewest semesters, then by name. */
+    public static final Comparator<ProgramScore> BY_REMAINING_EFFORT = Comparator
+            .comparingInt((ProgramScore s) -> s.remainingCredits)
+            .thenComparingInt(s -> s.remainingSemesters)
+            .thenComparing(s -> s.name);
+
+    private final PrerequisiteGraph graph;
+    private final int[] credits;
+    private final String[] names;
+    private final String[] types;
+    private final BitSet[] required;
+    // Each program's courses and their indices, in program order, for listing audit results
+    private final List<List<Course>> courses;
+    private final int[][] indices;
+    private final Map<String, Integer> programByName;
+
+    private ProgramRequirements(PrerequisiteGraph graph, int[] credits, String[] names, String[] types,
+                                BitSet[] required, List<List<Course>> courses, int[][] indices) {
+        this.graph = graph;
+        this.credits = credits;
+        this.names = names;
+        this.types = types;
+        this.required = required;
+        this.courses = courses;
+        this.indices = indices;
+        this.programByName = new HashMap<>();
+        for (int p = 0; p < names.length; p++) {
+            programByName.put(names[p], p);
+        }
+    }
+
+    /**
+     * @param graph compiled catalog; its course indices are the bit positions
+     * @param courses the catalog, for credit hours
+     * @param programCourses required courses by program name, in display order
+     * @param programTypes "Major" or "Minor" by program name
+     */
+    public static ProgramRequirements compile(PrerequisiteGraph graph, List<Course> courses,
+                                              Map<String, List<Course>> programCourses,
+                                              Map<String, String> programTypes) {
+        int[] credits = new int[graph.size()];
+        for (Course course : courses) {
+            int index = graph.indexOf(course.get_courseID());
+            if (index >= 0 && credits[index] == 0) {
+                credits[index] = Math.max(course.get_credit_hours(), 0);
+            }
+        }
+
+        int n = programCourses.size();
+        String[] names = new String[n];
+        String[] types = new String[n];
+        BitSet[] required = new BitSet[n];
+        List<List<Course>> listed = new ArrayList<>(n);
+        int[][] indices = new int[n][];
+        int k = 0;
+        for (Map.Entry<String, List<Course>> entry : programCourses.entrySet()) {
+            BitSet bits = new BitSet(graph.size());
+            List<Course> list = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            for (Course course : entry.getValue()) {
+                int index = graph.indexOf(course.get_courseID());
+                if (index >= 0 && !bits.get(index)) {
+                    bits.set(index);
+                    list.add(course);
+                    positions.add(index);
+                }
+            }
+            names[k] = entry.getKey();
+            types[k] = programTypes.getOrDefault(entry.getKey(), "");
+            required[k] = bits;
+            listed.add(Collections.unmodifiableList(list));
+            indices[k] = positions.stream().mapToInt(Integer::intValue).toArray();
+            k++;
+        }
+        return new ProgramRequirements(graph, credits, names, types, required, listed, indices);
+    }
+
+    /**
+     * Completed courses as a BitSet; entries may be course ids or unique course codes.
+     * Courses not in the catalog are dropped.
+     */
+    public BitSet transcript(Collection<String> completed) {
+        BitSet bits = new BitSet(credits.length);
+        for (String id : completed) {
+            int index = graph.indexOf(id);
+            if (index >= 0) bits.set(index);
+        }
+        return bits;
+    }
+
+    public int programCount() {
+        return names.length;
+    }
+
+    /**
+     * Completed and remaining required courses of a program: the requirement bitset
+     * and-ed with the transcript, and the rest. An unknown program, or one with no
+     * courses, has nothing in either list.
+     */
+    public Audit audit(String program, BitSet transcript) {
+        Integer p = program == null ? null : programByName.get(program);
+        if (p == null) {
+            return new Audit(program, Collections.emptyList(), Collections.emptyList());
+        }
+        BitSet done = (BitSet) required[p].clone();
+        done.and(transcript);
+        List<Course> completed = new ArrayList<>(done.cardinality());
+        List<Course> remaining = new ArrayList<>(required[p].cardinality() - done.cardinality());
+        int[] positions = indices[p];
+        List<Course> list = courses.get(p);
+        for (int i = 0; i < positions.length; i++) {
+            (done.get(positions[i]) ? completed : remaining).add(list.get(i));
+        }
+        return new Audit(program, completed, remaining);
+    }
+
+    /**
+     * Score every program of the given type (null or empty for all) against a
+     * transcript and return the k closest to completion.
+     */
+    public List<ProgramScore> rank(BitSet transcript, String type, int k) {
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+        List<ProgramScore> scores = new ArrayList<>(names.length);
+        BitSet remaining = new BitSet(credits.length);
+        for (int p = 0; p < names.length; p++) {
+            if (type != null && !type.isEmpty() && !type.equalsIgnoreCase(types[p])) continue;
+            remaining.clear();
+            remaining.or(required[p]);
+            remaining.andNot(transcript);
+            scores.add(score(p, remaining));
+        }
+        scores.sort(BY_REMAINING_EFFORT);
+        return scores.size() > k ? new ArrayList<>(scores.subList(0, k)) : scores;
+    }
+
+    private ProgramScore score(int program, BitSet remaining) {
+        int remainingCredits = 0;
+        for (int i = remaining.nextSetBit(0); i >= 0; i = remaining.nextSetBit(i + 1)) {
+            remainingCredits += credits[i];
+        }
+        int requiredCount = required[program].cardinality();
+        int remainingCount = remaining.cardinality();
+        int semesters = Math.max(
+                (remainingCredits + PrerequisiteGraph.TARGET_CREDITS - 1) / PrerequisiteGraph.TARGET_CREDITS,
+                graph.longestChain(remaining));
+        return new ProgramScore(names[program], types[program], requiredCount, requiredCount - remainingCount,
+                remainingCount, remainingCredits, semesters);
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.navisewebsite.domain;
 
+import com.example.navisewebsite.repository.DatabaseUtil;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -48,17 +48,18 @@ public class ProjectedSchedule {
         }
     }
 
-    // Semester container
+    // Semester container (credit total kept up to date as courses change)
     public static class SemesterPlan {
         public final String semesterLabel;
-        public final List<Course> courses = new ArrayList<>();
+        private final CreditTrackingList<Course> courseList = new CreditTrackingList<>(c -> c.credits);
+        public final List<Course> courses = courseList;
 
         public SemesterPlan(String semesterLabel) {
             this.semesterLabel = semesterLabel;
         }
 
         public int totalCredits() {
-            return courses.stream().mapToInt(c -> c.credits).sum();
+            return courseList.totalCredits();
         }
     }
 
@@ -67,11 +68,15 @@ public class ProjectedSchedule {
         public final List<SemesterPlan> semesters = new ArrayList<>();
 
         public int totalCourses() {
-            return semesters.stream().mapToInt(s -> s.courses.size()).sum();
+            int total = 0;
+            for (SemesterPlan s : semesters) total += s.courses.size();
+            return total;
         }
 
         public int totalCredits() {
-            return semesters.stream().mapToInt(SemesterPlan::totalCredits).sum();
+            int total = 0;
+            for (SemesterPlan s : semesters) total += s.totalCredits();
+            return total;
         }
     }
 
@@ -127,13 +132,13 @@ public class ProjectedSchedule {
         return remainingCredits(pathwayId, userId) <= 9;
     }
 
-    // Estimate semesters needed using greedy packing (largest-first)
+    // Estimate semesters needed (minimal when the packer can prove it)
     public int estimateSemestersNeeded(String pathwayId, String userId, int creditsPerSemester) {
         if (creditsPerSemester <= 0) throw new IllegalArgumentException("creditsPerSemester must be positive");
         List<Course> missing = missingCoursesForPathway(pathwayId, userId);
         if (missing.isEmpty()) return 0;
 
-        List<List<Course>> buckets = packCoursesGreedy(missing, creditsPerSemester);
+        List<List<Course>> buckets = packCourses(missing, creditsPerSemester);
         return buckets.size();
     }
 
@@ -143,7 +148,7 @@ public class ProjectedSchedule {
         SchedulePlan plan = new SchedulePlan();
         if (missing.isEmpty()) return plan;
 
-        List<List<Course>> buckets = packCoursesGreedy(missing, creditsPerSemester);
+        List<List<Course>> buckets = packCourses(missing, creditsPerSemester);
         int idx = 1;
         for (List<Course> bucket : buckets) {
             SemesterPlan sem = new SemesterPlan("Semester " + (idx++));
@@ -154,31 +159,17 @@ public class ProjectedSchedule {
     }
 
     /*
-      Greedy bin-packing: sort descending by credits and fill each semester until capacity.
+      Pack courses into the fewest semesters that fit the credit cap (see SemesterPacker).
       Returns a list of buckets (each bucket is a list of courses for one semester).
-      This preserves the original largest-first packing behavior.
      */
-    private List<List<Course>> packCoursesGreedy(List<Course> courses, int creditsPerSemester) {
-        List<Course> sorted = new ArrayList<>(courses);
-        sorted.sort(Comparator.comparingInt((Course c) -> c.credits).reversed());
+    private List<List<Course>> packCourses(List<Course> courses, int creditsPerSemester) {
+        int[] credits = new int[courses.size()];
+        for (int i = 0; i < credits.length; i++) credits[i] = courses.get(i).credits;
 
-        boolean[] used = new boolean[sorted.size()];
-        int remaining = sorted.size();
         List<List<Course>> buckets = new ArrayList<>();
-
-        while (remaining > 0) {
-            int capacity = creditsPerSemester;
-            List<Course> bucket = new ArrayList<>();
-            for (int i = 0; i < sorted.size(); i++) {
-                if (used[i]) continue;
-                Course c = sorted.get(i);
-                if (c.credits <= capacity) {
-                    used[i] = true;
-                    bucket.add(c);
-                    capacity -= c.credits;
-                    remaining--;
-                }
-            }
+        for (List<Integer> semester : SemesterPacker.pack(credits, creditsPerSemester).semesters) {
+            List<Course> bucket = new ArrayList<>(semester.size());
+            for (int index : semester) bucket.add(courses.get(index));
             buckets.add(bucket);
         }
         return buckets;
@@ -197,11 +188,9 @@ public class ProjectedSchedule {
         // Defensive copy of original
         SchedulePlan merged = copySchedulePlan(original);
 
-        List<Course> missing = missingCoursesForPathway(pathwayId, userId);
-        missing.sort(Comparator.comparingInt((Course c) -> c.credits).reversed());
-
+        // Remaining courses bucketed by credits; largest that fits comes out first
         List<AddedCourseRecord> added = new ArrayList<>();
-        List<Course> remaining = new ArrayList<>(missing);
+        CreditBuckets<Course> remaining = new CreditBuckets<>(missingCoursesForPathway(pathwayId, userId), c -> c.credits);
 
         // First pass: bring existing semesters to minCreditsPerSemester
         for (SemesterPlan sem : merged.semesters) {
@@ -228,7 +217,7 @@ public class ProjectedSchedule {
         }
 
         // Mark remaining courses as UNSCHEDULED
-        for (Course c : remaining) {
+        for (Course c : remaining.remaining()) {
             added.add(new AddedCourseRecord(c, "UNSCHEDULED"));
         }
 
@@ -250,47 +239,32 @@ public class ProjectedSchedule {
       but never exceed maxPerSemester. Records additions into 'added'.
      */
     private void fillSemesterToMinimum(SemesterPlan sem,
-                                       List<Course> remaining,
+                                       CreditBuckets<Course> remaining,
                                        int minTarget,
                                        int maxPerSemester,
                                        List<AddedCourseRecord> added) {
-        while (sem.totalCredits() < minTarget && !remaining.isEmpty()) {
-            boolean placed = false;
-            for (int i = 0; i < remaining.size(); i++) {
-                Course c = remaining.get(i);
-                if (sem.totalCredits() + c.credits <= maxPerSemester) {
-                    sem.courses.add(c);
-                    added.add(new AddedCourseRecord(c, sem.semesterLabel));
-                    remaining.remove(i);
-                    placed = true;
-                    break;
-                }
-            }
-            if (!placed) break;
-        }
+        fill(sem, remaining, minTarget, maxPerSemester, added);
     }
 
     // Try to add courses from 'remaining' into 'sem' until sem.totalCredits() >= target,
      // but never exceed maxPerSemester. Records additions into 'added'.
 
     private void fillSemesterToTarget(SemesterPlan sem,
-                                      List<Course> remaining,
+                                      CreditBuckets<Course> remaining,
                                       int target,
                                       int maxPerSemester,
                                       List<AddedCourseRecord> added) {
-        while (sem.totalCredits() < target && !remaining.isEmpty()) {
-            boolean placed = false;
-            for (int i = 0; i < remaining.size(); i++) {
-                Course c = remaining.get(i);
-                if (sem.totalCredits() + c.credits <= Math.min(maxPerSemester, target)) {
-                    sem.courses.add(c);
-                    added.add(new AddedCourseRecord(c, sem.semesterLabel));
-                    remaining.remove(i);
-                    placed = true;
-                    break;
-                }
-            }
-            if (!placed) break;
+        fill(sem, remaining, target, Math.min(maxPerSemester, target), added);
+    }
+
+    // Add the largest course that fits under 'limit' until 'goal' is reached or nothing fits
+    private void fill(SemesterPlan sem, CreditBuckets<Course> remaining, int goal, int limit,
+                      List<AddedCourseRecord> added) {
+        while (sem.totalCredits() < goal && !remaining.isEmpty()) {
+            Course c = remaining.takeLargestAtMost(limit - sem.totalCredits());
+            if (c == null) break;
+            sem.courses.add(c);
+            added.add(new AddedCourseRecord(c, sem.semesterLabel));
         }
     }
 
@@ -309,7 +283,7 @@ public class ProjectedSchedule {
     public static CourseRepository sqliteCourseRepository() {
         return new CourseRepository() {
             private Connection connect() throws SQLException {
-                return DriverManager.getConnection("jdbc:sqlite:courses.db");
+                return DatabaseUtil.connectCourses();
             }
 
             @Override
@@ -383,7 +357,7 @@ public class ProjectedSchedule {
     public static UserRepository sqliteUserRepository() {
         return new UserRepository() {
             private Connection connect() throws SQLException {
-                return DriverManager.getConnection("jdbc:sqlite:student_info.db");
+                return DatabaseUtil.connectStudentInfo();
             }
 
             @Override
@@ -414,7 +388,7 @@ public class ProjectedSchedule {
                 "FROM user_courses uc JOIN courses c ON uc.course_id = c.id WHERE uc.user_id = ? " +
                 "ORDER BY uc.semester_label, c.code";
         Map<String, SemesterPlan> map = new LinkedHashMap<>();
-    try (Connection conn = DriverManager.getConnection("jdbc:sqlite:courses.db");
+    try (Connection conn = DatabaseUtil.connectCourses();
            PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, userId);
             try (ResultSet rs = ps.executeQuery()) {
@@ -482,7 +456,7 @@ public class ProjectedSchedule {
 
     // Project a hypothetical schedule for a desired major and optional minor.
     // Combines missing courses for both programs, deduplicates by course id, and
-    // uses existing greedy packing logic to create a SchedulePlan.
+    // packs them into semesters to create a SchedulePlan.
     public SchedulePlan projectForPrograms(String majorId, String minorId, String userId, int creditsPerSemester) {
         if (creditsPerSemester <= 0) throw new IllegalArgumentException("creditsPerSemester must be positive");
 
@@ -501,8 +475,8 @@ public class ProjectedSchedule {
         SchedulePlan plan = new SchedulePlan();
         if (combined.isEmpty()) return plan;
 
-        // Reuse existing greedy packer to create semester buckets
-        List<List<Course>> buckets = packCoursesGreedy(combined, creditsPerSemester);
+        // Pack into semester buckets
+        List<List<Course>> buckets = packCourses(combined, creditsPerSemester);
         int idx = 1;
         for (List<Course> bucket : buckets) {
             SemesterPlan sem = new SemesterPlan("Semester " + (idx++));
@@ -1,6 +1,7 @@
 package com.example.navisewebsite.domain;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -25,13 +26,20 @@ public class ScheduleDomain {
         public final int credits;
         public final String title;
         public final String meetingTime;
+        /** Terms the course is offered in, as a Term bitmask. */
+        public final int terms;
 
         public ScheduleCourse(int id, String code, int credits, String title, String meetingTime) {
+            this(id, code, credits, title, meetingTime, Term.ANY);
+        }
+
+        public ScheduleCourse(int id, String code, int credits, String title, String meetingTime, int terms) {
             this.id = id;
             this.code = code == null ? "" : code;
             this.credits = credits;
             this.title = title == null ? "" : title;
             this.meetingTime = meetingTime == null ? "" : meetingTime;
+            this.terms = terms == 0 ? Term.ANY : terms;
         }
 
         public String shortInfo() {
@@ -48,36 +56,82 @@ public class ScheduleDomain {
 
     /**
      * Container for courses planned in a single semester.
+     * The credit total is kept up to date as courses are added or removed.
      */
     public static class SemesterPlan {
         public final String semesterLabel;
-        public final List<ScheduleCourse> courses = new ArrayList<>();
+        private final CreditTrackingList<ScheduleCourse> courseList = new CreditTrackingList<>(c -> c.credits);
+        public final List<ScheduleCourse> courses = courseList;
 
         public SemesterPlan(String semesterLabel) {
             this.semesterLabel = semesterLabel;
         }
 
         public int totalCredits() {
-            return courses.stream().mapToInt(c -> c.credits).sum();
+            return courseList.totalCredits();
         }
         
         public int courseCount() {
             return courses.size();
         }
+        
+        public boolean isReadOnly() {
+            return courseList.isFrozen();
+        }
+        
+        /**
+         * Read-only copy of this semester.
+         */
+        public SemesterPlan readOnlyCopy() {
+            SemesterPlan copy = new SemesterPlan(semesterLabel);
+            copy.courses.addAll(courses);
+            copy.courseList.freeze();
+            return copy;
+        }
     }
 
     /**
      * Full schedule spanning multiple semesters.
+     * Totals add up the per-semester running totals, so they cost one step per semester.
      */
     public static class SchedulePlan {
-        public final List<SemesterPlan> semesters = new ArrayList<>();
+        public final List<SemesterPlan> semesters;
+        
+        public SchedulePlan() {
+            this.semesters = new ArrayList<>();
+        }
+        
+        private SchedulePlan(List<SemesterPlan> semesters) {
+            this.semesters = semesters;
+        }
+        
+        /**
+         * Read-only copy of this plan, safe to share (e.g. from ProjectionCache).
+         * Adding, removing or replacing semesters or their courses throws
+         * UnsupportedOperationException; copy it first to make changes.
+         */
+        public SchedulePlan readOnlyCopy() {
+            List<SemesterPlan> copies = new ArrayList<>(semesters.size());
+            for (SemesterPlan semester : semesters) {
+                copies.add(semester.readOnlyCopy());
+            }
+            return new SchedulePlan(Collections.unmodifiableList(copies));
+        }
 
         public int totalCourses() {
-            return semesters.stream().mapToInt(s -> s.courses.size()).sum();
+            int total = 0;
+            for (SemesterPlan semester : semesters) {
+                total += semester.courses.size();
+            }
+            return total;
         }
 
         public int totalCredits() {
-            return semesters.stream().mapToInt(SemesterPlan::totalCredits).sum();
+            int total = 0;
+            for (SemesterPlan semester : semesters) {
+                total += semester.totalCredits();
+            }
+            return total;
         }
         
         public int semesterCount() {
@@ -0,0 +1,476 @@
+package com.example.navisewebsite.domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packs courses into as few semesters as possible without exceeding a credit cap.
+ *
+ * Used by ScheduleProjectionService and ProjectedSchedule. Courses are given as an
+ * array of credit values and semesters come back as lists of indices into that array.
+ *
+ * - Best-fit-decreasing first: courses are bucketed by credit value (largest first) and
+ *   each goes into the open semester with the least room left that still fits it, found
+ *   through semesters bucketed by remaining credits. O(n * cap).
+ * - If that already matches the lower bound (total credits / cap, and one semester per
+ *   course over half the cap) it is optimal.
+ * - Otherwise a branch-and-bound search tries each smaller semester count, within a time
+ *   budget. If the budget runs out the best-fit result is used.
+ *
+ * A course with more credits than the cap gets a semester of its own.
+ *
+ * The algorithms are also exposed as PackingStrategy constants (GREEDY, BEST_FIT, EXACT,
+ * LOCAL_SEARCH) for PackingSelector to choose between per call.
+ */
+public final class SemesterPacker {
+
+    /** Time allowed for the exact search per packing. */
+    public static final long DEFAULT_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+
+    // Search nodes between deadline checks
+    private static final int CLOCK_INTERVAL = 1024;
+
+    /**
+     * Semesters as lists of course indices, and whether the count is known to be minimal.
+     */
+    public static final class Packing {
+        public final List<List<Integer>> semesters;
+        public final boolean optimal;
+
+        Packing(List<List<Integer>> semesters, boolean optimal) {
+            this.semesters = semesters;
+            this.optimal = optimal;
+        }
+
+        public int semesterCount() {
+            return semesters.size();
+        }
+    }
+
+    /** First fit in input order; see {@link #firstFit}. */
+    public static final PackingStrategy GREEDY = strategy("greedy", (credits, cap, budget) -> firstFit(credits, cap));
+
+    /** Best-fit-decreasing with no search. */
+    public static final PackingStrategy BEST_FIT = strategy("best-fit", (credits, cap, budget) -> pack(credits, cap, 0));
+
+    /** Best-fit-decreasing, then branch and bound within the budget; see {@link #pack(int[], int, long)}. */
+    public static final PackingStrategy EXACT = strategy("exact", SemesterPacker::pack);
+
+    /** Best-fit-decreasing, then local search within the budget; see {@link #localSearch}. */
+    public static final PackingStrategy LOCAL_SEARCH = strategy("local-search", SemesterPacker::localSearch);
+
+    private interface Packer {
+        Packing pack(int[] credits, int creditsPerSemester, long budgetNanos);
+    }
+
+    private static PackingStrategy strategy(String name, Packer packer) {
+        return new PackingStrategy() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Packing pack(int[] credits, int creditsPerSemester, long budgetNanos) {
+                return packer.pack(credits, creditsPerSemester, budgetNanos);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    private SemesterPacker() {
+    }
+
+    public static Packing pack(int[] credits, int creditsPerSemester) {
+        return pack(credits, creditsPerSemester, DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * @param credits credit hours of each course
+     * @param creditsPerSemester semester cap, must be positive
+     * @param budgetNanos time allowed for the exact search; 0 means best-fit only
+     */
+    public static Packing pack(int[] credits, int creditsPerSemester, long budgetNanos) {
+        Sorted sorted = new Sorted(credits, creditsPerSemester);
+        int[] size = sorted.size;
+        int cap = creditsPerSemester;
+
+        int[] fit = bestFitDecreasing(size, cap);
+        int fitCount = binCount(fit);
+        boolean optimal = fitCount <= lowerBound(size, cap);
+        int[] assignment = fit;
+
+        if (!optimal && budgetNanos > 0) {
+            BranchAndBound search = new BranchAndBound(size, cap, System.nanoTime() + budgetNanos);
+            int[] exact = search.solve(lowerBound(size, cap), fitCount - 1);
+            if (exact != null) {
+                assignment = exact;
+                optimal = true;
+            } else if (!search.timedOut) {
+                // Every smaller count was ruled out, so best-fit was already minimal
+                optimal = true;
+            }
+        }
+        return sorted.packing(assignment, optimal);
+    }
+
+    /**
+     * First fit in input order: each course goes into the first semester with room.
+     * Courses stay in requirement order, but semesters can be left half full.
+     */
+    public static Packing firstFit(int[] credits, int creditsPerSemester) {
+        if (creditsPerSemester <= 0) {
+            throw new IllegalArgumentException("creditsPerSemester must be positive");
+        }
+        int cap = creditsPerSemester;
+        List<List<Integer>> semesters = new ArrayList<>();
+        List<List<Integer>> oversized = new ArrayList<>();
+        int[] load = new int[credits.length];
+        int[] size = new int[credits.length];
+        int n = 0;
+        for (int i = 0; i < credits.length; i++) {
+            if (credits[i] > cap) {
+                oversized.add(new ArrayList<>(List.of(i)));
+                continue;
+            }
+            int c = Math.max(credits[i], 0);
+            size[n++] = c;
+            int bin = 0;
+            while (bin < semesters.size() && load[bin] + c > cap) {
+                bin++;
+            }
+            if (bin == semesters.size()) {
+                semesters.add(new ArrayList<>());
+            }
+            load[bin] += c;
+            semesters.get(bin).add(i);
+        }
+        boolean optimal = semesters.size() <= lowerBound(Arrays.copyOf(size, n), cap);
+        semesters.addAll(oversized);
+        return new Packing(Collections.unmodifiableList(semesters), optimal);
+    }
+
+    /**
+     * Best-fit-decreasing, then local search within the time budget: repeatedly try to
+     * empty the lightest semester into the others, swapping a course for a smaller one
+     * where it does not fit. Scales to instances the exact search cannot finish, but
+     * does not prove optimality unless it reaches the lower bound.
+     */
+    public static Packing localSearch(int[] credits, int creditsPerSemester, long budgetNanos) {
+        Sorted sorted = new Sorted(credits, creditsPerSemester);
+        int[] size = sorted.size;
+        int cap = creditsPerSemester;
+
+        int[] assignment = bestFitDecreasing(size, cap);
+        int bound = lowerBound(size, cap);
+        if (binCount(assignment) > bound && budgetNanos > 0) {
+            assignment = new LocalSearch(size, cap, assignment, System.nanoTime() + budgetNanos).run(bound);
+        }
+        return sorted.packing(assignment, binCount(assignment) <= bound);
+    }
+
+    // Credits ordered largest first, with courses over the cap set aside
+    private static final class Sorted {
+        final int[] order;
+        final int[] size;
+        final List<List<Integer>> oversized = new ArrayList<>();
+
+        Sorted(int[] credits, int cap) {
+            if (cap <= 0) {
+                throw new IllegalArgumentException("creditsPerSemester must be positive");
+            }
+            // Counting sort, stable, so ties keep input order
+            int[] countByCredit = new int[cap + 2];
+            for (int i = 0; i < credits.length; i++) {
+                if (credits[i] > cap) {
+                    oversized.add(new ArrayList<>(List.of(i)));
+                } else {
+                    countByCredit[Math.max(credits[i], 0)]++;
+                }
+            }
+            int n = credits.length - oversized.size();
+            int[] start = new int[cap + 2];
+            for (int c = cap - 1; c >= 0; c--) {
+                start[c] = start[c + 1] + countByCredit[c + 1];
+            }
+            order = new int[n];
+            size = new int[n];
+            for (int i = 0; i < credits.length; i++) {
+                if (credits[i] <= cap) {
+                    int c = Math.max(credits[i], 0);
+                    order[start[c]] = i;
+                    size[start[c]++] = c;
+                }
+            }
+        }
+
+        // Semester lists from a semester index per sorted course, oversized courses last
+        Packing packing(int[] assignment, boolean optimal) {
+            List<List<Integer>> semesters = new ArrayList<>();
+            for (int i = 0; i < order.length; i++) {
+                while (semesters.size() <= assignment[i]) {
+                    semesters.add(new ArrayList<>());
+                }
+                semesters.get(assignment[i]).add(order[i]);
+            }
+            semesters.addAll(oversized);
+            return new Packing(Collections.unmodifiableList(semesters), optimal);
+        }
+    }
+
+    /**
+     * Semester index for each course (sizes sorted largest first). Open semesters are kept
+     * in stacks by remaining credits, so the tightest fit is the first non-empty stack at
+     * or above the course's credits.
+     */
+    static int[] bestFitDecreasing(int[] size, int cap) {
+        int[] assignment = new int[size.length];
+        // byRemaining[r] holds semesters with r credits of room, as an int stack
+        int[][] byRemaining = new int[cap + 1][];
+        int[] depth = new int[cap + 1];
+        int[] remaining = new int[size.length];
+        int open = 0;
+
+        for (int i = 0; i < size.length; i++) {
+            int c = size[i];
+            int r = c;
+            while (r <= cap && depth[r] == 0) {
+                r++;
+            }
+            int bin;
+            if (r <= cap) {
+                bin = byRemaining[r][--depth[r]];
+            } else {
+                bin = open++;
+                remaining[bin] = cap;
+            }
+            assignment[i] = bin;
+            remaining[bin] -= c;
+            int left = remaining[bin];
+            if (byRemaining[left] == null) {
+                byRemaining[left] = new int[4];
+            } else if (depth[left] == byRemaining[left].length) {
+                byRemaining[left] = Arrays.copyOf(byRemaining[left], depth[left] * 2);
+            }
+            byRemaining[left][depth[left]++] = bin;
+        }
+        return assignment;
+    }
+
+    /**
+     * No packing can use fewer semesters than this.
+     */
+    static int lowerBound(int[] size, int cap) {
+        long total = 0;
+        int overHalf = 0;
+        for (int c : size) {
+            total += c;
+            if (2 * c > cap) {
+                overHalf++;
+            }
+        }
+        return (int) Math.max((total + cap - 1) / cap, overHalf);
+    }
+
+    private static int binCount(int[] assignment) {
+        int max = -1;
+        for (int bin : assignment) {
+            max = Math.max(max, bin);
+        }
+        return max + 1;
+    }
+
+    // Removes one semester at a time by emptying it into the others
+    private static final class LocalSearch {
+        private final int[] size;
+        private final int cap;
+        private final long deadline;
+        private int[] assignment;
+        private int[] load;
+        private int bins;
+
+        LocalSearch(int[] size, int cap, int[] assignment, long deadline) {
+            this.size = size;
+            this.cap = cap;
+            this.deadline = deadline;
+            this.assignment = assignment.clone();
+            this.bins = binCount(assignment);
+            this.load = new int[bins];
+            for (int i = 0; i < size.length; i++) {
+                load[assignment[i]] += size[i];
+            }
+        }
+
+        int[] run(int bound) {
+            boolean improved = true;
+            while (improved && bins > bound && System.nanoTime() < deadline) {
+                improved = false;
+                Integer[] lightestFirst = new Integer[bins];
+                for (int b = 0; b < bins; b++) {
+                    lightestFirst[b] = b;
+                }
+                Arrays.sort(lightestFirst, (x, y) -> Integer.compare(load[x], load[y]));
+                for (int target : lightestFirst) {
+                    if (empty(target)) {
+                        remove(target);
+                        improved = true;
+                        break;
+                    }
+                    if (System.nanoTime() > deadline) {
+                        break;
+                    }
+                }
+            }
+            return assignment;
+        }
+
+        // Move every course out of the target semester; changes are kept only if it empties
+        private boolean empty(int target) {
+            int[] a = assignment.clone();
+            int[] l = load.clone();
+            Deque<Integer> pending = new ArrayDeque<>();
+            for (int i = 0; i < size.length; i++) {
+                if (a[i] == target) {
+                    pending.push(i);
+                }
+            }
+            // Every swap leaves a smaller course behind, so this terminates
+            while (!pending.isEmpty()) {
+                int i = pending.pop();
+                int c = size[i];
+                int best = -1;
+                for (int b = 0; b < bins; b++) {
+                    if (b != target && l[b] + c <= cap && (best < 0 || l[b] > l[best])) {
+                        best = b;
+                    }
+                }
+                if (best >= 0) {
+                    a[i] = best;
+                    l[best] += c;
+                    l[target] -= c;
+                    continue;
+                }
+                // Trade places with a smaller course, filling its semester as much as possible
+                int swap = -1;
+                for (int j = 0; j < size.length; j++) {
+                    int b = a[j];
+                    if (b != target && size[j] < c && l[b] - size[j] + c <= cap
+                            && (swap < 0 || l[b] - size[j] > l[a[swap]] - size[swap])) {
+                        swap = j;
+                    }
+                }
+                if (swap < 0) {
+                    return false;
+                }
+                int b = a[swap];
+                l[b] += c - size[swap];
+                l[target] += size[swap] - c;
+                a[i] = b;
+                a[swap] = target;
+                pending.push(swap);
+            }
+            assignment = a;
+            load = l;
+            return true;
+        }
+
+        private void remove(int target) {
+            for (int i = 0; i < assignment.length; i++) {
+                if (assignment[i] > target) {
+                    assignment[i]--;
+                }
+            }
+            System.arraycopy(load, target + 1, load, target, bins - target - 1);
+            bins--;
+        }
+    }
+
+    // Depth-first search over course -> semester assignments for a fixed semester count
+    private static final class BranchAndBound {
+        private final int[] size;
+        private final int cap;
+        private final long deadline;
+        private final int[] suffix;
+        private int[] load;
+        private int[] assignment;
+        private boolean[][] tried;
+        private long nodes;
+        private boolean timedOut;
+
+        BranchAndBound(int[] size, int cap, long deadline) {
+            this.size = size;
+            this.cap = cap;
+            this.deadline = deadline;
+            this.suffix = new int[size.length + 1];
+            for (int i = size.length - 1; i >= 0; i--) {
+                suffix[i] = suffix[i + 1] + size[i];
+            }
+        }
+
+        // Smallest feasible count in [from, to], or null if none (or out of time)
+        int[] solve(int from, int to) {
+            timedOut = false;
+            for (int k = Math.max(from, 1); k <= to && !timedOut; k++) {
+                load = new int[k];
+                assignment = new int[size.length];
+                tried = new boolean[size.length][cap + 1];
+                if (place(0, k, 0)) {
+                    return assignment;
+                }
+            }
+            return null;
+        }
+
+        private boolean place(int i, int k, int waste) {
+            if (i == size.length) {
+                return true;
+            }
+            if (++nodes % CLOCK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                timedOut = true;
+            }
+            if (timedOut) {
+                return false;
+            }
+            // Room left must still hold every remaining course
+            if (suffix[i] > k * cap - (suffix[0] - suffix[i]) - waste) {
+                return false;
+            }
+
+            int c = size[i];
+            boolean[] seen = tried[i];
+            Arrays.fill(seen, false);
+            for (int b = 0; b < k; b++) {
+                int l = load[b];
+                // Semesters with the same load are interchangeable; so are empty ones
+                if (l + c > cap || seen[l]) continue;
+                seen[l] = true;
+
+                load[b] += c;
+                assignment[i] = b;
+                // Room this course leaves that no remaining course can use is wasted
+                int room = cap - load[b];
+                int smallest = i + 1 < size.length ? size[size.length - 1] : 0;
+                int newWaste = waste + (room > 0 && room < smallest ? room : 0);
+                boolean done = place(i + 1, k, newWaste);
+                load[b] -= c;
+                if (done) {
+                    return true;
+                }
+                if (l + c == cap || timedOut) {
+                    // An exact fit is never worse than any alternative for this course
+                    break;
+                }
+            }
+            return false;
+        }
+    }
+}
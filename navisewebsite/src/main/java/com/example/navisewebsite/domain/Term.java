@@ -0,0 +1,57 @@
+package com.example.navisewebsite.domain;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Academic terms, each with one bit so a course's availability (courses.terms) fits in an int.
+ */
+public enum Term {
+    FALL("Fall"),
+    SPRING("Spring"),
+    SUMMER("Summer");
+
+    /** Availability of a course offered every term, or whose terms are not recorded. */
+    public static final int ANY = (1 << values().length) - 1;
+
+    public final String label;
+    public final int bit;
+
+    Term(String label) {
+        this.label = label;
+        this.bit = 1 << ordinal();
+    }
+
+    /**
+     * Term by name ("Fall", "spring", " Summer "), or null if it is not one.
+     */
+    public static Term parse(String name) {
+        if (name == null) return null;
+        String n = name.trim().toLowerCase(Locale.ROOT);
+        for (Term term : values()) {
+            if (n.equals(term.label.toLowerCase(Locale.ROOT))) {
+                return term;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Availability bitmask of a course from its terms-offered list. Unknown names are
+     * ignored; an empty or unrecognized list means the course can be taken any term.
+     */
+    public static int mask(Collection<String> termsOffered) {
+        int mask = 0;
+        if (termsOffered != null) {
+            for (String name : termsOffered) {
+                Term term = parse(name);
+                if (term != null) mask |= term.bit;
+            }
+        }
+        return mask == 0 ? ANY : mask;
+    }
+
+    public boolean offeredIn(int mask) {
+        return (mask & bit) != 0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.navisewebsite.domain;
+
+import java.time.LocalDate;
+
+/**
+ * The sequence of terms a projection is laid out over: alternating Fall and Spring,
+ * optionally with a Summer term after each Spring, starting from a given term.
+ *
+ * Semester i of a plan (0-based) is taken in {@link #termAt(int)}, and courses are only
+ * placed in semesters whose term they are offered in (see {@link Term#mask}).
+ */
+public final class TermCalendar {
+
+    public final Term first;
+    public final boolean includeSummer;
+    private final Term[] cycle;
+    private final int offset;
+
+    public TermCalendar(Term first, boolean includeSummer) {
+        if (first == null) {
+            throw new IllegalArgumentException("first term is required");
+        }
+        if (first == Term.SUMMER && !includeSummer) {
+            throw new IllegalArgumentException("Summer start needs includeSummer");
+        }
+        this.first = first;
+        this.includeSummer = includeSummer;
+        this.cycle = includeSummer
+                ? new Term[] {Term.FALL, Term.SPRING, Term.SUMMER}
+                : new Term[] {Term.FALL, Term.SPRING};
+        this.offset = first.ordinal();
+    }
+
+    /**
+     * Calendar starting at the next term that has not begun on the given date:
+     * Spring while a Fall term runs, Fall from May on (or Summer, when included, until June).
+     */
+    public static TermCalendar upcoming(LocalDate today, boolean includeSummer) {
+        int month = today.getMonthValue();
+        Term first;
+        if (month >= 8) {
+            first = Term.SPRING;
+        } else if (month <= 4 && includeSummer) {
+            first = Term.SUMMER;
+        } else {
+            first = Term.FALL;
+        }
+        return new TermCalendar(first, includeSummer);
+    }
+
+    public Term termAt(int semesterIndex) {
+        return cycle[(offset + semesterIndex) % cycle.length];
+    }
+
+    /** Terms this calendar uses, as a bitmask. */
+    public int mask() {
+        return includeSummer ? Term.ANY : Term.FALL.bit | Term.SPRING.bit;
+    }
+
+    /**
+     * Label of semester i, e.g. "Semester 1 (Fall)".
+     */
+    public String label(int semesterIndex) {
+        return "Semester " + (semesterIndex + 1) + " (" + termAt(semesterIndex).label + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TermCalendar)) return false;
+        TermCalendar other = (TermCalendar) o;
+        return first == other.first && includeSummer == other.includeSummer;
+    }
+
+    @Override
+    public int hashCode() {
+        return first.hashCode() * 31 + (includeSummer ? 1 : 0);
+    }
+}
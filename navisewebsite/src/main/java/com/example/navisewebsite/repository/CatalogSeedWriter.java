@@ -0,0 +1,204 @@
+package com.example.navisewebsite.repository;
+
+import com.example.navisewebsite.repository.CatalogWorkbookReader.CourseRow;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+    The purpose of the CatalogSeedWriter class is to write the rows streamed by
+    CatalogWorkbookReader into courses.db in a single transaction.
+
+    Existing programs, program_courses and ntc_requirements are replaced; courses are
+    inserted with INSERT OR IGNORE. Inserts are parameterized and sent in batches of
+    BATCH_SIZE so only one batch is held in memory at a time.
+*/
+public class CatalogSeedWriter implements CatalogWorkbookReader.RowHandler, AutoCloseable {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final Connection conn;
+    private final Statement stmt;
+    private final PreparedStatement courseStmt;
+    private final PreparedStatement programStmt;
+    private final PreparedStatement linkStmt;
+    private final PreparedStatement ntcStmt;
+
+    // Track duplicate course IDs to create unique ones (CS101, CS101-2, CS101-3, ...)
+    private final Map<String, Integer> courseIdCounter = new HashMap<>();
+
+    private int programId;
+    private int pending;
+    private int courses;
+    private int programs;
+    private int links;
+    private int ntcRequirements;
+
+    // Time spent writing each table and committing; the rest of a seed is reading the workbook
+    private long courseNanos;
+    private long programNanos;
+    private long linkNanos;
+    private long ntcNanos;
+    private long commitNanos;
+
+    /**
+     * Start the seed transaction on the given connection and clear the
+     * program and NTC tables. Nothing is visible until {@link #commit()}.
+     */
+    public CatalogSeedWriter(Connection conn) throws SQLException {
+        this.conn = conn;
+        conn.setAutoCommit(false);
+        this.stmt = conn.createStatement();
+        this.courseStmt = conn.prepareStatement(
+                "INSERT OR IGNORE INTO courses (course_id, course_name, course_code, credit_hours, professor, days, time, building, room, attributes, prerequisites, corequisites, terms) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        this.programStmt = conn.prepareStatement(
+                "INSERT INTO programs (program_name, program_type) VALUES (?, ?)");
+        this.linkStmt = conn.prepareStatement(
+                "INSERT OR IGNORE INTO program_courses (program_id, course_id) VALUES (?, ?)");
+        this.ntcStmt = conn.prepareStatement(
+                "INSERT INTO ntc_requirements (requirement_name, description) VALUES (?, ?)");
+
+        // Clear existing data
+        stmt.executeUpdate("DELETE FROM program_courses");
+        stmt.executeUpdate("DELETE FROM programs");
+        stmt.executeUpdate("DELETE FROM ntc_requirements");
+    }
+
+    @Override
+    public void startProgram(String programName, String programType) throws SQLException {
+        programStmt.setString(1, programName);
+        programStmt.setString(2, programType);
+        long start = System.nanoTime();
+        // Programs are not batched: the links that follow need this program's id right away.
+        // last_insert_rowid() on the same connection and transaction returns it without
+        // preparing the insert for generated keys.
+        programStmt.executeUpdate();
+        try (ResultSet keys = stmt.executeQuery("SELECT last_insert_rowid()")) {
+            programId = keys.next() ? keys.getInt(1) : 1;
+        }
+        programNanos += System.nanoTime() - start;
+        programs++;
+    }
+
+    @Override
+    public void course(CourseRow row) throws SQLException {
+        String courseId = uniqueCourseId(row.courseId());
+        // Allow blank course codes (for electives), use a default if needed
+        String courseCode = row.courseCode() != null ? row.courseCode() : "ELEC";
+        Integer creditHours = row.creditHours();
+
+        courseStmt.setString(1, courseId);
+        courseStmt.setString(2, emptyIfNull(row.courseName()));
+        courseStmt.setString(3, courseCode);
+        courseStmt.setInt(4, creditHours == null ? 0 : creditHours);
+        // professor, days, time, building, room, attributes, prerequisites, corequisites, terms
+        for (int col = 4; col <= 12; col++) {
+            courseStmt.setString(col + 1, emptyIfNull(row.cell(col)));
+        }
+        courseStmt.addBatch();
+        courses++;
+
+        // Link to program
+        linkStmt.setInt(1, programId);
+        linkStmt.setString(2, courseId);
+        linkStmt.addBatch();
+        links++;
+
+        flushIfFull();
+    }
+
+    @Override
+    public void ntcRequirement(String requirementName, String classCount) throws SQLException {
+        // Column 1 contains "# of Classes" but we'll use it as description
+        ntcStmt.setString(1, requirementName);
+        ntcStmt.setString(2, classCount != null ? classCount : "Required courses");
+        ntcStmt.addBatch();
+        ntcRequirements++;
+
+        flushIfFull();
+    }
+
+    /**
+     * Send the remaining batches and commit the whole seed.
+     */
+    public void commit() throws SQLException {
+        flush();
+        long start = System.nanoTime();
+        conn.commit();
+        commitNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Discard everything written since the constructor.
+     */
+    public void rollback() throws SQLException {
+        conn.rollback();
+    }
+
+    public int coursesWritten()         { return courses; }
+    public int programsWritten()        { return programs; }
+    public int programLinksWritten()    { return links; }
+    public int ntcRequirementsWritten() { return ntcRequirements; }
+
+    public int rowsWritten() {
+        return courses + programs + links + ntcRequirements;
+    }
+
+    public long coursesNanos()         { return courseNanos; }
+    public long programsNanos()        { return programNanos; }
+    public long programLinksNanos()    { return linkNanos; }
+    public long ntcRequirementsNanos() { return ntcNanos; }
+    public long commitNanos()          { return commitNanos; }
+
+    /**
+     * Time spent in the database: every table's writes and the commit.
+     */
+    public long writeNanos() {
+        return courseNanos + programNanos + linkNanos + ntcNanos + commitNanos;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        ntcStmt.close();
+        linkStmt.close();
+        programStmt.close();
+        courseStmt.close();
+        stmt.close();
+    }
+
+    private void flushIfFull() throws SQLException {
+        if (++pending >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() throws SQLException {
+        // Courses first so every link refers to an existing course
+        long start = System.nanoTime();
+        courseStmt.executeBatch();
+        long coursesDone = System.nanoTime();
+        linkStmt.executeBatch();
+        long linksDone = System.nanoTime();
+        ntcStmt.executeBatch();
+        long ntcDone = System.nanoTime();
+        courseNanos += coursesDone - start;
+        linkNanos += linksDone - coursesDone;
+        ntcNanos += ntcDone - linksDone;
+        pending = 0;
+    }
+
+    private String uniqueCourseId(String courseId) {
+        int count = courseIdCounter.merge(courseId, 1, Integer::sum);
+        return count > 1 ? courseId + "-" + count : courseId;
+    }
+
+    private static String emptyIfNull(String value) {
+        return value == null ? "" : value;
+    }
+}
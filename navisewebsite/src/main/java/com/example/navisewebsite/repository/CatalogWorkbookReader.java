@@ -0,0 +1,271 @@
+package com.example.navisewebsite.repository;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+    The purpose of the CatalogWorkbookReader class is to stream the catalog workbook
+    (courses.xlsx) without building the POI object model in memory.
+
+    Each sheet is a program (Major or Minor) whose rows are courses, except the
+    "NTC Requirements" sheet. Sheets are parsed in parallel with the SAX event model,
+    but rows are handed to the RowHandler on the calling thread, one sheet at a time in
+    workbook order, so a single writer sees the same order as the spreadsheet.
+    Every sheet buffers at most ROW_BUFFER rows, so memory does not grow with the workbook.
+*/
+public class CatalogWorkbookReader {
+
+    public static final String NTC_SHEET = "NTC Requirements";
+
+    private static final int ROW_BUFFER = 256;
+    private static final int COURSE_COLUMNS = 13;
+
+    // Marks the end of a sheet's row queue
+    private static final Object END_OF_SHEET = new Object();
+
+    /**
+     * Receives workbook rows in sheet order on the thread that called read().
+     */
+    public interface RowHandler {
+        /** Called before the rows of each program sheet. */
+        void startProgram(String programName, String programType) throws SQLException;
+
+        /** One course row; also links the course to the program of its sheet. */
+        void course(CourseRow row) throws SQLException;
+
+        /** One row of the NTC Requirements sheet. */
+        void ntcRequirement(String requirementName, String classCount) throws SQLException;
+    }
+
+    /**
+     * Raw cell values of one course row (columns 0..12). Blank cells are null.
+     */
+    public static class CourseRow {
+        public final String programName;
+        private final String[] cells;
+
+        CourseRow(String programName, String[] cells) {
+            this.programName = programName;
+            this.cells = cells;
+        }
+
+        public String courseId()      { return cells[0]; }
+        public String courseName()    { return cells[1]; }
+        public String courseCode()    { return cells[2]; }
+        public String professor()     { return cells[4]; }
+        public String days()          { return cells[5]; }
+        public String time()          { return cells[6]; }
+        public String building()      { return cells[7]; }
+        public String room()          { return cells[8]; }
+        public String attributes()    { return cells[9]; }
+        public String prerequisites() { return cells[10]; }
+        public String corequisites()  { return cells[11]; }
+        public String terms()         { return cells[12]; }
+
+        public Integer creditHours() {
+            String value = cells[3];
+            if (value == null) return null;
+            try {
+                return (int) Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /** Cell value by column index (0 = course id ... 12 = terms). */
+        public String cell(int col) {
+            return cells[col];
+        }
+    }
+
+    /**
+     * Program type from the sheet name, as used throughout the catalog.
+     */
+    public static String programType(String sheetName) {
+        return sheetName.contains("Minor") ? "Minor" : "Major";
+    }
+
+    /**
+     * Stream a workbook from an InputStream (e.g. a classpath resource).
+     * The stream is spooled to a temporary file first so POI can read the
+     * zip entries on demand instead of holding the whole package in memory.
+     */
+    public void read(InputStream in, RowHandler handler) throws Exception {
+        Path tmp = Files.createTempFile("catalog-", ".xlsx");
+        try {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            read(tmp.toFile(), handler);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Stream a workbook file, calling the handler for every row in workbook order.
+     */
+    public void read(File file, RowHandler handler) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            List<String> sheetNames = new ArrayList<>();
+            List<PackagePart> sheetParts = new ArrayList<>();
+            XSSFReader.SheetIterator it = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (it.hasNext()) {
+                it.next().close(); // only the part is needed; each worker opens its own stream
+                sheetNames.add(it.getSheetName());
+                sheetParts.add(it.getSheetPart());
+            }
+            if (sheetParts.isEmpty()) {
+                return;
+            }
+
+            // Tasks run in submission order, so every sheet before the one being
+            // drained has already started and a full queue can never deadlock the pool.
+            int threads = Math.min(sheetParts.size(), Runtime.getRuntime().availableProcessors());
+            ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "catalog-sheet-reader");
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                List<BlockingQueue<Object>> queues = new ArrayList<>();
+                for (int i = 0; i < sheetParts.size(); i++) {
+                    BlockingQueue<Object> queue = new ArrayBlockingQueue<>(ROW_BUFFER);
+                    queues.add(queue);
+                    PackagePart part = sheetParts.get(i);
+                    pool.execute(() -> parseSheet(part, styles, strings, queue));
+                }
+
+                for (int i = 0; i < sheetNames.size(); i++) {
+                    drainSheet(sheetNames.get(i), queues.get(i), handler);
+                }
+            } finally {
+                // Stops any parser still blocked on a full queue if the handler failed
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private void drainSheet(String sheetName, BlockingQueue<Object> queue, RowHandler handler) throws Exception {
+        boolean ntc = sheetName.equals(NTC_SHEET);
+        if (!ntc) {
+            handler.startProgram(sheetName, programType(sheetName));
+        }
+
+        boolean header = true;
+        while (true) {
+            Object item = queue.take();
+            if (item == END_OF_SHEET) {
+                return;
+            }
+            if (item instanceof Exception e) {
+                throw new IllegalStateException("Failed to read sheet '" + sheetName + "'", e);
+            }
+            if (header) { header = false; continue; }
+
+            String[] cells = (String[]) item;
+            if (ntc) {
+                String requirementName = cells[0];
+                if (requirementName == null) continue;
+                handler.ntcRequirement(requirementName, cells[1]);
+            } else {
+                if (cells[0] == null) continue;
+                handler.course(new CourseRow(sheetName, cells));
+            }
+        }
+    }
+
+    // Runs on a worker thread: SAX-parse one sheet into its bounded queue
+    private void parseSheet(PackagePart part, StylesTable styles, ReadOnlySharedStringsTable strings,
+                            BlockingQueue<Object> queue) {
+        try (InputStream sheet = part.getInputStream()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            // DataFormatter is not thread-safe, so each sheet gets its own
+            parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, strings, new RowCollector(queue), new DataFormatter(), false));
+            parser.parse(new InputSource(sheet));
+        } catch (SheetReadInterrupted e) {
+            return;
+        } catch (Exception e) {
+            // Hand the failure to the reading thread
+            if (!offer(queue, e)) return;
+        }
+        offer(queue, END_OF_SHEET);
+    }
+
+    private static boolean offer(BlockingQueue<Object> queue, Object item) {
+        try {
+            queue.put(item);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Thrown through the SAX parser to abandon a sheet once the reader shuts down
+    private static class SheetReadInterrupted extends RuntimeException {
+    }
+
+    /**
+     * Collects the cells of each row into a String[] and queues it.
+     * Blank cells (and cells missing from the XML) are left null.
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final BlockingQueue<Object> queue;
+        private String[] cells;
+        private int nextCol;
+
+        RowCollector(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new String[COURSE_COLUMNS];
+            nextCol = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference != null ? new CellReference(cellReference).getCol() : nextCol;
+            nextCol = col + 1;
+            if (col >= COURSE_COLUMNS || formattedValue == null) return;
+            String value = formattedValue.trim();
+            cells[col] = value.isEmpty() ? null : value;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!offer(queue, cells)) {
+                throw new SheetReadInterrupted();
+            }
+        }
+    }
+}
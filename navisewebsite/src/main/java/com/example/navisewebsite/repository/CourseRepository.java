@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.stereotype.Repository;
 
@@ -14,62 +16,66 @@ import org.springframework.stereotype.Repository;
 public class CourseRepository implements CourseRepositoryInterface {
 
     public void addCourse(Course course) {
+        try {
+            WriteExecutor.await(addCourseAsync(course));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    // Queue the insert on the courses.db writer (see WriteExecutor); the future
+    // completes once the batch containing it has committed
+    public CompletableFuture<Void> addCourseAsync(Course course) {
         String sql = """
             INSERT INTO courses(course_id, course_name, course_code, credit_hours, professor, days, 
                 time, building, room, attributes, prerequisites, corequisites, 
                 terms) VALUES(?,?,?,?,?,?,?,?,?,?,?,?,?);
             """;
-           
-       try (Connection conn = DatabaseUtil.connectCourses();
-           PreparedStatement pstmt = conn.prepareStatement(sql)) {
-          conn.setAutoCommit(false);
-
-            pstmt.setString(1, course.get_courseID());
-            pstmt.setString(2, course.get_course_name());
-            pstmt.setString(3, course.get_course_code());
-            pstmt.setInt(4, course.get_credit_hours());
-            pstmt.setString(5, course.get_professor_name());
-            pstmt.setString(6, course.get_days_offered());
-            pstmt.setString(7, course.get_time());
-            pstmt.setString(8, course.get_building());
-            pstmt.setString(9, course.get_room_number());
-            pstmt.setString(10, String.join(",", course.get_attribute()));
-            pstmt.setString(11, String.join(",", course.get_prerequisites()));
-            pstmt.setString(12, String.join(",", course.get_corequisites()));
-            pstmt.setString(13, String.join(",", course.get_term_offered()));
-
-            pstmt.executeUpdate();
-            System.out.println("Inserting course: " + course.get_courseID());
-            // COMMIT THE TRANSACTION
-            conn.commit();
-            System.out.println("DEBUG CourseRepository: Course insertion committed");
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return WriteExecutor.courses().submit(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, course.get_courseID());
+                pstmt.setString(2, course.get_course_name());
+                pstmt.setString(3, course.get_course_code());
+                pstmt.setInt(4, course.get_credit_hours());
+                pstmt.setString(5, course.get_professor_name());
+                pstmt.setString(6, course.get_days_offered());
+                pstmt.setString(7, course.get_time());
+                pstmt.setString(8, course.get_building());
+                pstmt.setString(9, course.get_room_number());
+                pstmt.setString(10, String.join(",", course.get_attribute()));
+                pstmt.setString(11, String.join(",", course.get_prerequisites()));
+                pstmt.setString(12, String.join(",", course.get_corequisites()));
+                pstmt.setString(13, String.join(",", course.get_term_offered()));
+
+                pstmt.executeUpdate();
+                System.out.println("Inserting course: " + course.get_courseID());
+            }
+            return null;
+        });
     }
-    // Remove a course by its ID
+    // Remove a course by its ID, on the courses.db writer (both deletes commit together)
     public void removeCourse(Course course) {
         String sqlDeleteProgramCourses = "DELETE FROM program_courses WHERE course_id = ?";
         String sqlDeleteCourse = "DELETE FROM courses WHERE course_id = ?";
-       try (Connection conn = DatabaseUtil.connectCourses();
-           PreparedStatement pstmt1 = conn.prepareStatement(sqlDeleteProgramCourses);
-           PreparedStatement pstmt2 = conn.prepareStatement(sqlDeleteCourse)) {
-          conn.setAutoCommit(false);
-            pstmt1.setString(1, course.get_courseID());
-            int programCoursesDeleted = pstmt1.executeUpdate();
-            System.out.println("DEBUG CourseRepository: Deleted " + programCoursesDeleted + " program_courses entries");
-            
-            pstmt2.setString(1, course.get_courseID());
-            int courseDeleted = pstmt2.executeUpdate();
-            System.out.println("DEBUG CourseRepository: Deleted " + courseDeleted + " course(s)");
-            
-            // COMMIT THE TRANSACTION
-            conn.commit();
+        try {
+            WriteExecutor.await(WriteExecutor.courses().submit(conn -> {
+                try (PreparedStatement pstmt1 = conn.prepareStatement(sqlDeleteProgramCourses);
+                     PreparedStatement pstmt2 = conn.prepareStatement(sqlDeleteCourse)) {
+                    pstmt1.setString(1, course.get_courseID());
+                    int programCoursesDeleted = pstmt1.executeUpdate();
+                    System.out.println("DEBUG CourseRepository: Deleted " + programCoursesDeleted + " program_courses entries");
+
+                    pstmt2.setString(1, course.get_courseID());
+                    int courseDeleted = pstmt2.executeUpdate();
+                    System.out.println("DEBUG CourseRepository: Deleted " + courseDeleted + " course(s)");
+                }
+                return null;
+            }));
             System.out.println("DEBUG CourseRepository: Course removal committed");
-        } catch (SQLException e) {
-            System.out.println("ERROR CourseRepository: SQL Exception when removing course: " + e.getMessage());
-            e.printStackTrace();
+        } catch (CompletionException e) {
+            System.out.println("ERROR CourseRepository: SQL Exception when removing course: " + e.getCause().getMessage());
+            e.getCause().printStackTrace();
         }
     }
 
@@ -142,31 +148,31 @@ public class CourseRepository implements CourseRepositoryInterface {
                 time, building, room, attributes, prerequisites, corequisites,
                 terms) VALUES(?,?,?,?,?,?,?,?,?,?,?,?,?);
             """;
-    try (Connection conn = DatabaseUtil.connectCourses();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            conn.setAutoCommit(false);
-            pstmt.setString(1, courseId);
-            pstmt.setString(2, courseName);
-            pstmt.setString(3, courseCode);
-            pstmt.setInt(4, creditHours);
-            pstmt.setString(5, professor);
-            pstmt.setString(6, days);
-            pstmt.setString(7, time);
-            pstmt.setString(8, building);
-            pstmt.setString(9, room);
-            pstmt.setString(10, attributes == null ? "" : attributes);
-            pstmt.setString(11, prerequisites == null ? "" : prerequisites);
-            pstmt.setString(12, corequisites == null ? "" : corequisites);
-            pstmt.setString(13, terms == null ? "" : terms);
-            pstmt.executeUpdate();
-            
-            // COMMIT THE TRANSACTION
-            conn.commit();
+        try {
+            WriteExecutor.await(WriteExecutor.courses().submit(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, courseId);
+                    pstmt.setString(2, courseName);
+                    pstmt.setString(3, courseCode);
+                    pstmt.setInt(4, creditHours);
+                    pstmt.setString(5, professor);
+                    pstmt.setString(6, days);
+                    pstmt.setString(7, time);
+                    pstmt.setString(8, building);
+                    pstmt.setString(9, room);
+                    pstmt.setString(10, attributes == null ? "" : attributes);
+                    pstmt.setString(11, prerequisites == null ? "" : prerequisites);
+                    pstmt.setString(12, corequisites == null ? "" : corequisites);
+                    pstmt.setString(13, terms == null ? "" : terms);
+                    return pstmt.executeUpdate();
+                }
+            }));
             System.out.println("DEBUG CourseRepository: insertCourse transaction committed for " + courseId);
-        } catch (SQLException e) {
+        } catch (CompletionException e) {
             // Silently ignore duplicate key errors (course already exists)
-            if (!e.getMessage().contains("UNIQUE constraint failed") && !e.getMessage().contains("PRIMARY KEY")) {
-                e.printStackTrace();
+            String message = String.valueOf(e.getCause().getMessage());
+            if (!message.contains("UNIQUE constraint failed") && !message.contains("PRIMARY KEY")) {
+                e.getCause().printStackTrace();
             }
         }
     }
@@ -201,24 +207,101 @@ public class CourseRepository implements CourseRepositoryInterface {
         termsList
     );
     }
-    public void addNTCRequirement(String requirement, int num) {
-        String sql = "INSERT INTO ntc_requirements (ntc_requirement, num_classes) VALUES (?, ?)";
+    // NTC requirement row (requirement name and the "# of classes" description)
+    public static class NtcRequirement {
+        public final String name;
+        public final String description;
+        public NtcRequirement(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
 
-       try (Connection conn = DatabaseUtil.connectCourses();
-           PreparedStatement pstmt = conn.prepareStatement(sql)) {
-          conn.setAutoCommit(false);
+    /**
+     * The catalog_revision row: bumped by every catalog write so each instance's
+     * CourseCatalog can tell its snapshot is out of date.
+     */
+    public static class CatalogRevision {
+        public final long revision;
+        /** Epoch millis, whole seconds. */
+        public final long changedAtMillis;
 
-            pstmt.setString(1, requirement);
-            pstmt.setInt(2, num);
-            pstmt.executeUpdate();
-            
-            // COMMIT THE TRANSACTION
-            conn.commit();
-            System.out.println("DEBUG CourseRepository: NTC requirement added and committed");
+        public CatalogRevision(long revision, long changedAtMillis) {
+            this.revision = revision;
+            this.changedAtMillis = changedAtMillis;
+        }
+    }
 
+    /**
+     * Current catalog revision, (0, 0) if the row is missing, or null if it could not be read.
+     */
+    public CatalogRevision findCatalogRevision() {
+        String sql = "SELECT revision, changed_at FROM catalog_revision WHERE id = 1";
+        try (Connection conn = DatabaseUtil.connectCourses();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? new CatalogRevision(rs.getLong("revision"), rs.getLong("changed_at"))
+                             : new CatalogRevision(0, 0);
         } catch (SQLException e) {
-            System.out.println("ERROR CourseRepository: SQL Exception when adding NTC requirement: " + e.getMessage());
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Record a catalog write: next revision, changed now (never earlier than the previous
+     * change, should the clock step back). Goes through the courses.db writer like the edits it follows.
+     */
+    public void bumpCatalogRevision() {
+        String sql = """
+            INSERT INTO catalog_revision (id, revision, changed_at)
+                VALUES (1, 1, CAST(strftime('%s', 'now') AS INTEGER) * 1000)
+            ON CONFLICT(id) DO UPDATE SET revision = revision + 1,
+                changed_at = MAX(excluded.changed_at, changed_at);
+            """;
+        try {
+            WriteExecutor.await(WriteExecutor.courses().submit(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate(sql);
+                }
+                return null;
+            }));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    public List<NtcRequirement> findAllNtcRequirements() {
+        List<NtcRequirement> requirements = new ArrayList<>();
+        String sql = "SELECT requirement_name, description FROM ntc_requirements ORDER BY id";
+        try (Connection conn = DatabaseUtil.connectCourses();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                requirements.add(new NtcRequirement(rs.getString("requirement_name"), rs.getString("description")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return requirements;
+    }
+
+    public void addNTCRequirement(String requirement, int num) {
+        String sql = "INSERT INTO ntc_requirements (ntc_requirement, num_classes) VALUES (?, ?)";
+
+        try {
+            WriteExecutor.await(WriteExecutor.courses().submit(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, requirement);
+                    pstmt.setInt(2, num);
+                    return pstmt.executeUpdate();
+                }
+            }));
+            System.out.println("DEBUG CourseRepository: NTC requirement added and committed");
+
+        } catch (CompletionException e) {
+            System.out.println("ERROR CourseRepository: SQL Exception when adding NTC requirement: " + e.getCause().getMessage());
+            e.getCause().printStackTrace();
         }
     }
 }
\ No newline at end of file
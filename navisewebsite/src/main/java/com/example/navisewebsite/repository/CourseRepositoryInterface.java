@@ -14,5 +14,6 @@ public interface CourseRepositoryInterface {
                      int creditHours, String professor, String days, String time, 
                      String building, String room, String attributes, 
                      String prerequisites, String corequisites, String terms);
+    List<CourseRepository.NtcRequirement> findAllNtcRequirements();
     void addNTCRequirement(String requirement, int num);
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.example.navisewebsite.repository;
+
+import com.example.navisewebsite.domain.User;
+import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/*
+    The purpose of the CrossDatabaseRepository class is to answer the reads that need
+    more than one database file with a single SQL join.
+
+    It runs on DatabaseUtil.connectAttached(): users.db is the main schema and
+    student_info.db is attached as "students". Login and the admin student listing each
+    take one connection and one query instead of reading one file and then matching rows
+    from another in Java. Course and program data is not joined here; it comes from the
+    CourseCatalog snapshot.
+*/
+@Repository
+public class CrossDatabaseRepository {
+
+    /**
+     * A user row and, for students, their student_info row (null if none exists yet).
+     */
+    public static class LoginRecord {
+        public final User user;
+        public final StudentInfo studentInfo;
+
+        public LoginRecord(User user, StudentInfo studentInfo) {
+            this.user = user;
+            this.studentInfo = studentInfo;
+        }
+    }
+
+    /**
+     * A student_info row together with the email of the user it belongs to.
+     */
+    public static class StudentListing extends StudentInfo {
+        public final String email;
+
+        public StudentListing(int id, int userId, String email, String firstName, String lastName, String major,
+                              String minor, String schoolYear, String pastCourses) {
+            super(id, userId, firstName, lastName, major, minor, schoolYear, pastCourses);
+            this.email = email;
+        }
+    }
+
+    /**
+     * Find a user by email together with their student_info row.
+     */
+    public Optional<LoginRecord> findLogin(String email) {
+        String sql = "SELECT u.user_id, u.email, u.password, u.user_type, u.first_name, u.last_name, "
+                + "si.id AS si_id, si.first_name AS si_first_name, si.last_name AS si_last_name, "
+                + "si.major, si.minor, si.school_year, si.past_courses "
+                + "FROM main.users u "
+                + "LEFT JOIN students.student_info si ON si.user_id = u.user_id "
+                + "WHERE u.email = ?";
+        try (Connection conn = DatabaseUtil.connectAttached();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, email);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                User user = new User(
+                        rs.getInt("user_id"),
+                        rs.getString("email"),
+                        rs.getString("password"),
+                        rs.getString("user_type"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"));
+                StudentInfo info = null;
+                rs.getInt("si_id");
+                if (!rs.wasNull()) {
+                    info = new StudentInfo(
+                            rs.getInt("si_id"),
+                            user.getUserId(),
+                            rs.getString("si_first_name"),
+                            rs.getString("si_last_name"),
+                            rs.getString("major"),
+                            rs.getString("minor"),
+                            rs.getString("school_year"),
+                            rs.getString("past_courses"));
+                }
+                return Optional.of(new LoginRecord(user, info));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Every student_info row with the email of its user, ordered by name.
+     */
+    public List<StudentListing> findAllStudents() {
+        List<StudentListing> students = new ArrayList<>();
+        String sql = "SELECT si.id, si.user_id, u.email, si.first_name, si.last_name, si.major, si.minor, "
+                + "si.school_year, si.past_courses "
+                + "FROM students.student_info si "
+                + "LEFT JOIN main.users u ON u.user_id = si.user_id "
+                + "ORDER BY si.last_name, si.first_name";
+        try (Connection conn = DatabaseUtil.connectAttached();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                students.add(new StudentListing(
+                        rs.getInt("id"),
+                        rs.getInt("user_id"),
+                        rs.getString("email"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("major"),
+                        rs.getString("minor"),
+                        rs.getString("school_year"),
+                        rs.getString("past_courses")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return students;
+    }
+}
@@ -2,10 +2,21 @@
 
 package com.example.navisewebsite.repository;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class DatabaseUtil {
     // Get the directory where the JAR is running from and ensure we're in the navisewebsite directory
@@ -43,6 +54,27 @@ public class DatabaseUtil {
         System.out.println("  COURSES_DB: " + COURSES_DB);
     }
     
+    // Pool sizing and per-connection pragmas. SQLite allows many readers but only one
+    // writer, so the pools stay small; busy_timeout makes a second writer wait instead of
+    // failing immediately with SQLITE_BUSY.
+    // sqlite-jdbc runs each statement in a synchronized native method, so on virtual
+    // threads (spring.threads.virtual.enabled) every SQLite call pins its carrier while it
+    // runs; the pool size also bounds how many carriers a database can pin at once.
+    private static final int MAX_POOL_SIZE = 8;
+    private static final int MIN_IDLE = 2;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final int CACHE_SIZE_KIB = -8000;          // negative = KiB, ~8 MB page cache per connection
+    private static final long MMAP_SIZE_BYTES = 64L * 1024 * 1024;
+
+    // Schema names of the ATTACHed databases on attachedDataSource() connections
+    public static final String STUDENTS_SCHEMA = "students";
+    private static final String ATTACHED_PREFIX = "attached:";
+
+    // One pool per JDBC URL, created lazily on first use. Creation opens connections, so it
+    // is guarded by a ReentrantLock rather than synchronized, which would pin a virtual thread
+    private static final Map<String, HikariDataSource> POOLS = new ConcurrentHashMap<>();
+    private static final ReentrantLock POOL_LOCK = new ReentrantLock();
+
     // Test mode - uses in-memory database URIs
     private static boolean testMode = false;
     private static String testUsersUri;
@@ -57,6 +89,7 @@ public class DatabaseUtil {
                                    String usersUri,
                                    String studentInfoUri,
                                    String coursesUri) {
+        closeTestPools();
         testMode = enabled;
         testUsersUri = usersUri;
         testStudentInfoUri = studentInfoUri;
@@ -67,83 +100,193 @@ public class DatabaseUtil {
      * Disable test mode and revert to file-based databases.
      */
     public static void disableTestMode() {
+        closeTestPools();
         testMode = false;
         testUsersUri = null;
         testStudentInfoUri = null;
         testCoursesUri = null;
     }
 
-    public static Connection connectUsers() throws SQLException {
-        if (testMode && testUsersUri != null) {
-            return DriverManager.getConnection(testUsersUri);
+    /**
+     * Pooled DataSource for users.db (or the in-memory test database in test mode).
+     */
+    public static DataSource usersDataSource() {
+        return pool(testMode && testUsersUri != null ? testUsersUri : USERS_DB, "users");
+    }
+
+    /**
+     * Pooled DataSource for student_info.db (or the in-memory test database in test mode).
+     */
+    public static DataSource studentInfoDataSource() {
+        return pool(testMode && testStudentInfoUri != null ? testStudentInfoUri : STUDENT_INFO_DB, "student_info");
+    }
+
+    /**
+     * Pooled DataSource for courses.db (or the in-memory test database in test mode).
+     */
+    public static DataSource coursesDataSource() {
+        return pool(testMode && testCoursesUri != null ? testCoursesUri : COURSES_DB, "courses");
+    }
+
+    /**
+     * Pooled DataSource whose connections open users.db and ATTACH student_info.db AS
+     * students, so reads that span the two files run as one join (see
+     * CrossDatabaseRepository). Use it for reads only; writes go through each database's
+     * own pool and WriteExecutor. courses.db is not attached: catalog reads come from the
+     * in-memory CourseCatalog snapshot instead of a join per request.
+     */
+    public static DataSource attachedDataSource() {
+        String users = testMode && testUsersUri != null ? testUsersUri : USERS_DB;
+        String studentInfo = testMode && testStudentInfoUri != null ? testStudentInfoUri : STUDENT_INFO_DB;
+        String key = ATTACHED_PREFIX + users;
+        HikariDataSource ds = POOLS.get(key);
+        if (ds != null && !ds.isClosed()) {
+            return ds;
+        }
+        POOL_LOCK.lock();
+        try {
+            ds = POOLS.get(key);
+            if (ds == null || ds.isClosed()) {
+                ds = createPool(users, "attached", Map.of(STUDENTS_SCHEMA, studentInfo));
+                POOLS.put(key, ds);
+            }
+            return ds;
+        } finally {
+            POOL_LOCK.unlock();
         }
-        return DriverManager.getConnection(USERS_DB);
+    }
+
+    public static Connection connectAttached() throws SQLException {
+        return attachedDataSource().getConnection();
+    }
+
+    public static Connection connectUsers() throws SQLException {
+        return usersDataSource().getConnection();
     }
 
     public static Connection connectStudentInfo() throws SQLException {
-        if (testMode && testStudentInfoUri != null) {
-            return DriverManager.getConnection(testStudentInfoUri);
-        }
-        return DriverManager.getConnection(STUDENT_INFO_DB);
+        return studentInfoDataSource().getConnection();
     }
 
     public static Connection connectCourses() throws SQLException {
-        if (testMode && testCoursesUri != null) {
-            return DriverManager.getConnection(testCoursesUri);
+        return coursesDataSource().getConnection();
+    }
+
+    /**
+     * Close every open pool. Pools are recreated lazily on the next connect call.
+     */
+    public static void closeAllPools() {
+        WriteExecutor.shutdownAll();
+        POOLS.values().forEach(HikariDataSource::close);
+        POOLS.clear();
+    }
+
+    private static HikariDataSource pool(String url, String name) {
+        HikariDataSource ds = POOLS.get(url);
+        if (ds != null && !ds.isClosed()) {
+            return ds;
+        }
+        POOL_LOCK.lock();
+        try {
+            ds = POOLS.get(url);
+            if (ds == null || ds.isClosed()) {
+                ds = createPool(url, name, Map.of());
+                POOLS.put(url, ds);
+            }
+            return ds;
+        } finally {
+            POOL_LOCK.unlock();
         }
-        return DriverManager.getConnection(COURSES_DB);
     }
 
-    public static void initializeDatabases() {
-        if (testMode) {
-            // In test mode, assume databases are already initialized
-            return;
+    private static HikariDataSource createPool(String url, String name, Map<String, String> attachments) {
+        // Pragmas are passed as driver properties, so sqlite-jdbc applies them once
+        // when each physical connection is opened rather than on every checkout.
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        sqlite.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        sqlite.setCacheSize(CACHE_SIZE_KIB);
+        sqlite.setBusyTimeout(BUSY_TIMEOUT_MS);
+        sqlite.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(MMAP_SIZE_BYTES));
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name + (url.contains("mode=memory") ? "-test" : "") + "-pool");
+        if (attachments.isEmpty()) {
+            config.setJdbcUrl(url);
+            config.setDataSourceProperties(sqlite.toProperties());
+        } else {
+            config.setDataSource(new AttachingDataSource(sqlite, url, attachments));
         }
-        initializeUsers();
-        initializeStudentInfo();
-        initializeCourses();
+        config.setMaximumPoolSize(MAX_POOL_SIZE);
+        config.setMinimumIdle(MIN_IDLE);
+        System.out.println("DEBUG DatabaseUtil: Opening connection pool " + config.getPoolName() + " for " + url);
+        return new HikariDataSource(config);
     }
 
-    private static void initializeUsers() {
-        try (Connection conn = connectUsers(); Statement stmt = conn.createStatement()) {
-            stmt.execute("CREATE TABLE IF NOT EXISTS users (user_id INTEGER PRIMARY KEY AUTOINCREMENT, email TEXT UNIQUE, password TEXT, first_name TEXT, last_name TEXT, user_type TEXT)");
-            System.out.println("✓ users table initialized successfully");
-        } catch (SQLException e) {
-            System.err.println("✗ Error initializing users table: " + e.getMessage());
-            e.printStackTrace();
+    private static void closeTestPools() {
+        WriteExecutor.shutdownAll();
+        String attached = testUsersUri != null ? ATTACHED_PREFIX + testUsersUri : null;
+        for (String uri : new String[] {testUsersUri, testStudentInfoUri, testCoursesUri, attached}) {
+            if (uri != null) {
+                HikariDataSource ds = POOLS.remove(uri);
+                if (ds != null) {
+                    ds.close();
+                }
+            }
         }
     }
 
-    private static void initializeStudentInfo() {
-        try (Connection conn = connectStudentInfo(); Statement stmt = conn.createStatement()) {
-            stmt.execute("CREATE TABLE IF NOT EXISTS student_info (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id INTEGER NOT NULL, first_name TEXT, last_name TEXT, major TEXT, minor TEXT, school_year TEXT, past_courses TEXT, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY(user_id) REFERENCES users(user_id))");
-            System.out.println("✓ student_info table initialized successfully");
-        } catch (SQLException e) {
-            System.err.println("✗ Error initializing student_info table: " + e.getMessage());
-            e.printStackTrace();
+    // Opens SQLite connections with the pool's pragmas and ATTACHes the other database
+    // files once per physical connection, so checkouts from the pool pay nothing extra.
+    private static final class AttachingDataSource extends SQLiteDataSource {
+        private final Map<String, String> attachments;
+
+        AttachingDataSource(SQLiteConfig config, String url, Map<String, String> attachments) {
+            super(config);
+            setUrl(url);
+            this.attachments = new TreeMap<>(attachments);
+        }
+
+        @Override
+        public SQLiteConnection getConnection(String username, String password) throws SQLException {
+            SQLiteConnection conn = super.getConnection(username, password);
+            try (PreparedStatement ps = conn.prepareStatement("ATTACH DATABASE ? AS ?")) {
+                for (Map.Entry<String, String> attachment : attachments.entrySet()) {
+                    ps.setString(1, attachment.getValue().substring("jdbc:sqlite:".length()));
+                    ps.setString(2, attachment.getKey());
+                    ps.execute();
+                }
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+            return conn;
+        }
+    }
+
+    /**
+     * Apply pending schema migrations to every database file (see SchemaMigrator).
+     * Any failure, including a database newer than this build, stops startup.
+     */
+    public static void initializeDatabases() {
+        if (testMode) {
+            // In test mode, assume databases are already initialized
+            return;
         }
+        migrate("users.db", usersDataSource(), SchemaMigrator.USERS);
+        migrate("student_info.db", studentInfoDataSource(), SchemaMigrator.STUDENT_INFO);
+        migrate("courses.db", coursesDataSource(), SchemaMigrator.COURSES);
+        // Schedule repositories bind their queries to the migrated schema
+        ScheduleSchema.reset();
     }
 
-    private static void initializeCourses() {
-        try (Connection conn = connectCourses(); Statement stmt = conn.createStatement()) {
-            // Create courses table
-            stmt.execute("CREATE TABLE IF NOT EXISTS courses (course_id TEXT PRIMARY KEY, course_name TEXT, course_code TEXT, credit_hours INTEGER, professor TEXT, days TEXT, time TEXT, building TEXT, room TEXT, attributes TEXT, prerequisites TEXT, corequisites TEXT, terms TEXT)");
-            
-            // Create programs table
-            stmt.execute("CREATE TABLE IF NOT EXISTS programs (program_id INTEGER PRIMARY KEY AUTOINCREMENT, program_name TEXT, program_type TEXT)");
-            
-            // Create program_courses junction table
-            stmt.execute("CREATE TABLE IF NOT EXISTS program_courses (id INTEGER PRIMARY KEY AUTOINCREMENT, program_id INTEGER NOT NULL, course_id TEXT NOT NULL, UNIQUE(program_id, course_id), FOREIGN KEY(program_id) REFERENCES programs(program_id) ON DELETE CASCADE, FOREIGN KEY(course_id) REFERENCES courses(course_id) ON DELETE CASCADE)");
-            
-            // Create ntc_requirements table
-            stmt.execute("CREATE TABLE IF NOT EXISTS ntc_requirements (id INTEGER PRIMARY KEY AUTOINCREMENT, requirement_name TEXT, description TEXT)");
-            
-            System.out.println("✓ courses, programs, program_courses, and ntc_requirements tables initialized successfully");
-            // NOTE: DO NOT populate program_courses here - CourseDataInitializer handles this
-            // after loading all courses from the Excel file
+    private static void migrate(String name, DataSource dataSource, List<SchemaMigrator.Migration> migrations) {
+        try (Connection conn = dataSource.getConnection()) {
+            int version = SchemaMigrator.migrate(conn, name, migrations);
+            System.out.println("✓ " + name + " schema at version " + version);
         } catch (SQLException e) {
-            System.err.println("✗ Error initializing courses schema: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("✗ Error migrating " + name + ": " + e.getMessage());
+            throw new IllegalStateException("Could not migrate " + name, e);
         }
     }
 }
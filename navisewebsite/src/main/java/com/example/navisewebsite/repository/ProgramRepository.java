@@ -39,64 +39,96 @@ public class ProgramRepository {
         }
         return programs;
     }
-    public int addProgram(String programName, String programType) {
-        int programId = -1;
-
-        try (Connection conn = DatabaseUtil.connectCourses()) {
-            conn.setAutoCommit(false);
-            System.out.println("DEBUG ProgramRepository: Connected to database for adding program");
-            
-            // First, check if the program already exists
-            String querySql = "SELECT program_id FROM programs WHERE program_name = ? AND program_type = ?";
-            try (PreparedStatement queryStmt = conn.prepareStatement(querySql)) {
-                queryStmt.setString(1, programName);
-                queryStmt.setString(2, programType);
-                ResultSet rs = queryStmt.executeQuery();
-                if (rs.next()) {
-                    // Program already exists, return its ID
-                    programId = rs.getInt("program_id");
-                    System.out.println("DEBUG ProgramRepository: Program '" + programName + "' already exists with ID: " + programId);
-                    return programId;
-                }
-            }
 
-            System.out.println("DEBUG ProgramRepository: Program '" + programName + "' does not exist, creating new one");
-            
-            // Program doesn't exist, insert it
-            String insertSql = "INSERT INTO programs(program_name, program_type) VALUES (?, ?)";
-            try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
-                pstmt.setString(1, programName);
-                pstmt.setString(2, programType);
-                int rowsAffected = pstmt.executeUpdate();
-                System.out.println("DEBUG ProgramRepository: INSERT executed, rows affected: " + rowsAffected);
-            }
-            
-            // Get the last inserted program_id using SQLite's last_insert_rowid()
-            String lastIdSql = "SELECT last_insert_rowid() as program_id";
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(lastIdSql)) {
-                if (rs.next()) {
-                    programId = rs.getInt("program_id");
-                    System.out.println("DEBUG ProgramRepository: New program ID: " + programId);
-                }
-            }
-            
-            // COMMIT THE TRANSACTION
-            conn.commit();
-            System.out.println("DEBUG ProgramRepository: Transaction committed successfully");
+    // Fetch every program -> course link (program name, course id), used to build the course catalog
+    public static class ProgramCourseLink {
+        public final String programName;
+        public final String courseId;
+        public ProgramCourseLink(String programName, String courseId) {
+            this.programName = programName;
+            this.courseId = courseId;
+        }
+    }
 
+    public java.util.List<ProgramCourseLink> getAllProgramCourseLinks() {
+        java.util.List<ProgramCourseLink> links = new java.util.ArrayList<>();
+        String sql = "SELECT p.program_name, pc.course_id FROM program_courses pc " +
+                "JOIN programs p ON pc.program_id = p.program_id ORDER BY pc.program_id, pc.rowid";
+        try (Connection conn = DatabaseUtil.connectCourses();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                links.add(new ProgramCourseLink(rs.getString("program_name"), rs.getString("course_id")));
+            }
         } catch (SQLException e) {
-            System.out.println("ERROR ProgramRepository: SQL Exception when adding program: " + e.getMessage());
+            System.out.println("ERROR ProgramRepository: SQL Exception when fetching program courses: " + e.getMessage());
             e.printStackTrace();
         }
+        return links;
+    }
+
+    // Find or create a program on the courses.db writer (see WriteExecutor), so the
+    // lookup and the insert cannot interleave with another write
+    public int addProgram(String programName, String programType) {
+        try {
+            int programId = WriteExecutor.await(WriteExecutor.courses().submit(conn -> {
+                // First, check if the program already exists
+                String querySql = "SELECT program_id FROM programs WHERE program_name = ? AND program_type = ?";
+                try (PreparedStatement queryStmt = conn.prepareStatement(querySql)) {
+                    queryStmt.setString(1, programName);
+                    queryStmt.setString(2, programType);
+                    ResultSet rs = queryStmt.executeQuery();
+                    if (rs.next()) {
+                        // Program already exists, return its ID
+                        int existingId = rs.getInt("program_id");
+                        System.out.println("DEBUG ProgramRepository: Program '" + programName + "' already exists with ID: " + existingId);
+                        return existingId;
+                    }
+                }
 
-        return programId;
+                System.out.println("DEBUG ProgramRepository: Program '" + programName + "' does not exist, creating new one");
+
+                // Program doesn't exist, insert it
+                String insertSql = "INSERT INTO programs(program_name, program_type) VALUES (?, ?)";
+                try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
+                    pstmt.setString(1, programName);
+                    pstmt.setString(2, programType);
+                    int rowsAffected = pstmt.executeUpdate();
+                    System.out.println("DEBUG ProgramRepository: INSERT executed, rows affected: " + rowsAffected);
+                }
+
+                // Get the last inserted program_id using SQLite's last_insert_rowid()
+                String lastIdSql = "SELECT last_insert_rowid() as program_id";
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(lastIdSql)) {
+                    int newId = rs.next() ? rs.getInt("program_id") : -1;
+                    System.out.println("DEBUG ProgramRepository: New program ID: " + newId);
+                    return newId;
+                }
+            }));
+            System.out.println("DEBUG ProgramRepository: Transaction committed successfully");
+            return programId;
+        } catch (java.util.concurrent.CompletionException e) {
+            System.out.println("ERROR ProgramRepository: SQL Exception when adding program: " + e.getCause().getMessage());
+            e.getCause().printStackTrace();
+            return -1;
+        }
     }
 
     // Link a course to a program only if not already linked
     public void addCourseToProgram(int programId, String courseID) {
-        try (Connection conn = DatabaseUtil.connectCourses()) {
-            conn.setAutoCommit(false);
+        try {
+            WriteExecutor.await(addCourseToProgramAsync(programId, courseID));
+        } catch (java.util.concurrent.CompletionException e) {
+            System.out.println("ERROR ProgramRepository: SQL Exception when linking course: " + e.getCause().getMessage());
+            e.getCause().printStackTrace();
+        }
+    }
+
+    // Queue the link on the courses.db writer (see WriteExecutor); completes with true
+    // once the link is committed, or false if the course was already linked
+    public java.util.concurrent.CompletableFuture<Boolean> addCourseToProgramAsync(int programId, String courseID) {
+        return WriteExecutor.courses().submit(conn -> {
             // Check if the course is already linked to this program
             String checkSql = "SELECT COUNT(*) FROM program_courses WHERE program_id = ? AND course_id = ?";
             try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
@@ -106,7 +138,7 @@ public class ProgramRepository {
                 if (rs.next() && rs.getInt(1) > 0) {
                     // Course is already linked to this program, skip
                     System.out.println("DEBUG ProgramRepository: Course '" + courseID + "' already linked to program " + programId);
-                    return;
+                    return false;
                 }
             }
 
@@ -118,44 +150,36 @@ public class ProgramRepository {
                 int rowsAffected = pstmt.executeUpdate();
                 System.out.println("DEBUG ProgramRepository: Linked course '" + courseID + "' to program " + programId + ", rows affected: " + rowsAffected);
             }
-            
-            // COMMIT THE TRANSACTION
-            conn.commit();
-            System.out.println("DEBUG ProgramRepository: Course link transaction committed");
-
-        } catch (SQLException e) {
-            System.out.println("ERROR ProgramRepository: SQL Exception when linking course: " + e.getMessage());
-            e.printStackTrace();
-        }
+            return true;
+        });
     }
 
     // Remove a program by name
     public void removeProgram(String programName) {
-        try (Connection conn = DatabaseUtil.connectCourses()) {
-            conn.setAutoCommit(false);
-            // First, delete all course associations for this program
-            String deleteCoursesSql = "DELETE FROM program_courses WHERE program_id = (SELECT program_id FROM programs WHERE program_name = ?)";
-            try (PreparedStatement pstmt = conn.prepareStatement(deleteCoursesSql)) {
-                pstmt.setString(1, programName);
-                int coursesDeleted = pstmt.executeUpdate();
-                System.out.println("DEBUG ProgramRepository: Deleted " + coursesDeleted + " course associations");
-            }
+        try {
+            WriteExecutor.await(WriteExecutor.courses().submit(conn -> {
+                // First, delete all course associations for this program
+                String deleteCoursesSql = "DELETE FROM program_courses WHERE program_id = (SELECT program_id FROM programs WHERE program_name = ?)";
+                try (PreparedStatement pstmt = conn.prepareStatement(deleteCoursesSql)) {
+                    pstmt.setString(1, programName);
+                    int coursesDeleted = pstmt.executeUpdate();
+                    System.out.println("DEBUG ProgramRepository: Deleted " + coursesDeleted + " course associations");
+                }
 
-            // Then delete the program
-            String deleteProgramSql = "DELETE FROM programs WHERE program_name = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(deleteProgramSql)) {
-                pstmt.setString(1, programName);
-                int programDeleted = pstmt.executeUpdate();
-                System.out.println("DEBUG ProgramRepository: Deleted " + programDeleted + " program(s)");
-            }
-            
-            // COMMIT THE TRANSACTION
-            conn.commit();
+                // Then delete the program
+                String deleteProgramSql = "DELETE FROM programs WHERE program_name = ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(deleteProgramSql)) {
+                    pstmt.setString(1, programName);
+                    int programDeleted = pstmt.executeUpdate();
+                    System.out.println("DEBUG ProgramRepository: Deleted " + programDeleted + " program(s)");
+                }
+                return null;
+            }));
             System.out.println("DEBUG ProgramRepository: Remove program transaction committed");
 
-        } catch (SQLException e) {
-            System.out.println("ERROR ProgramRepository: SQL Exception when removing program: " + e.getMessage());
-            e.printStackTrace();
+        } catch (java.util.concurrent.CompletionException e) {
+            System.out.println("ERROR ProgramRepository: SQL Exception when removing program: " + e.getCause().getMessage());
+            e.getCause().printStackTrace();
         }
     }
 }
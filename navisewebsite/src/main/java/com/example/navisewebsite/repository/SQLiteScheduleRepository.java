@@ -1,15 +1,24 @@
 package com.example.navisewebsite.repository;
 
 import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.Term;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * SQLite implementations of schedule repositories.
- * Includes defensive fallback queries for schema variations.
+ * Queries are bound once per repository from the introspected schema (see ScheduleSchema)
+ * rather than discovered by trying a query and retrying another when it throws.
  * 
  * Follows Dependency Inversion Principle by implementing repository interfaces.
  */
@@ -19,183 +28,137 @@ public class SQLiteScheduleRepository {
      * SQLite implementation of ScheduleCourseRepository.
      */
     public static class SQLiteCourseRepository implements ScheduleRepositoryInterfaces.ScheduleCourseRepository {
-        // SQLite connection details
-        private static final String COURSES_DB_URL = "jdbc:sqlite:courses.db";
-        private static final String STUDENT_INFO_DB_URL = "jdbc:sqlite:student_info.db";
+        private final String courseColumns;
+        private final String pathwaySql;
+        private final boolean pathwayFallback;
+        private final String byIdSql;
+        private final String byCodeSql;
+
+        public SQLiteCourseRepository() {
+            this(ScheduleSchema.courses());
+        }
+
+        SQLiteCourseRepository(ScheduleSchema schema) {
+            CourseColumns c = CourseColumns.of(schema);
+            this.courseColumns = c.select("c");
+
+            // Current schema links programs by id; older databases stored the program name
+            String join = "JOIN courses c ON pc.course_id = c." + c.linkKey + " ";
+            if (schema.hasColumn("program_courses", "program_id") && schema.hasTable("programs")) {
+                pathwaySql = "SELECT " + courseColumns + " FROM program_courses pc " + join +
+                        "JOIN programs p ON pc.program_id = p.program_id WHERE p.program_name = ? ORDER BY pc.rowid";
+                pathwayFallback = false;
+            } else if (schema.hasColumn("program_courses", "program_name")) {
+                pathwaySql = "SELECT " + courseColumns + " FROM program_courses pc " + join +
+                        "WHERE pc.program_name = ? ORDER BY pc.rowid";
+                pathwayFallback = true;
+            } else {
+                pathwaySql = null;
+                pathwayFallback = true;
+            }
+            byIdSql = "SELECT " + courseColumns + " FROM courses c WHERE c." + c.id + " = ?";
+            byCodeSql = "SELECT " + courseColumns + " FROM courses c WHERE c." + c.code + " = ?";
+        }
 
         private Connection connect() throws SQLException {
-            return DriverManager.getConnection(COURSES_DB_URL);
+            return DatabaseUtil.connectCourses();
         }
         
         @Override
         public List<ScheduleCourse> coursesForPathway(String pathwayId) {
-            String sql = "SELECT c.courseID as id, c.course_code as code, c.credit_hours as credits, c.course_name as title, c.time as meeting_time " +
-                    "FROM program_courses pc JOIN courses c ON pc.course_id = c.courseID " +
-                    "WHERE pc.program_name = ?";
-            
             List<ScheduleCourse> courses = new ArrayList<>();
+            if (pathwayFallback) {
+                ScheduleSchema.recordFallback("coursesForPathway", pathwaySql == null ? "missing_table" : "legacy_schema");
+            }
+            if (pathwaySql == null) {
+                return courses;
+            }
             try (Connection conn = connect();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                 PreparedStatement ps = conn.prepareStatement(pathwaySql)) {
                 ps.setString(1, pathwayId);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        courses.add(buildCourseFromResultSet(rs, 
-                            "id", "code", "credits", "title", "meeting_time"));
+                        courses.add(buildCourseFromResultSet(rs));
                     }
                 }
             } catch (SQLException e) {
-                return tryAlternateCourseQuery(pathwayId);
+                ScheduleSchema.recordFallback("coursesForPathway", "error");
+                System.out.println("ERROR SQLiteCourseRepository: " + e.getMessage());
             }
             return courses;
         }
         
         @Override
         public Optional<ScheduleCourse> courseById(int id) {
-            String sql = "SELECT courseID as id, course_code as code, credit_hours as credits, course_name as title, time as meeting_time FROM courses WHERE courseID = ?";
-            try (Connection conn = connect();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
-                ps.setInt(1, id);
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        return Optional.of(buildCourseFromResultSet(rs, 
-                            "id", "code", "credits", "title", "meeting_time"));
-                    }
-                }
-            } catch (SQLException e) {
-                // Ignore and return empty
-            }
-            return Optional.empty();
+            return queryOne(byIdSql, ps -> ps.setInt(1, id), "courseById");
         }
         
         @Override
         public Optional<ScheduleCourse> courseByCode(String code) {
-            String sql = "SELECT courseID as id, course_code as code, credit_hours as credits, course_name as title, time as meeting_time FROM courses WHERE course_code = ?";
+            return queryOne(byCodeSql, ps -> ps.setString(1, code), "courseByCode");
+        }
+
+        private Optional<ScheduleCourse> queryOne(String sql, ParameterBinder binder, String query) {
             try (Connection conn = connect();
                  PreparedStatement ps = conn.prepareStatement(sql)) {
-                ps.setString(1, code);
+                binder.bind(ps);
                 try (ResultSet rs = ps.executeQuery()) {
                     if (rs.next()) {
-                        return Optional.of(buildCourseFromResultSet(rs, 
-                            "id", "code", "credits", "title", "meeting_time"));
+                        return Optional.of(buildCourseFromResultSet(rs));
                     }
                 }
             } catch (SQLException e) {
-                // Ignore and return empty
+                ScheduleSchema.recordFallback(query, "error");
+                System.out.println("ERROR SQLiteCourseRepository: " + e.getMessage());
             }
             return Optional.empty();
         }
-        
-        private List<ScheduleCourse> tryAlternateCourseQuery(String pathwayId) {
-            List<ScheduleCourse> courses = new ArrayList<>();
-            String altSql = "SELECT c.id, c.course_code AS code, c.credit_hours AS credits, " +
-                    "c.course_name AS title, c.time AS meeting_time " +
-                    "FROM program_courses pc JOIN courses c ON pc.course_id = c.id " +
-                    "WHERE pc.program_name = ?";
-            
-            try (Connection conn = connect();
-                 PreparedStatement ps = conn.prepareStatement(altSql)) {
-                ps.setString(1, pathwayId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    while (rs.next()) {
-                        courses.add(buildCourseFromResultSet(rs, 
-                            "id", "code", "credits", "title", "meeting_time"));
-                    }
-                }
-            } catch (SQLException ex) {
-                // Final fallback: empty list
-            }
-            return courses;
-        }
-        
-        private ScheduleCourse buildCourseFromResultSet(ResultSet rs, 
-                String idCol, String codeCol, String creditsCol, 
-                String titleCol, String meetingCol) throws SQLException {
-            int id = safeInt(rs, idCol);
-            String code = safeString(rs, codeCol);
-            int credits = safeInt(rs, creditsCol);
-            String title = titleCol == null ? "" : safeString(rs, titleCol);
-            String meeting = meetingCol == null ? "" : safeString(rs, meetingCol);
-            return new ScheduleCourse(id, code, credits, title, meeting);
-        }
     }
     
     /**
      * SQLite implementation of UserRepository.
      */
     public static class SQLiteUserRepository implements ScheduleRepositoryInterfaces.ScheduleUserRepository {
-        // PostgreSQL connection details (update as needed)
-        private static final String DB_URL = "jdbc:postgresql://localhost:5432/postgres";
-        private static final String DB_USER = "postgres";
-        private static final String DB_PASSWORD = "password";
+        private final StudentInfoRepository studentInfoRepository = new StudentInfoRepository();
+        private final boolean hasCompletedTable;
+        private final boolean hasUserCourses;
+
+        public SQLiteUserRepository() {
+            this(ScheduleSchema.studentInfo());
+        }
+
+        SQLiteUserRepository(ScheduleSchema schema) {
+            this.hasCompletedTable = schema.hasTable("student_completed_course");
+            this.hasUserCourses = schema.hasColumn("user_courses", "course_id");
+        }
 
         private Connection connect() throws SQLException {
-            return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+            return DatabaseUtil.connectStudentInfo();
         }
         
         @Override
         public List<Integer> completedCourseIdsForUser(String userId) {
-            // First try to get completed courses from student_info.past_courses field
-            String sql = "SELECT past_courses FROM student_info WHERE user_id = ?";
-            List<Integer> courseIds = new ArrayList<>();
-            
-            try (Connection conn = connect();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
-                // userId could be email or numeric ID, try numeric first
-                try {
-                    ps.setInt(1, Integer.parseInt(userId));
-                } catch (NumberFormatException e) {
-                    // If not numeric, try as string (though our schema uses INTEGER for user_id)
-                    return courseIds; // Return empty if can't parse
-                }
-                
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        String pastCourses = safeString(rs, "past_courses");
-                        if (pastCourses != null && !pastCourses.trim().isEmpty()) {
-                            // Parse comma-separated course codes and look up IDs
-                            String[] courseCodes = pastCourses.split(",\\s*");
-                            courseIds = lookupCourseIdsByCodes(courseCodes);
-                        }
-                    }
-                }
-            } catch (SQLException e) {
-                return tryAlternateUserQuery(userId);
+            Integer id = parseUserId(userId);
+            if (id != null && hasCompletedTable) {
+                // Completed courses come from the normalized student_completed_course table,
+                // resolved to schedule ids in one query
+                return lookupCourseIdsByCodes(studentInfoRepository.findCompletedCourseIds(id));
             }
-            return courseIds;
-        }
-        
-        /**
-         * Helper method to convert course codes to course IDs
-         */
-        private List<Integer> lookupCourseIdsByCodes(String[] courseCodes) {
-            List<Integer> ids = new ArrayList<>();
-            // Need to connect to courses.db to look up course IDs
-            String sql = "SELECT courseID FROM courses WHERE course_code = ?";
-            try (Connection conn = connect()) {
-                for (String code : courseCodes) {
-                    if (code.trim().isEmpty()) continue;
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, code.trim());
-                        try (ResultSet rs = ps.executeQuery()) {
-                            if (rs.next()) {
-                                ids.add(rs.getInt("courseID"));
-                            }
-                        }
-                    }
-                }
-            } catch (SQLException e) {
-                // Return what we have
+            if (hasUserCourses) {
+                // Older databases (or non-numeric ids) keep completed courses in user_courses
+                ScheduleSchema.recordFallback("completedCourseIdsForUser", "legacy_schema");
+                return legacyCompletedCourseIds(userId);
             }
-            return ids;
+            ScheduleSchema.recordFallback("completedCourseIdsForUser", "missing_table");
+            return new ArrayList<>();
         }
         
-        private List<Integer> tryAlternateUserQuery(String userId) {
+        private List<Integer> legacyCompletedCourseIds(String userId) {
             List<Integer> courseIds = new ArrayList<>();
-            // Fallback: try old schema with user_courses table
-            String alt = "SELECT course_id FROM user_courses WHERE user_id = ?";
+            String sql = "SELECT course_id FROM user_courses WHERE user_id = ?";
             
             try (Connection conn = connect();
-                 PreparedStatement ps = conn.prepareStatement(alt)) {
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
                 ps.setString(1, userId);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
@@ -203,10 +166,165 @@ public class SQLiteScheduleRepository {
                     }
                 }
             } catch (SQLException ex) {
-                // Final fallback: empty list
+                ScheduleSchema.recordFallback("completedCourseIdsForUser", "error");
             }
             return courseIds;
         }
+
+        private static Integer parseUserId(String userId) {
+            try {
+                return Integer.parseInt(userId);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Column names of the courses table as they exist in this database,
+     * aliased to id / code / credits / title / meeting_time / terms by select().
+     */
+    public static final class CourseColumns {
+        /** Integer id column: a legacy id column if present, else the rowid. */
+        public final String id;
+        /** Column program_courses.course_id and user_courses.course_id refer to. */
+        public final String linkKey;
+        public final String code;
+        public final String credits;
+        public final String title;
+        public final String meeting;
+        /** Separate days column (current schema), combined with meeting as "days time"; may be null. */
+        public final String days;
+        public final String terms;
+
+        private CourseColumns(String id, String linkKey, String code, String credits, String title, String meeting,
+                              String days, String terms) {
+            this.id = id;
+            this.linkKey = linkKey;
+            this.code = code;
+            this.credits = credits;
+            this.title = title;
+            this.meeting = meeting;
+            this.days = days;
+            this.terms = terms;
+        }
+
+        public static CourseColumns of(ScheduleSchema schema) {
+            String legacyId = schema.firstColumn("courses", "courseID", "id");
+            // course_id is TEXT in the current schema, so its rowid serves as the integer id
+            String id = legacyId != null ? legacyId : "rowid";
+            String linkKey = schema.hasColumn("courses", "course_id") ? "course_id" : id;
+            return new CourseColumns(
+                    id,
+                    linkKey,
+                    orDefault(schema.firstColumn("courses", "course_code", "code"), "course_code"),
+                    orDefault(schema.firstColumn("courses", "credit_hours", "credits"), "credit_hours"),
+                    schema.firstColumn("courses", "course_name", "title", "name"),
+                    schema.firstColumn("courses", "time", "meeting_time"),
+                    schema.firstColumn("courses", "days"),
+                    schema.firstColumn("courses", "terms"));
+        }
+
+        /** SELECT list for table alias a with the standard aliases. */
+        public String select(String a) {
+            return a + "." + id + " AS id, " + a + "." + code + " AS code, " + a + "." + credits + " AS credits, " +
+                    (title != null ? a + "." + title : "''") + " AS title, " +
+                    meetingTime(a) + " AS meeting_time, " +
+                    (terms != null ? a + "." + terms : "''") + " AS terms";
+        }
+
+        // courses.db keeps days ("MWF") and time ("9-9:50 AM") apart; MeetingTimes and the
+        // catalog's cache read them as one "days time" string, trimmed the same way
+        private String meetingTime(String a) {
+            if (meeting == null) {
+                return "''";
+            }
+            if (days == null || !"time".equals(meeting)) {
+                return a + "." + meeting;
+            }
+            return "TRIM(TRIM(COALESCE(" + a + "." + days + ", '')) || ' ' || TRIM(COALESCE(" + a + "." + meeting + ", '')))";
+        }
+
+        private static String orDefault(String column, String fallback) {
+            return column != null ? column : fallback;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    static ScheduleCourse buildCourseFromResultSet(ResultSet rs) {
+        return new ScheduleCourse(
+                safeInt(rs, "id"),
+                safeString(rs, "code"),
+                safeInt(rs, "credits"),
+                safeString(rs, "title"),
+                safeString(rs, "meeting_time"),
+                termsMask(safeString(rs, "terms")));
+    }
+
+    /** Term bitmask of a courses.terms value such as "Fall, Spring". */
+    public static int termsMask(String termsCsv) {
+        return termsCsv == null ? Term.ANY : Term.mask(Arrays.asList(termsCsv.split(",")));
+    }
+    
+    /**
+     * Convert transcript entries (course codes or course ids, as stored in
+     * student_completed_course) to the integer ids used by the schedule domain.
+     *
+     * The whole list is resolved with one IN (...) query instead of one query per
+     * entry. Results keep transcript order; duplicates and unknown entries are dropped.
+     * The integer id is the one chosen by CourseColumns (the rowid in the current schema).
+     */
+    public static List<Integer> lookupCourseIdsByCodes(Collection<String> codes) {
+        Set<String> wanted = new LinkedHashSet<>();
+        for (String code : codes) {
+            if (code != null && !code.trim().isEmpty()) {
+                wanted.add(code.trim());
+            }
+        }
+        if (wanted.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        ScheduleSchema schema = ScheduleSchema.courses();
+        CourseColumns columns = CourseColumns.of(schema);
+        // Entries may be course codes or (in the current schema) course ids
+        String key = schema.hasColumn("courses", "course_id") ? "course_id" : columns.code;
+        String placeholders = String.join(", ", Collections.nCopies(wanted.size(), "?"));
+        String sql = "SELECT " + columns.id + " AS id, " + key + " AS course_key, " + columns.code + " AS code FROM courses " +
+                "WHERE " + columns.code + " IN (" + placeholders + ") OR " + key + " IN (" + placeholders + ")";
+
+        Map<String, Integer> idByCode = new HashMap<>();
+        try (Connection conn = DatabaseUtil.connectCourses();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (int pass = 0; pass < 2; pass++) {
+                for (String code : wanted) {
+                    ps.setString(i++, code);
+                }
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("id");
+                    idByCode.putIfAbsent(rs.getString("code"), id);
+                    idByCode.putIfAbsent(rs.getString("course_key"), id);
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("ERROR SQLiteScheduleRepository: Could not resolve course codes: " + e.getMessage());
+        }
+
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String code : wanted) {
+            Integer id = idByCode.get(code);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return new ArrayList<>(ids);
     }
     
     // Utility methods
@@ -0,0 +1,122 @@
+package com.example.navisewebsite.repository;
+
+import io.micrometer.core.instrument.Metrics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Snapshot of the tables and columns of one SQLite database, read once with
+ * PRAGMA table_info.
+ *
+ * The schedule repositories were written against several historical schemas
+ * (courseID / id / course_id, program_name vs program_id links, user_courses).
+ * Instead of trying one query and retrying another when it throws, they look the
+ * real columns up here when they are constructed and prepare the one query that
+ * matches. When a repository has to use something other than the current schema
+ * it records a hit on the schedule.query.fallback counter.
+ */
+public final class ScheduleSchema {
+
+    private static final String[] TABLES = {
+            "courses", "programs", "program_courses", "user_courses", "student_info", "student_completed_course"
+    };
+
+    // One snapshot per pool; pools are replaced when test mode switches databases
+    private static final Map<DataSource, ScheduleSchema> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, Set<String>> columnsByTable;
+
+    private ScheduleSchema(Map<String, Set<String>> columnsByTable) {
+        this.columnsByTable = columnsByTable;
+    }
+
+    /** Schema of courses.db. */
+    public static ScheduleSchema courses() {
+        return of(DatabaseUtil.coursesDataSource());
+    }
+
+    /** Schema of student_info.db. */
+    public static ScheduleSchema studentInfo() {
+        return of(DatabaseUtil.studentInfoDataSource());
+    }
+
+    static ScheduleSchema of(DataSource dataSource) {
+        ScheduleSchema schema = CACHE.get(dataSource);
+        if (schema != null) {
+            return schema;
+        }
+        // Introspected outside the map's monitor, so the queries never pin a virtual
+        // thread; two threads racing here both read the same schema and one copy wins
+        schema = introspect(dataSource);
+        ScheduleSchema existing = CACHE.putIfAbsent(dataSource, schema);
+        return existing != null ? existing : schema;
+    }
+
+    /**
+     * Forget cached snapshots, e.g. after migrations changed the schema.
+     */
+    public static void reset() {
+        CACHE.clear();
+    }
+
+    private static ScheduleSchema introspect(DataSource dataSource) {
+        Map<String, Set<String>> columns = new HashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) {
+                Set<String> names = new LinkedHashSet<>();
+                try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+                    while (rs.next()) {
+                        names.add(rs.getString("name").toLowerCase(Locale.ROOT));
+                    }
+                }
+                if (!names.isEmpty()) {
+                    columns.put(table, Collections.unmodifiableSet(names));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("ERROR ScheduleSchema: Could not introspect schema: " + e.getMessage());
+        }
+        System.out.println("DEBUG ScheduleSchema: Found tables " + columns.keySet());
+        return new ScheduleSchema(columns);
+    }
+
+    public boolean hasTable(String table) {
+        return columnsByTable.containsKey(table);
+    }
+
+    public boolean hasColumn(String table, String column) {
+        Set<String> columns = columnsByTable.get(table);
+        return columns != null && columns.contains(column.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * First of the candidate columns that exists in the table, or null.
+     */
+    public String firstColumn(String table, String... candidates) {
+        for (String candidate : candidates) {
+            if (hasColumn(table, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Count one request served by a fallback path (legacy schema, missing table or query error).
+     */
+    public static void recordFallback(String query, String reason) {
+        Metrics.counter("schedule.query.fallback", "query", query, "reason", reason).increment();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.navisewebsite.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    The purpose of the SchemaMigrator class is to bring each SQLite database file
+    up to the schema version this build expects.
+
+    Migrations live in src/main/resources/db/migration/<database>/V<n>__<description>.sql
+    and are listed below in order. The version applied to a file is stored in the file
+    itself (PRAGMA user_version), and every migration runs in its own transaction together
+    with the version bump. A database whose version is newer than the last migration known
+    to this build is rejected instead of being used with the wrong schema.
+
+    The same scripts build the in-memory test databases and python/generate_programs.py.
+*/
+public class SchemaMigrator {
+
+    /**
+     * One schema step: an SQL script and an optional Java step run after it
+     * in the same transaction.
+     */
+    public static class Migration {
+        public final int version;
+        public final String script;
+        private final MigrationStep step;
+
+        Migration(int version, String script, MigrationStep step) {
+            this.version = version;
+            this.script = script;
+            this.step = step;
+        }
+    }
+
+    @FunctionalInterface
+    interface MigrationStep {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    public static final List<Migration> USERS = List.of(
+            new Migration(1, "users/V1__baseline.sql", null));
+
+    public static final List<Migration> STUDENT_INFO = List.of(
+            new Migration(1, "student_info/V1__baseline.sql", null),
+            new Migration(2, "student_info/V2__student_completed_course.sql", SchemaMigrator::copyPastCourses),
+            new Migration(3, "student_info/V3__unique_student_info_user_id.sql", null),
+            new Migration(4, "student_info/V4__student_info_profile_version.sql", null));
+
+    public static final List<Migration> COURSES = List.of(
+            new Migration(1, "courses/V1__baseline.sql", null),
+            new Migration(2, "courses/V2__lookup_indexes.sql", null),
+            new Migration(3, "courses/V3__catalog_revision.sql", null));
+
+    private static final String MIGRATION_DIR = "/db/migration/";
+
+    /**
+     * Apply every migration newer than the database's current version.
+     *
+     * @param name database name used in log and error messages
+     * @return the schema version the database is at afterwards
+     * @throws IllegalStateException if the database is ahead of this build
+     */
+    public static int migrate(Connection conn, String name, List<Migration> migrations) throws SQLException {
+        int latest = migrations.get(migrations.size() - 1).version;
+        int current = currentVersion(conn);
+        if (current > latest) {
+            throw new IllegalStateException(name + " is at schema version " + current
+                    + " but this build only knows versions up to " + latest
+                    + "; refusing to start against a newer database");
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (Migration migration : migrations) {
+                if (migration.version <= current) continue;
+                try (Statement stmt = conn.createStatement()) {
+                    for (String sql : statements(migration.script)) {
+                        stmt.execute(sql);
+                    }
+                    if (migration.step != null) {
+                        migration.step.apply(conn);
+                    }
+                    stmt.execute("PRAGMA user_version = " + migration.version);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException(name + " migration " + migration.script + " failed: " + e.getMessage(), e);
+                }
+                current = migration.version;
+                System.out.println("DEBUG SchemaMigrator: Applied " + name + " migration " + migration.script);
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return current;
+    }
+
+    /**
+     * Schema version stored in the database file (0 for a new or pre-migration file).
+     */
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Split a migration script into statements; scripts contain no triggers or
+    // string literals with semicolons, so splitting on ';' is enough.
+    static List<String> statements(String script) {
+        String path = MIGRATION_DIR + script;
+        String text;
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing migration script " + path);
+            }
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read migration script " + path, e);
+        }
+
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : text.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String sql : withoutComments.toString().split(";")) {
+            if (!sql.isBlank()) {
+                statements.add(sql.trim());
+            }
+        }
+        return statements;
+    }
+
+    // student_info V2: copy every past_courses CSV into student_completed_course
+    private static void copyPastCourses(Connection conn) throws SQLException {
+        // user_id is not unique before V3, so merge the rows of each student
+        Map<Integer, Set<String>> coursesByUser = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT user_id, past_courses FROM student_info ORDER BY id")) {
+            while (rs.next()) {
+                coursesByUser.computeIfAbsent(rs.getInt("user_id"), k -> new LinkedHashSet<>())
+                             .addAll(StudentInfoRepository.parsePastCourses(rs.getString("past_courses")));
+            }
+        }
+        StudentInfoRepository.writeCompletedCourses(conn, coursesByUser);
+        System.out.println("DEBUG SchemaMigrator: Copied past_courses of " + coursesByUser.size() + " students to student_completed_course");
+    }
+}
@@ -7,28 +7,55 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Repository
 public class StudentInfoRepository {
 
+    // Bound parameters per IN (...) query
+    private static final int MAX_PARAMS = 500;
+
+    /**
+     * SET clause bumping a student's profile version and setting updated_at to now, in
+     * whole seconds and never backwards (see StudentPageCache). Every write to a student's
+     * profile or transcript has to include it.
+     */
+    public static final String TOUCH_PROFILE = "profile_version = profile_version + 1, "
+            + "updated_at = MAX(CAST(strftime('%s', 'now') AS INTEGER) * 1000, updated_at)";
+
     /**
      * Insert a student info record linked to a user_id.
      */
     public int insertStudentInfo(int userId, String firstName, String lastName, String major, String minor, String schoolYear, String pastCourses) {
         String sql = "INSERT INTO student_info (user_id, first_name, last_name, major, minor, school_year, past_courses) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseUtil.connectStudentInfo(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, userId);
-            ps.setString(2, firstName);
-            ps.setString(3, lastName);
-            ps.setString(4, major);
-            ps.setString(5, minor);
-            ps.setString(6, schoolYear);
-            ps.setString(7, pastCourses);
-            return ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        try {
+            return WriteExecutor.await(WriteExecutor.studentInfo().submit(conn -> {
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setInt(1, userId);
+                    ps.setString(2, firstName);
+                    ps.setString(3, lastName);
+                    ps.setString(4, major);
+                    ps.setString(5, minor);
+                    ps.setString(6, schoolYear);
+                    ps.setString(7, pastCourses);
+                    int rows = ps.executeUpdate();
+                    // Keep the normalized completed-course rows in step with the CSV column
+                    writeCompletedCourses(conn, Map.of(userId, parsePastCourses(pastCourses)));
+                    touchProfiles(conn, List.of(userId));
+                    return rows;
+                }
+            }));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
             return 0;
         }
     }
@@ -37,26 +64,56 @@ public class StudentInfoRepository {
      * Update student info record.
      */
     public int updateStudentInfo(int userId, String firstName, String lastName, String major, String minor, String schoolYear, String pastCourses) {
-        String sql = "UPDATE student_info SET first_name = ?, last_name = ?, major = ?, minor = ?, school_year = ?, past_courses = ? WHERE user_id = ?";
-        try (Connection conn = DatabaseUtil.connectStudentInfo(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, firstName);
-            ps.setString(2, lastName);
-            ps.setString(3, major);
-            ps.setString(4, minor);
-            ps.setString(5, schoolYear);
-            ps.setString(6, pastCourses);
-            ps.setInt(7, userId);
-            return ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        try {
+            return WriteExecutor.await(updateStudentInfoAsync(userId, firstName, lastName, major, minor, schoolYear, pastCourses));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
             return 0;
         }
     }
 
+    /**
+     * Queue a student info update on the student_info.db writer (see WriteExecutor).
+     * The future completes with the number of rows updated once the write has committed.
+     */
+    public CompletableFuture<Integer> updateStudentInfoAsync(int userId, String firstName, String lastName, String major, String minor, String schoolYear, String pastCourses) {
+        String sql = "UPDATE student_info SET first_name = ?, last_name = ?, major = ?, minor = ?, school_year = ?, past_courses = ?, "
+                + TOUCH_PROFILE + " WHERE user_id = ?";
+        return WriteExecutor.studentInfo().submit(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, firstName);
+                ps.setString(2, lastName);
+                ps.setString(3, major);
+                ps.setString(4, minor);
+                ps.setString(5, schoolYear);
+                ps.setString(6, pastCourses);
+                ps.setInt(7, userId);
+                int rows = ps.executeUpdate();
+                if (rows > 0) {
+                    writeCompletedCourses(conn, Map.of(userId, parsePastCourses(pastCourses)));
+                }
+                return rows;
+            }
+        });
+    }
+
     /**
      * Find student info by user_id.
      */
     public Optional<StudentInfo> findByUserId(int userId) {
+        try {
+            return readByUserId(userId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Like {@link #findByUserId}, but a failed read throws instead of looking like a
+     * missing row.
+     */
+    public Optional<StudentInfo> readByUserId(int userId) throws SQLException {
         String sql = "SELECT id, user_id, first_name, last_name, major, minor, school_year, past_courses FROM student_info WHERE user_id = ?";
         try (Connection conn = DatabaseUtil.connectStudentInfo(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, userId);
@@ -75,8 +132,24 @@ public class StudentInfoRepository {
                     return Optional.of(info);
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Version and change time of a student's profile, from one primary-key lookup;
+     * empty if the student has no student_info row. A failed read throws, so it is never
+     * mistaken for a student without a profile.
+     */
+    public Optional<ProfileVersion> readProfileVersion(int userId) throws SQLException {
+        String sql = "SELECT profile_version, updated_at FROM student_info WHERE user_id = ?";
+        try (Connection conn = DatabaseUtil.connectStudentInfo(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(new ProfileVersion(rs.getLong("profile_version"), rs.getLong("updated_at")));
+                }
+            }
         }
         return Optional.empty();
     }
@@ -109,6 +182,186 @@ public class StudentInfoRepository {
         return students;
     }
 
+    /**
+     * Student info records in a cohort; a null or empty filter matches everyone.
+     * Ordered by user_id so batch results come out in a stable order.
+     */
+    public List<StudentInfo> findCohort(String major, String schoolYear) {
+        List<StudentInfo> students = new ArrayList<>();
+        String sql = "SELECT id, user_id, first_name, last_name, major, minor, school_year, past_courses FROM student_info "
+                + "WHERE (? = '' OR major = ?) AND (? = '' OR school_year = ?) ORDER BY user_id";
+        String majorFilter = major == null ? "" : major.trim();
+        String yearFilter = schoolYear == null ? "" : schoolYear.trim();
+        try (Connection conn = DatabaseUtil.connectStudentInfo();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, majorFilter);
+            ps.setString(2, majorFilter);
+            ps.setString(3, yearFilter);
+            ps.setString(4, yearFilter);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.add(new StudentInfo(
+                            rs.getInt("id"),
+                            rs.getInt("user_id"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getString("major"),
+                            rs.getString("minor"),
+                            rs.getString("school_year"),
+                            rs.getString("past_courses")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return students;
+    }
+
+    /**
+     * Completed course ids for one student, from student_completed_course.
+     */
+    public List<String> findCompletedCourseIds(int userId) {
+        return findCompletedCourseIds(List.of(userId)).getOrDefault(userId, new ArrayList<>());
+    }
+
+    /**
+     * Like {@link #findCompletedCourseIds(int)}, but a failed read throws instead of
+     * looking like an empty transcript.
+     */
+    public List<String> readCompletedCourseIds(int userId) throws SQLException {
+        return readCompletedCourseIds(List.of(userId)).getOrDefault(userId, new ArrayList<>());
+    }
+
+    /**
+     * Completed course ids for many students in one query per chunk of ids.
+     * Students with no completed courses are absent from the map.
+     */
+    public Map<Integer, List<String>> findCompletedCourseIds(Collection<Integer> userIds) {
+        try {
+            return readCompletedCourseIds(userIds);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new LinkedHashMap<>();
+    }
+
+    private Map<Integer, List<String>> readCompletedCourseIds(Collection<Integer> userIds) throws SQLException {
+        Map<Integer, List<String>> result = new LinkedHashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        try (Connection conn = DatabaseUtil.connectStudentInfo()) {
+            for (int from = 0; from < ids.size(); from += MAX_PARAMS) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MAX_PARAMS, ids.size()));
+                String sql = "SELECT user_id, course_id FROM student_completed_course WHERE user_id IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY user_id, course_id";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            result.computeIfAbsent(rs.getInt("user_id"), k -> new ArrayList<>())
+                                  .add(rs.getString("course_id"));
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Students who have completed the given course (served by the course_id index).
+     */
+    public List<Integer> findUserIdsWhoCompleted(String courseId) {
+        List<Integer> userIds = new ArrayList<>();
+        String sql = "SELECT DISTINCT user_id FROM student_completed_course WHERE course_id = ? ORDER BY user_id";
+        try (Connection conn = DatabaseUtil.connectStudentInfo(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, normalizeCourseId(courseId));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    userIds.add(rs.getInt("user_id"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return userIds;
+    }
+
+    /**
+     * Replace the completed courses of one or more students in a single transaction.
+     * Does not touch the past_courses column.
+     */
+    public void replaceCompletedCourses(Map<Integer, ? extends Collection<String>> coursesByUser) {
+        try {
+            WriteExecutor.await(WriteExecutor.studentInfo().submit(conn -> {
+                writeCompletedCourses(conn, coursesByUser);
+                touchProfiles(conn, coursesByUser.keySet());
+                return null;
+            }));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    /**
+     * Delete and re-insert the completed-course rows of the given students on the
+     * caller's connection (and transaction), using one batch per statement.
+     */
+    static void writeCompletedCourses(Connection conn, Map<Integer, ? extends Collection<String>> coursesByUser) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement("DELETE FROM student_completed_course WHERE user_id = ?");
+             PreparedStatement insert = conn.prepareStatement(
+                     "INSERT OR IGNORE INTO student_completed_course (user_id, course_id, term) VALUES (?, ?, '')")) {
+            for (Map.Entry<Integer, ? extends Collection<String>> entry : coursesByUser.entrySet()) {
+                delete.setInt(1, entry.getKey());
+                delete.addBatch();
+                for (String courseId : entry.getValue()) {
+                    String normalized = normalizeCourseId(courseId);
+                    if (normalized.isEmpty()) continue;
+                    insert.setInt(1, entry.getKey());
+                    insert.setString(2, normalized);
+                    insert.addBatch();
+                }
+            }
+            delete.executeBatch();
+            insert.executeBatch();
+        }
+    }
+
+    // Bump the profile version of each student once, on the caller's transaction
+    private static void touchProfiles(Connection conn, Collection<Integer> userIds) throws SQLException {
+        try (PreparedStatement touch = conn.prepareStatement(
+                "UPDATE student_info SET " + TOUCH_PROFILE + " WHERE user_id = ?")) {
+            for (int userId : userIds) {
+                touch.setInt(1, userId);
+                touch.addBatch();
+            }
+            touch.executeBatch();
+        }
+    }
+
+    /**
+     * Split a past_courses CSV into normalized course ids (trimmed, upper case),
+     * dropping blanks and duplicates but keeping the order they were entered in.
+     * Terms are not recorded in the CSV, so rows written from it use an empty term.
+     */
+    public static List<String> parsePastCourses(String pastCourses) {
+        Set<String> courseIds = new LinkedHashSet<>();
+        if (pastCourses != null) {
+            for (String entry : pastCourses.split(",")) {
+                String normalized = normalizeCourseId(entry);
+                if (!normalized.isEmpty()) {
+                    courseIds.add(normalized);
+                }
+            }
+        }
+        return new ArrayList<>(courseIds);
+    }
+
+    private static String normalizeCourseId(String courseId) {
+        return courseId == null ? "" : courseId.trim().toUpperCase();
+    }
+
     /** Simple POJO for student_info rows. */
     public static class StudentInfo {
         public final int id;
@@ -131,4 +384,17 @@ public class StudentInfoRepository {
             this.pastCourses = pastCourses;
         }
     }
+
+    /**
+     * A student's profile_version and updated_at (epoch millis, whole seconds).
+     */
+    public static class ProfileVersion {
+        public final long version;
+        public final long updatedAtMillis;
+
+        public ProfileVersion(long version, long updatedAtMillis) {
+            this.version = version;
+            this.updatedAtMillis = updatedAtMillis;
+        }
+    }
 }
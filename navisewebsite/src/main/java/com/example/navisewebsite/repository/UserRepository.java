@@ -5,6 +5,8 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.*;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Repository for managing User entities (login credentials) with the database.
@@ -95,38 +97,49 @@ public class UserRepository {
      * Add a new user to the database
      */
     private int addUser(String email, String hashedPassword, String firstName, String lastName, String userType) {
+        try {
+            return WriteExecutor.await(addUserAsync(email, hashedPassword, firstName, lastName, userType));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Queue a new user on the users.db writer (see WriteExecutor).
+     * @param userType "student" or "admin"
+     * @return future of the generated user_id, or -1 if the email is already registered
+     */
+    public CompletableFuture<Integer> addUserAsync(String email, String hashedPassword, String firstName, String lastName, String userType) {
         String sql = "INSERT INTO users (email, password, first_name, last_name, user_type) VALUES (?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseUtil.connectUsers();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, email);
-            pstmt.setString(2, hashedPassword);
-            pstmt.setString(3, firstName);
-            pstmt.setString(4, lastName);
-            pstmt.setString(5, userType);
+        return WriteExecutor.users().submit(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, email);
+                pstmt.setString(2, hashedPassword);
+                pstmt.setString(3, firstName);
+                pstmt.setString(4, lastName);
+                pstmt.setString(5, userType);
 
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows == 0) {
-                return -1;
+                int affectedRows = pstmt.executeUpdate();
+                if (affectedRows == 0) {
+                    return -1;
+                }
+            } catch (SQLException e) {
+                // Check for unique constraint violation (duplicate email)
+                // SQLite uses error code 19 for constraint violation
+                if (e.getErrorCode() == 19 || (e.getMessage() != null && e.getMessage().toLowerCase().contains("unique"))) {
+                    return -1;
+                }
+                throw e;
             }
 
-
             // Get the last inserted user_id by querying the same connection
             String lastIdSql = "SELECT last_insert_rowid() as user_id";
             try (Statement stmt = conn.createStatement();
                  ResultSet rs = stmt.executeQuery(lastIdSql)) {
-                if (rs.next()) {
-                    return rs.getInt("user_id");
-                }
+                return rs.next() ? rs.getInt("user_id") : -1;
             }
-        } catch (SQLException e) {
-            // Check for unique constraint violation (duplicate email)
-            // SQLite uses error code 19 for constraint violation
-            if (e.getErrorCode() == 19 || (e.getMessage() != null && e.getMessage().toLowerCase().contains("unique"))) {
-                return -1;
-            }
-            e.printStackTrace();
-        }
-        return -1;
+        });
     }
     
     /**
@@ -134,15 +147,16 @@ public class UserRepository {
      */
     public boolean updatePassword(int userId, String hashedPassword) {
         String sql = "UPDATE users SET password = ? WHERE user_id = ?";
-        try (Connection conn = DatabaseUtil.connectUsers();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, hashedPassword);
-            pstmt.setInt(2, userId);
-            
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+        try {
+            return WriteExecutor.await(WriteExecutor.users().submit(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, hashedPassword);
+                    pstmt.setInt(2, userId);
+                    return pstmt.executeUpdate() > 0;
+                }
+            }));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
         }
         return false;
     }
@@ -152,13 +166,15 @@ public class UserRepository {
      */
     public boolean deleteUser(int userId) {
         String sql = "DELETE FROM users WHERE user_id = ?";
-        try (Connection conn = DatabaseUtil.connectUsers();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, userId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+        try {
+            return WriteExecutor.await(WriteExecutor.users().submit(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, userId);
+                    return pstmt.executeUpdate() > 0;
+                }
+            }));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
         }
         return false;
     }
@@ -0,0 +1,294 @@
+package com.example.navisewebsite.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+    The purpose of the WriteExecutor class is to funnel every write to one SQLite
+    database file through a single writer thread.
+
+    SQLite allows one writer per file, so writers on separate pooled connections only
+    wait on each other's locks (busy_timeout) and each pays for its own commit. Here the
+    writer thread takes whatever is queued (up to MAX_BATCH writes), runs the writes one
+    after another on one connection inside a single transaction and commits once. A write
+    that fails is rolled back to its own savepoint, so it fails only its own future and
+    the rest of the batch still commits. Futures complete after the commit.
+
+    Whatever a write throws, Errors included, fails its future and never the writer
+    thread. Should the thread still die, the executor marks itself stopped and fails
+    what is queued, and the next users() / studentInfo() / courses() starts a new one.
+    Synchronous callers wait through await(), which gives up after WAIT_TIMEOUT rather
+    than hanging a request thread on a stuck writer.
+
+    Every repository write and the admin student update go through here. Two writers
+    deliberately do not:
+        SchemaMigrator       runs in DatabaseUtil.initializeDatabases before anything uses
+                             the pools, and owns its transaction per migration
+        CatalogSeedWriter    a bulk load of the whole catalog in one transaction that it
+                             commits itself; it only runs against an empty courses.db at
+                             first start (or offline, from ExcelToDatabaseImporter).
+                             Writes arriving meanwhile wait on busy_timeout
+
+    Metrics, tagged with the database name:
+        sqlite.write.queue.depth   writes waiting for the writer thread
+        sqlite.write.commit        time to run and commit one batch
+        sqlite.write.batch.size    writes per committed batch
+*/
+public final class WriteExecutor {
+
+    /**
+     * One write, run on the writer's connection. It must not commit, roll back
+     * or change auto-commit; the executor owns the transaction.
+     */
+    @FunctionalInterface
+    public interface Write<T> {
+        T apply(Connection conn) throws SQLException;
+    }
+
+    // Upper bound on writes group-committed in one transaction
+    static final int MAX_BATCH = 64;
+
+    /** Longest {@link #await} waits for a write; far above any healthy commit. */
+    public static final Duration WAIT_TIMEOUT = Duration.ofSeconds(30);
+
+    // Current executor per database; replaced when the database's pool changes (test mode)
+    private static final Map<String, WriteExecutor> EXECUTORS = new ConcurrentHashMap<>();
+
+    private static final Pending<Object> STOP = new Pending<>(null);
+
+    private final String name;
+    private final DataSource dataSource;
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Timer commitTimer;
+    private final DistributionSummary batchSize;
+    private volatile boolean stopped;
+
+    WriteExecutor(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.commitTimer = Metrics.timer("sqlite.write.commit", "database", name);
+        this.batchSize = Metrics.summary("sqlite.write.batch.size", "database", name);
+        this.writer = new Thread(this::run, "sqlite-writer-" + name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Writer for users.db. */
+    public static WriteExecutor users() {
+        return forDatabase("users", DatabaseUtil::usersDataSource);
+    }
+
+    /** Writer for student_info.db. */
+    public static WriteExecutor studentInfo() {
+        return forDatabase("student_info", DatabaseUtil::studentInfoDataSource);
+    }
+
+    /** Writer for courses.db. */
+    public static WriteExecutor courses() {
+        return forDatabase("courses", DatabaseUtil::coursesDataSource);
+    }
+
+    private static WriteExecutor forDatabase(String name, Supplier<DataSource> dataSource) {
+        DataSource current = dataSource.get();
+        WriteExecutor executor = EXECUTORS.get(name);
+        if (executor != null && executor.dataSource == current && !executor.stopped) {
+            return executor;
+        }
+        synchronized (EXECUTORS) {
+            executor = EXECUTORS.get(name);
+            if (executor == null || executor.dataSource != current || executor.stopped) {
+                if (executor != null) {
+                    executor.shutdown();
+                }
+                // The gauge reads whichever executor is current, so it survives replacements
+                Gauge.builder("sqlite.write.queue.depth", EXECUTORS, m -> queueDepth(m.get(name)))
+                     .tag("database", name)
+                     .register(Metrics.globalRegistry);
+                executor = new WriteExecutor(name, current);
+                EXECUTORS.put(name, executor);
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Stop every writer after it has finished the writes already queued.
+     * Writers are recreated on the next call to users(), studentInfo() or courses().
+     */
+    public static void shutdownAll() {
+        synchronized (EXECUTORS) {
+            EXECUTORS.values().forEach(WriteExecutor::shutdown);
+            EXECUTORS.clear();
+        }
+    }
+
+    private static double queueDepth(WriteExecutor executor) {
+        return executor == null ? 0 : executor.queueDepth();
+    }
+
+    /**
+     * Queue a write. The future completes with the write's result once the batch
+     * containing it has committed, or exceptionally with the write's own failure
+     * or the batch's commit failure.
+     */
+    public <T> CompletableFuture<T> submit(Write<T> write) {
+        if (Thread.currentThread() == writer) {
+            // Waiting on our own queue would never finish
+            throw new IllegalStateException("Nested write submitted from the " + name + " writer thread");
+        }
+        Pending<T> pending = new Pending<>(write);
+        if (stopped) {
+            pending.future.completeExceptionally(new IllegalStateException("Writer for " + name + " is shut down"));
+            return pending.future;
+        }
+        queue.add(pending);
+        return pending.future;
+    }
+
+    /**
+     * Wait for a queued write, at most {@link #WAIT_TIMEOUT}.
+     *
+     * @throws CompletionException with the write's failure, or a TimeoutException if it
+     *         is not done in time (the write may still commit afterwards)
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(WAIT_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            System.out.println("ERROR WriteExecutor: Write not done within " + WAIT_TIMEOUT.toSeconds() + " s");
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /** Number of writes waiting for the writer thread. */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    void shutdown() {
+        stopped = true;
+        queue.add(STOP);
+    }
+
+    private void run() {
+        List<Pending<?>> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                // Everything that queued up while the previous batch committed goes into this one
+                queue.drainTo(batch, MAX_BATCH - 1);
+                boolean stop = batch.remove(STOP);
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                }
+                batch.clear();
+                if (stop) {
+                    break;
+                }
+            }
+        } finally {
+            // However the thread ends, new writes go to a new writer and none is left hanging
+            stopped = true;
+            IllegalStateException shutDown = new IllegalStateException("Writer for " + name + " is shut down");
+            for (Pending<?> pending : batch) {
+                pending.future.completeExceptionally(shutDown);
+            }
+            Pending<?> pending;
+            while ((pending = queue.poll()) != null) {
+                if (pending != STOP) {
+                    pending.future.completeExceptionally(shutDown);
+                }
+            }
+        }
+    }
+
+    private void commit(List<Pending<?>> batch) {
+        long start = System.nanoTime();
+        Object[] results = new Object[batch.size()];
+        Throwable[] failures = new Throwable[batch.size()];
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    Savepoint savepoint = conn.setSavepoint();
+                    try {
+                        results[i] = batch.get(i).write.apply(conn);
+                        conn.releaseSavepoint(savepoint);
+                    } catch (Throwable e) {
+                        conn.rollback(savepoint);
+                        conn.releaseSavepoint(savepoint);
+                        failures[i] = e;
+                    }
+                }
+                conn.commit();
+            } catch (Throwable e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (Throwable e) {
+            System.out.println("ERROR WriteExecutor: Batch of " + batch.size() + " writes to " + name + " failed: " + e);
+            for (Pending<?> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(results[i], failures[i]);
+        }
+    }
+
+    private static final class Pending<T> {
+        final Write<T> write;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Pending(Write<T> write) {
+            this.write = write;
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(Object result, Throwable failure) {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete((T) result);
+            }
+        }
+    }
+}
@@ -7,14 +7,24 @@ import com.example.navisewebsite.repository.ProgramRepository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 @Service
 public class AdminCourseService {
     private final CourseRepository courseRepository;
     private final ProgramRepository programRepository;
+    private final CourseCatalog courseCatalog;
+
     public AdminCourseService(CourseRepository courseRepository, ProgramRepository programRepository) {
+        this(courseRepository, programRepository, new CourseCatalog(courseRepository, programRepository));
+    }
+
+    @Autowired
+    public AdminCourseService(CourseRepository courseRepository, ProgramRepository programRepository,
+                              CourseCatalog courseCatalog) {
         this.courseRepository = courseRepository;
         this.programRepository = programRepository;
+        this.courseCatalog = courseCatalog;
     }
 
     /**
@@ -36,7 +46,9 @@ public class AdminCourseService {
 
         // 3. Link the course to the program in program_courses table
         programRepository.addCourseToProgram(programId, course.get_courseID());
-        
+
+        // 4. Publish the updated catalog
+        courseCatalog.changed();
     }
 
     /**
@@ -46,7 +58,7 @@ public class AdminCourseService {
      * @return Optional<Course>
      */
     public Optional<Course> findById(String courseID) {
-        return courseRepository.findById(courseID);
+        return courseCatalog.findById(courseID);
     }
 
     /**
@@ -55,7 +67,7 @@ public class AdminCourseService {
      * @return List of all courses
      */
     public List<Course> findAllCourses() {
-        return courseRepository.findAll();
+        return courseCatalog.allCourses();
     }
 
     /**
@@ -65,7 +77,30 @@ public class AdminCourseService {
      */
     public void remove_course(Course course) {
         courseRepository.removeCourse(course);
-        // Optional: also remove from program_courses if desired
+        courseCatalog.changed();
+    }
+
+    /**
+     * Add a program (major/minor) if it doesn't already exist
+     *
+     * @param programName  Name of the program
+     * @param programType  Either "Major" or "Minor"
+     * @return program_id of the new or existing program, -1 on failure
+     */
+    public int add_program(String programName, String programType) {
+        int programId = programRepository.addProgram(programName, programType);
+        courseCatalog.changed();
+        return programId;
+    }
+
+    /**
+     * Remove a program and its course links
+     *
+     * @param programName Name of the program to remove
+     */
+    public void remove_program(String programName) {
+        programRepository.removeProgram(programName);
+        courseCatalog.changed();
     }
 }
 
@@ -0,0 +1,288 @@
+package com.example.navisewebsite.service;
+
+import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.domain.Term;
+import com.example.navisewebsite.domain.TermCalendar;
+import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.ScheduleCourseRepository;
+import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.ScheduleUserRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Projects schedules for a whole cohort of students at once, for advisors.
+ *
+ * One batch reads the cohort from student_info and every transcript from
+ * student_completed_course in bulk, then pins one CourseCatalog snapshot (and its
+ * prerequisite graph) for all workers. Students are projected in parallel on a
+ * fork-join pool. Students with the same programs and completed courses share one
+ * projection through a ProjectionCache, which is most of a large cohort.
+ *
+ * Results are handed to a sink as they finish, so callers can stream them out
+ * without holding the whole cohort in memory.
+ *
+ * Single students (the projection API) go through the same cache, so a student
+ * already covered by a batch, or sharing a transcript with one, is not projected again.
+ */
+@Service
+public class CohortProjectionService {
+
+    private final CourseCatalog courseCatalog;
+    private final StudentInfoRepository studentInfoRepository;
+    private final ForkJoinPool pool;
+    private final ProjectionCache<SchedulePlan> cache;
+    // Schedule view of the latest snapshot used for single-student projections
+    private volatile SnapshotCourses current;
+
+    @Autowired
+    public CohortProjectionService(CourseCatalog courseCatalog, StudentInfoRepository studentInfoRepository) {
+        this(courseCatalog, studentInfoRepository, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CohortProjectionService(CourseCatalog courseCatalog, StudentInfoRepository studentInfoRepository,
+                                   int parallelism) {
+        this.courseCatalog = courseCatalog;
+        this.studentInfoRepository = studentInfoRepository;
+        this.pool = new ForkJoinPool(parallelism);
+        this.cache = new ProjectionCache<>("cohort", 4096, courseCatalog::version);
+    }
+
+    /**
+     * One student's projected schedule. The plan is read-only and may be shared
+     * with other students in the batch.
+     */
+    public static final class StudentProjection {
+        public final StudentInfo student;
+        public final SchedulePlan plan;
+
+        public StudentProjection(StudentInfo student, SchedulePlan plan) {
+            this.student = student;
+            this.plan = plan;
+        }
+    }
+
+    /**
+     * Size and timing of a finished batch.
+     */
+    public static final class CohortReport {
+        public final int students;
+        public final long catalogVersion;
+        public final long elapsedNanos;
+        public final long cacheHits;
+
+        public CohortReport(int students, long catalogVersion, long elapsedNanos, long cacheHits) {
+            this.students = students;
+            this.catalogVersion = catalogVersion;
+            this.elapsedNanos = elapsedNanos;
+            this.cacheHits = cacheHits;
+        }
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        public double studentsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : students * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Project every student in the cohort.
+     *
+     * @param major only students with this major; null or empty for all
+     * @param schoolYear only students in this school year; null or empty for all
+     * @param creditsPerSemester semester target and cap
+     * @param sink receives each projection as it finishes, from worker threads but
+     *             never concurrently; results arrive in no particular order
+     */
+    public CohortReport projectCohort(String major, String schoolYear, int creditsPerSemester,
+                                      Consumer<StudentProjection> sink) {
+        return projectCohort(major, schoolYear, creditsPerSemester, null, sink);
+    }
+
+    /**
+     * As above, laying semesters out over a term calendar so courses only land in terms
+     * they are offered; null projects plain numbered semesters.
+     */
+    public CohortReport projectCohort(String major, String schoolYear, int creditsPerSemester,
+                                      TermCalendar calendar, Consumer<StudentProjection> sink) {
+        if (creditsPerSemester <= 0) {
+            throw new IllegalArgumentException("creditsPerSemester must be positive");
+        }
+        long start = System.nanoTime();
+        long hitsBefore = cache.stats().hits;
+
+        List<StudentInfo> students = studentInfoRepository.findCohort(major, schoolYear);
+        List<Integer> userIds = new ArrayList<>(students.size());
+        for (StudentInfo student : students) {
+            userIds.add(student.userId);
+        }
+        Map<Integer, List<String>> transcripts = studentInfoRepository.findCompletedCourseIds(userIds);
+
+        CourseCatalog.Snapshot snapshot = courseCatalog.snapshot();
+        SnapshotCourses courses = new SnapshotCourses(snapshot);
+        Map<String, List<Integer>> completedById = new HashMap<>();
+        for (Map.Entry<Integer, List<String>> entry : transcripts.entrySet()) {
+            completedById.put(String.valueOf(entry.getKey()), courses.idsOf(entry.getValue()));
+        }
+        ScheduleUserRepository users = userId -> completedById.getOrDefault(userId, Collections.emptyList());
+        ScheduleProjectionService projections =
+                new ScheduleProjectionService(courses, users, snapshot.prerequisiteGraph(), null, calendar);
+
+        Object sinkLock = new Object();
+        try {
+            pool.submit(() -> students.parallelStream().forEach(student -> {
+                String userId = String.valueOf(student.userId);
+                SchedulePlan plan = cache.get(snapshot.version, student.major, student.minor, creditsPerSemester,
+                        calendar, users.completedCourseIdsForUser(userId),
+                        () -> project(projections, student, userId, creditsPerSemester));
+                synchronized (sinkLock) {
+                    sink.accept(new StudentProjection(student, plan));
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cohort projection interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cohort projection failed", e.getCause());
+        }
+
+        long elapsed = System.nanoTime() - start;
+        CohortReport report = new CohortReport(students.size(), snapshot.version, elapsed,
+                cache.stats().hits - hitsBefore);
+        Metrics.timer("schedule.cohort.projection").record(elapsed, TimeUnit.NANOSECONDS);
+        System.out.println("DEBUG CohortProjectionService: Projected " + report.students + " students in "
+                + report.elapsedMillis() + " ms (" + Math.round(report.studentsPerSecond()) + " students/s, "
+                + report.cacheHits + " shared projections)");
+        return report;
+    }
+
+    /**
+     * One student's projection against a pinned catalog snapshot, so the caller can
+     * label the result with that snapshot's version.
+     *
+     * @param completedCourseIds course_ids from student_completed_course
+     * @param calendar term calendar, or null for plain numbered semesters
+     */
+    public SchedulePlan projectStudent(CourseCatalog.Snapshot snapshot, String major, String minor,
+                                       List<String> completedCourseIds, int creditsPerSemester,
+                                       TermCalendar calendar) {
+        if (creditsPerSemester <= 0) {
+            throw new IllegalArgumentException("creditsPerSemester must be positive");
+        }
+        SnapshotCourses courses = current;
+        if (courses == null || courses.snapshot != snapshot) {
+            courses = new SnapshotCourses(snapshot);
+            current = courses;
+        }
+        List<Integer> completed = courses.idsOf(completedCourseIds);
+        StudentInfo student = new StudentInfo(0, 0, "", "", major, minor, "", "");
+        ScheduleProjectionService projections = new ScheduleProjectionService(courses,
+                userId -> completed, snapshot.prerequisiteGraph(), null, calendar);
+        return cache.get(snapshot.version, major, minor, creditsPerSemester, calendar, completed,
+                () -> project(projections, student, "0", creditsPerSemester));
+    }
+
+    public ProjectionCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static SchedulePlan project(ScheduleProjectionService projections, StudentInfo student,
+                                        String userId, int creditsPerSemester) {
+        boolean hasMajor = student.major != null && !student.major.isEmpty();
+        boolean hasMinor = student.minor != null && !student.minor.isEmpty();
+        if (!hasMajor && !hasMinor) {
+            return new SchedulePlan().readOnlyCopy();
+        }
+        String first = hasMajor ? student.major : student.minor;
+        String second = hasMajor ? student.minor : null;
+        return projections.projectForPrograms(first, second, userId, creditsPerSemester).readOnlyCopy();
+    }
+
+    /**
+     * Schedule view of a catalog snapshot. Courses are numbered by their position in
+     * the snapshot and keep their course_id as the code, which is what the
+     * prerequisite graph and transcripts use.
+     */
+    static final class SnapshotCourses implements ScheduleCourseRepository {
+        private final CourseCatalog.Snapshot snapshot;
+        private final List<ScheduleCourse> courses;
+        private final Map<String, Integer> idByCourseId = new HashMap<>();
+        private final Map<String, List<ScheduleCourse>> byProgram = new ConcurrentHashMap<>();
+
+        SnapshotCourses(CourseCatalog.Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.courses = new ArrayList<>(snapshot.courses.size());
+            for (Course c : snapshot.courses) {
+                int id = courses.size();
+                courses.add(new ScheduleCourse(id, c.get_courseID(), c.get_credit_hours(), c.get_course_name(),
+                        meetingTime(c), Term.mask(c.get_term_offered())));
+                idByCourseId.putIfAbsent(c.get_courseID().trim().toUpperCase(), id);
+            }
+        }
+
+        List<Integer> idsOf(List<String> courseIds) {
+            List<Integer> ids = new ArrayList<>(courseIds.size());
+            for (String courseId : courseIds) {
+                Integer id = idByCourseId.get(courseId.trim().toUpperCase());
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        @Override
+        public List<ScheduleCourse> coursesForPathway(String programName) {
+            return byProgram.computeIfAbsent(programName, name -> {
+                List<ScheduleCourse> list = new ArrayList<>();
+                for (Course c : snapshot.coursesForProgram(name)) {
+                    Integer id = idByCourseId.get(c.get_courseID().trim().toUpperCase());
+                    if (id != null) {
+                        list.add(courses.get(id));
+                    }
+                }
+                return Collections.unmodifiableList(list);
+            });
+        }
+
+        @Override
+        public Optional<ScheduleCourse> courseById(int id) {
+            return id >= 0 && id < courses.size() ? Optional.of(courses.get(id)) : Optional.empty();
+        }
+
+        @Override
+        public Optional<ScheduleCourse> courseByCode(String code) {
+            Integer id = code == null ? null : idByCourseId.get(code.trim().toUpperCase());
+            return id == null ? Optional.empty() : Optional.of(courses.get(id));
+        }
+
+        private static String meetingTime(Course c) {
+            String days = c.get_days_offered() == null ? "" : c.get_days_offered().trim();
+            String time = c.get_time() == null ? "" : c.get_time().trim();
+            return (days + " " + time).trim();
+        }
+    }
+}
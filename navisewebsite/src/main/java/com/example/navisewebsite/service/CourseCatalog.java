@@ -0,0 +1,340 @@
+package com.example.navisewebsite.service;
+
+import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.MeetingTimes;
+import com.example.navisewebsite.domain.PrerequisiteGraph;
+import com.example.navisewebsite.domain.ProgramRequirements;
+import com.example.navisewebsite.repository.CourseRepository;
+import com.example.navisewebsite.repository.CourseRepository.CatalogRevision;
+import com.example.navisewebsite.repository.CourseRepository.NtcRequirement;
+import com.example.navisewebsite.repository.ProgramRepository;
+import com.example.navisewebsite.repository.ProgramRepository.ProgramCourseLink;
+import com.example.navisewebsite.repository.ProgramRepository.ProgramInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory, read-only view of the course catalog (courses, programs,
+ * program_courses and ntc_requirements).
+ *
+ * The catalog only changes when an admin edits it, so request paths read from an
+ * immutable, pre-indexed snapshot instead of querying courses.db. Mutations call
+ * {@link #changed()}, which records a new revision in courses.db (catalog_revision) and
+ * then {@link #refresh()}es: the whole snapshot is rebuilt from the database and swapped
+ * in atomically, so readers always see either the old or the new snapshot.
+ *
+ * Every instance keeps its own snapshot, so {@link #snapshot()} also checks the stored
+ * revision, at most once per {@link #REVISION_CHECK_MILLIS}, and reloads when another
+ * instance has changed the catalog. A snapshot's loadedAtMillis is the revision's change
+ * time, so all instances serving a revision give it the same Last-Modified.
+ */
+@Service
+public class CourseCatalog {
+
+    /** Longest a snapshot is served after another instance changed the catalog. */
+    public static final long REVISION_CHECK_MILLIS = 1000;
+
+    private final CourseRepository courseRepository;
+    private final ProgramRepository programRepository;
+    private final long revisionCheckMillis;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong nextRevisionCheck = new AtomicLong();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @Autowired
+    public CourseCatalog(CourseRepository courseRepository, ProgramRepository programRepository) {
+        this(courseRepository, programRepository, REVISION_CHECK_MILLIS);
+    }
+
+    public CourseCatalog(CourseRepository courseRepository, ProgramRepository programRepository,
+                         long revisionCheckMillis) {
+        this.courseRepository = courseRepository;
+        this.programRepository = programRepository;
+        this.revisionCheckMillis = revisionCheckMillis;
+    }
+
+    /**
+     * Current snapshot, loaded from the database on first use and reloaded when the
+     * stored revision shows the catalog was changed elsewhere. Only one caller per
+     * check interval reads the revision; the rest get the snapshot as it is.
+     */
+    public Snapshot snapshot() {
+        Snapshot s = current.get();
+        if (s == null) {
+            return refresh();
+        }
+        long now = System.currentTimeMillis();
+        long next = nextRevisionCheck.get();
+        if (now >= next && nextRevisionCheck.compareAndSet(next, now + revisionCheckMillis)) {
+            CatalogRevision revision = courseRepository.findCatalogRevision();
+            if (revision != null && revision.revision != s.revision) {
+                return refresh();
+            }
+        }
+        return s;
+    }
+
+    /**
+     * The catalog was written: store a new revision, so other instances reload at their
+     * next check, and reload this one now.
+     */
+    public Snapshot changed() {
+        courseRepository.bumpCatalogRevision();
+        return refresh();
+    }
+
+    /**
+     * Rebuild the snapshot from the database and publish it.
+     * Serialized so a slow rebuild can never overwrite a newer one. The lock is a
+     * ReentrantLock rather than synchronized because the rebuild runs JDBC queries,
+     * which would pin a virtual thread's carrier for their whole duration.
+     */
+    public Snapshot refresh() {
+        refreshLock.lock();
+        try {
+            // Read first, so a write racing the rebuild leaves a newer revision to notice
+            Snapshot previous = current.get();
+            CatalogRevision revision = courseRepository.findCatalogRevision();
+            long revisionNumber = revision != null ? revision.revision : previous != null ? previous.revision : 0;
+            // The revision's change time (whole seconds, as in HTTP dates), never earlier
+            // than the previous snapshot's. Reloading the same revision keeps its time, so
+            // it does not run ahead of the clock and of the profile change times
+            long loadedAt = revision != null && revision.changedAtMillis > 0
+                    ? revision.changedAtMillis
+                    : System.currentTimeMillis() / 1000 * 1000;
+            if (previous != null && loadedAt < previous.loadedAtMillis) {
+                loadedAt = previous.loadedAtMillis;
+            }
+            Snapshot rebuilt = new Snapshot(
+                    versions.incrementAndGet(),
+                    revisionNumber,
+                    loadedAt,
+                    courseRepository.findAll(),
+                    programRepository.getAllPrograms(),
+                    programRepository.getAllProgramCourseLinks(),
+                    courseRepository.findAllNtcRequirements());
+            current.set(rebuilt);
+            nextRevisionCheck.set(System.currentTimeMillis() + revisionCheckMillis);
+            System.out.println("DEBUG CourseCatalog: Loaded catalog version " + rebuilt.version + " (revision "
+                    + rebuilt.revision + ", " + rebuilt.courses.size() + " courses, "
+                    + rebuilt.programs.size() + " programs)");
+            return rebuilt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Convenience delegates to the current snapshot
+
+    public long version() {
+        return snapshot().version;
+    }
+
+    /** When the current snapshot's revision was stored, for Last-Modified headers. */
+    public long lastModified() {
+        return snapshot().loadedAtMillis;
+    }
+
+    public List<Course> allCourses() {
+        return snapshot().courses;
+    }
+
+    public Optional<Course> findById(String courseId) {
+        return snapshot().findById(courseId);
+    }
+
+    public Optional<Course> findByCode(String courseCode) {
+        return snapshot().findByCode(courseCode);
+    }
+
+    public List<Course> coursesForProgram(String programName) {
+        return snapshot().coursesForProgram(programName);
+    }
+
+    public List<String> programNames(String programType) {
+        return snapshot().programNames(programType);
+    }
+
+    public List<ProgramInfo> programs() {
+        return snapshot().programs;
+    }
+
+    public List<NtcRequirement> ntcRequirements() {
+        return snapshot().ntcRequirements;
+    }
+
+    public PrerequisiteGraph prerequisiteGraph() {
+        return snapshot().prerequisiteGraph();
+    }
+
+    public MeetingTimes meetingTimes() {
+        return snapshot().meetingTimes();
+    }
+
+    public ProgramRequirements programRequirements() {
+        return snapshot().programRequirements();
+    }
+
+    /**
+     * Immutable catalog state indexed by course_id, course_code,
+     * program name -> courses and program type -> program names.
+     */
+    public static final class Snapshot {
+        /** Local version, increasing with every reload on this instance. */
+        public final long version;
+        /** catalog_revision the snapshot was loaded at, the same on every instance. */
+        public final long revision;
+        /** Change time of the revision in epoch millis, whole seconds, never decreasing. */
+        public final long loadedAtMillis;
+        public final List<Course> courses;
+        public final List<ProgramInfo> programs;
+        public final List<NtcRequirement> ntcRequirements;
+
+        private final Map<String, Course> byId;
+        private final Map<String, Course> byCode;
+        private final Map<String, List<Course>> coursesByProgram;
+        private final Map<String, List<String>> programsByType;
+
+        // Compiled on first use; a snapshot never changes, so one graph per catalog version
+        private volatile PrerequisiteGraph prerequisiteGraph;
+        // Likewise one parsed set of meeting times, filled with every course's "days time"
+        private volatile MeetingTimes meetingTimes;
+        // And one set of program requirement bitsets over the graph's course indices
+        private volatile ProgramRequirements programRequirements;
+
+        Snapshot(long version, long revision, long loadedAtMillis, List<Course> courses, List<ProgramInfo> programs,
+                 List<ProgramCourseLink> links, List<NtcRequirement> ntcRequirements) {
+            this.version = version;
+            this.revision = revision;
+            this.loadedAtMillis = loadedAtMillis;
+            this.courses = Collections.unmodifiableList(new ArrayList<>(courses));
+            this.programs = Collections.unmodifiableList(new ArrayList<>(programs));
+            this.ntcRequirements = Collections.unmodifiableList(new ArrayList<>(ntcRequirements));
+
+            Map<String, Course> ids = new LinkedHashMap<>();
+            Map<String, Course> codes = new LinkedHashMap<>();
+            for (Course c : courses) {
+                ids.put(c.get_courseID(), c);
+                if (c.get_course_code() != null) {
+                    codes.putIfAbsent(c.get_course_code(), c);
+                }
+            }
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byCode = Collections.unmodifiableMap(codes);
+
+            // Programs are matched by name, so links from same-named programs are merged
+            Map<String, Map<String, Course>> byProgram = new LinkedHashMap<>();
+            for (ProgramCourseLink link : links) {
+                Course c = ids.get(link.courseId);
+                if (c != null) {
+                    byProgram.computeIfAbsent(link.programName, k -> new LinkedHashMap<>())
+                             .putIfAbsent(link.courseId, c);
+                }
+            }
+            Map<String, List<Course>> programCourses = new LinkedHashMap<>();
+            byProgram.forEach((name, list) ->
+                    programCourses.put(name, Collections.unmodifiableList(new ArrayList<>(list.values()))));
+            this.coursesByProgram = Collections.unmodifiableMap(programCourses);
+
+            Map<String, List<String>> types = new LinkedHashMap<>();
+            for (ProgramInfo p : programs) {
+                List<String> names = types.computeIfAbsent(p.type, k -> new ArrayList<>());
+                if (!names.contains(p.name)) {
+                    names.add(p.name);
+                }
+            }
+            types.replaceAll((type, names) -> Collections.unmodifiableList(names));
+            this.programsByType = Collections.unmodifiableMap(types);
+        }
+
+        public Optional<Course> findById(String courseId) {
+            return Optional.ofNullable(courseId == null ? null : byId.get(courseId));
+        }
+
+        public Optional<Course> findByCode(String courseCode) {
+            return Optional.ofNullable(courseCode == null ? null : byCode.get(courseCode));
+        }
+
+        public List<Course> coursesForProgram(String programName) {
+            List<Course> list = programName == null ? null : coursesByProgram.get(programName);
+            return list != null ? list : Collections.emptyList();
+        }
+
+        public List<String> programNames(String programType) {
+            List<String> list = programType == null ? null : programsByType.get(programType);
+            return list != null ? list : Collections.emptyList();
+        }
+
+        public PrerequisiteGraph prerequisiteGraph() {
+            PrerequisiteGraph graph = prerequisiteGraph;
+            if (graph == null) {
+                synchronized (this) {
+                    graph = prerequisiteGraph;
+                    if (graph == null) {
+                        graph = PrerequisiteGraph.compile(courses);
+                        prerequisiteGraph = graph;
+                    }
+                }
+            }
+            return graph;
+        }
+
+        public MeetingTimes meetingTimes() {
+            MeetingTimes times = meetingTimes;
+            if (times == null) {
+                synchronized (this) {
+                    times = meetingTimes;
+                    if (times == null) {
+                        List<String> all = new ArrayList<>(courses.size());
+                        for (Course c : courses) {
+                            String days = c.get_days_offered() == null ? "" : c.get_days_offered().trim();
+                            String time = c.get_time() == null ? "" : c.get_time().trim();
+                            all.add((days + " " + time).trim());
+                        }
+                        times = new MeetingTimes(all);
+                        meetingTimes = times;
+                    }
+                }
+            }
+            return times;
+        }
+
+        public ProgramRequirements programRequirements() {
+            ProgramRequirements requirements = programRequirements;
+            if (requirements == null) {
+                synchronized (this) {
+                    requirements = programRequirements;
+                    if (requirements == null) {
+                        Map<String, String> types = new LinkedHashMap<>();
+                        for (ProgramInfo p : programs) {
+                            types.putIfAbsent(p.name, p.type);
+                        }
+                        // Programs with no linked courses would rank as already finished, so they are left out
+                        Map<String, List<Course>> required = new LinkedHashMap<>();
+                        for (String name : types.keySet()) {
+                            List<Course> list = coursesForProgram(name);
+                            if (!list.isEmpty()) {
+                                required.put(name, list);
+                            }
+                        }
+                        requirements = ProgramRequirements.compile(prerequisiteGraph(), courses, required, types);
+                        programRequirements = requirements;
+                    }
+                }
+            }
+            return requirements;
+        }
+    }
+}
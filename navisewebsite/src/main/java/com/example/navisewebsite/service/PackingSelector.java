@@ -0,0 +1,91 @@
+package com.example.navisewebsite.service;
+
+import com.example.navisewebsite.domain.PackingStrategy;
+import com.example.navisewebsite.domain.SemesterPacker;
+import com.example.navisewebsite.domain.SemesterPacker.Packing;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks a PackingStrategy per call from the number of courses and the time left in
+ * the caller's latency budget, and records which strategy ran and how long it took.
+ *
+ * - No time left: GREEDY, the cheapest pass, which also keeps requirement order.
+ * - Less than {@link #MIN_SEARCH_NANOS} left, or a single course: BEST_FIT, no search.
+ * - Up to {@link #EXACT_MAX_COURSES} courses: EXACT, branch and bound with the time left.
+ * - More: LOCAL_SEARCH, which keeps improving until the time runs out.
+ *
+ * Each run is recorded in the "schedule.packing" timer, tagged with the strategy, a
+ * course-count bucket and whether the result is known to be minimal, so the thresholds
+ * can be tuned from production data.
+ */
+public class PackingSelector {
+
+    /** Largest instance the exact search is tried on. */
+    public static final int EXACT_MAX_COURSES = 40;
+
+    /** Least time worth starting a search with. */
+    public static final long MIN_SEARCH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * One packing and the strategy that produced it.
+     */
+    public static final class Selection {
+        public final PackingStrategy strategy;
+        public final Packing packing;
+        public final long elapsedNanos;
+
+        Selection(PackingStrategy strategy, Packing packing, long elapsedNanos) {
+            this.strategy = strategy;
+            this.packing = packing;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /**
+     * Strategy for an instance of the given size with the given time left.
+     */
+    public PackingStrategy select(int courseCount, long remainingNanos) {
+        if (remainingNanos <= 0) {
+            return SemesterPacker.GREEDY;
+        }
+        if (courseCount <= 1 || remainingNanos < MIN_SEARCH_NANOS) {
+            return SemesterPacker.BEST_FIT;
+        }
+        return courseCount <= EXACT_MAX_COURSES ? SemesterPacker.EXACT : SemesterPacker.LOCAL_SEARCH;
+    }
+
+    /**
+     * Pack with the selected strategy, giving it whatever is left before the deadline.
+     *
+     * @param deadlineNanos System.nanoTime() by which the caller wants an answer
+     */
+    public Selection pack(int[] credits, int creditsPerSemester, long deadlineNanos) {
+        long start = System.nanoTime();
+        long remaining = deadlineNanos - start;
+        PackingStrategy strategy = select(credits.length, remaining);
+        Packing packing = strategy.pack(credits, creditsPerSemester, Math.max(remaining, 0));
+        long elapsed = System.nanoTime() - start;
+        record(strategy, credits.length, packing, elapsed);
+        return new Selection(strategy, packing, elapsed);
+    }
+
+    private static void record(PackingStrategy strategy, int courseCount, Packing packing, long elapsedNanos) {
+        Timer.builder("schedule.packing")
+                .tag("strategy", strategy.name())
+                .tag("courses", sizeBucket(courseCount))
+                .tag("optimal", String.valueOf(packing.optimal))
+                .register(Metrics.globalRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Coarse buckets keep the tag cardinality fixed
+    static String sizeBucket(int courseCount) {
+        if (courseCount <= 10) return "0-10";
+        if (courseCount <= EXACT_MAX_COURSES) return "11-" + EXACT_MAX_COURSES;
+        if (courseCount <= 100) return (EXACT_MAX_COURSES + 1) + "-100";
+        return "100+";
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.navisewebsite.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of schedule projections.
+ *
+ * Most students share a handful of major/minor combinations and similar transcripts,
+ * so a projection is keyed by (major, minor, credits per semester, catalog version,
+ * completed-course set, and optionally a variant such as the term calendar) and
+ * computed once per key. The completed set is compared
+ * exactly; its fingerprint is only used as the hash, so two transcripts never share
+ * an entry by accident.
+ *
+ * Cached values must be immutable, since every caller with the same key gets the same
+ * instance. When the catalog version moves on, every entry is dropped at the next lookup.
+ *
+ * Hits, misses, evictions and invalidations are kept in {@link #stats()} and exported as
+ * Micrometer metrics tagged with the cache name.
+ */
+public class ProjectionCache<V> {
+
+    /** Default number of projections kept per cache. */
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+
+    /**
+     * Counters since the cache was created.
+     */
+    public static final class Stats {
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long invalidations;
+        public final int size;
+
+        Stats(long hits, long misses, long evictions, long invalidations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+        }
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    private final int maxEntries;
+    private final LongSupplier catalogVersion;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Access-ordered, so the eldest entry is the least recently used; guarded by this
+    private final LinkedHashMap<Key, V> entries;
+    private final Map<Key, CompletableFuture<V>> inFlight = new HashMap<>();
+    private long cachedVersion = Long.MIN_VALUE;
+
+    /**
+     * @param name tag for the exported metrics
+     * @param maxEntries entries kept before the least recently used is evicted
+     * @param catalogVersion current catalog version (e.g. CourseCatalog::version)
+     */
+    public ProjectionCache(String name, int maxEntries, LongSupplier catalogVersion) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.catalogVersion = catalogVersion;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, V> eldest) {
+                if (size() > ProjectionCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("schedule.projection.cache.hits", hits, AtomicLong::get)
+                .tag("cache", name).register(Metrics.globalRegistry);
+        FunctionCounter.builder("schedule.projection.cache.misses", misses, AtomicLong::get)
+                .tag("cache", name).register(Metrics.globalRegistry);
+        FunctionCounter.builder("schedule.projection.cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", name).register(Metrics.globalRegistry);
+        Gauge.builder("schedule.projection.cache.size", this, cache -> cache.stats().size)
+                .tag("cache", name).register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Cached projection for the key, computing and storing it on a miss.
+     * The computation runs outside the lock. Threads that miss on a key while it is
+     * being computed wait for that result instead of computing it again (and count
+     * as hits).
+     *
+     * @param completed completed course identifiers; order and duplicates do not matter
+     */
+    public V get(String major, String minor, int creditsPerSemester, Collection<?> completed,
+                 Supplier<V> compute) {
+        return get(catalogVersion.getAsLong(), major, minor, creditsPerSemester, completed, compute);
+    }
+
+    /**
+     * As above, for callers that computed from a catalog snapshot they already hold,
+     * so the entry is stored under that snapshot's version rather than the current one.
+     */
+    public V get(long version, String major, String minor, int creditsPerSemester, Collection<?> completed,
+                 Supplier<V> compute) {
+        return get(version, major, minor, creditsPerSemester, null, completed, compute);
+    }
+
+    /**
+     * As above, for projections that also depend on something else.
+     *
+     * @param variant compared with equals, e.g. the TermCalendar; null for none
+     */
+    public V get(long version, String major, String minor, int creditsPerSemester, Object variant,
+                 Collection<?> completed, Supplier<V> compute) {
+        Key key = new Key(major, minor, creditsPerSemester, version, variant, completed);
+        CompletableFuture<V> pending;
+        boolean owner = false;
+
+        synchronized (this) {
+            if (version > cachedVersion) {
+                invalidations.addAndGet(entries.size());
+                entries.clear();
+                cachedVersion = version;
+            }
+            V value = entries.get(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return value;
+            }
+            pending = inFlight.get(key);
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+                inFlight.put(key, pending);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            hits.incrementAndGet();
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        misses.incrementAndGet();
+        V value;
+        try {
+            value = compute.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                inFlight.remove(key);
+            }
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            inFlight.remove(key);
+            // Skip the store if the catalog changed while this was computing
+            if (value != null && version == cachedVersion) {
+                entries.put(key, value);
+            }
+        }
+        pending.complete(value);
+        return value;
+    }
+
+    /**
+     * Drop every entry, e.g. after data a projection depends on changed outside the catalog.
+     */
+    public synchronized void clear() {
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), invalidations.get(), entries.size());
+    }
+
+    // Cache key; the completed set is held sorted for equality and fingerprinted for hashing
+    private static final class Key {
+        private final String major;
+        private final String minor;
+        private final int creditsPerSemester;
+        private final long catalogVersion;
+        private final Object variant;
+        private final List<String> completed;
+        private final long fingerprint;
+        private final int hash;
+
+        Key(String major, String minor, int creditsPerSemester, long catalogVersion, Object variant,
+            Collection<?> completed) {
+            this.major = major == null ? "" : major;
+            this.minor = minor == null ? "" : minor;
+            this.creditsPerSemester = creditsPerSemester;
+            this.catalogVersion = catalogVersion;
+            this.variant = variant;
+
+            TreeSet<String> sorted = new TreeSet<>();
+            if (completed != null) {
+                for (Object id : completed) {
+                    if (id != null) {
+                        sorted.add(id.toString().trim().toUpperCase());
+                    }
+                }
+            }
+            this.completed = Collections.unmodifiableList(new ArrayList<>(sorted));
+            this.fingerprint = fingerprint(this.completed);
+            this.hash = Objects.hash(this.major, this.minor, creditsPerSemester, catalogVersion, variant, fingerprint);
+        }
+
+        // FNV-1a over the sorted ids
+        private static long fingerprint(List<String> ids) {
+            long h = 0xcbf29ce484222325L;
+            for (String id : ids) {
+                for (int i = 0; i < id.length(); i++) {
+                    h = (h ^ id.charAt(i)) * 0x100000001b3L;
+                }
+                h = (h ^ ',') * 0x100000001b3L;
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return creditsPerSemester == other.creditsPerSemester
+                    && catalogVersion == other.catalogVersion
+                    && fingerprint == other.fingerprint
+                    && major.equals(other.major)
+                    && minor.equals(other.minor)
+                    && Objects.equals(variant, other.variant)
+                    && completed.equals(other.completed);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.navisewebsite.service;
 
 import com.example.navisewebsite.domain.ScheduleDomain.*;
+import com.example.navisewebsite.repository.DatabaseUtil;
+import com.example.navisewebsite.repository.SQLiteScheduleRepository;
+import com.example.navisewebsite.repository.SQLiteScheduleRepository.CourseColumns;
+import com.example.navisewebsite.repository.ScheduleSchema;
 
 import java.sql.*;
 import java.util.LinkedHashMap;
@@ -13,10 +17,27 @@ import java.util.Map;
  * Follows Single Responsibility Principle - focuses only on loading schedules.
  */
 public class ScheduleLoaderService {
-    
-    // SQLite connection details
-    private static final String COURSES_DB_URL = "jdbc:sqlite:courses.db";
-    private static final String STUDENT_INFO_DB_URL = "jdbc:sqlite:student_info.db";
+
+    // Bound once from the introspected schema; null when there is no user_courses table
+    private final String scheduleSql;
+    private final boolean legacySemesterColumn;
+
+    public ScheduleLoaderService() {
+        this(ScheduleSchema.courses());
+    }
+
+    ScheduleLoaderService(ScheduleSchema schema) {
+        String semester = schema.firstColumn("user_courses", "semester_label", "semester");
+        if (semester != null && schema.hasColumn("user_courses", "course_id")) {
+            CourseColumns c = CourseColumns.of(schema);
+            scheduleSql = "SELECT uc." + semester + " AS semester_label, " + c.select("c") + " " +
+                    "FROM user_courses uc JOIN courses c ON uc.course_id = c." + c.id + " " +
+                    "WHERE uc.user_id = ? ORDER BY uc." + semester + ", c." + c.code;
+        } else {
+            scheduleSql = null;
+        }
+        legacySemesterColumn = "semester".equals(semester);
+    }
     
     /**
      * Load a student's schedule from database, grouped by semester.
@@ -26,20 +47,24 @@ public class ScheduleLoaderService {
      */
     public SchedulePlan loadStudentSchedule(String userId) {
         SchedulePlan plan = new SchedulePlan();
-        String sql = "SELECT uc.semester_label, c.id, c.code, c.credits, c.title, c.meeting_time " +
-                "FROM user_courses uc JOIN courses c ON uc.course_id = c.id " +
-                "WHERE uc.user_id = ? ORDER BY uc.semester_label, c.code";
+        if (scheduleSql == null) {
+            ScheduleSchema.recordFallback("loadStudentSchedule", "missing_table");
+            return plan;
+        }
+        if (legacySemesterColumn) {
+            ScheduleSchema.recordFallback("loadStudentSchedule", "legacy_schema");
+        }
         
         Map<String, SemesterPlan> semesterMap = new LinkedHashMap<>();
         
         try (Connection conn = connectSQLite();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(scheduleSql)) {
             ps.setString(1, userId);
             
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
                     String semLabel = safeString(rs, "semester_label");
-                    if (semLabel.isEmpty()) {
+                    if (semLabel == null || semLabel.isEmpty()) {
                         semLabel = "Semester 1";
                     }
                     
@@ -50,14 +75,16 @@ public class ScheduleLoaderService {
                             safeString(rs, "code"),
                             safeInt(rs, "credits"),
                             safeString(rs, "title"),
-                            safeString(rs, "meeting_time")
+                            safeString(rs, "meeting_time"),
+                            SQLiteScheduleRepository.termsMask(safeString(rs, "terms"))
                     );
                     
                     sem.courses.add(course);
                 }
             }
         } catch (SQLException e) {
-            return tryAlternateLoad(userId);
+            ScheduleSchema.recordFallback("loadStudentSchedule", "error");
+            System.out.println("ERROR ScheduleLoaderService: " + e.getMessage());
         }
         
         plan.semesters.addAll(semesterMap.values());
@@ -65,51 +92,7 @@ public class ScheduleLoaderService {
     }
     
     private Connection connectSQLite() throws SQLException {
-        return DriverManager.getConnection(COURSES_DB_URL);
-    }
-    
-    /**
-     * Fallback query for alternate schema.
-     */
-    private SchedulePlan tryAlternateLoad(String userId) {
-        SchedulePlan plan = new SchedulePlan();
-        String alt = "SELECT uc.semester AS semester_label, c.id, c.course_code AS code, " +
-                "c.credit_hours AS credits, c.name AS title " +
-                "FROM user_courses uc JOIN courses c ON uc.course_id = c.id " +
-                "WHERE uc.user_id = ? ORDER BY uc.semester, c.course_code";
-        
-        Map<String, SemesterPlan> semesterMap = new LinkedHashMap<>();
-        
-        try (Connection conn = connectSQLite();
-             PreparedStatement ps = conn.prepareStatement(alt)) {
-            ps.setString(1, userId);
-            
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String semLabel = safeString(rs, "semester_label");
-                    if (semLabel.isEmpty()) {
-                        semLabel = "Semester 1";
-                    }
-                    
-                    SemesterPlan sem = semesterMap.computeIfAbsent(semLabel, SemesterPlan::new);
-                    
-                    ScheduleCourse course = new ScheduleCourse(
-                            safeInt(rs, "id"),
-                            safeString(rs, "code"),
-                            safeInt(rs, "credits"),
-                            safeString(rs, "title"),
-                            ""
-                    );
-                    
-                    sem.courses.add(course);
-                }
-            }
-        } catch (SQLException ex) {
-            // Final fallback: empty schedule
-        }
-        
-        plan.semesters.addAll(semesterMap.values());
-        return plan;
+        return DatabaseUtil.connectCourses();
     }
     
     private static int safeInt(ResultSet rs, String col) {
@@ -1,9 +1,12 @@
 package com.example.navisewebsite.service;
 
+import com.example.navisewebsite.domain.CreditBuckets;
+import com.example.navisewebsite.domain.MeetingTimes;
 import com.example.navisewebsite.domain.ScheduleDomain.*;
+import com.example.navisewebsite.domain.Term;
+import com.example.navisewebsite.domain.TermCalendar;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -20,9 +23,18 @@ public class ScheduleMergeService {
     private static final int MAX_SEMESTERS = 8;
     
     private final ScheduleProjectionService projectionService;
+    private final MeetingTimes meetingTimes;
     
     public ScheduleMergeService(ScheduleProjectionService projectionService) {
+        this(projectionService, new MeetingTimes());
+    }
+    
+    /**
+     * @param meetingTimes parsed meeting times to reuse, e.g. CourseCatalog.meetingTimes()
+     */
+    public ScheduleMergeService(ScheduleProjectionService projectionService, MeetingTimes meetingTimes) {
         this.projectionService = projectionService;
+        this.meetingTimes = meetingTimes;
     }
     
     /**
@@ -31,6 +43,10 @@ public class ScheduleMergeService {
      * - Never exceed 21 credits
      * - Maintain 12+ credit minimum
      * - Stay within 8 semesters
+     * - Never add a course whose meeting time overlaps one already in the semester
+     * - With a term calendar on the projection service, only add a course to a semester
+     *   whose term it is offered in (semester i is calendar.termAt(i)), and label new
+     *   semesters with their season
      * 
      * @param original existing schedule
      * @param pathwayId pathway to complete
@@ -53,34 +69,50 @@ public class ScheduleMergeService {
         // Defensive copy
         SchedulePlan merged = copySchedulePlan(original);
         
-        List<ScheduleCourse> missing = projectionService.missingCoursesForPathway(pathwayId, userId);
-        missing.sort(Comparator.comparingInt((ScheduleCourse c) -> c.credits).reversed());
-        
+        // Remaining courses bucketed by credits, so the largest one that fits is found
+        // without scanning the rest; semester totals are kept up to date by SemesterPlan
         List<AddedCourseRecord> added = new ArrayList<>();
-        List<ScheduleCourse> remaining = new ArrayList<>(missing);
+        CreditBuckets<ScheduleCourse> remaining = new CreditBuckets<>(
+                projectionService.missingCoursesForPathway(pathwayId, userId), c -> c.credits);
         
-        // Phase 1: Bring existing semesters to minimum credits
+        // Weekly time slots taken in each semester; courses already there keep their
+        // places even if they overlap each other
+        List<long[]> occupied = new ArrayList<>();
         for (SemesterPlan sem : merged.semesters) {
-            fillSemesterToMinimum(sem, remaining, MIN_CREDITS_PER_SEMESTER, 
-                                 MAX_CREDITS_PER_SEMESTER, added);
+            long[] week = MeetingTimes.emptyWeek();
+            for (ScheduleCourse c : sem.courses) {
+                MeetingTimes.occupy(week, meetingTimes.slots(c.meetingTime));
+            }
+            occupied.add(week);
+        }
+        
+        TermCalendar calendar = projectionService.calendar();
+        
+        // Phase 1: Bring existing semesters to minimum credits
+        for (int i = 0; i < merged.semesters.size(); i++) {
+            fillSemesterToMinimum(merged.semesters.get(i), termBit(calendar, i), occupied.get(i), remaining,
+                                 MIN_CREDITS_PER_SEMESTER, MAX_CREDITS_PER_SEMESTER, added);
         }
         
         // Phase 2: Fill toward target credits
-        for (SemesterPlan sem : merged.semesters) {
-            fillSemesterToTarget(sem, remaining, targetCreditsPerSemester, 
-                                MAX_CREDITS_PER_SEMESTER, added);
+        for (int i = 0; i < merged.semesters.size(); i++) {
+            fillSemesterToTarget(merged.semesters.get(i), termBit(calendar, i), occupied.get(i), remaining,
+                                targetCreditsPerSemester, MAX_CREDITS_PER_SEMESTER, added);
         }
         
         // Phase 3: Create new semesters if needed
-        int nextSemIndex = merged.semesters.size() + 1;
         while (!remaining.isEmpty() && merged.semesters.size() < MAX_SEMESTERS) {
-            SemesterPlan newSem = new SemesterPlan("Semester " + nextSemIndex++);
-            fillSemesterToTarget(newSem, remaining, targetCreditsPerSemester, 
+            int index = merged.semesters.size();
+            SemesterPlan newSem = new SemesterPlan(
+                    calendar != null ? calendar.label(index) : "Semester " + (index + 1));
+            int term = termBit(calendar, index);
+            long[] week = MeetingTimes.emptyWeek();
+            fillSemesterToTarget(newSem, term, week, remaining, targetCreditsPerSemester, 
                                 MAX_CREDITS_PER_SEMESTER, added);
             
             // Try to reach minimum if below
             if (newSem.totalCredits() < MIN_CREDITS_PER_SEMESTER && !remaining.isEmpty()) {
-                fillSemesterToMinimum(newSem, remaining, MIN_CREDITS_PER_SEMESTER, 
+                fillSemesterToMinimum(newSem, term, week, remaining, MIN_CREDITS_PER_SEMESTER, 
                                      MAX_CREDITS_PER_SEMESTER, added);
             }
             
@@ -88,13 +120,17 @@ public class ScheduleMergeService {
         }
         
         // Phase 4: Mark any remaining courses as unscheduled
-        for (ScheduleCourse c : remaining) {
+        for (ScheduleCourse c : remaining.remaining()) {
             added.add(new AddedCourseRecord(c, "UNSCHEDULED"));
         }
         
         return new MergeResult(merged, added);
     }
     
+    private static int termBit(TermCalendar calendar, int semesterIndex) {
+        return calendar == null ? Term.ANY : calendar.termAt(semesterIndex).bit;
+    }
+    
     private SchedulePlan copySchedulePlan(SchedulePlan original) {
         SchedulePlan copy = new SchedulePlan();
         for (SemesterPlan s : original.semesters) {
@@ -109,53 +145,51 @@ public class ScheduleMergeService {
      * Fill semester to minimum target, respecting maximum limit.
      */
     private void fillSemesterToMinimum(SemesterPlan sem,
-                                      List<ScheduleCourse> remaining,
+                                      int termBit,
+                                      long[] occupied,
+                                      CreditBuckets<ScheduleCourse> remaining,
                                       int minTarget,
                                       int maxPerSemester,
                                       List<AddedCourseRecord> added) {
-        while (sem.totalCredits() < minTarget && !remaining.isEmpty()) {
-            boolean placed = false;
-            
-            for (int i = 0; i < remaining.size(); i++) {
-                ScheduleCourse course = remaining.get(i);
-                if (sem.totalCredits() + course.credits <= maxPerSemester) {
-                    sem.courses.add(course);
-                    added.add(new AddedCourseRecord(course, sem.semesterLabel));
-                    remaining.remove(i);
-                    placed = true;
-                    break;
-                }
-            }
-            
-            if (!placed) break; // Can't fit any more courses
-        }
+        fill(sem, termBit, occupied, remaining, minTarget, maxPerSemester, added);
     }
     
     /**
      * Fill semester toward target credits, respecting maximum limit.
      */
     private void fillSemesterToTarget(SemesterPlan sem,
-                                     List<ScheduleCourse> remaining,
+                                     int termBit,
+                                     long[] occupied,
+                                     CreditBuckets<ScheduleCourse> remaining,
                                      int target,
                                      int maxPerSemester,
                                      List<AddedCourseRecord> added) {
-        while (sem.totalCredits() < target && !remaining.isEmpty()) {
-            boolean placed = false;
-            
-            for (int i = 0; i < remaining.size(); i++) {
-                ScheduleCourse course = remaining.get(i);
-                int effectiveMax = Math.min(maxPerSemester, target);
-                
-                if (sem.totalCredits() + course.credits <= effectiveMax) {
-                    sem.courses.add(course);
-                    added.add(new AddedCourseRecord(course, sem.semesterLabel));
-                    remaining.remove(i);
-                    placed = true;
-                    break;
-                }
-            }
+        fill(sem, termBit, occupied, remaining, target, Math.min(maxPerSemester, target), added);
+    }
+    
+    /**
+     * Add the largest course that fits under the limit, is offered in the semester's term
+     * and does not clash with its occupied time slots, until the goal is reached or nothing fits.
+     */
+    private void fill(SemesterPlan sem,
+                      int termBit,
+                      long[] occupied,
+                      CreditBuckets<ScheduleCourse> remaining,
+                      int goal,
+                      int limit,
+                      List<AddedCourseRecord> added) {
+        // A course rejected here stays rejected while the semester only gains courses,
+        // so one pass tests each remaining course at most once
+        CreditBuckets<ScheduleCourse>.Pass pass = remaining.pass(
+                c -> (c.terms & termBit) != 0
+                        && !MeetingTimes.conflicts(occupied, meetingTimes.slots(c.meetingTime)));
+        while (sem.totalCredits() < goal && !remaining.isEmpty()) {
+            ScheduleCourse course = pass.takeLargestAtMost(limit - sem.totalCredits());
+            if (course == null) break; // Can't fit any more courses
             
-            if (!placed) break; // Can't fit any more courses
+            MeetingTimes.occupy(occupied, meetingTimes.slots(course.meetingTime));
+            sem.courses.add(course);
+            added.add(new AddedCourseRecord(course, sem.semesterLabel));
         }
     }
 }
@@ -1,6 +1,10 @@
 package com.example.navisewebsite.service;
 
 import com.example.navisewebsite.domain.ScheduleDomain.*;
+import com.example.navisewebsite.domain.PrerequisiteGraph;
+import com.example.navisewebsite.domain.PrerequisiteGraph.Schedule;
+import com.example.navisewebsite.domain.SemesterPacker;
+import com.example.navisewebsite.domain.TermCalendar;
 import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.*;
 // REMOVE: import com.example.navisewebsite.repository.ScheduleRepository.*;
 // ADD: import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.*;
@@ -14,16 +18,80 @@ import java.util.stream.Collectors;
  * 
  * Follows Single Responsibility Principle - focuses only on schedule projection.
  * Follows Open/Closed Principle - extensible through strategy pattern for packing algorithms.
+ * Without a prerequisite graph, semesters are packed by a PackingStrategy that
+ * PackingSelector picks from the course count and the time packing has: at most
+ * PACKING_BUDGET_NANOS from when packing starts (after the reads), and less when the
+ * caller passes a request deadline (the deadlineNanos overloads) that comes sooner,
+ * so a request that is already late gets the cheap strategies.
+ *
+ * The packing strategies only cover that graph-less path. The projections the app
+ * serves (CohortProjectionService) always pass the catalog's prerequisite graph, and
+ * the layered scheduler places courses itself: precedence, corequisites and offered
+ * terms decide which courses can share a semester, which credit-only bin packing
+ * does not model.
  */
 public class ScheduleProjectionService {
     
+    /** Label of the extra semester holding courses stuck behind a prerequisite cycle. */
+    public static final String UNSCHEDULED = "UNSCHEDULED";
+    
+    /** Time packing may take before it falls back to the cheaper strategies. */
+    public static final long PACKING_BUDGET_NANOS = SemesterPacker.DEFAULT_BUDGET_NANOS;
+    
+    // deadlineNanos of the overloads without one: packing only has its own budget
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    
     private final ScheduleCourseRepository courseRepo;
     private final ScheduleUserRepository userRepo;
+    private final PrerequisiteGraph prerequisites;
+    private final ProjectionCache<SchedulePlan> cache;
+    private final TermCalendar calendar;
+    private final PackingSelector packing = new PackingSelector();
     
     // FIXED CONSTRUCTOR: Use the new interface types
     public ScheduleProjectionService(ScheduleCourseRepository courseRepo, ScheduleUserRepository userRepo) {
+        this(courseRepo, userRepo, null);
+    }
+    
+    /**
+     * @param prerequisites catalog prerequisite graph; courses are matched to it by code.
+     *                      Without one, semesters are packed by credits only.
+     */
+    public ScheduleProjectionService(ScheduleCourseRepository courseRepo, ScheduleUserRepository userRepo,
+                                     PrerequisiteGraph prerequisites) {
+        this(courseRepo, userRepo, prerequisites, null);
+    }
+    
+    /**
+     * @param cache shared cache for projectForPrograms results; its catalog version must
+     *              change whenever the course repository or prerequisite graph does
+     */
+    public ScheduleProjectionService(ScheduleCourseRepository courseRepo, ScheduleUserRepository userRepo,
+                                     PrerequisiteGraph prerequisites, ProjectionCache<SchedulePlan> cache) {
+        this(courseRepo, userRepo, prerequisites, cache, null);
+    }
+    
+    /**
+     * @param calendar terms the semesters fall in; courses are only placed in terms they
+     *                 are offered (ScheduleCourse.terms) and semesters are labelled with
+     *                 their season. A cache must only be shared by services with the same calendar.
+     */
+    public ScheduleProjectionService(ScheduleCourseRepository courseRepo, ScheduleUserRepository userRepo,
+                                     PrerequisiteGraph prerequisites, ProjectionCache<SchedulePlan> cache,
+                                     TermCalendar calendar) {
         this.courseRepo = courseRepo;
         this.userRepo = userRepo;
+        // Term placement is done by the layered scheduler, so a calendar without a
+        // catalog graph schedules against an empty one (every course unconstrained)
+        this.prerequisites = prerequisites == null && calendar != null
+                ? PrerequisiteGraph.compile(Collections.emptyList())
+                : prerequisites;
+        this.cache = cache;
+        this.calendar = calendar;
+    }
+    
+    public TermCalendar calendar() {
+        return calendar;
     }
     
     /**
@@ -33,8 +101,11 @@ public class ScheduleProjectionService {
      * @return list of courses not yet completed
      */
     public List<ScheduleCourse> missingCoursesForPathway(String pathwayId, String userId) {
+        return missingCourses(pathwayId, new HashSet<>(userRepo.completedCourseIdsForUser(userId)));
+    }
+    
+    private List<ScheduleCourse> missingCourses(String pathwayId, Set<Integer> completedIds) {
         List<ScheduleCourse> required = courseRepo.coursesForPathway(pathwayId);
-        Set<Integer> completedIds = new HashSet<>(userRepo.completedCourseIdsForUser(userId));
         
         return required.stream()
                 .filter(c -> !completedIds.contains(c.id))
@@ -58,26 +129,44 @@ public class ScheduleProjectionService {
     }
     
     /**
-     * Estimate number of semesters needed using greedy packing.
+     * Estimate number of semesters needed: prerequisite layers when a graph is set,
+     * otherwise the fewest semesters the selected packing strategy finds.
      */
     public int estimateSemestersNeeded(String pathwayId, String userId, int creditsPerSemester) {
+        return estimateSemestersNeeded(pathwayId, userId, creditsPerSemester, NO_DEADLINE);
+    }
+    
+    /**
+     * @param deadlineNanos System.nanoTime() by which the caller needs the answer
+     */
+    public int estimateSemestersNeeded(String pathwayId, String userId, int creditsPerSemester,
+                                       long deadlineNanos) {
         if (creditsPerSemester <= 0) {
             throw new IllegalArgumentException("creditsPerSemester must be positive");
         }
-        
         List<ScheduleCourse> missing = missingCoursesForPathway(pathwayId, userId);
         if (missing.isEmpty()) {
             return 0;
         }
         
-        List<List<ScheduleCourse>> buckets = packCoursesGreedy(missing, creditsPerSemester);
-        return buckets.size();
+        if (prerequisites != null) {
+            return scheduleWithPrerequisites(missing, creditsPerSemester).semesters.size();
+        }
+        return packCourses(missing, creditsPerSemester, deadlineNanos).size();
     }
     
     /**
      * Project remaining courses into semester buckets.
      */
     public SchedulePlan projectMissingCourses(String pathwayId, String userId, int creditsPerSemester) {
+        return projectMissingCourses(pathwayId, userId, creditsPerSemester, NO_DEADLINE);
+    }
+    
+    /**
+     * @param deadlineNanos System.nanoTime() by which the caller needs the answer
+     */
+    public SchedulePlan projectMissingCourses(String pathwayId, String userId, int creditsPerSemester,
+                                              long deadlineNanos) {
         List<ScheduleCourse> missing = missingCoursesForPathway(pathwayId, userId);
         SchedulePlan plan = new SchedulePlan();
         
@@ -85,32 +174,46 @@ public class ScheduleProjectionService {
             return plan;
         }
         
-        List<List<ScheduleCourse>> buckets = packCoursesGreedy(missing, creditsPerSemester);
-        int semesterNum = 1;
-        
-        for (List<ScheduleCourse> bucket : buckets) {
-            SemesterPlan semester = new SemesterPlan("Semester " + semesterNum++);
-            semester.courses.addAll(bucket);
-            plan.semesters.add(semester);
-        }
-        
+        addSemesters(plan, missing, creditsPerSemester, deadlineNanos);
         return plan;
     }
     
     /**
      * Project schedule for combined major and minor programs.
      * Deduplicates courses that satisfy both requirements.
+     * With a cache the plan is shared by every student with the same programs and
+     * completed courses, and is read-only.
      */
     public SchedulePlan projectForPrograms(String majorId, String minorId, 
                                           String userId, int creditsPerSemester) {
+        return projectForPrograms(majorId, minorId, userId, creditsPerSemester, NO_DEADLINE);
+    }
+    
+    /**
+     * @param deadlineNanos System.nanoTime() by which the caller needs the answer; a plan
+     *                      packed in a hurry is still a valid plan and is cached like any other
+     */
+    public SchedulePlan projectForPrograms(String majorId, String minorId, String userId,
+                                          int creditsPerSemester, long deadlineNanos) {
         if (creditsPerSemester <= 0) {
             throw new IllegalArgumentException("creditsPerSemester must be positive");
         }
         
-        List<ScheduleCourse> majorMissing = missingCoursesForPathway(majorId, userId);
+        Set<Integer> completedIds = new HashSet<>(userRepo.completedCourseIdsForUser(userId));
+        if (cache == null) {
+            return projectForPrograms(majorId, minorId, completedIds, creditsPerSemester, deadlineNanos);
+        }
+        return cache.get(majorId, minorId, creditsPerSemester, completedIds,
+                () -> projectForPrograms(majorId, minorId, completedIds, creditsPerSemester, deadlineNanos)
+                        .readOnlyCopy());
+    }
+    
+    private SchedulePlan projectForPrograms(String majorId, String minorId, Set<Integer> completedIds,
+                                            int creditsPerSemester, long deadlineNanos) {
+        List<ScheduleCourse> majorMissing = missingCourses(majorId, completedIds);
         List<ScheduleCourse> minorMissing = (minorId == null || minorId.isEmpty())
                 ? Collections.emptyList()
-                : missingCoursesForPathway(minorId, userId);
+                : missingCourses(minorId, completedIds);
         
         // Deduplicate by course id (preserve order: major first, then minor)
         Map<Integer, ScheduleCourse> byId = new LinkedHashMap<>();
@@ -128,53 +231,78 @@ public class ScheduleProjectionService {
             return plan;
         }
         
-        List<List<ScheduleCourse>> buckets = packCoursesGreedy(combined, creditsPerSemester);
-        int semesterNum = 1;
-        
-        for (List<ScheduleCourse> bucket : buckets) {
-            SemesterPlan semester = new SemesterPlan("Semester " + semesterNum++);
-            semester.courses.addAll(bucket);
-            plan.semesters.add(semester);
-        }
-        
+        addSemesters(plan, combined, creditsPerSemester, deadlineNanos);
         return plan;
     }
     
     /**
-     * Greedy bin-packing algorithm for courses.
-     * Sorts by credits (descending) and fills semesters sequentially.
+     * Pack courses into as few semesters as the credit cap and time allow.
+     * The strategy is chosen by PackingSelector with the time left: PACKING_BUDGET_NANOS
+     * from now, or less if the caller's deadline comes first.
      * 
      * @param courses list of courses to pack
      * @param creditsPerSemester capacity per semester
+     * @param deadlineNanos the caller's deadline (System.nanoTime()), or NO_DEADLINE
      * @return list of buckets (each bucket = one semester)
      */
-    List<List<ScheduleCourse>> packCoursesGreedy(List<ScheduleCourse> courses, int creditsPerSemester) {
-        List<ScheduleCourse> sorted = new ArrayList<>(courses);
-        sorted.sort(Comparator.comparingInt((ScheduleCourse c) -> c.credits).reversed());
+    List<List<ScheduleCourse>> packCourses(List<ScheduleCourse> courses, int creditsPerSemester,
+                                           long deadlineNanos) {
+        int[] credits = new int[courses.size()];
+        for (int i = 0; i < credits.length; i++) {
+            credits[i] = courses.get(i).credits;
+        }
         
-        boolean[] used = new boolean[sorted.size()];
-        int remaining = sorted.size();
+        long deadline = System.nanoTime() + PACKING_BUDGET_NANOS;
+        if (deadlineNanos != NO_DEADLINE && deadlineNanos - deadline < 0) {
+            deadline = deadlineNanos;
+        }
         List<List<ScheduleCourse>> buckets = new ArrayList<>();
-        
-        while (remaining > 0) {
-            int capacity = creditsPerSemester;
-            List<ScheduleCourse> bucket = new ArrayList<>();
-            
-            for (int i = 0; i < sorted.size(); i++) {
-                if (used[i]) continue;
-                
-                ScheduleCourse course = sorted.get(i);
-                if (course.credits <= capacity) {
-                    used[i] = true;
-                    bucket.add(course);
-                    capacity -= course.credits;
-                    remaining--;
-                }
+        for (List<Integer> semester : packing.pack(credits, creditsPerSemester, deadline).packing.semesters) {
+            List<ScheduleCourse> bucket = new ArrayList<>(semester.size());
+            for (int index : semester) {
+                bucket.add(courses.get(index));
             }
-            
             buckets.add(bucket);
         }
-        
         return buckets;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Layered topological schedule: prerequisites in earlier semesters, corequisites together,
+     * and with a calendar only in terms the course is offered.
+     * The requested credits per semester is the target and the cap; the minimum is
+     * PrerequisiteGraph.MIN_CREDITS (or the target, if lower).
+     */
+    Schedule<ScheduleCourse> scheduleWithPrerequisites(List<ScheduleCourse> courses, int creditsPerSemester) {
+        return prerequisites.schedule(courses, c -> c.code, c -> c.credits, c -> c.terms, Collections.emptyList(),
+                Math.min(PrerequisiteGraph.MIN_CREDITS, creditsPerSemester), creditsPerSemester, creditsPerSemester,
+                calendar);
+    }
+    
+    private void addSemesters(SchedulePlan plan, List<ScheduleCourse> courses, int creditsPerSemester,
+                              long deadlineNanos) {
+        List<List<ScheduleCourse>> buckets;
+        List<ScheduleCourse> unscheduled = Collections.emptyList();
+        if (prerequisites != null) {
+            Schedule<ScheduleCourse> schedule = scheduleWithPrerequisites(courses, creditsPerSemester);
+            buckets = schedule.semesters;
+            unscheduled = schedule.unscheduled;
+        } else {
+            buckets = packCourses(courses, creditsPerSemester, deadlineNanos);
+        }
+        
+        int semesterNum = 1;
+        for (List<ScheduleCourse> bucket : buckets) {
+            String label = calendar != null ? calendar.label(semesterNum - 1) : "Semester " + semesterNum;
+            semesterNum++;
+            SemesterPlan semester = new SemesterPlan(label);
+            semester.courses.addAll(bucket);
+            plan.semesters.add(semester);
+        }
+        if (!unscheduled.isEmpty()) {
+            SemesterPlan semester = new SemesterPlan(UNSCHEDULED);
+            semester.courses.addAll(unscheduled);
+            plan.semesters.add(semester);
+        }
+    }
+}
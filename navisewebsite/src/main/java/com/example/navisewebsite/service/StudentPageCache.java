@@ -0,0 +1,186 @@
+package com.example.navisewebsite.service;
+
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository.ProfileVersion;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Built view models of the per-student pages (My Courses, Degree Progress).
+ *
+ * A page only changes when the student's profile or the catalog does, so its model is
+ * kept under (page, userId, profile version, catalog version). Both versions are kept in
+ * the databases, so every instance sees a change made through any other one:
+ * - the profile version and its change time are columns of the student's student_info
+ *   row, bumped by every write through StudentInfoRepository (TOUCH_PROFILE) and read
+ *   with one primary-key lookup per {@link #stamp};
+ * - the catalog version follows courses.db's catalog_revision (see CourseCatalog), and a
+ *   new one drops every entry at the next lookup.
+ * Controllers that write a profile also call {@link #profileChanged} to free the
+ * student's old entries here at once.
+ *
+ * The same versions give each page an ETag ({@link Stamp#etag}) and a Last-Modified time
+ * ({@link Stamp#lastModified}, the later of the two stored change times), so browsers can
+ * revalidate against any instance and get a 304 without a rebuild. The ETag is exact;
+ * Last-Modified only has whole seconds, so a change in the same second as the copy a
+ * client holds is caught only by a client that also sends If-None-Match.
+ *
+ * Cached models are shared between requests and must not be modified.
+ */
+@Service
+public class StudentPageCache {
+
+    /** Default number of page models kept. */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /**
+     * Versions a page is built from, taken before building it so a model built while
+     * something changes is stored under the old versions and never served.
+     */
+    public static final class Stamp {
+        public final int userId;
+        public final long profileVersion;
+        public final long catalogVersion;
+        /** From the stored versions, so every instance gives the same one. */
+        public final String etag;
+        /** Epoch millis, whole seconds. */
+        public final long lastModified;
+
+        Stamp(int userId, long profileVersion, long catalogVersion, String etag, long lastModified) {
+            this.userId = userId;
+            this.profileVersion = profileVersion;
+            this.catalogVersion = catalogVersion;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static final class Key {
+        final String page;
+        final int userId;
+        final long profileVersion;
+        final long catalogVersion;
+
+        Key(String page, Stamp stamp) {
+            this.page = page;
+            this.userId = stamp.userId;
+            this.profileVersion = stamp.profileVersion;
+            this.catalogVersion = stamp.catalogVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return userId == k.userId && profileVersion == k.profileVersion
+                    && catalogVersion == k.catalogVersion && page.equals(k.page);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(page, userId, profileVersion, catalogVersion);
+        }
+    }
+
+    private final CourseCatalog courseCatalog;
+    private final StudentInfoRepository studentInfoRepository;
+    private final int maxEntries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Access-ordered for LRU eviction; guarded by this
+    private final LinkedHashMap<Key, Map<String, Object>> entries;
+    private long cachedCatalogVersion = Long.MIN_VALUE;
+
+    @Autowired
+    public StudentPageCache(CourseCatalog courseCatalog, StudentInfoRepository studentInfoRepository) {
+        this(courseCatalog, studentInfoRepository, DEFAULT_MAX_ENTRIES);
+    }
+
+    public StudentPageCache(CourseCatalog courseCatalog, StudentInfoRepository studentInfoRepository,
+                            int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.courseCatalog = courseCatalog;
+        this.studentInfoRepository = studentInfoRepository;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Map<String, Object>> eldest) {
+                return size() > StudentPageCache.this.maxEntries;
+            }
+        };
+        FunctionCounter.builder("student.page.cache.hits", hits, AtomicLong::get).register(Metrics.globalRegistry);
+        FunctionCounter.builder("student.page.cache.misses", misses, AtomicLong::get).register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Current versions of a student's pages, or null if the stored profile version could
+     * not be read; the page must then be built fresh, and neither cached nor validated.
+     */
+    public Stamp stamp(int userId) {
+        CourseCatalog.Snapshot snapshot = courseCatalog.snapshot();
+        ProfileVersion profile;
+        try {
+            // A student without a row yet has nothing of their own that changed
+            profile = studentInfoRepository.readProfileVersion(userId).orElse(null);
+        } catch (SQLException e) {
+            System.out.println("ERROR StudentPageCache: Unable to read the profile version of user " + userId
+                    + ": " + e.getMessage());
+            return null;
+        }
+        long profileVersion = profile == null ? 0 : profile.version;
+        long profileModified = profile == null ? 0 : profile.updatedAtMillis;
+        long lastModified = Math.max(profileModified, snapshot.loadedAtMillis);
+        // The user id keeps one student's ETag from matching another's on a shared browser
+        String etag = "\"" + userId + "-" + profileVersion + "-" + snapshot.revision + "\"";
+        return new Stamp(userId, profileVersion, snapshot.version, etag, lastModified);
+    }
+
+    /**
+     * The cached model of a page, or null if it has to be built.
+     */
+    public synchronized Map<String, Object> get(String page, Stamp stamp) {
+        if (stamp.catalogVersion > cachedCatalogVersion) {
+            entries.clear();
+            cachedCatalogVersion = stamp.catalogVersion;
+        }
+        Map<String, Object> model = entries.get(new Key(page, stamp));
+        (model != null ? hits : misses).incrementAndGet();
+        return model;
+    }
+
+    /**
+     * Store a built model under the versions it was built from. The map is copied.
+     */
+    public synchronized void put(String page, Stamp stamp, Map<String, Object> model) {
+        if (stamp.catalogVersion < cachedCatalogVersion) {
+            return;
+        }
+        entries.put(new Key(page, stamp), Collections.unmodifiableMap(new LinkedHashMap<>(model)));
+    }
+
+    /**
+     * A student's profile or transcript was written. The write already bumped the stored
+     * version, so their pages are rebuilt on next view on every instance; this only
+     * drops the entries this instance can no longer serve.
+     */
+    public synchronized void profileChanged(int userId) {
+        entries.keySet().removeIf(key -> key.userId == userId);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
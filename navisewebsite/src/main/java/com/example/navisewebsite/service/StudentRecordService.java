@@ -0,0 +1,116 @@
+package com.example.navisewebsite.service;
+
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads what the student pages need from student_info.db: the student_info row and the
+ * completed courses from student_completed_course.
+ *
+ * The two reads are independent, so they are issued concurrently, each on its own
+ * virtual thread and pooled connection, and the page waits for the slower of the two
+ * instead of their sum. The wait is bounded by a per-request deadline; when it passes
+ * the caller gets a TimeoutException and the reads still in flight are abandoned.
+ * A read that fails is reported as a failure, never as a missing row or an empty
+ * transcript, so callers do not render (or cache) an audit of data they never saw.
+ * Everything after the reads (catalog lookups, audits) is in memory.
+ */
+@Service
+public class StudentRecordService {
+
+    /** How long a page waits for its reads by default. */
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(2);
+
+    /**
+     * A student's info row (empty if there is none) and completed course ids.
+     */
+    public static final class StudentRecord {
+        public final Optional<StudentInfo> info;
+        public final List<String> completedCourseIds;
+
+        public StudentRecord(Optional<StudentInfo> info, List<String> completedCourseIds) {
+            this.info = info;
+            this.completedCourseIds = completedCourseIds;
+        }
+    }
+
+    private final StudentInfoRepository studentInfoRepository;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public StudentRecordService(StudentInfoRepository studentInfoRepository) {
+        this.studentInfoRepository = studentInfoRepository;
+    }
+
+    public StudentRecord load(int userId) throws TimeoutException {
+        return load(userId, DEFAULT_DEADLINE);
+    }
+
+    /**
+     * @param deadline longest the caller will wait for both reads
+     * @throws TimeoutException if the reads are not both done within the deadline
+     * @throws IllegalStateException if either read fails
+     */
+    public StudentRecord load(int userId, Duration deadline) throws TimeoutException {
+        long start = System.nanoTime();
+        CompletableFuture<Optional<StudentInfo>> info =
+                CompletableFuture.supplyAsync(() -> read(() -> studentInfoRepository.readByUserId(userId)), executor);
+        CompletableFuture<List<String>> completed =
+                CompletableFuture.supplyAsync(() -> read(() -> studentInfoRepository.readCompletedCourseIds(userId)), executor);
+        try {
+            CompletableFuture.allOf(info, completed).get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            info.cancel(false);
+            completed.cancel(false);
+            Metrics.counter("student.record.timeouts").increment();
+            System.out.println("ERROR StudentRecordService: Reads for user " + userId + " missed the "
+                    + deadline.toMillis() + " ms deadline");
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted loading student " + userId, e);
+        } catch (ExecutionException e) {
+            info.cancel(false);
+            completed.cancel(false);
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            Metrics.counter("student.record.failures").increment();
+            System.out.println("ERROR StudentRecordService: Reads for user " + userId + " failed: " + cause);
+            throw new IllegalStateException("Unable to load student " + userId, cause);
+        }
+        Metrics.timer("student.record.load").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new StudentRecord(info.join(), completed.join());
+    }
+
+    private interface Read<T> {
+        T get() throws SQLException;
+    }
+
+    private static <T> T read(Read<T> read) {
+        try {
+            return read.get();
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+-- courses.db baseline: catalog tables seeded from courses.xlsx
+CREATE TABLE IF NOT EXISTS courses (
+    course_id TEXT PRIMARY KEY,
+    course_name TEXT,
+    course_code TEXT,
+    credit_hours INTEGER,
+    professor TEXT,
+    days TEXT,
+    time TEXT,
+    building TEXT,
+    room TEXT,
+    attributes TEXT,
+    prerequisites TEXT,
+    corequisites TEXT,
+    terms TEXT
+);
+
+CREATE TABLE IF NOT EXISTS programs (
+    program_id INTEGER PRIMARY KEY AUTOINCREMENT,
+    program_name TEXT,
+    program_type TEXT
+);
+
+CREATE TABLE IF NOT EXISTS program_courses (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    program_id INTEGER NOT NULL,
+    course_id TEXT NOT NULL,
+    UNIQUE(program_id, course_id),
+    FOREIGN KEY(program_id) REFERENCES programs(program_id) ON DELETE CASCADE,
+    FOREIGN KEY(course_id) REFERENCES courses(course_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS ntc_requirements (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    requirement_name TEXT,
+    description TEXT
+);
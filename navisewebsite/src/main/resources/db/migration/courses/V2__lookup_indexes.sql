@@ -0,0 +1,4 @@
+-- Indexes for the catalog lookups on the request path
+CREATE INDEX IF NOT EXISTS idx_programs_program_name ON programs(program_name);
+CREATE INDEX IF NOT EXISTS idx_courses_course_code ON courses(course_code);
+CREATE INDEX IF NOT EXISTS idx_program_courses_course_id ON program_courses(course_id);
@@ -0,0 +1,12 @@
+-- One-row revision of the catalog, bumped by every catalog write (CourseCatalog.changed).
+-- Each instance serves an in-memory snapshot and polls this row to notice edits made
+-- through another instance. changed_at (epoch millis, whole seconds) is the catalog's
+-- Last-Modified time, so every instance reports the same one for a revision.
+CREATE TABLE IF NOT EXISTS catalog_revision (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    revision INTEGER NOT NULL,
+    changed_at INTEGER NOT NULL
+);
+
+INSERT OR IGNORE INTO catalog_revision (id, revision, changed_at)
+    VALUES (1, 1, CAST(strftime('%s', 'now') AS INTEGER) * 1000);
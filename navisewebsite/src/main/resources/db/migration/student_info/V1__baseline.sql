@@ -0,0 +1,13 @@
+-- student_info.db baseline: one profile row per student
+CREATE TABLE IF NOT EXISTS student_info (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INTEGER NOT NULL,
+    first_name TEXT,
+    last_name TEXT,
+    major TEXT,
+    minor TEXT,
+    school_year TEXT,
+    past_courses TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY(user_id) REFERENCES users(user_id)
+);
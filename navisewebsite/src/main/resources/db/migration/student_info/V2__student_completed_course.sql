@@ -0,0 +1,11 @@
+-- Normalized completed courses, one row per (student, course, term).
+-- The past_courses CSV is copied in by the Java step of this migration.
+CREATE TABLE IF NOT EXISTS student_completed_course (
+    user_id INTEGER NOT NULL,
+    course_id TEXT NOT NULL,
+    term TEXT NOT NULL DEFAULT '',
+    PRIMARY KEY(user_id, course_id, term)
+) WITHOUT ROWID;
+
+CREATE INDEX IF NOT EXISTS idx_student_completed_course_course
+    ON student_completed_course(course_id, user_id);
@@ -0,0 +1,16 @@
+-- Older databases could hold several student_info rows per user.
+-- Keep the first one (the row findByUserId has always returned) and enforce uniqueness.
+-- V2 already merged every duplicate's past_courses into student_completed_course, so the
+-- kept row gets the same merge (each row's CSV, in row order) before the others go.
+UPDATE student_info
+SET past_courses = (
+    SELECT group_concat(d.past_courses, ', ' ORDER BY d.id)
+    FROM student_info d
+    WHERE d.user_id = student_info.user_id AND TRIM(COALESCE(d.past_courses, '')) <> ''
+)
+WHERE id IN (SELECT MIN(id) FROM student_info GROUP BY user_id HAVING COUNT(*) > 1);
+
+DELETE FROM student_info
+WHERE id NOT IN (SELECT MIN(id) FROM student_info GROUP BY user_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_student_info_user_id ON student_info(user_id);
@@ -0,0 +1,8 @@
+-- Version and change time (epoch millis, whole seconds) of each student's profile and
+-- transcript, kept with the row so every instance derives the same cache keys and
+-- Last-Modified times (StudentPageCache). Every write through StudentInfoRepository
+-- bumps them; existing rows count as changed when this migration runs.
+ALTER TABLE student_info ADD COLUMN profile_version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE student_info ADD COLUMN updated_at INTEGER NOT NULL DEFAULT 0;
+
+UPDATE student_info SET updated_at = CAST(strftime('%s', 'now') AS INTEGER) * 1000;
@@ -0,0 +1,9 @@
+-- users.db baseline: login accounts for students and admins
+CREATE TABLE IF NOT EXISTS users (
+    user_id INTEGER PRIMARY KEY AUTOINCREMENT,
+    email TEXT UNIQUE,
+    password TEXT,
+    first_name TEXT,
+    last_name TEXT,
+    user_type TEXT
+);
@@ -1,8 +1,10 @@
 package com.example.navisewebsite;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 
 import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.DegreeAudit;
 import com.example.navisewebsite.domain.Major;
 import com.example.navisewebsite.domain.Minor;
 import com.example.navisewebsite.domain.Student;
@@ -10,9 +12,12 @@ import com.example.navisewebsite.domain.Student;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 // import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 class MajorMinorTest {
     
@@ -218,4 +223,117 @@ System.out.println("DEBUG: minor.getCompletedHours(past) = " + (student.getMinor
         assertTrue(physics.hasRequirement(quantum));
         assertEquals(36, physics.getMinHours());
     }
+
+    @Test
+    public void testMajorMatchesCopiesByCodeOrId() {
+        Major csMajor = new Major("Computer Science");
+        csMajor.addRequirement(math);
+        csMajor.addRequirement(cs);
+
+        // Same code, different instance and id (e.g. reloaded from the database)
+        Course mathCopy = new Course("999", "Calculus", "MATH101", 3, null, null, null, null, null,
+                null, null, null, null);
+        // Same id, code missing
+        Course csById = new Course("102", "CS Intro", "", 3, null, null, null, null, null,
+                null, null, null, null);
+
+        assertFalse(csMajor.meetsRequirements(Arrays.asList(mathCopy)));
+        assertTrue(csMajor.meetsRequirements(Arrays.asList(mathCopy, csById)));
+    }
+
+    @Test
+    public void testBitSetAuditAgreesWithPairwiseMatching() {
+        Random random = new Random(42);
+        List<Course> pool = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            // Some codes repeat under different ids, and some courses have no code
+            String code = i % 7 == 0 ? "" : "C" + (i % 45);
+            pool.add(new Course(String.valueOf(i % 50), "Course " + i, code, 3, null, null, null, null, null,
+                    null, null, null, null));
+        }
+        for (int round = 0; round < 200; round++) {
+            List<Course> requirements = new ArrayList<>();
+            List<Course> completed = new ArrayList<>();
+            for (int i = 0; i < 12; i++) requirements.add(pool.get(random.nextInt(pool.size())));
+            for (int i = 0; i < 20; i++) completed.add(pool.get(random.nextInt(pool.size())));
+
+            BitSet done = DegreeAudit.satisfied(requirements, completed, DegreeAudit.Match.CODE_OR_ID);
+            BitSet same = DegreeAudit.satisfied(requirements, completed, DegreeAudit.Match.SAME_INSTANCE);
+            BitSet left = DegreeAudit.remaining(requirements, completed, DegreeAudit.Match.CODE_OR_ID);
+            BitSet byKey = pairwiseSatisfied(requirements, completed);
+            for (int i = 0; i < requirements.size(); i++) {
+                Course req = requirements.get(i);
+                boolean byInstance = false;
+                for (Course c : completed) {
+                    byInstance |= c == req;
+                }
+                assertEquals(byKey.get(i), done.get(i), "requirement " + i + " in round " + round);
+                assertEquals(byInstance, same.get(i));
+                assertEquals(!byKey.get(i), left.get(i));
+            }
+        }
+    }
+
+    // The matching Major and Path did before DegreeAudit: every requirement against every completed course
+    private static BitSet pairwiseSatisfied(List<Course> requirements, List<Course> completed) {
+        BitSet satisfied = new BitSet(requirements.size());
+        for (int i = 0; i < requirements.size(); i++) {
+            Course req = requirements.get(i);
+            for (Course c : completed) {
+                if (c == req
+                        || (!req.get_course_code().isEmpty() && req.get_course_code().equals(c.get_course_code()))
+                        || req.get_courseID().equals(c.get_courseID())) {
+                    satisfied.set(i);
+                    break;
+                }
+            }
+        }
+        return satisfied;
+    }
+
+    /**
+     * Opt-in timing of the audit against the pairwise matching it replaced, at the size of
+     * a major (40 requirements) and of a full transcript:
+     *
+     *     mvn test -Dtest=MajorMinorTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkBitSetAuditAgainstPairwiseMatching() {
+        List<Course> catalog = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            catalog.add(new Course("CMPS " + (1000 + i), "Course " + i, "C" + i, 3, null, null, null, null, null,
+                    null, null, null, null));
+        }
+        Random random = new Random(7);
+        int[][] sizes = {{40, 30}, {40, 120}};
+        for (int[] size : sizes) {
+            List<Course> requirements = new ArrayList<>();
+            List<Course> completed = new ArrayList<>();
+            for (int i = 0; i < size[0]; i++) requirements.add(catalog.get(random.nextInt(catalog.size())));
+            // Completed courses are copies, as when reloaded from the database
+            for (int i = 0; i < size[1]; i++) {
+                Course c = catalog.get(random.nextInt(catalog.size()));
+                completed.add(new Course(c.get_courseID(), c.get_course_name(), c.get_course_code(), 3, null, null,
+                        null, null, null, null, null, null, null));
+            }
+            for (int round = 0; round < 3; round++) {
+                int iterations = 20_000;
+                int sink = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    sink += pairwiseSatisfied(requirements, completed).cardinality();
+                }
+                long pairwise = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    sink += DegreeAudit.satisfied(requirements, completed, DegreeAudit.Match.CODE_OR_ID).cardinality();
+                }
+                long audit = System.nanoTime() - start;
+                System.out.println(String.format("BENCHMARK %d requirements x %d completed: pairwise %.2f us, "
+                        + "bitset audit %.2f us (%d)", size[0], size[1], pairwise / 1000.0 / iterations,
+                        audit / 1000.0 / iterations, sink));
+            }
+        }
+    }
 }
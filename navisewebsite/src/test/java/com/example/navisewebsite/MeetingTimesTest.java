@@ -0,0 +1,118 @@
+package com.example.navisewebsite;
+
+import com.example.navisewebsite.domain.MeetingTimes;
+import com.example.navisewebsite.domain.ScheduleDomain.AddedCourseRecord;
+import com.example.navisewebsite.domain.ScheduleDomain.MergeResult;
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.domain.ScheduleDomain.SemesterPlan;
+import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.ScheduleCourseRepository;
+import com.example.navisewebsite.service.ScheduleMergeService;
+import com.example.navisewebsite.service.ScheduleProjectionService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for meeting-time bitmasks and conflict-free merging.
+ */
+public class MeetingTimesTest {
+
+    private static boolean clash(String a, String b) {
+        return MeetingTimes.conflicts(MeetingTimes.parse(a), MeetingTimes.parse(b));
+    }
+
+    @Test
+    void testCatalogFormatsOverlap() {
+        // "11-12:15 PM" starts at 11 AM
+        assertTrue(clash("TR 11-12:15 PM", "T 11:30-12:00"));
+        assertFalse(clash("TR 11-12:15 PM", "MWF 11-11:50 AM"));
+        assertTrue(clash("TTh 10:00-11:15", "R 11:00-11:50"));
+        // Back to back is not a clash
+        assertFalse(clash("MWF 9-9:50 AM", "MWF 9:50-10:40 AM"));
+        // No AM/PM: "3-3:50" is an afternoon class
+        assertTrue(clash("M 3-3:50", "M 15:00-16:00"));
+        assertFalse(clash("M 3-3:50", "M 3-3:50 AM"));
+        assertTrue(clash("T 14:00-16:00", "T 1-5:00 PM"));
+        // Separate columns as stored in courses.db
+        assertTrue(MeetingTimes.conflicts(MeetingTimes.parse("MWF", "12:30-1:45 PM"),
+                MeetingTimes.parse("F 1:00-1:50 PM")));
+    }
+
+    @Test
+    void testUnknownTimesNeverConflict() {
+        assertSame(MeetingTimes.NONE, MeetingTimes.parse("TBA"));
+        assertSame(MeetingTimes.NONE, MeetingTimes.parse("MWF"));
+        assertSame(MeetingTimes.NONE, MeetingTimes.parse(""));
+        assertSame(MeetingTimes.NONE, MeetingTimes.parse("MWF 11-10 AM"));
+        assertFalse(MeetingTimes.conflicts(MeetingTimes.NONE, MeetingTimes.parse("MTWRF 8-5")));
+
+        long[] week = MeetingTimes.emptyWeek();
+        MeetingTimes.occupy(week, MeetingTimes.NONE);
+        assertFalse(MeetingTimes.conflicts(week, MeetingTimes.parse("MTWRF 8:00-17:00")));
+        MeetingTimes.occupy(week, MeetingTimes.parse("W 10-10:50 AM"));
+        assertTrue(MeetingTimes.conflicts(week, MeetingTimes.parse("MWF 10:30-11:20")));
+    }
+
+    @Test
+    void testParsesEachDistinctTimeOnce() {
+        MeetingTimes times = new MeetingTimes(Arrays.asList("MWF 9-9:50 AM", "TR 11-12:15 PM", "MWF 9-9:50 AM", ""));
+        assertEquals(2, times.cachedCount());
+        long[] first = times.slots("MWF 9-9:50 AM");
+        assertSame(first, times.slots(" MWF 9-9:50 AM "));
+        assertSame(MeetingTimes.NONE, times.slots(null));
+        assertEquals(2, times.cachedCount());
+    }
+
+    @Test
+    void testMergeMovesConflictingCourseToAnotherSemester() {
+        ScheduleCourse taken = new ScheduleCourse(1, "CMPS 1500", 4, "Intro", "MWF 9-9:50 AM");
+        ScheduleCourse clashing = new ScheduleCourse(2, "MATH 1210", 4, "Calc", "MWF 9:30-10:45");
+        ScheduleCourse free = new ScheduleCourse(3, "ENGL 1010", 4, "Writing", "TR 9:30-10:45 AM");
+        List<ScheduleCourse> pathway = List.of(taken, clashing, free);
+        Map<Integer, ScheduleCourse> byId = pathway.stream().collect(Collectors.toMap(c -> c.id, c -> c));
+
+        ScheduleCourseRepository courses = new ScheduleCourseRepository() {
+            @Override
+            public List<ScheduleCourse> coursesForPathway(String pathwayId) {
+                return pathway;
+            }
+
+            @Override
+            public Optional<ScheduleCourse> courseById(int id) {
+                return Optional.ofNullable(byId.get(id));
+            }
+
+            @Override
+            public Optional<ScheduleCourse> courseByCode(String code) {
+                return pathway.stream().filter(c -> c.code.equals(code)).findFirst();
+            }
+        };
+        ScheduleMergeService merge = new ScheduleMergeService(
+                new ScheduleProjectionService(courses, userId -> Collections.singletonList(1)));
+
+        SchedulePlan original = new SchedulePlan();
+        SemesterPlan first = new SemesterPlan("Semester 1");
+        first.courses.add(taken);
+        original.semesters.add(first);
+
+        MergeResult result = merge.mergeWithExistingSchedule(original, "CS", "7");
+        assertEquals(2, result.mergedSchedule.semesters.size());
+        assertEquals(List.of("CMPS 1500", "ENGL 1010"), codes(result.mergedSchedule.semesters.get(0)));
+        assertEquals(List.of("MATH 1210"), codes(result.mergedSchedule.semesters.get(1)));
+        for (AddedCourseRecord record : result.addedCourses) {
+            assertNotEquals("UNSCHEDULED", record.semesterLabel);
+        }
+    }
+
+    private static List<String> codes(SemesterPlan sem) {
+        return sem.courses.stream().map(c -> c.code).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.navisewebsite;
+
+import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.PrerequisiteGraph;
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.domain.Term;
+import com.example.navisewebsite.domain.TermCalendar;
+import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.ScheduleCourseRepository;
+import com.example.navisewebsite.repository.TestCourses;
+import com.example.navisewebsite.service.ScheduleProjectionService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the prerequisite graph and the layered semester scheduler.
+ */
+public class PrerequisiteGraphTest {
+
+    private static Course course(String id, int credits, String prereqs, String coreqs) {
+        Course c = TestCourses.course(id, id.replace(" ", ""), credits, prereqs);
+        c.setCorequisitesFromCSV(coreqs);
+        return c;
+    }
+
+    // A slice of the real catalog: labs are 0-credit corequisites
+    private static List<Course> catalog() {
+        return Arrays.asList(
+                course("CMPS 1500", 4, "", "CMPS 1501"),
+                course("CMPS 1501", 0, "", "CMPS 1500"),
+                course("CMPS 1600", 4, "CMPS 1500", "CMPS 1601"),
+                course("CMPS 1601", 0, "", "CMPS 1600"),
+                course("MATH 1210", 4, "", ""),
+                course("CMPS 2170", 3, "MATH 1210", ""),
+                course("CMPS 2200", 4, "CMPS 1600", "CMPS 2201, CMPS 2170"),
+                course("CMPS 2201", 0, "", "CMPS 2200"),
+                course("CMPS 4010", 2, "CMPS 2200", ""),
+                course("CMPS 4020", 2, "cmps 4010", ""));
+    }
+
+    private static int semesterOf(List<List<String>> semesters, String id) {
+        for (int s = 0; s < semesters.size(); s++) {
+            if (semesters.get(s).contains(id)) return s;
+        }
+        return -1;
+    }
+
+    @Test
+    public void testPrerequisitesComeFirstAndCorequisitesShareASemester() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(catalog());
+        assertTrue(graph.cycles().isEmpty());
+        assertEquals(List.of("CMPS 4010"), graph.prerequisitesOf("CMPS 4020"));
+        assertTrue(graph.sameCorequisiteGroup("CMPS 2200", "CMPS 2170"));
+
+        List<String> ids = catalog().stream().map(Course::get_courseID).collect(Collectors.toList());
+        Collections.reverse(ids);
+        PrerequisiteGraph.Schedule<String> schedule = graph.schedule(ids, id -> id, id -> graph.indexOf(id) < 0 ? 0
+                : catalog().get(graph.indexOf(id)).get_credit_hours(), Collections.emptyList());
+        List<List<String>> semesters = schedule.semesters;
+
+        assertTrue(schedule.unscheduled.isEmpty());
+        assertEquals(ids.size(), semesters.stream().mapToInt(List::size).sum());
+        for (Course c : catalog()) {
+            for (String p : graph.prerequisitesOf(c.get_courseID())) {
+                assertTrue(semesterOf(semesters, p) < semesterOf(semesters, c.get_courseID()),
+                        p + " must come before " + c.get_courseID());
+            }
+        }
+        int s = semesterOf(semesters, "CMPS 2200");
+        assertEquals(s, semesterOf(semesters, "CMPS 2201"));
+        assertEquals(s, semesterOf(semesters, "CMPS 2170"));
+        assertEquals(semesterOf(semesters, "CMPS 1500"), semesterOf(semesters, "CMPS 1501"));
+        // The chain CMPS 1500 -> 1600 -> 2200 -> 4010 -> 4020 needs five semesters
+        assertEquals(5, semesters.size());
+
+        // A completed prerequisite no longer holds its course back
+        PrerequisiteGraph.Schedule<String> afterMath = graph.schedule(List.of("CMPS 2170"), id -> id, id -> 3,
+                List.of("MATH 1210"));
+        assertEquals(List.of(List.of("CMPS 2170")), afterMath.semesters);
+    }
+
+    @Test
+    public void testCreditCapsShapeSemesters() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(Collections.emptyList());
+        List<Integer> credits = new ArrayList<>(Collections.nCopies(13, 3));
+        credits.add(5);
+
+        PrerequisiteGraph.Schedule<Integer> schedule = graph.schedule(credits, c -> null, c -> c, List.of());
+
+        // Nothing has prerequisites, so heavier courses go first: 5 + 3 * 4, then 3 * 6, then the rest
+        assertEquals(Arrays.asList(17, 18, 9), schedule.semesters.stream()
+                .map(sem -> sem.stream().mapToInt(Integer::intValue).sum())
+                .collect(Collectors.toList()));
+
+        // Below the minimum a semester may go past the target up to the max
+        PrerequisiteGraph.Schedule<Integer> tight = graph.schedule(List.of(10, 10, 10), c -> null, c -> c,
+                List.of(), 12, 15, 21);
+        assertEquals(20, tight.semesters.get(0).stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testCyclesAreReportedAndLeftUnscheduled() {
+        List<Course> courses = Arrays.asList(
+                course("A 1000", 3, "B 1000", ""),
+                course("B 1000", 3, "A 1000", ""),
+                course("C 1000", 3, "B 1000", ""),
+                course("D 1000", 3, "", "E 1000"),
+                course("E 1000", 3, "D 1000", ""),
+                course("F 1000", 3, "", ""));
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(courses);
+
+        assertEquals(List.of(List.of("A 1000", "B 1000"), List.of("D 1000", "E 1000")), graph.cycles());
+
+        PrerequisiteGraph.Schedule<String> schedule = graph.schedule(
+                List.of("A 1000", "B 1000", "C 1000", "F 1000"), id -> id, id -> 3, List.of());
+        assertEquals(List.of(List.of("F 1000")), schedule.semesters);
+        assertEquals(List.of("A 1000", "B 1000", "C 1000"), schedule.unscheduled);
+    }
+
+    @Test
+    public void testProjectionServiceUsesTheGraph() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(catalog());
+        // ScheduleCourse codes are matched to the graph by course_code
+        List<ScheduleCourse> required = Arrays.asList(
+                new ScheduleCourse(1, "CMPS4020", 2, "Capstone II", ""),
+                new ScheduleCourse(2, "CMPS4010", 2, "Capstone I", ""),
+                new ScheduleCourse(3, "CMPS2200", 4, "Intro to Algorithms", ""),
+                new ScheduleCourse(4, "CMPS1600", 4, "Intro to CS II", ""));
+        ScheduleCourseRepository courses = new ScheduleCourseRepository() {
+            public List<ScheduleCourse> coursesForPathway(String pathwayId) { return required; }
+            public Optional<ScheduleCourse> courseById(int id) { return Optional.empty(); }
+            public Optional<ScheduleCourse> courseByCode(String code) { return Optional.empty(); }
+        };
+        ScheduleProjectionService service = new ScheduleProjectionService(courses, userId -> List.of(), graph);
+
+        SchedulePlan plan = service.projectForPrograms("CS", null, "u1", 18);
+
+        assertEquals(Arrays.asList("CMPS1600", "CMPS2200", "CMPS4010", "CMPS4020"), plan.semesters.stream()
+                .map(sem -> sem.courses.get(0).code)
+                .collect(Collectors.toList()));
+        assertEquals(4, service.estimateSemestersNeeded("CS", "u1", 18));
+        assertEquals(1, new ScheduleProjectionService(courses, userId -> List.of())
+                .estimateSemestersNeeded("CS", "u1", 18));
+    }
+
+    @Test
+    public void testTermsOfferedGateSemesters() {
+        List<Course> courses = Arrays.asList(
+                course("A 1000", 4, "", ""),
+                course("B 1000", 4, "A 1000", ""),
+                course("C 1000", 4, "", ""),
+                course("D 1000", 4, "", ""));
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(courses);
+        Map<String, Integer> offered = Map.of(
+                "A 1000", Term.FALL.bit,
+                "B 1000", Term.SPRING.bit,
+                "C 1000", Term.mask(List.of(" Fall", "Spring ")),
+                // Summer only, but the calendar has no summers: treated as any term
+                "D 1000", Term.SUMMER.bit);
+
+        PrerequisiteGraph.Schedule<String> schedule = graph.schedule(
+                List.of("A 1000", "B 1000", "C 1000", "D 1000"), id -> id, id -> 4, offered::get,
+                List.of(), new TermCalendar(Term.FALL, false));
+        assertEquals(List.of(List.of("A 1000", "C 1000", "D 1000"), List.of("B 1000")), schedule.semesters);
+        assertEquals(List.of(Term.FALL, Term.SPRING), schedule.terms);
+
+        // Starting in Spring, A has to wait for Fall and B for the Spring after
+        PrerequisiteGraph.Schedule<String> fromSpring = graph.schedule(
+                List.of("A 1000", "B 1000"), id -> id, id -> 4, offered::get,
+                List.of(), new TermCalendar(Term.SPRING, false));
+        assertEquals(List.of(List.of(), List.of("A 1000"), List.of("B 1000")), fromSpring.semesters);
+        assertEquals(List.of(Term.SPRING, Term.FALL, Term.SPRING), fromSpring.terms);
+
+        // Without a calendar terms are ignored
+        assertTrue(graph.schedule(List.of("A 1000"), id -> id, id -> 4, List.of()).terms.isEmpty());
+    }
+
+    @Test
+    public void testTermCalendar() {
+        TermCalendar calendar = TermCalendar.upcoming(LocalDate.of(2026, 10, 17), false);
+        assertEquals(Term.SPRING, calendar.first);
+        assertEquals(Term.FALL, calendar.termAt(1));
+        assertEquals("Semester 3 (Spring)", calendar.label(2));
+        assertEquals(Term.FALL, TermCalendar.upcoming(LocalDate.of(2026, 2, 1), false).first);
+
+        TermCalendar withSummer = TermCalendar.upcoming(LocalDate.of(2026, 2, 1), true);
+        assertEquals(List.of(Term.SUMMER, Term.FALL, Term.SPRING, Term.SUMMER),
+                List.of(withSummer.termAt(0), withSummer.termAt(1), withSummer.termAt(2), withSummer.termAt(3)));
+        assertEquals(Term.ANY, Term.mask(List.of()));
+        assertEquals(Term.ANY, Term.mask(List.of("TBA")));
+        assertThrows(IllegalArgumentException.class, () -> new TermCalendar(Term.SUMMER, false));
+    }
+
+    @Test
+    public void testProjectionServiceLabelsSeasons() {
+        List<ScheduleCourse> required = Arrays.asList(
+                new ScheduleCourse(1, "FALL1", 12, "Fall only", "", Term.FALL.bit),
+                new ScheduleCourse(2, "SPRING1", 12, "Spring only", "", Term.SPRING.bit));
+        ScheduleCourseRepository courses = new ScheduleCourseRepository() {
+            public List<ScheduleCourse> coursesForPathway(String pathwayId) { return required; }
+            public Optional<ScheduleCourse> courseById(int id) { return Optional.empty(); }
+            public Optional<ScheduleCourse> courseByCode(String code) { return Optional.empty(); }
+        };
+        // No catalog graph: terms still apply
+        ScheduleProjectionService service = new ScheduleProjectionService(courses, userId -> List.of(), null, null,
+                new TermCalendar(Term.SPRING, false));
+
+        SchedulePlan plan = service.projectForPrograms("CS", null, "u1", 18);
+        assertEquals(List.of("Semester 1 (Spring)", "Semester 2 (Fall)"), plan.semesters.stream()
+                .map(sem -> sem.semesterLabel).collect(Collectors.toList()));
+        assertEquals("SPRING1", plan.semesters.get(0).courses.get(0).code);
+        assertEquals("FALL1", plan.semesters.get(1).courses.get(0).code);
+    }
+}
@@ -3,7 +3,9 @@ package com.example.navisewebsite;
 import org.junit.jupiter.api.Test;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
+import com.example.navisewebsite.domain.CreditBuckets;
 import com.example.navisewebsite.domain.ProjectedSchedule;
+import java.util.stream.Collectors;
 
 public class ProjectedScheduleTests {
 
@@ -342,4 +344,71 @@ public class ProjectedScheduleTests {
         assertTrue(missing.isEmpty());
     }
 
+    @Test
+    public void testSemesterCreditTotalFollowsListChanges() {
+        ProjectedSchedule.SemesterPlan sem = new ProjectedSchedule.SemesterPlan("Semester 1");
+        ProjectedSchedule.Course calc = new ProjectedSchedule.Course(1, "MATH1210", 4, "Calculus I", "");
+        sem.courses.add(calc);
+        sem.courses.addAll(Arrays.asList(
+                new ProjectedSchedule.Course(2, "CMPS1500", 3, "Intro CS", ""),
+                new ProjectedSchedule.Course(3, "LAB1", 1, "Lab", "")));
+        assertEquals(8, sem.totalCredits());
+
+        sem.courses.removeIf(c -> c.code.equals("LAB1"));
+        sem.courses.set(0, new ProjectedSchedule.Course(4, "MATH2210", 5, "Calculus III", ""));
+        assertEquals(8, sem.totalCredits());
+        sem.courses.remove(calc); // already replaced, nothing to remove
+        sem.courses.remove(0);
+        assertEquals(3, sem.totalCredits());
+        sem.courses.clear();
+        assertEquals(0, sem.totalCredits());
+    }
+
+    @Test
+    public void testCreditBucketsTakeLargestThatFitsInInputOrder() {
+        List<ProjectedSchedule.Course> courses = Arrays.asList(
+                new ProjectedSchedule.Course(1, "A", 3, "", ""),
+                new ProjectedSchedule.Course(2, "B", 4, "", ""),
+                new ProjectedSchedule.Course(3, "C", 3, "", ""),
+                new ProjectedSchedule.Course(4, "D", 1, "", ""));
+        CreditBuckets<ProjectedSchedule.Course> buckets = new CreditBuckets<>(courses, c -> c.credits);
+
+        assertEquals("B", buckets.takeLargestAtMost(5).code);
+        assertEquals("A", buckets.takeLargestAtMost(3).code);
+        assertNull(buckets.takeLargestAtMost(0));
+        assertEquals(Arrays.asList("C", "D"), buckets.remaining().stream().map(c -> c.code).collect(Collectors.toList()));
+        assertEquals("D", buckets.takeLargestAtMost(2).code);
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    public void testCreditBucketsPassTestsEachCourseOnceAndKeepsSkippedInOrder() {
+        List<ProjectedSchedule.Course> courses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            courses.add(new ProjectedSchedule.Course(i, (i % 2 == 0 ? "X" : "Y") + i, 3, "", ""));
+        }
+        CreditBuckets<ProjectedSchedule.Course> buckets = new CreditBuckets<>(courses, c -> c.credits);
+
+        // Only the odd courses are accepted in this pass
+        int[] tests = {0};
+        CreditBuckets<ProjectedSchedule.Course>.Pass pass = buckets.pass(c -> {
+            tests[0]++;
+            return c.code.startsWith("Y");
+        });
+        int taken = 0;
+        while (pass.takeLargestAtMost(3) != null) {
+            taken++;
+        }
+        assertEquals(100, taken);
+        assertEquals(200, tests[0]);
+
+        // The skipped ones are still there, in input order
+        List<String> left = buckets.remaining().stream().map(c -> c.code).collect(Collectors.toList());
+        assertEquals(100, left.size());
+        assertEquals("X0", left.get(0));
+        assertEquals("X198", left.get(99));
+        assertEquals("X0", buckets.takeLargestAtMost(3, c -> true).code);
+        assertEquals("X4", buckets.takeLargestAtMost(3, c -> !c.code.equals("X2")).code);
+        assertEquals("X2", buckets.takeLargestAtMost(3).code);
+    }
 }
@@ -0,0 +1,205 @@
+package com.example.navisewebsite;
+
+import com.example.navisewebsite.domain.SemesterPacker;
+import com.example.navisewebsite.domain.SemesterPacker.Packing;
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.ScheduleCourseRepository;
+import com.example.navisewebsite.service.PackingSelector;
+import com.example.navisewebsite.service.ScheduleProjectionService;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SemesterPacker's strategies and PackingSelector.
+ */
+public class SemesterPackerTest {
+
+    @Test
+    public void testExactSearchBeatsBestFit() {
+        // Largest-first needs 3 semesters; {5,4,3} + {5,3,3,1} fits in 2
+        int[] credits = {5, 5, 4, 3, 3, 3, 1};
+
+        Packing heuristic = SemesterPacker.pack(credits, 12, 0);
+        assertEquals(3, heuristic.semesterCount());
+        assertFalse(heuristic.optimal);
+
+        Packing exact = SemesterPacker.pack(credits, 12);
+        assertEquals(2, exact.semesterCount());
+        assertTrue(exact.optimal);
+        assertValid(credits, 12, exact);
+    }
+
+    @Test
+    public void testOversizedCourseGetsItsOwnSemester() {
+        int[] credits = {3, 8, 3, 0};
+
+        Packing packing = SemesterPacker.pack(credits, 6);
+
+        assertEquals(2, packing.semesterCount());
+        assertTrue(packing.semesters.contains(List.of(1)));
+        assertValid(credits, 6, packing);
+        assertEquals(0, SemesterPacker.pack(new int[0], 6).semesterCount());
+        assertThrows(IllegalArgumentException.class, () -> SemesterPacker.pack(credits, 0));
+    }
+
+    @Test
+    public void testRandomInstancesAreValidAndNeverWorseThanBestFit() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            int cap = 6 + random.nextInt(16);
+            int[] credits = new int[5 + random.nextInt(40)];
+            long total = 0;
+            for (int i = 0; i < credits.length; i++) {
+                credits[i] = 1 + random.nextInt(5);
+                total += credits[i];
+            }
+
+            Packing heuristic = SemesterPacker.pack(credits, cap, 0);
+            Packing packing = SemesterPacker.pack(credits, cap);
+
+            assertValid(credits, cap, packing);
+            assertTrue(packing.semesterCount() <= heuristic.semesterCount());
+            assertTrue(packing.semesterCount() >= (total + cap - 1) / cap);
+            if (credits.length <= 9) {
+                assertTrue(packing.optimal);
+                assertEquals(minimumSemesters(credits, cap), packing.semesterCount());
+            }
+        }
+    }
+
+    @Test
+    public void testGreedyKeepsInputOrder() {
+        int[] credits = {3, 3, 3, 7, 7, 12, 7};
+
+        Packing packing = SemesterPacker.firstFit(credits, 10);
+
+        // Pairing each 3 with a 7 would need one semester fewer
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3), List.of(4), List.of(6), List.of(5)), packing.semesters);
+        assertFalse(packing.optimal);
+        assertValid(credits, 10, packing);
+        assertEquals(4, SemesterPacker.pack(credits, 10).semesterCount());
+    }
+
+    @Test
+    public void testLocalSearchImprovesLargeInstances() {
+        Random random = new Random(7);
+        for (int run = 0; run < 50; run++) {
+            int cap = 12 + random.nextInt(7);
+            int[] credits = new int[60 + random.nextInt(60)];
+            for (int i = 0; i < credits.length; i++) {
+                credits[i] = 1 + random.nextInt(6);
+            }
+
+            Packing heuristic = SemesterPacker.pack(credits, cap, 0);
+            Packing packing = SemesterPacker.localSearch(credits, cap, SemesterPacker.DEFAULT_BUDGET_NANOS);
+
+            assertValid(credits, cap, packing);
+            assertTrue(packing.semesterCount() <= heuristic.semesterCount());
+        }
+        // {5,5,4,3,3,3,1} in 12: best-fit needs 3, moving courses out of the lightest gives 2
+        Packing small = SemesterPacker.localSearch(new int[] {5, 5, 4, 3, 3, 3, 1}, 12,
+                SemesterPacker.DEFAULT_BUDGET_NANOS);
+        assertEquals(2, small.semesterCount());
+        assertTrue(small.optimal);
+    }
+
+    @Test
+    public void testSelectorPicksByInstanceSizeAndBudget() {
+        PackingSelector selector = new PackingSelector();
+        long plenty = SemesterPacker.DEFAULT_BUDGET_NANOS;
+
+        assertSame(SemesterPacker.GREEDY, selector.select(20, 0));
+        assertSame(SemesterPacker.BEST_FIT, selector.select(20, PackingSelector.MIN_SEARCH_NANOS - 1));
+        assertSame(SemesterPacker.BEST_FIT, selector.select(1, plenty));
+        assertSame(SemesterPacker.EXACT, selector.select(PackingSelector.EXACT_MAX_COURSES, plenty));
+        assertSame(SemesterPacker.LOCAL_SEARCH, selector.select(PackingSelector.EXACT_MAX_COURSES + 1, plenty));
+
+        int[] credits = {5, 5, 4, 3, 3, 3, 1};
+        PackingSelector.Selection selection = selector.pack(credits, 12, System.nanoTime() + plenty);
+        assertSame(SemesterPacker.EXACT, selection.strategy);
+        assertEquals(2, selection.packing.semesterCount());
+        assertTrue(selection.elapsedNanos >= 0);
+        // Past the deadline the cheapest strategy still returns a valid packing
+        PackingSelector.Selection late = selector.pack(credits, 12, System.nanoTime() - 1);
+        assertSame(SemesterPacker.GREEDY, late.strategy);
+        assertValid(credits, 12, late.packing);
+    }
+
+    @Test
+    public void testProjectionPacksWithinTheCallersDeadline() {
+        List<ScheduleCourse> required = new ArrayList<>();
+        int[] credits = {5, 5, 4, 3, 3, 3, 1};
+        for (int i = 0; i < credits.length; i++) {
+            required.add(new ScheduleCourse(i + 1, "C" + i, credits[i], "Course " + i, ""));
+        }
+        ScheduleCourseRepository courses = new ScheduleCourseRepository() {
+            public List<ScheduleCourse> coursesForPathway(String pathwayId) { return required; }
+            public Optional<ScheduleCourse> courseById(int id) { return Optional.empty(); }
+            public Optional<ScheduleCourse> courseByCode(String code) { return Optional.empty(); }
+        };
+        ScheduleProjectionService service = new ScheduleProjectionService(courses, userId -> new ArrayList<>());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            // Plenty of time: the exact search finds 2 semesters
+            assertEquals(2, service.estimateSemestersNeeded("CS", "u1", 12, System.nanoTime() + 1_000_000_000L));
+            // A request already out of time gets the cheap pass, which needs 3
+            assertEquals(3, service.estimateSemestersNeeded("CS", "u1", 12, System.nanoTime() - 1));
+            assertEquals(1, registry.get("schedule.packing").tag("strategy", SemesterPacker.EXACT.name()).timer().count());
+            assertEquals(1, registry.get("schedule.packing").tag("strategy", SemesterPacker.GREEDY.name()).timer().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    // Exhaustive minimum for small instances
+    private static int minimumSemesters(int[] credits, int cap) {
+        for (int k = 1; ; k++) {
+            if (fits(credits, 0, new int[k], cap)) {
+                return k;
+            }
+        }
+    }
+
+    private static boolean fits(int[] credits, int i, int[] load, int cap) {
+        if (i == credits.length) {
+            return true;
+        }
+        for (int b = 0; b < load.length; b++) {
+            if (load[b] + credits[i] <= cap) {
+                load[b] += credits[i];
+                boolean done = fits(credits, i + 1, load, cap);
+                load[b] -= credits[i];
+                if (done) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void assertValid(int[] credits, int cap, Packing packing) {
+        boolean[] seen = new boolean[credits.length];
+        for (List<Integer> semester : packing.semesters) {
+            assertFalse(semester.isEmpty());
+            int load = 0;
+            for (int index : semester) {
+                assertFalse(seen[index], "course placed twice: " + index);
+                seen[index] = true;
+                load += credits[index];
+            }
+            assertTrue(load <= cap || semester.size() == 1, "semester over cap: " + semester);
+        }
+        for (boolean placed : seen) {
+            assertTrue(placed);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.navisewebsite.config;
+
+import com.example.navisewebsite.config.PrincipalToken.Principal;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrincipalTokenTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2025-01-15T12:00:00Z");
+
+    private final PrincipalToken tokens = new PrincipalToken(SECRET, Duration.ofMinutes(30), Duration.ofHours(24));
+
+    private static Map<String, Object> student() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("userId", 42);
+        attributes.put("email", "ada@tulane.edu");
+        attributes.put("userType", "student");
+        attributes.put("firstName", "Ada");
+        attributes.put("lastName", "Lovelace");
+        attributes.put("major", "Computer Science");
+        attributes.put("minor", "");
+        attributes.put("schoolYear", "Junior");
+        return attributes;
+    }
+
+    @Test
+    public void testRoundTripKeepsEveryAttribute() {
+        String token = tokens.issue(student(), NOW);
+        Principal principal = tokens.verify(token, NOW.plusSeconds(60)).orElseThrow();
+        assertEquals(student(), principal.attributes);
+        assertEquals(NOW.plus(Duration.ofMinutes(30)), principal.expiresAt);
+        assertEquals(NOW.plus(Duration.ofHours(24)), principal.absoluteExpiresAt);
+
+        // Another instance with the same secret accepts it
+        PrincipalToken other = new PrincipalToken(SECRET.clone(), Duration.ofMinutes(30), Duration.ofHours(24));
+        assertTrue(other.verify(token, NOW).isPresent());
+    }
+
+    @Test
+    public void testRejectsTamperedExpiredAndForeignTokens() {
+        String token = tokens.issue(student(), NOW);
+        int dot = token.indexOf('.');
+        char first = token.charAt(0);
+        String tampered = (first == 'A' ? 'B' : 'A') + token.substring(1);
+        assertTrue(tokens.verify(tampered, NOW).isEmpty());
+        assertTrue(tokens.verify(token.substring(0, dot), NOW).isEmpty());
+        assertTrue(tokens.verify("not a token", NOW).isEmpty());
+        assertTrue(tokens.verify(null, NOW).isEmpty());
+
+        assertTrue(tokens.verify(token, NOW.plus(Duration.ofMinutes(30))).isEmpty());
+
+        byte[] otherSecret = SECRET.clone();
+        otherSecret[0] ^= 1;
+        assertTrue(new PrincipalToken(otherSecret, Duration.ofMinutes(30), Duration.ofHours(24)).verify(token, NOW).isEmpty());
+    }
+
+    @Test
+    public void testOnlyPrincipalAttributesAreIssued() {
+        assertThrows(IllegalArgumentException.class, () -> tokens.issue(Map.of("cart", "x"), NOW));
+        assertThrows(IllegalArgumentException.class, () -> tokens.issue(Map.of("userId", "42"), NOW));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrincipalToken(new byte[8], Duration.ofMinutes(30), Duration.ofHours(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrincipalToken(SECRET, Duration.ofHours(2), Duration.ofHours(1)));
+    }
+
+    @Test
+    public void testRenewalSlidesIdleExpiryUpToAbsoluteExpiry() {
+        Instant absolute = tokens.verify(tokens.issue(student(), NOW), NOW).orElseThrow().absoluteExpiresAt;
+
+        // Active every 20 minutes: each renewal restarts the 30 minutes, the sign-in's limit stays
+        Instant at = NOW;
+        String token = tokens.issue(student(), NOW);
+        while (at.plus(Duration.ofMinutes(20)).isBefore(absolute)) {
+            at = at.plus(Duration.ofMinutes(20));
+            Principal principal = tokens.verify(token, at).orElseThrow();
+            assertEquals(absolute, principal.absoluteExpiresAt);
+            token = tokens.renew(principal.attributes, principal.absoluteExpiresAt, at);
+        }
+        Principal last = tokens.verify(token, at).orElseThrow();
+        assertEquals(absolute, last.expiresAt, "renewal near the end is capped by the absolute expiry");
+        assertTrue(tokens.verify(token, absolute).isEmpty());
+
+        // Idle for longer than the timeout: rejected well before the absolute expiry
+        String idle = tokens.issue(student(), NOW);
+        assertTrue(tokens.verify(idle, NOW.plus(Duration.ofMinutes(29))).isPresent());
+        assertTrue(tokens.verify(idle, NOW.plus(Duration.ofMinutes(31))).isEmpty());
+    }
+}
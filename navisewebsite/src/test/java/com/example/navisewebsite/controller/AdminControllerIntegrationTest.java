@@ -1,6 +1,8 @@
 package com.example.navisewebsite.controller;
 
+import com.example.navisewebsite.config.PrincipalToken;
 import com.example.navisewebsite.repository.CourseRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository;
 import com.example.navisewebsite.repository.TestDatabaseConfig;
 import com.example.navisewebsite.domain.Course;
 import org.junit.jupiter.api.Test;
@@ -10,11 +12,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import jakarta.servlet.http.Cookie;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,7 +34,13 @@ public class AdminControllerIntegrationTest {
     @Autowired
     private CourseRepository courseRepository;
 
-    private MockHttpSession adminSession;
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+
+    @Autowired
+    private PrincipalToken tokens;
+
+    private Cookie adminCookie;
 
     @BeforeAll
     public static void setUpAll() {
@@ -47,17 +59,15 @@ public class AdminControllerIntegrationTest {
         // Clear all data before each test for test isolation
         TestDatabaseConfig.clearAllData();
         
-        // Create a mock admin session
-        adminSession = new MockHttpSession();
-        adminSession.setAttribute("userType", "admin");
-        adminSession.setAttribute("email", "admin@test.com");
-        adminSession.setAttribute("userId", 1);
+        // Sign in as an admin with a signed principal cookie
+        adminCookie = new Cookie(PrincipalToken.COOKIE_NAME,
+                tokens.issue(Map.of("userType", "admin", "email", "admin@test.com", "userId", 1)));
     }
 
     @Test
     public void testAddCourseFormSubmitsAndPersists() throws Exception {
         mockMvc.perform(post("/admin/add-course")
-                .session(adminSession)
+                .cookie(adminCookie)
                 .param("courseID", "TEST101")
                 .param("courseName", "Test Course")
                 .param("courseCode", "TST101")
@@ -86,7 +96,7 @@ public class AdminControllerIntegrationTest {
     @Test
     public void testAddProgramFormSubmitsAndPersists() throws Exception {
         mockMvc.perform(post("/admin/add-program")
-                .session(adminSession)
+                .cookie(adminCookie)
                 .param("programName", "Computer Science")
                 .param("programType", "Major"))
                 .andExpect(status().isOk())
@@ -97,16 +107,46 @@ public class AdminControllerIntegrationTest {
     public void testRemoveProgramFormSubmitsAndRemoves() throws Exception {
         // First, add a program
         mockMvc.perform(post("/admin/add-program")
-                .session(adminSession)
+                .cookie(adminCookie)
                 .param("programName", "Test Program")
                 .param("programType", "Major"))
                 .andExpect(status().isOk());
 
         // Then, remove the program
         mockMvc.perform(post("/admin/remove-program")
-                .session(adminSession)
+                .cookie(adminCookie)
                 .param("programName", "Test Program"))
                 .andExpect(status().isOk())
                 .andExpect(MockMvcResultMatchers.view().name("admin-home"));
     }
+
+    @Test
+    public void testUpdateStudentInfoRefreshesCachedStudentPages() throws Exception {
+        studentInfoRepository.insertStudentInfo(9, "Ada", "Lovelace", "Computer Science", "", "Junior", "");
+        Cookie studentCookie = new Cookie(PrincipalToken.COOKIE_NAME,
+                tokens.issue(Map.of("userType", "student", "userId", 9, "email", "ada@tulane.edu")));
+
+        MockHttpServletResponse first = mockMvc.perform(get("/student/my-courses").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.model().attribute("major", "Computer Science"))
+                .andReturn().getResponse();
+        String etag = first.getHeader("ETag");
+        String lastModified = first.getHeader("Last-Modified");
+
+        mockMvc.perform(post("/admin/update-student-info")
+                .cookie(adminCookie)
+                .param("userId", "9")
+                .param("major", "Mathematics")
+                .param("minor", ""))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.model().attribute("message", "Student info updated successfully!"));
+
+        // Neither a 304 nor the cached model: the page is rebuilt with the new major
+        String updated = mockMvc.perform(get("/student/my-courses").cookie(studentCookie)
+                        .header("If-None-Match", etag).header("If-Modified-Since", lastModified))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.model().attribute("major", "Mathematics"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(updated).isNotEqualTo(etag);
+    }
 }
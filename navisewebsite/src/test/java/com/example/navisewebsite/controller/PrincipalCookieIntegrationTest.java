@@ -0,0 +1,156 @@
+package com.example.navisewebsite.controller;
+
+import com.example.navisewebsite.config.PrincipalToken;
+import com.example.navisewebsite.config.PrincipalToken.Principal;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.TestDatabaseConfig;
+import com.example.navisewebsite.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import jakarta.servlet.http.Cookie;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PrincipalCookieIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+
+    @Autowired
+    private PrincipalToken tokens;
+
+    private int userId;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setup() {
+        TestDatabaseConfig.clearAllData();
+        userId = userRepository.addStudent("ada@tulane.edu", "secret", "Ada", "Lovelace");
+        studentInfoRepository.insertStudentInfo(userId, "Ada", "Lovelace", "Computer Science", "", "Junior", "");
+    }
+
+    private Cookie login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/do-login").param("email", "ada@tulane.edu").param("password", "secret"))
+                .andExpect(redirectedUrl("/student-home"))
+                .andReturn();
+        // No container session is created; the principal travels in the cookie
+        assertThat(result.getRequest().getSession(false)).isNull();
+        Cookie cookie = result.getResponse().getCookie(PrincipalToken.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+        return cookie;
+    }
+
+    @Test
+    public void testLoginCookieAuthenticatesLaterRequests() throws Exception {
+        Cookie cookie = login();
+        assertThat(tokens.verify(cookie.getValue()).orElseThrow().attributes)
+                .containsEntry("userId", userId)
+                .containsEntry("userType", "student")
+                .containsEntry("major", "Computer Science");
+
+        mockMvc.perform(get("/student/my-courses").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("major", "Computer Science"));
+        mockMvc.perform(get("/student/my-courses"))
+                .andExpect(redirectedUrl("/"));
+    }
+
+    @Test
+    public void testTamperedCookieIsRejectedAndCleared() throws Exception {
+        Cookie cookie = login();
+        String value = cookie.getValue();
+        Cookie tampered = new Cookie(PrincipalToken.COOKIE_NAME, value.substring(0, value.length() - 2) + "AA");
+
+        MvcResult result = mockMvc.perform(get("/student/my-courses").cookie(tampered))
+                .andExpect(redirectedUrl("/"))
+                .andReturn();
+        assertThat(result.getResponse().getCookie(PrincipalToken.COOKIE_NAME).getMaxAge()).isZero();
+    }
+
+    @Test
+    public void testProfileUpdateReissuesAndLogoutClearsCookie() throws Exception {
+        Cookie cookie = login();
+        MvcResult updated = mockMvc.perform(post("/student/profile/update").cookie(cookie)
+                        .param("firstName", "Ada").param("lastName", "Lovelace")
+                        .param("major", "Mathematics").param("minor", "").param("schoolYear", "Senior"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie reissued = updated.getResponse().getCookie(PrincipalToken.COOKIE_NAME);
+        assertThat(tokens.verify(reissued.getValue()).orElseThrow().attributes)
+                .containsEntry("major", "Mathematics")
+                .containsEntry("schoolYear", "Senior");
+
+        MvcResult loggedOut = mockMvc.perform(post("/logout").cookie(reissued))
+                .andExpect(redirectedUrl("/home"))
+                .andReturn();
+        assertThat(loggedOut.getResponse().getCookie(PrincipalToken.COOKIE_NAME).getMaxAge()).isZero();
+    }
+
+    @Test
+    public void testActiveRequestsRenewIdleExpiryButNotAbsoluteExpiry() throws Exception {
+        Instant now = Instant.now();
+        Map<String, Object> student = Map.of("userType", "student", "userId", userId, "email", "ada@tulane.edu");
+        Instant absolute = now.plus(Duration.ofHours(3));
+
+        // Issued just now: nothing to renew, no Set-Cookie
+        Cookie recent = new Cookie(PrincipalToken.COOKIE_NAME, tokens.renew(student, absolute, now));
+        MvcResult unchanged = mockMvc.perform(get("/student/my-courses").cookie(recent))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(unchanged.getResponse().getCookie(PrincipalToken.COOKIE_NAME)).isNull();
+
+        // Last renewed 20 minutes ago: re-issued with a fresh idle timeout, same sign-in limit
+        Cookie older = new Cookie(PrincipalToken.COOKIE_NAME,
+                tokens.renew(student, absolute, now.minus(Duration.ofMinutes(20))));
+        Cookie renewed = mockMvc.perform(get("/student/my-courses").cookie(older))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(PrincipalToken.COOKIE_NAME);
+        assertThat(renewed).isNotNull();
+        Principal principal = tokens.verify(renewed.getValue()).orElseThrow();
+        assertThat(principal.absoluteExpiresAt).isEqualTo(absolute.truncatedTo(ChronoUnit.SECONDS));
+        assertThat(principal.expiresAt).isAfter(now.plus(tokens.idleTimeout()).minusSeconds(5));
+        assertThat(renewed.getMaxAge()).isBetween((int) tokens.idleTimeout().toSeconds() - 5,
+                (int) tokens.idleTimeout().toSeconds());
+
+        // Idle past the timeout: signed out
+        Cookie idle = new Cookie(PrincipalToken.COOKIE_NAME,
+                tokens.renew(student, absolute, now.minus(tokens.idleTimeout()).minusSeconds(1)));
+        mockMvc.perform(get("/student/my-courses").cookie(idle))
+                .andExpect(redirectedUrl("/"));
+    }
+}
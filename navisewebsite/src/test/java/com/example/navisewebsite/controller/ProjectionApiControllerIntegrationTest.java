@@ -0,0 +1,116 @@
+package com.example.navisewebsite.controller;
+
+import static com.example.navisewebsite.repository.TestCourses.course;
+import com.example.navisewebsite.config.PrincipalToken;
+import com.example.navisewebsite.repository.CourseRepository;
+import com.example.navisewebsite.repository.ProgramRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.TestDatabaseConfig;
+import com.example.navisewebsite.service.CourseCatalog;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.servlet.http.Cookie;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProjectionApiControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private PrincipalToken tokens;
+
+    private Cookie studentCookie;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setup() {
+        TestDatabaseConfig.clearAllData();
+        courseRepository.addCourse(course("CMPS 1500", "ELEC", 4, ""));
+        courseRepository.addCourse(course("CMPS 1600", "ELEC", 4, "CMPS 1500"));
+        int cs = programRepository.addProgram("Computer Science", "Major");
+        programRepository.addCourseToProgram(cs, "CMPS 1500");
+        programRepository.addCourseToProgram(cs, "CMPS 1600");
+        courseCatalog.refresh();
+
+        studentInfoRepository.insertStudentInfo(7, "Ada", "Lovelace", "Computer Science", "", "Junior", "");
+        studentCookie = new Cookie(PrincipalToken.COOKIE_NAME,
+                tokens.issue(Map.of("userType", "student", "userId", 7)));
+    }
+
+    @Test
+    public void testRepeatedPollIsNotModifiedUntilTranscriptChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/students/7/projection").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.major").value("Computer Science"))
+                .andExpect(jsonPath("$.totalCredits").value(8))
+                .andExpect(jsonPath("$.semesters[0].courses[0].code").value("CMPS 1500"))
+                .andExpect(jsonPath("$.semesters[1].courses[0].code").value("CMPS 1600"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("\"" + courseCatalog.snapshot().revision + "-");
+
+        mockMvc.perform(get("/api/students/7/projection").cookie(studentCookie).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        studentInfoRepository.replaceCompletedCourses(Map.of(7, List.of("CMPS 1500")));
+        mockMvc.perform(get("/api/students/7/projection").cookie(studentCookie).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCredits").value(4))
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    public void testStudentsOnlySeeTheirOwnProjection() throws Exception {
+        mockMvc.perform(get("/api/students/8/projection").cookie(studentCookie))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/students/7/projection"))
+                .andExpect(status().isUnauthorized());
+
+        Cookie adminCookie = new Cookie(PrincipalToken.COOKIE_NAME,
+                tokens.issue(Map.of("userType", "admin", "userId", -1)));
+        mockMvc.perform(get("/api/students/7/projection").cookie(adminCookie).param("major", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.semesters").isEmpty());
+        mockMvc.perform(get("/api/students/8/projection").cookie(adminCookie))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.navisewebsite.controller;
+
+import static com.example.navisewebsite.repository.TestCourses.course;
+import com.example.navisewebsite.config.PrincipalToken;
+import com.example.navisewebsite.repository.CourseRepository;
+import com.example.navisewebsite.repository.DatabaseUtil;
+import com.example.navisewebsite.repository.ProgramRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.TestDatabaseConfig;
+import com.example.navisewebsite.service.CourseCatalog;
+import com.example.navisewebsite.service.StudentPageCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StudentPagesCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private StudentPageCache pageCache;
+
+    @Autowired
+    private PrincipalToken tokens;
+
+    private Cookie studentCookie;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setup() {
+        TestDatabaseConfig.clearAllData();
+        courseCatalog.refresh();
+
+        studentInfoRepository.insertStudentInfo(9, "Ada", "Lovelace", "Computer Science", "", "Junior", "");
+        studentCookie = new Cookie(PrincipalToken.COOKIE_NAME,
+                tokens.issue(Map.of("userType", "student", "userId", 9, "email", "ada@tulane.edu")));
+    }
+
+    @Test
+    public void testPageIsNotModifiedUntilProfileChanges() throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get("/student/my-courses").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("major", "Computer Science"))
+                .andReturn().getResponse();
+        String etag = first.getHeader("ETag");
+        String lastModified = first.getHeader("Last-Modified");
+        assertThat(etag).isNotNull();
+        assertThat(lastModified).isNotNull();
+
+        // Revalidated the way browsers do, with both validators
+        mockMvc.perform(get("/student/my-courses").cookie(studentCookie)
+                        .header("If-None-Match", etag).header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/student/profile/update").cookie(studentCookie)
+                        .param("firstName", "Ada").param("lastName", "Lovelace")
+                        .param("major", "Mathematics").param("minor", "").param("schoolYear", "Senior")
+                        .param("pastCourses", ""))
+                .andExpect(status().isOk());
+
+        String updated = mockMvc.perform(get("/student/my-courses").cookie(studentCookie)
+                        .header("If-None-Match", etag).header("If-Modified-Since", lastModified))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("major", "Mathematics"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(updated).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void testRepeatedViewIsServedFromCache() throws Exception {
+        mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, no-cache"));
+        int cached = pageCache.size();
+        assertThat(cached).isPositive();
+
+        // Nothing changed: the cached model is served, not rebuilt
+        mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                .andExpect(status().isOk());
+        assertThat(pageCache.size()).isEqualTo(cached);
+
+        // Any write through the repository bumps the stored profile version, even one made
+        // without telling this cache (as another instance would), so the page is rebuilt
+        studentInfoRepository.updateStudentInfo(9, "Ada", "Lovelace", "Mathematics", "", "Junior", "");
+        mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("major", "Mathematics"));
+        assertThat(pageCache.size()).isEqualTo(cached + 1);
+
+        // A catalog edit publishes a new version and drops every page
+        courseCatalog.refresh();
+        mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                .andExpect(status().isOk());
+        assertThat(pageCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDegreeProgressTakesRequirementsFromCatalogSnapshot() throws Exception {
+        studentInfoRepository.updateStudentInfo(9, "Ada", "Lovelace", "Computer Science", "", "Junior", "CMPS 1500");
+        courseRepository.addCourse(course("CMPS 1500"));
+        courseRepository.addCourse(course("CMPS 1600"));
+        int major = programRepository.addProgram("Computer Science", "Major");
+        programRepository.addCourseToProgram(major, "CMPS 1500");
+        programRepository.addCourseToProgram(major, "CMPS 1600");
+
+        // Only student rows are read per request; requirements come from the published snapshot
+        mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("majorCompleted", List.of()))
+                .andExpect(model().attribute("majorRemaining", List.of()));
+
+        courseCatalog.refresh();
+        Map<String, Object> model = mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andReturn().getModelAndView().getModel();
+        assertThat(codes(model.get("majorCompleted"))).containsExactly("CMPS 1500");
+        assertThat(codes(model.get("majorRemaining"))).containsExactly("CMPS 1600");
+    }
+
+    @Test
+    public void testFailedTranscriptReadIsShownAndNotCached() throws Exception {
+        // The transcript table disappears, so the read fails rather than coming back empty
+        try (Connection conn = DatabaseUtil.connectStudentInfo(); Statement st = conn.createStatement()) {
+            st.execute("ALTER TABLE student_completed_course RENAME TO student_completed_course_away");
+        }
+        try {
+            mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attributeExists("error"))
+                    .andExpect(model().attributeDoesNotExist("majorCompleted"))
+                    .andExpect(header().string("Cache-Control", "no-store"));
+            assertThat(pageCache.size()).isZero();
+        } finally {
+            try (Connection conn = DatabaseUtil.connectStudentInfo(); Statement st = conn.createStatement()) {
+                st.execute("ALTER TABLE student_completed_course_away RENAME TO student_completed_course");
+            }
+        }
+
+        // Nothing stale was kept: the next view is built from the data and cached
+        mockMvc.perform(get("/student/degree-progress").cookie(studentCookie))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("error"));
+        assertThat(pageCache.size()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> codes(Object rows) {
+        return ((List<Map<String, String>>) rows).stream().map(row -> row.get("code")).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.navisewebsite.controller;
+
+import com.example.navisewebsite.NavisewebsiteApplication;
+import com.example.navisewebsite.config.PrincipalToken;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.TestDatabaseConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opt-in end-to-end load comparison of Tomcat's platform worker pool against
+ * spring.threads.virtual.enabled: the same student profile page (signed cookie,
+ * principal filter, student_info read, Thymeleaf render) requested over HTTP by many
+ * concurrent clients against a running server in each mode:
+ *
+ *     mvn test -Dtest=VirtualThreadHttpLoadTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class VirtualThreadHttpLoadTest {
+
+    private static final int STUDENTS = 50;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS = 20_000;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+        TestDatabaseConfig.clearAllData();
+        StudentInfoRepository students = new StudentInfoRepository();
+        for (int userId = 1; userId <= STUDENTS; userId++) {
+            students.insertStudentInfo(userId, "First", "Last", "Computer Science", "", "Junior", "CMPS 1500");
+        }
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(NavisewebsiteApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.springframework.web.servlet=WARN",
+                        "logging.level.com.example.navisewebsite=WARN")
+                .run();
+    }
+
+    // Requests per second for REQUESTS profile views spread over CLIENTS concurrent callers
+    private static long run(ConfigurableApplicationContext context) throws Exception {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        PrincipalToken tokens = context.getBean(PrincipalToken.class);
+        List<String> cookies = new ArrayList<>(STUDENTS);
+        for (int userId = 1; userId <= STUDENTS; userId++) {
+            cookies.add(PrincipalToken.COOKIE_NAME + "=" + tokens.issue(
+                    Map.of("userType", "student", "userId", userId, "email", "user" + userId + "@tulane.edu")));
+        }
+        URI uri = URI.create("http://localhost:" + port + "/student/profile");
+
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            long start = System.nanoTime();
+            List<Future<Integer>> results = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                results.add(clients.submit(() -> {
+                    int ok = 0;
+                    for (int i = next.getAndIncrement(); i < REQUESTS; i = next.getAndIncrement()) {
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Cookie", cookies.get(i % STUDENTS)).GET().build();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        ok += response.statusCode() == 200 ? 1 : 0;
+                    }
+                    return ok;
+                }));
+            }
+            int ok = 0;
+            for (Future<Integer> result : results) {
+                ok += result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            assertEquals(REQUESTS, ok);
+            return Math.round(REQUESTS * 1e9 / elapsed);
+        }
+    }
+
+    @Test
+    public void benchmarkPlatformVersusVirtualThreadsOverHttp() throws Exception {
+        // Both servers run side by side and the rounds alternate, so JIT warm-up and
+        // machine noise do not favour whichever mode happens to be measured last
+        try (ConfigurableApplicationContext platform = start(false);
+             ConfigurableApplicationContext virtual = start(true)) {
+            for (int warmUp = 0; warmUp < 2; warmUp++) {
+                run(platform);
+                run(virtual);
+            }
+            for (int round = 0; round < 3; round++) {
+                long platformRate = run(platform);
+                long virtualRate = run(virtual);
+                System.out.println("BENCHMARK HTTP round " + round + ": " + CLIENTS + " clients, platform(200) "
+                        + platformRate + " req/s, virtual " + virtualRate + " req/s");
+            }
+        }
+    }
+}
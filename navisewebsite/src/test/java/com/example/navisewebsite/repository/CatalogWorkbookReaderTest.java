@@ -0,0 +1,163 @@
+package com.example.navisewebsite.repository;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming catalog workbook reader and the batched seed writer.
+ * The streamed rows are checked against the same workbook loaded with XSSFWorkbook.
+ */
+public class CatalogWorkbookReaderTest {
+
+    private static final String WORKBOOK = "/data/courses.xlsx";
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TestDatabaseConfig.clearAllData();
+    }
+
+    @Test
+    public void testStreamedRowsMatchWorkbookModel() throws Exception {
+        List<String> expected = new ArrayList<>();
+        try (InputStream is = getClass().getResourceAsStream(WORKBOOK);
+             Workbook wb = new XSSFWorkbook(is)) {
+            for (Sheet sheet : wb) {
+                boolean ntc = sheet.getSheetName().equals(CatalogWorkbookReader.NTC_SHEET);
+                if (!ntc) {
+                    expected.add("program " + sheet.getSheetName());
+                }
+                boolean header = true;
+                for (Row row : sheet) {
+                    if (header) { header = false; continue; }
+                    String first = cell(row, 0);
+                    if (first == null) continue;
+                    if (ntc) {
+                        expected.add("ntc " + first + "|" + cell(row, 1));
+                    } else {
+                        String[] cells = new String[13];
+                        for (int col = 0; col < 13; col++) cells[col] = cell(row, col);
+                        expected.add(sheet.getSheetName() + " " + Arrays.toString(cells));
+                    }
+                }
+            }
+        }
+
+        List<String> streamed = new ArrayList<>();
+        try (InputStream is = getClass().getResourceAsStream(WORKBOOK)) {
+            new CatalogWorkbookReader().read(is, new CatalogWorkbookReader.RowHandler() {
+                @Override
+                public void startProgram(String programName, String programType) {
+                    streamed.add("program " + programName);
+                }
+
+                @Override
+                public void course(CatalogWorkbookReader.CourseRow row) {
+                    String[] cells = new String[13];
+                    for (int col = 0; col < 13; col++) cells[col] = row.cell(col);
+                    streamed.add(row.programName + " " + Arrays.toString(cells));
+                }
+
+                @Override
+                public void ntcRequirement(String requirementName, String classCount) {
+                    streamed.add("ntc " + requirementName + "|" + classCount);
+                }
+            });
+        }
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    public void testSeedWriterWritesOneTransaction() throws Exception {
+        int courses;
+        int links;
+        try (InputStream is = getClass().getResourceAsStream(WORKBOOK);
+             Connection conn = DatabaseUtil.connectCourses();
+             CatalogSeedWriter writer = new CatalogSeedWriter(conn)) {
+            new CatalogWorkbookReader().read(is, writer);
+            writer.commit();
+            courses = writer.coursesWritten();
+            links = writer.programLinksWritten();
+            assertTrue(courses > 0);
+            assertTrue(writer.programsWritten() > 0);
+            // Per-phase timings for the seed report
+            assertTrue(writer.coursesNanos() > 0);
+            assertTrue(writer.programsNanos() > 0);
+            assertEquals(writer.coursesNanos() + writer.programsNanos() + writer.programLinksNanos()
+                    + writer.ntcRequirementsNanos() + writer.commitNanos(), writer.writeNanos());
+        }
+
+        // Every row got a unique course_id, so nothing was dropped by INSERT OR IGNORE
+        assertEquals(courses, count("SELECT COUNT(*) FROM courses"));
+        assertEquals(links, count("SELECT COUNT(*) FROM program_courses"));
+        assertEquals(0, count("SELECT COUNT(*) FROM program_courses pc LEFT JOIN courses c " +
+                "ON pc.course_id = c.course_id WHERE c.course_id IS NULL"));
+    }
+
+    @Test
+    public void testRollbackLeavesCatalogUntouched() throws Exception {
+        try (Connection conn = DatabaseUtil.connectCourses();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO programs (program_name, program_type) VALUES ('Existing', 'Major')");
+        }
+
+        try (InputStream is = getClass().getResourceAsStream(WORKBOOK);
+             Connection conn = DatabaseUtil.connectCourses();
+             CatalogSeedWriter writer = new CatalogSeedWriter(conn)) {
+            new CatalogWorkbookReader().read(is, writer);
+            writer.rollback();
+        }
+
+        assertEquals(0, count("SELECT COUNT(*) FROM courses"));
+        assertEquals(1, count("SELECT COUNT(*) FROM programs"));
+    }
+
+    private static int count(String sql) throws Exception {
+        try (Connection conn = DatabaseUtil.connectCourses();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Same cell semantics the seeder used with the workbook model
+    private static String cell(Row row, int idx) {
+        Cell cell = row.getCell(idx, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
+        if (cell == null) return null;
+        if (cell.getCellType() == CellType.STRING) {
+            String value = cell.getStringCellValue().trim();
+            return value.isEmpty() ? null : value;
+        }
+        if (cell.getCellType() == CellType.NUMERIC) return String.valueOf((int) cell.getNumericCellValue());
+        return null;
+    }
+}
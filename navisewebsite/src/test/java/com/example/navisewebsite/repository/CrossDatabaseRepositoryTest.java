@@ -0,0 +1,71 @@
+package com.example.navisewebsite.repository;
+
+import com.example.navisewebsite.repository.CrossDatabaseRepository.LoginRecord;
+import com.example.navisewebsite.repository.CrossDatabaseRepository.StudentListing;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the joins over the ATTACHed users and student_info databases.
+ */
+public class CrossDatabaseRepositoryTest {
+
+    private CrossDatabaseRepository crossDatabaseRepository;
+    private UserRepository userRepository;
+    private StudentInfoRepository studentInfoRepository;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TestDatabaseConfig.clearAllData();
+        crossDatabaseRepository = new CrossDatabaseRepository();
+        userRepository = new UserRepository();
+        studentInfoRepository = new StudentInfoRepository();
+    }
+
+    @Test
+    public void testLoginReturnsUserWithStudentInfo() {
+        int ada = userRepository.addStudent("ada@tulane.edu", "pw", "Ada", "Lovelace");
+        userRepository.addStudent("new@tulane.edu", "pw", "New", "Student");
+        studentInfoRepository.insertStudentInfo(ada, "Ada", "Lovelace", "Computer Science", "Mathematics", "Junior", "");
+
+        LoginRecord login = crossDatabaseRepository.findLogin("ada@tulane.edu").orElseThrow();
+        assertEquals(ada, login.user.getUserId());
+        assertEquals("pw", login.user.getPassword());
+        assertEquals("Computer Science", login.studentInfo.major);
+        assertEquals("Junior", login.studentInfo.schoolYear);
+
+        // A user without a student_info row yet
+        assertNull(crossDatabaseRepository.findLogin("new@tulane.edu").orElseThrow().studentInfo);
+        assertTrue(crossDatabaseRepository.findLogin("nobody@tulane.edu").isEmpty());
+    }
+
+    @Test
+    public void testStudentListingIncludesEmail() {
+        int ada = userRepository.addStudent("ada@tulane.edu", "pw", "Ada", "Lovelace");
+        int alan = userRepository.addStudent("alan@tulane.edu", "pw", "Alan", "Turing");
+        studentInfoRepository.insertStudentInfo(alan, "Alan", "Turing", "Computer Science", "", "Senior", "");
+        studentInfoRepository.insertStudentInfo(ada, "Ada", "Lovelace", "Mathematics", "", "Junior", "");
+
+        List<StudentListing> students = crossDatabaseRepository.findAllStudents();
+        assertEquals(2, students.size());
+        assertEquals("Lovelace", students.get(0).lastName);
+        assertEquals("ada@tulane.edu", students.get(0).email);
+        assertEquals("alan@tulane.edu", students.get(1).email);
+    }
+}
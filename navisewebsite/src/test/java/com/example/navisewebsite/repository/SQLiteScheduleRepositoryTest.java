@@ -0,0 +1,139 @@
+package com.example.navisewebsite.repository;
+
+import com.example.navisewebsite.domain.MeetingTimes;
+import com.example.navisewebsite.domain.ScheduleDomain.MergeResult;
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.domain.ScheduleDomain.SemesterPlan;
+import com.example.navisewebsite.service.ScheduleLoaderService;
+import com.example.navisewebsite.service.ScheduleMergeService;
+import com.example.navisewebsite.service.ScheduleProjectionService;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the schedule repositories: transcript resolution and schema-bound queries.
+ */
+public class SQLiteScheduleRepositoryTest {
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TestDatabaseConfig.clearAllData();
+        CourseRepository courseRepository = new CourseRepository();
+        courseRepository.addCourse(TestCourses.course("CMPS 1500", "10001", 3));
+        courseRepository.addCourse(TestCourses.course("MATH 1210", "10005", 3));
+        courseRepository.addCourse(TestCourses.course("PHYS 1310", "10009", 3));
+    }
+
+    @Test
+    public void testResolvesCodesAndIdsInTranscriptOrder() throws Exception {
+        List<Integer> ids = SQLiteScheduleRepository.lookupCourseIdsByCodes(
+                Arrays.asList(" PHYS 1310", "10001", "", "UNKNOWN 9999", "MATH 1210", "PHYS 1310"));
+
+        assertEquals(Arrays.asList(rowid("PHYS 1310"), rowid("CMPS 1500"), rowid("MATH 1210")), ids);
+    }
+
+    @Test
+    public void testCompletedCourseIdsForUserReadsPastCourses() throws Exception {
+        StudentInfoRepository studentInfoRepository = new StudentInfoRepository();
+        studentInfoRepository.insertStudentInfo(42, "Ada", "Lovelace", "Computer Science", "",
+                "Freshman", "CMPS 1500, MATH 1210");
+
+        List<Integer> ids = new SQLiteScheduleRepository.SQLiteUserRepository().completedCourseIdsForUser("42");
+
+        assertEquals(Arrays.asList(rowid("CMPS 1500"), rowid("MATH 1210")), ids);
+        assertTrue(SQLiteScheduleRepository.lookupCourseIdsByCodes(Arrays.asList()).isEmpty());
+    }
+
+    @Test
+    public void testPathwayQueryIsBoundToCurrentSchemaWithoutFallback() throws Exception {
+        ProgramRepository programRepository = new ProgramRepository();
+        int programId = programRepository.addProgram("Computer Science", "Major");
+        programRepository.addCourseToProgram(programId, "CMPS 1500");
+        programRepository.addCourseToProgram(programId, "MATH 1210");
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            SQLiteScheduleRepository.SQLiteCourseRepository repo = new SQLiteScheduleRepository.SQLiteCourseRepository();
+            List<ScheduleCourse> courses = repo.coursesForPathway("Computer Science");
+
+            assertEquals(2, courses.size());
+            assertEquals(rowid("CMPS 1500"), courses.get(0).id);
+            assertEquals("10001", courses.get(0).code);
+            assertEquals(3, courses.get(0).credits);
+            assertEquals("10005", repo.courseById(rowid("MATH 1210")).get().code);
+            assertEquals(rowid("PHYS 1310"), repo.courseByCode("10009").get().id);
+            assertEquals(0, registry.find("schedule.query.fallback").counters().size());
+
+            // There is no user_courses table, so loading a stored schedule is a counted fallback
+            assertTrue(new ScheduleLoaderService().loadStudentSchedule("42").semesters.isEmpty());
+            assertEquals(1.0, registry.get("schedule.query.fallback")
+                    .tag("query", "loadStudentSchedule").tag("reason", "missing_table").counter().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    public void testLoadedMeetingTimesIncludeDaysSoClashesAreRejected() throws Exception {
+        CourseRepository courseRepository = new CourseRepository();
+        courseRepository.addCourse(TestCourses.meeting("CMPS 2170", "10020", "MWF", "9-9:50 AM"));
+        courseRepository.addCourse(TestCourses.meeting("CMPS 2200", "10021", "MWF", "9:30-10:20 AM"));
+        courseRepository.addCourse(TestCourses.meeting("CMPS 2300", "10022", "TR", "9:30-10:45 AM"));
+        ProgramRepository programRepository = new ProgramRepository();
+        int programId = programRepository.addProgram("Computer Science", "Major");
+        programRepository.addCourseToProgram(programId, "CMPS 2200");
+        programRepository.addCourseToProgram(programId, "CMPS 2300");
+
+        SQLiteScheduleRepository.SQLiteCourseRepository repo = new SQLiteScheduleRepository.SQLiteCourseRepository();
+        ScheduleCourse taken = repo.courseByCode("10020").orElseThrow();
+        assertEquals("MWF 9-9:50 AM", taken.meetingTime);
+        assertNotSame(MeetingTimes.NONE, MeetingTimes.parse(taken.meetingTime));
+
+        // CMPS 2200 overlaps the MWF 9:00 course already in the semester; CMPS 2300 meets TR
+        SchedulePlan original = new SchedulePlan();
+        SemesterPlan first = new SemesterPlan("Semester 1");
+        first.courses.add(taken);
+        original.semesters.add(first);
+        ScheduleProjectionService projection = new ScheduleProjectionService(repo, userId -> List.of());
+        MergeResult result = new ScheduleMergeService(projection).mergeWithExistingSchedule(original, "Computer Science", "1");
+
+        List<String> firstSemester = result.mergedSchedule.semesters.get(0).courses.stream().map(c -> c.code).toList();
+        assertEquals(List.of("10020", "10022"), firstSemester);
+        assertTrue(result.mergedSchedule.semesters.get(1).courses.stream().anyMatch(c -> c.code.equals("10021")));
+    }
+
+    private static int rowid(String courseId) throws Exception {
+        try (Connection conn = DatabaseUtil.connectCourses();
+             PreparedStatement ps = conn.prepareStatement("SELECT rowid FROM courses WHERE course_id = ?")) {
+            ps.setString(1, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.navisewebsite.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the versioned schema migrations, run against a private in-memory database.
+ */
+public class SchemaMigratorTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    public void testFreshDatabaseReachesLatestVersionWithIndexes() throws SQLException {
+        int version = SchemaMigrator.migrate(conn, "courses.db", SchemaMigrator.COURSES);
+
+        assertEquals(SchemaMigrator.COURSES.get(SchemaMigrator.COURSES.size() - 1).version, version);
+        assertEquals(version, SchemaMigrator.currentVersion(conn));
+        assertTrue(indexExists("idx_programs_program_name"));
+        assertTrue(indexExists("idx_courses_course_code"));
+        assertTrue(indexExists("idx_program_courses_course_id"));
+
+        // Running again is a no-op
+        assertEquals(version, SchemaMigrator.migrate(conn, "courses.db", SchemaMigrator.COURSES));
+    }
+
+    @Test
+    public void testLegacyStudentInfoIsCopiedAndDeduplicated() throws SQLException {
+        // A pre-migration database: baseline table, duplicate rows for user 7, user_version 0
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : SchemaMigrator.statements("student_info/V1__baseline.sql")) {
+                stmt.execute(sql);
+            }
+            stmt.execute("INSERT INTO student_info (user_id, major, past_courses) VALUES (7, 'CS', 'cmps 1500, MATH 1210')");
+            stmt.execute("INSERT INTO student_info (user_id, major, past_courses) VALUES (7, 'Math', 'PHYS 1310')");
+            stmt.execute("INSERT INTO student_info (user_id, major, past_courses) VALUES (8, 'CS', '')");
+        }
+
+        SchemaMigrator.migrate(conn, "student_info.db", SchemaMigrator.STUDENT_INFO);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM student_info WHERE user_id = 7"));
+        assertEquals(1, count("SELECT COUNT(*) FROM student_info WHERE user_id = 7 AND major = 'CS'"));
+        assertEquals(3, count("SELECT COUNT(*) FROM student_completed_course WHERE user_id = 7"));
+        assertEquals(1, count("SELECT COUNT(*) FROM student_completed_course WHERE course_id = 'CMPS 1500'"));
+        assertTrue(indexExists("idx_student_info_user_id"));
+
+        // The kept row's CSV lists the same courses as the normalized table
+        assertEquals(List.of("CMPS 1500", "MATH 1210", "PHYS 1310"),
+                StudentInfoRepository.parsePastCourses(string("SELECT past_courses FROM student_info WHERE user_id = 7")));
+        assertEquals("", string("SELECT past_courses FROM student_info WHERE user_id = 8"));
+
+        // user_id is unique from now on
+        try (Statement stmt = conn.createStatement()) {
+            assertThrows(SQLException.class,
+                    () -> stmt.execute("INSERT INTO student_info (user_id) VALUES (8)"));
+        }
+    }
+
+    @Test
+    public void testDatabaseAheadOfCodeFailsFast() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA user_version = 99");
+        }
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> SchemaMigrator.migrate(conn, "users.db", SchemaMigrator.USERS));
+        assertTrue(e.getMessage().contains("99"));
+        assertEquals(0, count("SELECT COUNT(*) FROM sqlite_master WHERE name = 'users'"));
+    }
+
+    private boolean indexExists(String name) throws SQLException {
+        return count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = '" + name + "'") == 1;
+    }
+
+    private String string(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.navisewebsite.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the normalized student_completed_course reads and writes in StudentInfoRepository.
+ */
+public class StudentInfoRepositoryTest {
+
+    private StudentInfoRepository studentInfoRepository;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TestDatabaseConfig.clearAllData();
+        studentInfoRepository = new StudentInfoRepository();
+    }
+
+    @Test
+    public void testParsePastCoursesNormalizes() {
+        assertEquals(Arrays.asList("CMPS 1500", "MATH 1210"),
+                StudentInfoRepository.parsePastCourses(" cmps 1500,MATH 1210, ,CMPS 1500 "));
+        assertTrue(StudentInfoRepository.parsePastCourses(null).isEmpty());
+    }
+
+    @Test
+    public void testInsertAndUpdateKeepCompletedCoursesInStep() {
+        studentInfoRepository.insertStudentInfo(1, "Ada", "Lovelace", "Computer Science", "", "Freshman",
+                "CMPS 1500, MATH 1210");
+        assertEquals(Arrays.asList("CMPS 1500", "MATH 1210"), studentInfoRepository.findCompletedCourseIds(1));
+
+        studentInfoRepository.updateStudentInfo(1, "Ada", "Lovelace", "Computer Science", "", "Sophomore",
+                "MATH 1210, PHYS 1310");
+        assertEquals(Arrays.asList("MATH 1210", "PHYS 1310"), studentInfoRepository.findCompletedCourseIds(1));
+
+        // The CSV column is still stored for display
+        assertEquals("MATH 1210, PHYS 1310", studentInfoRepository.findByUserId(1).get().pastCourses);
+    }
+
+    @Test
+    public void testWritesMoveTheStoredProfileVersion() throws Exception {
+        assertTrue(studentInfoRepository.readProfileVersion(1).isEmpty());
+
+        studentInfoRepository.insertStudentInfo(1, "Ada", "Lovelace", "Computer Science", "", "Freshman", "");
+        StudentInfoRepository.ProfileVersion inserted = studentInfoRepository.readProfileVersion(1).get();
+
+        studentInfoRepository.updateStudentInfo(1, "Ada", "Lovelace", "Mathematics", "", "Freshman", "");
+        StudentInfoRepository.ProfileVersion updated = studentInfoRepository.readProfileVersion(1).get();
+        assertTrue(updated.version > inserted.version);
+        assertTrue(updated.updatedAtMillis >= inserted.updatedAtMillis);
+
+        studentInfoRepository.replaceCompletedCourses(Map.of(1, List.of("CMPS 1500")));
+        StudentInfoRepository.ProfileVersion replaced = studentInfoRepository.readProfileVersion(1).get();
+        assertTrue(replaced.version > updated.version);
+        assertTrue(replaced.updatedAtMillis >= updated.updatedAtMillis);
+    }
+
+    @Test
+    public void testBulkReadWriteAndCohortQuery() {
+        studentInfoRepository.replaceCompletedCourses(Map.of(
+                1, List.of("CMPS 1500", "MATH 1210"),
+                2, List.of("cmps 1500"),
+                3, List.of()));
+
+        Map<Integer, List<String>> completed = studentInfoRepository.findCompletedCourseIds(List.of(1, 2, 3, 4));
+        assertEquals(Arrays.asList("CMPS 1500", "MATH 1210"), completed.get(1));
+        assertEquals(Arrays.asList("CMPS 1500"), completed.get(2));
+        assertFalse(completed.containsKey(3));
+        assertFalse(completed.containsKey(4));
+
+        assertEquals(Arrays.asList(1, 2), studentInfoRepository.findUserIdsWhoCompleted("CMPS 1500"));
+        assertEquals(Arrays.asList(1), studentInfoRepository.findUserIdsWhoCompleted("math 1210"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.navisewebsite.repository;
+
+import com.example.navisewebsite.domain.Course;
+import java.util.Arrays;
+
+/**
+ * Shared Course factories for tests, so each test class only spells out the
+ * fields it actually cares about. Everything else gets the same placeholder
+ * values: "Course <id>" as the name, Prof, MWF 09:00, Main 100, and no offered
+ * terms, so term-aware projection may place it in any semester.
+ */
+public class TestCourses {
+
+    private TestCourses() {}
+
+    /** A 3-credit course with no course code and no requirements. */
+    public static Course course(String id) {
+        return course(id, "", 3);
+    }
+
+    /** A course with the given code and credits and no requirements. */
+    public static Course course(String id, String code, int credits) {
+        return meeting(id, code, credits, "MWF", "09:00");
+    }
+
+    /** Same as {@link #course(String, String, int)}, with prerequisites given as CSV. */
+    public static Course course(String id, String code, int credits, String prereqs) {
+        Course c = course(id, code, credits);
+        c.setPrerequisitesFromCSV(prereqs);
+        return c;
+    }
+
+    /** A 3-credit course meeting on the given days and time, for schedule conflict tests. */
+    public static Course meeting(String id, String code, String days, String time) {
+        return meeting(id, code, 3, days, time);
+    }
+
+    private static Course meeting(String id, String code, int credits, String days, String time) {
+        return new Course(id, "Course " + id, code, credits, "Prof", days, time, "Main", "100",
+                Arrays.asList(), Arrays.asList(), Arrays.asList(), Arrays.asList());
+    }
+}
@@ -72,6 +72,7 @@ public class TestDatabaseConfig {
             
             if (persistentStudentInfoConn != null && !persistentStudentInfoConn.isClosed()) {
                 try (Statement stmt = persistentStudentInfoConn.createStatement()) {
+                    stmt.execute("DELETE FROM student_completed_course");
                     stmt.execute("DELETE FROM student_info");
                 }
             }
@@ -116,72 +117,16 @@ public class TestDatabaseConfig {
         DatabaseUtil.disableTestMode();
     }
 
+    // Test databases get exactly the production schema from the migration scripts
     private static void initializeUsersTable(Connection conn) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
-                    "user_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "email TEXT UNIQUE NOT NULL, " +
-                    "password TEXT NOT NULL, " +
-                    "first_name TEXT, " +
-                    "last_name TEXT, " +
-                    "user_type TEXT)");
-        }
+        SchemaMigrator.migrate(conn, "test users.db", SchemaMigrator.USERS);
     }
 
     private static void initializeStudentInfoTable(Connection conn) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute("CREATE TABLE IF NOT EXISTS student_info (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "user_id INTEGER NOT NULL, " +
-                    "first_name TEXT, " +
-                    "last_name TEXT, " +
-                    "major TEXT, " +
-                    "minor TEXT, " +
-                    "school_year TEXT, " +
-                    "past_courses TEXT, " +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "FOREIGN KEY(user_id) REFERENCES users(user_id))");
-        }
+        SchemaMigrator.migrate(conn, "test student_info.db", SchemaMigrator.STUDENT_INFO);
     }
 
     private static void initializeCoursesSchema(Connection conn) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            // Create courses table
-            stmt.execute("CREATE TABLE IF NOT EXISTS courses (" +
-                    "course_id TEXT PRIMARY KEY, " +
-                    "course_name TEXT NOT NULL, " +
-                    "course_code TEXT NOT NULL, " +
-                    "credit_hours INTEGER NOT NULL, " +
-                    "professor TEXT, " +
-                    "days TEXT, " +
-                    "time TEXT, " +
-                    "building TEXT, " +
-                    "room TEXT, " +
-                    "attributes TEXT, " +
-                    "prerequisites TEXT, " +
-                    "corequisites TEXT, " +
-                    "terms TEXT)");
-
-            // Create programs table
-            stmt.execute("CREATE TABLE IF NOT EXISTS programs (" +
-                    "program_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "program_name TEXT NOT NULL, " +
-                    "program_type TEXT NOT NULL)");
-
-            // Create program_courses junction table
-            stmt.execute("CREATE TABLE IF NOT EXISTS program_courses (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "program_id INTEGER NOT NULL, " +
-                    "course_id TEXT NOT NULL, " +
-                    "FOREIGN KEY(program_id) REFERENCES programs(program_id) ON DELETE CASCADE, " +
-                    "FOREIGN KEY(course_id) REFERENCES courses(course_id) ON DELETE CASCADE)");
-
-            // Create ntc_requirements table
-            stmt.execute("CREATE TABLE IF NOT EXISTS ntc_requirements (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "requirement_name TEXT, " +
-                    "description TEXT)");
-        }
+        SchemaMigrator.migrate(conn, "test courses.db", SchemaMigrator.COURSES);
     }
 }
-
@@ -0,0 +1,110 @@
+package com.example.navisewebsite.repository;
+
+import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Blocking repository reads on virtual threads (spring.threads.virtual.enabled), and an
+ * opt-in throughput comparison with Tomcat's default 200 platform worker threads:
+ *
+ *     mvn test -Dtest=VirtualThreadReadsTest -Dbenchmark=true
+ */
+public class VirtualThreadReadsTest {
+
+    // Tomcat's default server.tomcat.threads.max
+    private static final int TOMCAT_WORKERS = 200;
+
+    private UserRepository userRepository;
+    private StudentInfoRepository studentInfoRepository;
+    private CourseRepository courseRepository;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TestDatabaseConfig.clearAllData();
+        userRepository = new UserRepository();
+        studentInfoRepository = new StudentInfoRepository();
+        courseRepository = new CourseRepository();
+        for (int i = 0; i < 50; i++) {
+            int userId = userRepository.addStudent("user" + i + "@tulane.edu", "hash", "First", "Last");
+            studentInfoRepository.insertStudentInfo(userId, "First", "Last", "Computer Science", "", "Junior", "");
+            courseRepository.addCourse(new Course("CMPS " + (1000 + i), "Course " + i, "CMPS" + i, 3, "Prof",
+                    "MWF", "09:00", "Main", "100", Arrays.asList(), Arrays.asList(), Arrays.asList(),
+                    Arrays.asList()));
+        }
+    }
+
+    // One page's worth of reads, each on its own pooled connection, like the student pages
+    private int request(int i) {
+        int found = 0;
+        String email = "user" + (i % 50) + "@tulane.edu";
+        int userId = userRepository.findByEmail(email).map(User::getUserId).orElse(-1);
+        found += userId > 0 ? 1 : 0;
+        found += studentInfoRepository.findByUserId(userId).isPresent() ? 1 : 0;
+        studentInfoRepository.findCompletedCourseIds(userId);
+        found += courseRepository.findById("CMPS " + (1000 + i % 50)).isPresent() ? 1 : 0;
+        return found;
+    }
+
+    private long run(ExecutorService executor, int requests) throws Exception {
+        long start = System.nanoTime();
+        List<Future<Integer>> results = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int n = i;
+            results.add(executor.submit(() -> request(n)));
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(3, result.get());
+        }
+        return System.nanoTime() - start;
+    }
+
+    @Test
+    public void testConcurrentReadsCompleteOnVirtualThreads() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            run(executor, 500);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkPlatformVersusVirtualThreads() throws Exception {
+        int requests = 20_000;
+        for (int round = 0; round < 3; round++) {
+            long platform;
+            try (ExecutorService executor = Executors.newFixedThreadPool(TOMCAT_WORKERS)) {
+                platform = run(executor, requests);
+            }
+            long virtual;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                virtual = run(executor, requests);
+            }
+            System.out.println("BENCHMARK round " + round + ": " + requests + " requests, platform("
+                    + TOMCAT_WORKERS + ") " + Math.round(requests * 1e9 / platform) + " req/s, virtual "
+                    + Math.round(requests * 1e9 / virtual) + " req/s");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.navisewebsite.repository;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the single-writer group-commit executor.
+ */
+public class WriteExecutorTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TestDatabaseConfig.clearAllData();
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    public void testConcurrentWritesAreGroupCommitted() {
+        UserRepository userRepository = new UserRepository();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(userRepository.addUserAsync("user" + i + "@tulane.edu", "hash", "First", "Last", "student"));
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (CompletableFuture<Integer> future : futures) {
+            ids.add(future.join());
+        }
+        assertEquals(200, ids.size());
+        assertFalse(ids.contains(-1));
+        assertTrue(userRepository.findByEmail("user199@tulane.edu").isPresent());
+
+        // Fewer commits than writes, and every write was counted in some batch
+        long commits = registry.get("sqlite.write.commit").tag("database", "users").timer().count();
+        double written = registry.get("sqlite.write.batch.size").tag("database", "users").summary().totalAmount();
+        assertTrue(commits >= 1 && commits <= 200);
+        assertEquals(200.0, written);
+        assertEquals(0.0, registry.get("sqlite.write.queue.depth").tag("database", "users").gauge().value());
+    }
+
+    @Test
+    public void testFailedWriteOnlyFailsItsOwnFuture() {
+        UserRepository userRepository = new UserRepository();
+        WriteExecutor writer = WriteExecutor.users();
+
+        CompletableFuture<Integer> first = userRepository.addUserAsync("ada@tulane.edu", "hash", "Ada", "Lovelace", "student");
+        CompletableFuture<Integer> broken = writer.submit(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("INSERT INTO users (email, password, user_type) VALUES ('half@tulane.edu', 'x', 'student')");
+                return stmt.executeUpdate("INSERT INTO no_such_table VALUES (1)");
+            }
+        });
+        CompletableFuture<Integer> duplicate = userRepository.addUserAsync("ada@tulane.edu", "hash", "Ada", "Lovelace", "student");
+        CompletableFuture<Integer> last = userRepository.addUserAsync("grace@tulane.edu", "hash", "Grace", "Hopper", "admin");
+
+        assertTrue(first.join() > 0);
+        assertThrows(CompletionException.class, broken::join);
+        assertEquals(-1, duplicate.join());
+        assertTrue(last.join() > 0);
+
+        // The failed write was rolled back to its savepoint, the others committed
+        assertTrue(userRepository.findByEmail("ada@tulane.edu").isPresent());
+        assertTrue(userRepository.findByEmail("grace@tulane.edu").isPresent());
+        assertFalse(userRepository.findByEmail("half@tulane.edu").isPresent());
+    }
+
+    @Test
+    public void testErrorInWriteFailsOnlyItsFutureAndWriterKeepsRunning() {
+        UserRepository userRepository = new UserRepository();
+        WriteExecutor writer = WriteExecutor.users();
+
+        CompletableFuture<Integer> broken = writer.submit(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("INSERT INTO users (email, password, user_type) VALUES ('half@tulane.edu', 'x', 'student')");
+            }
+            throw new AssertionError("write blew up");
+        });
+        CompletionException e = assertThrows(CompletionException.class, () -> WriteExecutor.await(broken));
+        assertInstanceOf(AssertionError.class, e.getCause());
+
+        // Same writer, still taking writes
+        assertSame(writer, WriteExecutor.users());
+        assertTrue(WriteExecutor.await(userRepository.addUserAsync("ada@tulane.edu", "hash", "Ada", "Lovelace", "student")) > 0);
+        assertFalse(userRepository.findByEmail("half@tulane.edu").isPresent());
+    }
+
+    @Test
+    public void testMultiStatementRepositoryWritesGoThroughTheWriter() {
+        ProgramRepository programRepository = new ProgramRepository();
+        StudentInfoRepository studentInfoRepository = new StudentInfoRepository();
+
+        int programId = programRepository.addProgram("Computer Science", "Major");
+        assertEquals(programId, programRepository.addProgram("Computer Science", "Major"));
+        programRepository.removeProgram("Computer Science");
+        studentInfoRepository.insertStudentInfo(1, "Ada", "Lovelace", "Computer Science", "", "Junior", "CMPS 1500");
+        studentInfoRepository.replaceCompletedCourses(Map.of(1, List.of("MATH 1210")));
+
+        // Each one committed as a writer batch, not on a connection of its own
+        assertEquals(3.0, registry.get("sqlite.write.batch.size").tag("database", "courses").summary().totalAmount());
+        assertEquals(2.0, registry.get("sqlite.write.batch.size").tag("database", "student_info").summary().totalAmount());
+        assertEquals(List.of("MATH 1210"), studentInfoRepository.findCompletedCourseIds(1));
+    }
+
+    @Test
+    public void testNestedSubmitFromWriterThreadIsRejected() {
+        WriteExecutor writer = WriteExecutor.courses();
+        CompletableFuture<Object> outer = writer.submit(conn -> writer.submit(c -> 1).join());
+
+        CompletionException e = assertThrows(CompletionException.class, outer::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.navisewebsite.service;
+
+import static com.example.navisewebsite.repository.TestCourses.course;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.repository.CourseRepository;
+import com.example.navisewebsite.repository.ProgramRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.TestDatabaseConfig;
+import com.example.navisewebsite.service.CohortProjectionService.CohortReport;
+import com.example.navisewebsite.service.CohortProjectionService.StudentProjection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for projecting a cohort of students in one parallel batch.
+ */
+public class CohortProjectionServiceTest {
+
+    private CohortProjectionService cohorts;
+    private StudentInfoRepository studentInfoRepository;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    void setup() {
+        TestDatabaseConfig.clearAllData();
+        CourseRepository courseRepository = new CourseRepository();
+        ProgramRepository programRepository = new ProgramRepository();
+        studentInfoRepository = new StudentInfoRepository();
+
+        courseRepository.addCourse(course("CMPS 1500", "ELEC", 4, ""));
+        courseRepository.addCourse(course("CMPS 1600", "ELEC", 4, "CMPS 1500"));
+        courseRepository.addCourse(course("CMPS 2200", "ELEC", 4, "CMPS 1600"));
+        courseRepository.addCourse(course("MATH 1210", "ELEC", 4, ""));
+        int cs = programRepository.addProgram("Computer Science", "Major");
+        for (String id : List.of("CMPS 1500", "CMPS 1600", "CMPS 2200", "MATH 1210")) {
+            programRepository.addCourseToProgram(cs, id);
+        }
+        int math = programRepository.addProgram("Mathematics", "Minor");
+        programRepository.addCourseToProgram(math, "MATH 1210");
+
+        CourseCatalog catalog = new CourseCatalog(courseRepository, programRepository);
+        cohorts = new CohortProjectionService(catalog, studentInfoRepository, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cohorts.shutdown();
+    }
+
+    @Test
+    void testProjectsFilteredCohortInPrerequisiteOrder() {
+        studentInfoRepository.insertStudentInfo(1, "Ada", "Lovelace", "Computer Science", "", "Junior", "CMPS 1500");
+        studentInfoRepository.insertStudentInfo(2, "Alan", "Turing", "Computer Science", "", "Junior", "cmps 1500");
+        studentInfoRepository.insertStudentInfo(3, "Grace", "Hopper", "Computer Science", "Mathematics", "Junior", "");
+        studentInfoRepository.insertStudentInfo(4, "Edsger", "Dijkstra", "Computer Science", "", "Senior", "");
+        studentInfoRepository.insertStudentInfo(5, "Emmy", "Noether", "", "Mathematics", "Junior", "");
+
+        Map<Integer, SchedulePlan> plans = new HashMap<>();
+        CohortReport report = cohorts.projectCohort("Computer Science", "Junior", 8,
+                p -> plans.put(p.student.userId, p.plan));
+
+        assertEquals(3, report.students);
+        assertEquals(List.of(1, 2, 3), plans.keySet().stream().sorted().collect(Collectors.toList()));
+        // Same programs and transcript: one projection shared by both students
+        assertSame(plans.get(1), plans.get(2));
+        assertEquals(1, report.cacheHits);
+        assertEquals(List.of(List.of("CMPS 1600", "MATH 1210"), List.of("CMPS 2200")), codes(plans.get(1)));
+        assertEquals(List.of(List.of("CMPS 1500", "MATH 1210"), List.of("CMPS 1600"), List.of("CMPS 2200")),
+                codes(plans.get(3)));
+
+        // No filters projects everyone; a minor on its own is projected too
+        List<StudentProjection> all = new ArrayList<>();
+        cohorts.projectCohort(null, "", 8, all::add);
+        assertEquals(5, all.size());
+        SchedulePlan emmy = all.stream().filter(p -> p.student.userId == 5).findFirst().orElseThrow().plan;
+        assertEquals(4, emmy.totalCredits());
+        assertThrows(IllegalArgumentException.class, () -> cohorts.projectCohort(null, null, 0, p -> { }));
+    }
+
+    @Test
+    void testLargeCohortRunsInParallel() {
+        Map<Integer, List<String>> transcripts = new HashMap<>();
+        for (int userId = 1; userId <= 2000; userId++) {
+            studentInfoRepository.insertStudentInfo(userId, "S" + userId, "Student", "Computer Science", "", "Freshman", "");
+            transcripts.put(userId, userId % 3 == 0 ? List.of("CMPS 1500") : List.of());
+        }
+        studentInfoRepository.replaceCompletedCourses(transcripts);
+
+        List<StudentProjection> seen = new ArrayList<>();
+        CohortReport report = cohorts.projectCohort("Computer Science", null, 18, seen::add);
+
+        assertEquals(2000, report.students);
+        assertEquals(2000, seen.size());
+        // Two distinct transcripts, so at most a few projections are computed
+        assertTrue(report.cacheHits >= 2000 - 8);
+        assertTrue(report.studentsPerSecond() > 0);
+        for (StudentProjection p : seen) {
+            assertEquals(p.student.userId % 3 == 0 ? 12 : 16, p.plan.totalCredits());
+        }
+    }
+
+    private static List<List<String>> codes(SchedulePlan plan) {
+        return plan.semesters.stream()
+                .map(s -> s.courses.stream().map(c -> c.code).sorted().collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.navisewebsite.service;
+
+import static com.example.navisewebsite.repository.TestCourses.course;
+import com.example.navisewebsite.domain.Course;
+import com.example.navisewebsite.domain.ProgramRequirements;
+import com.example.navisewebsite.domain.ProgramRequirements.ProgramScore;
+import com.example.navisewebsite.repository.CourseRepository;
+import com.example.navisewebsite.repository.ProgramRepository;
+import com.example.navisewebsite.repository.TestDatabaseConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory CourseCatalog snapshot and its refresh on admin mutations.
+ */
+public class CourseCatalogTest {
+
+    private CourseCatalog catalog;
+    private AdminCourseService adminCourseService;
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    void setup() {
+        TestDatabaseConfig.clearAllData();
+        CourseRepository courseRepository = new CourseRepository();
+        ProgramRepository programRepository = new ProgramRepository();
+        catalog = new CourseCatalog(courseRepository, programRepository);
+        adminCourseService = new AdminCourseService(courseRepository, programRepository, catalog);
+    }
+
+    @Test
+    void testIndexesCoursesProgramsAndTypes() {
+        adminCourseService.add_course(course("C1", "CS101", 3), "Computer Science", "Major");
+        adminCourseService.add_course(course("C2", "CS102", 4), "Computer Science", "Major");
+        adminCourseService.add_course(course("C3", "MATH101", 3), "Mathematics", "Minor");
+
+        assertEquals(3, catalog.allCourses().size());
+        assertEquals("CS102", catalog.findById("C2").get().get_course_code());
+        assertEquals("C3", catalog.findByCode("MATH101").get().get_courseID());
+
+        List<Course> cs = catalog.coursesForProgram("Computer Science");
+        assertEquals(2, cs.size());
+        assertEquals(List.of("Computer Science"), catalog.programNames("Major"));
+        assertEquals(List.of("Mathematics"), catalog.programNames("Minor"));
+        assertTrue(catalog.coursesForProgram("Unknown").isEmpty());
+    }
+
+    @Test
+    void testMutationsPublishNewSnapshot() {
+        adminCourseService.add_course(course("C1", "CS101", 3), "Computer Science", "Major");
+        CourseCatalog.Snapshot before = catalog.snapshot();
+
+        adminCourseService.remove_course(course("C1", "CS101", 3));
+        adminCourseService.remove_program("Computer Science");
+
+        CourseCatalog.Snapshot after = catalog.snapshot();
+        assertTrue(after.version > before.version);
+        assertTrue(after.findById("C1").isEmpty());
+        assertTrue(after.programNames("Major").isEmpty());
+
+        // The old snapshot is untouched by later mutations
+        assertTrue(before.findById("C1").isPresent());
+    }
+
+    @Test
+    void testCatalogChangeIsSeenByOtherInstances() {
+        // Two catalogs over the same database stand in for two instances; no poll interval
+        CourseRepository courseRepository = new CourseRepository();
+        ProgramRepository programRepository = new ProgramRepository();
+        CourseCatalog a = new CourseCatalog(courseRepository, programRepository, 0);
+        CourseCatalog b = new CourseCatalog(courseRepository, programRepository, 0);
+        assertTrue(b.findById("C1").isEmpty());
+
+        // A write that does not record a revision is not noticed
+        courseRepository.addCourse(course("C1", "CS101", 3));
+        assertTrue(b.snapshot().findById("C1").isEmpty());
+
+        a.changed();
+        CourseCatalog.Snapshot seen = b.snapshot();
+        assertEquals("CS101", seen.findById("C1").get().get_course_code());
+        // Both instances report the same revision and change time
+        assertEquals(a.snapshot().revision, seen.revision);
+        assertEquals(a.snapshot().loadedAtMillis, seen.loadedAtMillis);
+
+        // Unchanged revision: the same snapshot is kept
+        assertSame(seen, b.snapshot());
+    }
+
+    @Test
+    void testSnapshotCollectionsAreImmutable() {
+        adminCourseService.add_course(course("C1", "CS101", 3), "Computer Science", "Major");
+        assertThrows(UnsupportedOperationException.class, () -> catalog.allCourses().clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> catalog.coursesForProgram("Computer Science").clear());
+    }
+
+    @Test
+    void testRanksProgramsByRemainingEffort() {
+        Course c2 = course("C2", "CS102", 4);
+        c2.setPrerequisitesFromCSV("C1");
+        Course c4 = course("C4", "CS201", 4);
+        c4.setPrerequisitesFromCSV("C2");
+        adminCourseService.add_course(course("C1", "CS101", 3), "Computer Science", "Major");
+        adminCourseService.add_course(c2, "Computer Science", "Major");
+        adminCourseService.add_course(c4, "Computer Science", "Major");
+        adminCourseService.add_course(course("C3", "MATH101", 3), "Mathematics", "Minor");
+        adminCourseService.add_course(course("C5", "MATH201", 3), "Statistics", "Minor");
+        adminCourseService.add_course(course("C6", "MATH301", 3), "Statistics", "Minor");
+
+        ProgramRequirements requirements = catalog.programRequirements();
+        assertEquals(3, requirements.programCount());
+        // Codes and ids both count; unknown courses are ignored
+        BitSet transcript = requirements.transcript(List.of("C1", "MATH101", "NOPE 9999"));
+
+        List<ProgramScore> all = requirements.rank(transcript, null, 10);
+        assertEquals(List.of("Mathematics", "Statistics", "Computer Science"),
+                all.stream().map(s -> s.name).collect(Collectors.toList()));
+        ProgramScore math = all.get(0);
+        assertEquals(0, math.remainingCredits);
+        assertEquals(100, math.percentComplete());
+        ProgramScore cs = all.get(2);
+        assertEquals(1, cs.completedCourses);
+        assertEquals(8, cs.remainingCredits);
+        // Eight credits fit in one semester, but C4 needs C2 first
+        assertEquals(2, cs.remainingSemesters);
+
+        List<ProgramScore> minors = requirements.rank(transcript, "Minor", 1);
+        assertEquals(1, minors.size());
+        assertEquals("Mathematics", minors.get(0).name);
+        assertTrue(requirements.rank(transcript, null, 0).isEmpty());
+
+        // A catalog change publishes a new snapshot with fresh bitsets
+        adminCourseService.add_course(course("C7", "MATH401", 3), "Mathematics", "Minor");
+        assertNotSame(requirements, catalog.programRequirements());
+        assertEquals(3, catalog.programRequirements().rank(transcript, "Minor", 1).get(0).remainingCredits);
+    }
+
+    @Test
+    void testAuditsProgramInProgramOrder() {
+        adminCourseService.add_course(course("C1", "CS101", 3), "Computer Science", "Major");
+        adminCourseService.add_course(course("C2", "CS102", 4), "Computer Science", "Major");
+        adminCourseService.add_course(course("C3", "CS201", 4), "Computer Science", "Major");
+
+        ProgramRequirements requirements = catalog.programRequirements();
+        BitSet transcript = requirements.transcript(List.of("CS201", "C1"));
+        ProgramRequirements.Audit audit = requirements.audit("Computer Science", transcript);
+        assertEquals(List.of("CS101", "CS201"),
+                audit.completed.stream().map(Course::get_course_code).collect(Collectors.toList()));
+        assertEquals(List.of("CS102"),
+                audit.remaining.stream().map(Course::get_course_code).collect(Collectors.toList()));
+        assertFalse(audit.isComplete());
+
+        ProgramRequirements.Audit unknown = requirements.audit("Underwater Basketry", transcript);
+        assertTrue(unknown.completed.isEmpty());
+        assertTrue(unknown.remaining.isEmpty());
+    }
+}
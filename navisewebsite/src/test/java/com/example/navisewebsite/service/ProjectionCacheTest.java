@@ -0,0 +1,94 @@
+package com.example.navisewebsite.service;
+
+import com.example.navisewebsite.domain.ScheduleDomain.ScheduleCourse;
+import com.example.navisewebsite.domain.ScheduleDomain.SchedulePlan;
+import com.example.navisewebsite.repository.ScheduleRepositoryInterfaces.ScheduleCourseRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LRU projection cache and its use by ScheduleProjectionService.
+ */
+public class ProjectionCacheTest {
+
+    @Test
+    public void testHitsMissesAndEvictions() {
+        ProjectionCache<String> cache = new ProjectionCache<>("test", 2, () -> 1L);
+
+        assertEquals("a", cache.get("CS", "MATH", 18, List.of("CMPS 1500", "MATH 1210"), () -> "a"));
+        // Same completed set in another order and case is the same key
+        assertEquals("a", cache.get("CS", "MATH", 18, List.of("math 1210", "CMPS 1500", "CMPS 1500"), () -> "x"));
+        assertEquals("b", cache.get("CS", "MATH", 15, List.of("CMPS 1500", "MATH 1210"), () -> "b"));
+        assertEquals("c", cache.get("CS", null, 18, List.of(), () -> "c"));
+
+        // "a" was least recently used when "c" went in
+        ProjectionCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits);
+        assertEquals(3, stats.misses);
+        assertEquals(1, stats.evictions);
+        assertEquals(2, stats.size);
+        assertEquals("a2", cache.get("CS", "MATH", 18, List.of("CMPS 1500", "MATH 1210"), () -> "a2"));
+        // No minor is the same whether it comes in as null or ""
+        assertEquals("c", cache.get("CS", "", 18, List.of(), () -> "y"));
+        assertEquals(2.0 / 6, cache.stats().hitRate(), 1e-9);
+    }
+
+    @Test
+    public void testCatalogChangeInvalidatesEntries() {
+        AtomicLong version = new AtomicLong(1);
+        ProjectionCache<String> cache = new ProjectionCache<>("test", 8, version::get);
+
+        cache.get("CS", null, 18, List.of(), () -> "v1");
+        cache.get("MATH", null, 18, List.of(), () -> "m1");
+        version.incrementAndGet();
+
+        assertEquals("v2", cache.get("CS", null, 18, List.of(), () -> "v2"));
+        assertEquals(2, cache.stats().invalidations);
+        assertEquals(1, cache.stats().size);
+        cache.clear();
+        assertEquals(0, cache.stats().size);
+    }
+
+    @Test
+    public void testProjectionServiceSharesReadOnlyPlans() {
+        List<ScheduleCourse> required = Arrays.asList(
+                new ScheduleCourse(1, "CMPS1500", 4, "Intro CS", ""),
+                new ScheduleCourse(2, "CMPS1600", 4, "Intro CS II", ""),
+                new ScheduleCourse(3, "MATH1210", 4, "Calculus I", ""));
+        AtomicInteger lookups = new AtomicInteger();
+        ScheduleCourseRepository courses = new ScheduleCourseRepository() {
+            public List<ScheduleCourse> coursesForPathway(String pathwayId) {
+                lookups.incrementAndGet();
+                return required;
+            }
+            public Optional<ScheduleCourse> courseById(int id) { return Optional.empty(); }
+            public Optional<ScheduleCourse> courseByCode(String code) { return Optional.empty(); }
+        };
+        Map<String, List<Integer>> completed = Map.of("ada", List.of(1), "alan", List.of(1), "grace", List.of());
+        ProjectionCache<SchedulePlan> cache = new ProjectionCache<>("test", 8, () -> 1L);
+        ScheduleProjectionService service = new ScheduleProjectionService(courses,
+                userId -> new ArrayList<>(completed.get(userId)), null, cache);
+
+        SchedulePlan ada = service.projectForPrograms("CS", null, "ada", 8);
+        SchedulePlan alan = service.projectForPrograms("CS", null, "alan", 8);
+        SchedulePlan grace = service.projectForPrograms("CS", null, "grace", 8);
+
+        assertSame(ada, alan);
+        assertEquals(2, lookups.get());
+        assertEquals(8, ada.totalCredits());
+        assertEquals(12, grace.totalCredits());
+        assertThrows(UnsupportedOperationException.class, () -> ada.semesters.clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> ada.semesters.get(0).courses.add(required.get(0)));
+        assertTrue(ada.semesters.get(0).isReadOnly());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.navisewebsite.service;
+
+import com.example.navisewebsite.repository.StudentInfoRepository;
+import com.example.navisewebsite.repository.StudentInfoRepository.StudentInfo;
+import com.example.navisewebsite.repository.TestDatabaseConfig;
+import com.example.navisewebsite.service.StudentRecordService.StudentRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for loading a student's info row and transcript concurrently under a deadline.
+ */
+public class StudentRecordServiceTest {
+
+    @BeforeAll
+    public static void setUpAll() {
+        TestDatabaseConfig.initializeTestDatabases();
+    }
+
+    @AfterAll
+    public static void tearDownAll() {
+        TestDatabaseConfig.closeTestDatabases();
+    }
+
+    @BeforeEach
+    void setup() {
+        TestDatabaseConfig.clearAllData();
+    }
+
+    @Test
+    void testLoadsInfoAndTranscript() throws Exception {
+        StudentInfoRepository repository = new StudentInfoRepository();
+        repository.insertStudentInfo(3, "Grace", "Hopper", "Computer Science", "Mathematics", "Junior", "");
+        repository.replaceCompletedCourses(Map.of(3, List.of("CMPS 1500", "MATH 1210")));
+        StudentRecordService records = new StudentRecordService(repository);
+
+        StudentRecord record = records.load(3);
+        assertEquals("Computer Science", record.info.orElseThrow().major);
+        assertEquals(2, record.completedCourseIds.size());
+
+        StudentRecord missing = records.load(4);
+        assertTrue(missing.info.isEmpty());
+        assertTrue(missing.completedCourseIds.isEmpty());
+        records.shutdown();
+    }
+
+    @Test
+    void testReadsRunConcurrently() throws Exception {
+        // Each read waits for the other to start, so running them one after the other would time out
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        StudentInfoRepository repository = new StudentInfoRepository() {
+            @Override
+            public Optional<StudentInfo> readByUserId(int userId) {
+                await(bothStarted);
+                return Optional.empty();
+            }
+
+            @Override
+            public List<String> readCompletedCourseIds(int userId) {
+                await(bothStarted);
+                return List.of("CMPS 1500");
+            }
+        };
+        StudentRecordService records = new StudentRecordService(repository);
+
+        StudentRecord record = records.load(1, Duration.ofSeconds(5));
+        assertEquals(List.of("CMPS 1500"), record.completedCourseIds);
+        records.shutdown();
+    }
+
+    @Test
+    void testSlowReadMissesDeadline() {
+        CountDownLatch release = new CountDownLatch(1);
+        StudentInfoRepository repository = new StudentInfoRepository() {
+            @Override
+            public List<String> readCompletedCourseIds(int userId) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of();
+            }
+        };
+        StudentRecordService records = new StudentRecordService(repository);
+
+        long start = System.nanoTime();
+        assertThrows(TimeoutException.class, () -> records.load(1, Duration.ofMillis(100)));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        release.countDown();
+        records.shutdown();
+    }
+
+    @Test
+    void testFailedReadIsNotAnEmptyTranscript() {
+        StudentInfoRepository repository = new StudentInfoRepository() {
+            @Override
+            public List<String> readCompletedCourseIds(int userId) throws SQLException {
+                throw new SQLException("database is locked");
+            }
+        };
+        repository.insertStudentInfo(3, "Grace", "Hopper", "Computer Science", "", "Junior", "CMPS 1500");
+        StudentRecordService records = new StudentRecordService(repository);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> records.load(3));
+        assertInstanceOf(SQLException.class, e.getCause());
+        records.shutdown();
+    }
+
+        private static void await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}